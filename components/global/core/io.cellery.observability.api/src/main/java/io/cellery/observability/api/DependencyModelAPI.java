@@ -18,16 +18,22 @@
 package io.cellery.observability.api;
 
 import io.cellery.observability.api.exception.APIInvocationException;
+import io.cellery.observability.api.exception.InvalidParamException;
 import io.cellery.observability.api.internal.ServiceHolder;
+import io.cellery.observability.model.generator.exception.ModelNotRetainedException;
 import io.cellery.observability.model.generator.model.Model;
+import io.cellery.observability.model.generator.model.ModelDiff;
 
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.OPTIONS;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 /**
@@ -42,15 +48,21 @@ public class DependencyModelAPI {
     public Response getInstanceOverview(@PathParam("runtime") String runtime,
                                         @PathParam("namespace") String namespace,
                                         @DefaultValue("0") @QueryParam("queryStartTime") Long queryStartTime,
-                                        @DefaultValue("0") @QueryParam("queryEndTime") Long queryEndTime)
+                                        @DefaultValue("0") @QueryParam("queryEndTime") Long queryEndTime,
+                                        @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch)
             throws APIInvocationException {
         Utils.validateCelleryIdParam("runtime", runtime);
         Utils.validateCelleryIdParam("namespace", namespace);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
+            EntityTag entityTag = new EntityTag(ServiceHolder.getModelManager().getNamespaceDependencyModelTag(
+                    queryStartTime, queryEndTime, runtime, namespace));
+            if (Utils.isEntityTagMatched(ifNoneMatch, entityTag.getValue())) {
+                return Response.notModified(entityTag).build();
+            }
             Model model = ServiceHolder.getModelManager().getNamespaceDependencyModel(queryStartTime, queryEndTime,
                     runtime, namespace);
-            return Response.ok().entity(model).build();
+            return Response.ok().entity(model).tag(entityTag).build();
         } catch (Throwable e) {
             throw new APIInvocationException("Unexpected error occurred while fetching the Instance dependency model",
                     e);
@@ -64,16 +76,22 @@ public class DependencyModelAPI {
                                               @PathParam("namespace") String namespace,
                                               @PathParam("instanceName") String instanceName,
                                               @DefaultValue("0") @QueryParam("queryStartTime") Long queryStartTime,
-                                              @DefaultValue("0") @QueryParam("queryEndTime") Long queryEndTime)
+                                              @DefaultValue("0") @QueryParam("queryEndTime") Long queryEndTime,
+                                              @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch)
             throws APIInvocationException {
         Utils.validateCelleryIdParam("runtime", runtime);
         Utils.validateCelleryIdParam("namespace", namespace);
         Utils.validateCelleryIdParam("instanceName", instanceName);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
+            EntityTag entityTag = new EntityTag(ServiceHolder.getModelManager().getInstanceDependencyModelTag(
+                    queryStartTime, queryEndTime, runtime, namespace, instanceName));
+            if (Utils.isEntityTagMatched(ifNoneMatch, entityTag.getValue())) {
+                return Response.notModified(entityTag).build();
+            }
             Model model = ServiceHolder.getModelManager().getInstanceDependencyModel(queryStartTime, queryEndTime,
                     runtime, namespace, instanceName);
-            return Response.ok().entity(model).build();
+            return Response.ok().entity(model).tag(entityTag).build();
         } catch (Throwable e) {
             throw new APIInvocationException("API Invocation error occurred while fetching the dependency model for " +
                     "instance :" + instanceName, e);
@@ -88,7 +106,8 @@ public class DependencyModelAPI {
                                                @PathParam("instanceName") String instanceName,
                                                @PathParam("componentName") String componentName,
                                                @DefaultValue("0") @QueryParam("queryStartTime") Long queryStartTime,
-                                               @DefaultValue("0") @QueryParam("queryEndTime") Long queryEndTime)
+                                               @DefaultValue("0") @QueryParam("queryEndTime") Long queryEndTime,
+                                               @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch)
             throws APIInvocationException {
         Utils.validateCelleryIdParam("runtime", runtime);
         Utils.validateCelleryIdParam("namespace", namespace);
@@ -96,15 +115,47 @@ public class DependencyModelAPI {
         Utils.validateCelleryIdParam("componentName", componentName);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
+            EntityTag entityTag = new EntityTag(ServiceHolder.getModelManager().getComponentDependencyModelTag(
+                    queryStartTime, queryEndTime, runtime, namespace, instanceName, componentName));
+            if (Utils.isEntityTagMatched(ifNoneMatch, entityTag.getValue())) {
+                return Response.notModified(entityTag).build();
+            }
             Model model = ServiceHolder.getModelManager().getComponentDependencyModel(queryStartTime, queryEndTime,
                     runtime, namespace, instanceName, componentName);
-            return Response.ok().entity(model).build();
+            return Response.ok().entity(model).tag(entityTag).build();
         } catch (Throwable e) {
             throw new APIInvocationException("API Invocation error occurred while fetching the dependency model for " +
                     "component: " + componentName + " in instance: " + instanceName, e);
         }
     }
 
+    @GET
+    @Path("/diff")
+    @Produces("application/json")
+    public Response getDependencyModelDiff(@PathParam("runtime") String runtime,
+                                           @PathParam("namespace") String namespace,
+                                           @QueryParam("queryStartTime") Long queryStartTime,
+                                           @QueryParam("queryEndTime") Long queryEndTime)
+            throws APIInvocationException {
+        Utils.validateCelleryIdParam("runtime", runtime);
+        Utils.validateCelleryIdParam("namespace", namespace);
+        Utils.validateRequiredParam("queryStartTime", queryStartTime);
+        Utils.validateRequiredParam("queryEndTime", queryEndTime);
+        Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
+        try {
+            ModelDiff modelDiff = ServiceHolder.getModelManager().getDependencyModelDiff(queryStartTime,
+                    queryEndTime, runtime, namespace);
+            return Response.ok().entity(modelDiff).build();
+        } catch (ModelNotRetainedException e) {
+            throw new InvalidParamException("queryStartTime", "a value not earlier than "
+                    + e.getRetainedModelsStartTime() + " since the older dependency models are compacted",
+                    queryStartTime, e);
+        } catch (Throwable e) {
+            throw new APIInvocationException("API Invocation error occurred while fetching the dependency model " +
+                    "changes for namespace: " + namespace, e);
+        }
+    }
+
     @OPTIONS
     @Path(".*")
     public Response getOptions() {
@@ -24,14 +24,24 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import io.cellery.observability.api.exception.APIInvocationException;
 import io.cellery.observability.api.exception.InvalidParamException;
+import io.cellery.observability.api.internal.ServiceHolder;
+import io.cellery.observability.api.siddhi.SiddhiStoreQuery;
 import io.cellery.observability.api.siddhi.SiddhiStoreQueryTemplates;
+import io.cellery.observability.siddhi.extensions.internal.IndexedTagsConfig;
+import io.cellery.observability.siddhi.extensions.tracing.RecentSpanStore;
 import org.apache.commons.lang3.StringUtils;
+import org.wso2.carbon.config.ConfigurationException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.OPTIONS;
@@ -41,6 +51,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * MSF4J service for fetching distributed tracing data.
@@ -48,6 +59,15 @@ import javax.ws.rs.core.Response;
 @Path("/api/runtimes/{runtime}/namespaces/{namespace}/tracing")
 public class DistributedTracingAPI {
     private static final JsonParser jsonParser = new JsonParser();
+    private static final int FILTERED_SEARCH_BATCH_SIZE = 100;
+    private static final int MAX_SCANNED_ROOT_SPANS_COUNT = 5000;
+    private static final int ROOT_SPAN_TRACE_ID_INDEX = 0;
+    private static final int ROOT_SPAN_START_TIME_INDEX = 4;
+
+    private static final String SPAN_ID_SEPARATOR = "/";
+
+    // The time from which the trace summaries are available (-1 until it is read from the store)
+    private static volatile long cachedSummaryStartTime = -1;
 
     @GET
     @Path("/metadata")
@@ -61,13 +81,13 @@ public class DistributedTracingAPI {
         Utils.validateCelleryIdParam("namespace", namespace);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_METADATA.builder()
+            StreamingOutput results = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_METADATA.builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
                     .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
                     .build()
-                    .execute();
+                    .stream();
             return Response.ok().entity(results).build();
         } catch (Throwable e) {
             throw new APIInvocationException("API Invocation error occurred while fetching Tracing metadata", e);
@@ -88,7 +108,8 @@ public class DistributedTracingAPI {
                            @DefaultValue("-1") @QueryParam("queryEndTime") long queryEndTime,
                            @DefaultValue("{}") @QueryParam("tags") String jsonEncodedTags,
                            @DefaultValue("25") @QueryParam("limit") int limit,
-                           @DefaultValue("0") @QueryParam("offset") int offset)
+                           @DefaultValue("-1") @QueryParam("cursorStartTime") long cursorStartTime,
+                           @DefaultValue("") @QueryParam("cursorTraceId") String cursorTraceId)
             throws APIInvocationException {
         Utils.validateCelleryIdParam("runtime", runtime);
         Utils.validateCelleryIdParam("namespace", namespace);
@@ -101,7 +122,7 @@ public class DistributedTracingAPI {
         if (StringUtils.isNotBlank(operationName)) {
             Utils.validateSimpleStringParam("operationName", operationName);
         }
-        if (minDuration != -1 && maxDuration != 1 && minDuration >= maxDuration) {
+        if (minDuration != -1 && maxDuration != -1 && minDuration >= maxDuration) {
             throw new InvalidParamException("maxDuration", "value greater than minDuration",
                     "minDuration: " + minDuration + " & maxDuration: " + maxDuration);
         }
@@ -109,18 +130,18 @@ public class DistributedTracingAPI {
         if (limit > 100 || limit <= 0) {
             throw new InvalidParamException("limit", "value less than or equal to 100 and greater than zero", limit);
         }
-        if (offset < 0) {
-            throw new InvalidParamException("limit", "value greater than or equal to zero", offset);
+        if (cursorStartTime != -1 || !cursorTraceId.isEmpty()) {
+            if (cursorStartTime <= 0) {
+                throw new InvalidParamException("cursorStartTime", "value greater than zero", cursorStartTime);
+            }
+            if (!Constants.TRACE_ID_PATTERN.matcher(cursorTraceId).matches()) {
+                throw new InvalidParamException("cursorTraceId", "a string of lowercase letters and numbers",
+                        cursorTraceId);
+            }
         }
         try {
             Map<String, String> queryTags = new HashMap<>();
-            SiddhiStoreQueryTemplates siddhiStoreQueryTemplates;
-            if ("{}".equals(jsonEncodedTags)) {
-                siddhiStoreQueryTemplates = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS;
-            } else {
-                siddhiStoreQueryTemplates
-                        = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS_WITH_TAGS;
-
+            if (!"{}".equals(jsonEncodedTags)) {
                 // Parsing the provided JSON encoded tags
                 try {
                     JsonElement jsonElement = jsonParser.parse(jsonEncodedTags);
@@ -144,118 +165,126 @@ public class DistributedTracingAPI {
                     throw new InvalidParamException("tags", "JSON encoded object", e);
                 }
             }
+            boolean hasSpanFilters = StringUtils.isNotEmpty(instance) || StringUtils.isNotEmpty(serviceName)
+                    || StringUtils.isNotEmpty(operationName) || !queryTags.isEmpty();
 
-            Object[][] traceIdResults = siddhiStoreQueryTemplates.builder()
-                    .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
-                    .setArg(SiddhiStoreQueryTemplates.Params.INSTANCE, instance)
-                    .setArg(SiddhiStoreQueryTemplates.Params.SERVICE_NAME, serviceName)
-                    .setArg(SiddhiStoreQueryTemplates.Params.OPERATION_NAME, operationName)
-                    .build()
-                    .execute();
-
-            List<String> fullTraceIdList = new ArrayList<>();
-            if (traceIdResults.length > 0) {
-                /*
-                 * The root span trace Ids list is fetched for validating whether the traces have roots as well as to
-                 * ensure that the query start time, end time and minimum duration matches properly
-                 */
-                Object[][] fullRootSpansResult
-                        = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS_WITH_VALID_ROOT_SPANS
-                            .builder()
-                            .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
-                            .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
-                            .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
-                            .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
-                            .setArg(SiddhiStoreQueryTemplates.Params.MIN_DURATION, minDuration)
-                            .setArg(SiddhiStoreQueryTemplates.Params.MAX_DURATION, maxDuration)
-                            .build()
-                            .execute();
-                List<String> fullRootSpansList = new ArrayList<>(fullRootSpansResult.length);
-                for (Object[] rootSpanResultRow: fullRootSpansResult) {
-                    fullRootSpansList.add((String) rootSpanResultRow[0]);
+            /*
+             * The root spans are read from the trace summaries maintained at ingest time in (startTime, traceId)
+             * descending order, starting from the provided cursor. One additional root span is fetched to identify
+             * whether there are more pages.
+             * When span level filters are present, the root spans are read in batches and only the traces with at
+             * least one matching span are picked until the page is filled.
+             * The traces which started before the trace summaries were available are read from the spans after all
+             * the newer traces have been read.
+             */
+            long summaryStartTime = getSummaryStartTime();
+            boolean isLegacyScan = summaryStartTime == -1
+                    || (queryEndTime != -1 && queryEndTime < summaryStartTime)
+                    || (cursorStartTime != -1 && cursorStartTime < summaryStartTime);
+            boolean hasLegacyRange = summaryStartTime == -1 || queryStartTime == -1
+                    || queryStartTime < summaryStartTime;
+            List<Object[]> rootSpans = new ArrayList<>(limit + 1);
+            int batchSize = hasSpanFilters ? Math.max(limit + 1, FILTERED_SEARCH_BATCH_SIZE) : limit + 1;
+            long batchCursorStartTime = cursorStartTime;
+            String batchCursorTraceId = cursorTraceId;
+            int batchCursorTiesCount = 0;
+            int scannedRootSpansCount = 0;
+            boolean isScanCompleted = false;
+            Future<Object[][]> rootSpanBatchFuture = null;
+            int batchLimit = 0;
+            while (rootSpans.size() <= limit && !isScanCompleted
+                    && scannedRootSpansCount < MAX_SCANNED_ROOT_SPANS_COUNT) {
+                Object[][] rootSpanBatch;
+                if (rootSpanBatchFuture == null) {
+                    batchLimit = batchSize + batchCursorTiesCount;
+                    rootSpanBatch = buildRootSpansQuery(runtime, namespace, queryStartTime, queryEndTime,
+                            batchCursorStartTime, minDuration, maxDuration, batchLimit, isLegacyScan,
+                            summaryStartTime).execute();
+                } else {
+                    rootSpanBatch = rootSpanBatchFuture.get();
+                    rootSpanBatchFuture = null;
+                }
+                isScanCompleted = rootSpanBatch.length < batchLimit;
+                if (isScanCompleted && !isLegacyScan && hasLegacyRange) {
+                    // Continuing with the traces which started before the trace summaries were available
+                    isLegacyScan = true;
+                    isScanCompleted = false;
                 }
 
-                // Filtering based on tags
-                for (Object[] traceIdResult : traceIdResults) {
-                    String traceId = (String) traceIdResult[0];
-
-                    if (fullRootSpansList.contains(traceId) && !fullTraceIdList.contains(traceId)) {
-                        if ("{}".equals(jsonEncodedTags)) {
-                            fullTraceIdList.add(traceId);
-                        } else {
-                            // To consider a traceId a single matching span is enough
-                            boolean isMatch = false;
-                            JsonElement parsedJsonElement = jsonParser.parse((String) traceIdResult[1]);
-                            if (parsedJsonElement.isJsonObject()) {
-                                JsonObject traceTags = parsedJsonElement.getAsJsonObject();
-                                for (Map.Entry<String, String> queryTagEntry : queryTags.entrySet()) {
-                                    String tagKey = queryTagEntry.getKey();
-                                    String tagValue = queryTagEntry.getValue();
-
-                                    JsonElement traceTagValueJsonElement = traceTags.get(tagKey);
-                                    if (traceTagValueJsonElement != null && traceTagValueJsonElement.isJsonPrimitive()
-                                            && Objects.equals(tagValue, traceTagValueJsonElement.getAsString())) {
-                                        isMatch = true;
-                                        break;
-                                    }
-                                }
-                            }
-                            if (isMatch) {
-                                fullTraceIdList.add(traceId);
-                            }
-                        }
+                // Root spans with the same start time as the cursor are read again and need to be skipped
+                List<Object[]> newRootSpans = new ArrayList<>(rootSpanBatch.length);
+                for (Object[] rootSpan : rootSpanBatch) {
+                    if (isBeforeCursor(rootSpan, batchCursorStartTime, batchCursorTraceId)) {
+                        newRootSpans.add(rootSpan);
+                    }
+                }
+                if (newRootSpans.size() > 0) {
+                    Object[] lastRootSpan = newRootSpans.get(newRootSpans.size() - 1);
+                    batchCursorStartTime = (Long) lastRootSpan[ROOT_SPAN_START_TIME_INDEX];
+                    batchCursorTraceId = (String) lastRootSpan[ROOT_SPAN_TRACE_ID_INDEX];
+                }
+                batchCursorTiesCount = 0;
+                for (Object[] rootSpan : rootSpanBatch) {
+                    if ((Long) rootSpan[ROOT_SPAN_START_TIME_INDEX] == batchCursorStartTime) {
+                        batchCursorTiesCount++;
                     }
                 }
-            }
-
-            // Limiting the results
-            List<String> traceIds = fullTraceIdList.subList(offset, Math.min(offset + limit, fullTraceIdList.size()));
-
-            Object[][] spanCountResults = null;
-            Object[][] rootSpanResults = null;
-            if (traceIds.size() > 0) {
-                rootSpanResults = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_ROOT_SPAN_METADATA
-                        .builder()
-                        .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
-                        .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
-                        .setArg(
-                                SiddhiStoreQueryTemplates.Params.CONDITION,
-                                Utils.generateSiddhiMatchConditionForMultipleValues(
-                                        "traceId", traceIds.toArray(new String[0]))
-                        )
-                        .build()
-                        .execute();
 
-                // Creating the array of trace IDs of the selected root spans
-                String[] rootSpanResultIds = new String[rootSpanResults.length];
-                for (int i = 0; i < rootSpanResults.length; i++) {
-                    rootSpanResultIds[i] = (String) rootSpanResults[i][0];
+                // Prefetching the next batch while the traces in the current batch are being matched
+                if (hasSpanFilters && !isScanCompleted
+                        && scannedRootSpansCount + newRootSpans.size() < MAX_SCANNED_ROOT_SPANS_COUNT) {
+                    batchLimit = batchSize + batchCursorTiesCount;
+                    rootSpanBatchFuture = buildRootSpansQuery(runtime, namespace, queryStartTime, queryEndTime,
+                            batchCursorStartTime, minDuration, maxDuration, batchLimit, isLegacyScan,
+                            summaryStartTime).executeAsync();
                 }
 
-                if (rootSpanResultIds.length > 0) {
-                    spanCountResults =
-                            SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_MULTIPLE_INSTANCE_SERVICE_COUNTS
-                                    .builder()
-                                    .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
-                                    .setArg(SiddhiStoreQueryTemplates.Params.CONDITION,
-                                            Utils.generateSiddhiMatchConditionForMultipleValues("traceId",
-                                                    rootSpanResultIds))
-                                    .build()
-                                    .execute();
+                Set<String> matchingTraceIds = hasSpanFilters && newRootSpans.size() > 0
+                        ? getMatchingTraceIds(runtime, namespace, instance, serviceName, operationName, queryTags,
+                                newRootSpans)
+                        : null;
+                for (Object[] rootSpan : newRootSpans) {
+                    scannedRootSpansCount++;
+                    if (matchingTraceIds == null
+                            || matchingTraceIds.contains(rootSpan[ROOT_SPAN_TRACE_ID_INDEX])) {
+                        rootSpans.add(rootSpan);
+                        if (rootSpans.size() > limit) {
+                            break;
+                        }
+                    }
                 }
             }
-            if (spanCountResults == null) {
-                spanCountResults = new Object[0][0];
+
+            if (rootSpanBatchFuture != null) {
+                // The page was filled without requiring the prefetched batch
+                rootSpanBatchFuture.cancel(false);
             }
-            if (rootSpanResults == null) {
-                rootSpanResults = new Object[0][0];
+
+            // Identifying the cursor for fetching the next page
+            Map<String, Object> nextCursor = null;
+            boolean isPartial = false;
+            if (rootSpans.size() > limit) {
+                rootSpans = rootSpans.subList(0, limit);
+                nextCursor = generateCursor(rootSpans.get(limit - 1));
+            } else if (!isScanCompleted) {
+                // The maximum number of root spans for a single request were scanned without filling the page and
+                // the rest of the traces can be searched using the cursor pointing to the last scanned root span
+                isPartial = true;
+                nextCursor = new HashMap<>(2);
+                nextCursor.put("startTime", batchCursorStartTime);
+                nextCursor.put("traceId", batchCursorTraceId);
             }
 
-            Map<String, Object> resultsMap = new HashMap<>(3);
+            Object[][] spanCountResults = getSpanCounts(runtime, rootSpans, summaryStartTime);
+
+            Map<String, Object> resultsMap = new HashMap<>(5);
             resultsMap.put("spanCounts", spanCountResults);
-            resultsMap.put("rootSpans", rootSpanResults);
-            resultsMap.put("totalRootSpansCount", fullTraceIdList.size());
+            resultsMap.put("rootSpans", rootSpans.toArray(new Object[0][]));
+            resultsMap.put("isPartial", isPartial);
+            resultsMap.put("scannedRootSpansCount", scannedRootSpansCount);
+            if (nextCursor != null) {
+                resultsMap.put("nextCursor", nextCursor);
+            }
 
             return Response.ok().entity(resultsMap).build();
         } catch (Throwable e) {
@@ -275,11 +304,18 @@ public class DistributedTracingAPI {
             throw new InvalidParamException("traceId", "a string of lowercase letters and numbers", traceId);
         }
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_GET_TRACE.builder()
+            // Recently started traces are served from memory without querying the database
+            RecentSpanStore recentSpanStore = ServiceHolder.getRecentSpanStore();
+            Object[][] recentSpans = recentSpanStore == null ? null : recentSpanStore.getTrace(runtime, traceId);
+            if (recentSpans != null) {
+                return Response.ok().entity(recentSpans).build();
+            }
+
+            StreamingOutput results = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_GET_TRACE.builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
                     .setArg(SiddhiStoreQueryTemplates.Params.TRACE_ID, traceId)
                     .build()
-                    .execute();
+                    .stream();
             return Response.ok().entity(results).build();
         } catch (Throwable e) {
             throw new APIInvocationException("API Invocation error occurred while fetching Trace for ID: "
@@ -292,4 +328,286 @@ public class DistributedTracingAPI {
     public Response getOptions() {
         return Response.ok().build();
     }
+
+    /**
+     * Get the time from which the trace summaries are available.
+     * The time is recorded by the Tracing Siddhi App when it starts maintaining the summaries for the first time.
+     *
+     * @return The time from which the trace summaries are available or -1 if the time is not recorded yet
+     */
+    private static long getSummaryStartTime() {
+        if (cachedSummaryStartTime == -1) {
+            Object[][] results = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_GET_SUMMARY_START_TIME.builder()
+                    .build()
+                    .execute();
+            if (results.length > 0) {
+                cachedSummaryStartTime = (Long) results[0][0];
+            }
+        }
+        return cachedSummaryStartTime;
+    }
+
+    /**
+     * Build the query for reading a batch of root spans in (startTime, traceId) descending order.
+     * The root spans of the traces which started before the trace summaries were available are read from the spans
+     * and the others are read from the trace summaries.
+     *
+     * @param runtime The runtime to search in
+     * @param namespace The namespace to search in
+     * @param queryStartTime The start of the time range or -1
+     * @param queryEndTime The end of the time range or -1
+     * @param cursorStartTime The start time of the cursor or -1 if there is no cursor
+     * @param minDuration The minimum duration filter or -1
+     * @param maxDuration The maximum duration filter or -1
+     * @param batchLimit The maximum number of root spans to read
+     * @param isLegacyScan True if the traces which started before the trace summaries were available are read
+     * @param summaryStartTime The time from which the trace summaries are available or -1
+     * @return The root spans query
+     */
+    private static SiddhiStoreQuery buildRootSpansQuery(String runtime, String namespace, long queryStartTime,
+                                                        long queryEndTime, long cursorStartTime, long minDuration,
+                                                        long maxDuration, int batchLimit, boolean isLegacyScan,
+                                                        long summaryStartTime) {
+        SiddhiStoreQueryTemplates template;
+        long rangeStartTime = queryStartTime;
+        long rangeEndTime = queryEndTime;
+        if (isLegacyScan) {
+            template = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_LEGACY_ROOT_SPANS;
+            if (summaryStartTime != -1 && (queryEndTime == -1 || queryEndTime >= summaryStartTime)) {
+                rangeEndTime = summaryStartTime - 1;
+            }
+        } else {
+            template = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_ROOT_SPANS;
+            rangeStartTime = Math.max(queryStartTime, summaryStartTime);
+        }
+        return template.builder()
+                .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
+                .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
+                .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, rangeStartTime)
+                .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, rangeEndTime)
+                .setArg(SiddhiStoreQueryTemplates.Params.CURSOR_START_TIME, cursorStartTime)
+                .setArg(SiddhiStoreQueryTemplates.Params.MIN_DURATION, minDuration)
+                .setArg(SiddhiStoreQueryTemplates.Params.MAX_DURATION, maxDuration)
+                .setArg(SiddhiStoreQueryTemplates.Params.LIMIT, batchLimit)
+                .build();
+    }
+
+    /**
+     * Check whether a root span comes after the cursor in the (startTime, traceId) descending order.
+     *
+     * @param rootSpan The root span row read from the store
+     * @param cursorStartTime The start time of the cursor or -1 if there is no cursor
+     * @param cursorTraceId The trace ID of the cursor
+     * @return True if the root span comes after the cursor
+     */
+    private static boolean isBeforeCursor(Object[] rootSpan, long cursorStartTime, String cursorTraceId) {
+        long startTime = (Long) rootSpan[ROOT_SPAN_START_TIME_INDEX];
+        return cursorStartTime == -1 || startTime < cursorStartTime || (startTime == cursorStartTime
+                && ((String) rootSpan[ROOT_SPAN_TRACE_ID_INDEX]).compareTo(cursorTraceId) < 0);
+    }
+
+    /**
+     * Generate the cursor pointing to a root span.
+     *
+     * @param rootSpan The root span row read from the store
+     * @return The cursor which can be used for fetching the root spans after the provided root span
+     */
+    private static Map<String, Object> generateCursor(Object[] rootSpan) {
+        Map<String, Object> cursor = new HashMap<>(2);
+        cursor.put("startTime", rootSpan[ROOT_SPAN_START_TIME_INDEX]);
+        cursor.put("traceId", rootSpan[ROOT_SPAN_TRACE_ID_INDEX]);
+        return cursor;
+    }
+
+    /**
+     * Get the number of spans of each instance and service of the traces.
+     * The spans of the traces which started before the trace summaries were available are counted at query time.
+     *
+     * @param runtime The runtime of the traces
+     * @param rootSpans The root spans of the traces
+     * @param summaryStartTime The time from which the trace summaries are available or -1
+     * @return The span counts of the traces
+     */
+    private static Object[][] getSpanCounts(String runtime, List<Object[]> rootSpans, long summaryStartTime)
+            throws InterruptedException, ExecutionException {
+        List<String> traceIds = new ArrayList<>(rootSpans.size());
+        List<String> legacyTraceIds = new ArrayList<>();
+        for (Object[] rootSpan : rootSpans) {
+            if (summaryStartTime == -1 || (Long) rootSpan[ROOT_SPAN_START_TIME_INDEX] < summaryStartTime) {
+                legacyTraceIds.add((String) rootSpan[ROOT_SPAN_TRACE_ID_INDEX]);
+            } else {
+                traceIds.add((String) rootSpan[ROOT_SPAN_TRACE_ID_INDEX]);
+            }
+        }
+        Future<Object[][]> legacySpanCountResultsFuture = null;
+        if (legacyTraceIds.size() > 0) {
+            legacySpanCountResultsFuture = SiddhiStoreQueryTemplates
+                    .DISTRIBUTED_TRACING_SEARCH_GET_LEGACY_MULTIPLE_INSTANCE_SERVICE_COUNTS.builder()
+                    .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
+                    .setArg(SiddhiStoreQueryTemplates.Params.CONDITION,
+                            Utils.generateSiddhiMatchConditionForMultipleValues("traceId",
+                                    legacyTraceIds.toArray(new String[0])))
+                    .build()
+                    .executeAsync();
+        }
+        List<Object[]> spanCountResults = new ArrayList<>();
+        if (traceIds.size() > 0) {
+            Collections.addAll(spanCountResults,
+                    SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_MULTIPLE_INSTANCE_SERVICE_COUNTS.builder()
+                            .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
+                            .setArg(SiddhiStoreQueryTemplates.Params.CONDITION,
+                                    Utils.generateSiddhiMatchConditionForMultipleValues("traceId",
+                                            traceIds.toArray(new String[0])))
+                            .build()
+                            .execute());
+        }
+        if (legacySpanCountResultsFuture != null) {
+            Collections.addAll(spanCountResults, legacySpanCountResultsFuture.get());
+        }
+        return spanCountResults.toArray(new Object[0][]);
+    }
+
+    /**
+     * Get the trace IDs of the traces which contain at least one span matching the span level filters.
+     *
+     * @param runtime The runtime to search in
+     * @param namespace The namespace to search in
+     * @param instance The instance filter or an empty string
+     * @param serviceName The service name filter or an empty string
+     * @param operationName The operation name filter or an empty string
+     * @param queryTags The tags filter of which at least one tag should match
+     * @param rootSpans The root spans of the traces to be checked
+     * @return The set of matching trace IDs
+     */
+    private static Set<String> getMatchingTraceIds(String runtime, String namespace, String instance,
+                                                   String serviceName, String operationName,
+                                                   Map<String, String> queryTags, List<Object[]> rootSpans)
+            throws InterruptedException, ExecutionException, ConfigurationException {
+        String[] traceIds = new String[rootSpans.size()];
+        for (int i = 0; i < rootSpans.size(); i++) {
+            traceIds[i] = (String) rootSpans.get(i)[ROOT_SPAN_TRACE_ID_INDEX];
+        }
+        if (!queryTags.isEmpty() && isIndexedTagsQuery(queryTags)) {
+            return getMatchingTraceIdsUsingIndexedTags(runtime, namespace, instance, serviceName, operationName,
+                    queryTags, traceIds);
+        }
+        Object[][] traceIdResults = (queryTags.isEmpty()
+                ? SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS
+                : SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS_WITH_TAGS)
+                .builder()
+                .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
+                .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
+                .setArg(SiddhiStoreQueryTemplates.Params.INSTANCE, instance)
+                .setArg(SiddhiStoreQueryTemplates.Params.SERVICE_NAME, serviceName)
+                .setArg(SiddhiStoreQueryTemplates.Params.OPERATION_NAME, operationName)
+                .setArg(SiddhiStoreQueryTemplates.Params.CONDITION,
+                        Utils.generateSiddhiMatchConditionForMultipleValues("traceId", traceIds))
+                .build()
+                .execute();
+
+        Set<String> matchingTraceIds = new HashSet<>(traceIdResults.length);
+        for (Object[] traceIdResult : traceIdResults) {
+            String traceId = (String) traceIdResult[0];
+            if (queryTags.isEmpty()) {
+                matchingTraceIds.add(traceId);
+            } else if (!matchingTraceIds.contains(traceId)) {
+                // To consider a traceId a single matching span is enough
+                JsonElement parsedJsonElement = jsonParser.parse((String) traceIdResult[1]);
+                if (parsedJsonElement.isJsonObject()) {
+                    JsonObject traceTags = parsedJsonElement.getAsJsonObject();
+                    for (Map.Entry<String, String> queryTagEntry : queryTags.entrySet()) {
+                        JsonElement traceTagValueJsonElement = traceTags.get(queryTagEntry.getKey());
+                        if (traceTagValueJsonElement != null && traceTagValueJsonElement.isJsonPrimitive()
+                                && Objects.equals(queryTagEntry.getValue(), traceTagValueJsonElement.getAsString())) {
+                            matchingTraceIds.add(traceId);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return matchingTraceIds;
+    }
+
+    /**
+     * Get the trace IDs of the traces which contain at least one span matching the span level filters by looking up
+     * the tags in the tag table instead of reading and parsing the tags of all the spans.
+     *
+     * @param runtime The runtime to search in
+     * @param namespace The namespace to search in
+     * @param instance The instance filter or an empty string
+     * @param serviceName The service name filter or an empty string
+     * @param operationName The operation name filter or an empty string
+     * @param queryTags The indexed tags filter of which at least one tag should match
+     * @param traceIds The trace IDs of the traces to be checked
+     * @return The set of matching trace IDs
+     */
+    private static Set<String> getMatchingTraceIdsUsingIndexedTags(String runtime, String namespace, String instance,
+                                                                   String serviceName, String operationName,
+                                                                   Map<String, String> queryTags, String[] traceIds)
+            throws InterruptedException, ExecutionException {
+        String traceIdsCondition = Utils.generateSiddhiMatchConditionForMultipleValues("traceId", traceIds);
+        Future<Object[][]> tagResultsFuture =
+                SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_SPAN_IDS_WITH_INDEXED_TAGS.builder()
+                        .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
+                        .setArg(SiddhiStoreQueryTemplates.Params.TAGS_CONDITION,
+                                Utils.generateSiddhiMatchConditionForMultiplePairs("tagKey", "tagValue", queryTags))
+                        .setArg(SiddhiStoreQueryTemplates.Params.CONDITION, traceIdsCondition)
+                        .build()
+                        .executeAsync();
+
+        // The tags and the other filters should match the same span and therefore both are read in parallel
+        Future<Object[][]> spanIdResultsFuture = null;
+        if (StringUtils.isNotEmpty(instance) || StringUtils.isNotEmpty(serviceName)
+                || StringUtils.isNotEmpty(operationName)) {
+            spanIdResultsFuture = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_SPAN_IDS.builder()
+                    .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
+                    .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
+                    .setArg(SiddhiStoreQueryTemplates.Params.INSTANCE, instance)
+                    .setArg(SiddhiStoreQueryTemplates.Params.SERVICE_NAME, serviceName)
+                    .setArg(SiddhiStoreQueryTemplates.Params.OPERATION_NAME, operationName)
+                    .setArg(SiddhiStoreQueryTemplates.Params.CONDITION, traceIdsCondition)
+                    .build()
+                    .executeAsync();
+        }
+
+        Object[][] tagResults = tagResultsFuture.get();
+        Set<String> matchingTraceIds = new HashSet<>(tagResults.length);
+        if (spanIdResultsFuture == null) {
+            for (Object[] tagResult : tagResults) {
+                matchingTraceIds.add((String) tagResult[0]);
+            }
+        } else {
+            Set<String> matchingTagSpanIds = new HashSet<>(tagResults.length);
+            for (Object[] tagResult : tagResults) {
+                matchingTagSpanIds.add(tagResult[0] + SPAN_ID_SEPARATOR + tagResult[1]);
+            }
+            for (Object[] spanIdResult : spanIdResultsFuture.get()) {
+                if (matchingTagSpanIds.contains(spanIdResult[0] + SPAN_ID_SEPARATOR + spanIdResult[1])) {
+                    matchingTraceIds.add((String) spanIdResult[0]);
+                }
+            }
+        }
+        return matchingTraceIds;
+    }
+
+    /**
+     * Check whether all the tags in a tags filter can be looked up in the tag table.
+     * Only the tags with indexed keys and values which can be safely embedded in a Siddhi query are considered.
+     * The indexed keys are shared with the Tracing Siddhi App which stores the tags.
+     *
+     * @param queryTags The tags filter
+     * @return True if the tags filter can be resolved using the tag table
+     * @throws ConfigurationException If reading the indexed tags configuration failed
+     */
+    private static boolean isIndexedTagsQuery(Map<String, String> queryTags) throws ConfigurationException {
+        Set<String> indexedTagKeys = IndexedTagsConfig.getInstance().getKeys();
+        for (Map.Entry<String, String> queryTag : queryTags.entrySet()) {
+            if (!indexedTagKeys.contains(queryTag.getKey())
+                    || !Constants.SIMPLE_STRING_PATTERN.matcher(queryTag.getValue()).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
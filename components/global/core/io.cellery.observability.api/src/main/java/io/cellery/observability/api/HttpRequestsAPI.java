@@ -20,12 +20,18 @@ package io.cellery.observability.api;
 
 import com.google.gson.JsonObject;
 import io.cellery.observability.api.exception.APIInvocationException;
+import io.cellery.observability.api.siddhi.RequestAggregationCache;
+import io.cellery.observability.api.siddhi.RequestAggregationPlanner;
+import io.cellery.observability.api.siddhi.SiddhiStoreQuery;
 import io.cellery.observability.api.siddhi.SiddhiStoreQueryTemplates;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Future;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.OPTIONS;
@@ -35,6 +41,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * MSF4J service for fetching the aggregated request.
@@ -42,6 +49,8 @@ import javax.ws.rs.core.Response;
 @Path("/api/runtimes/{runtime}/namespaces/{namespace}/http-requests")
 public class HttpRequestsAPI {
 
+    private final RequestAggregationCache requestAggregationCache = new RequestAggregationCache();
+
     @GET
     @Path("/instances")
     @Produces(MediaType.APPLICATION_JSON)
@@ -57,14 +66,14 @@ public class HttpRequestsAPI {
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         Utils.validateTimeGranularityParam(timeGranularity);
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCES.builder()
+            StreamingOutput results = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCES.builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
                     .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
                     .setArg(SiddhiStoreQueryTemplates.Params.TIME_GRANULARITY, timeGranularity)
                     .build()
-                    .execute();
+                    .stream();
             return Response.ok().entity(results).build();
         } catch (Throwable throwable) {
             throw new APIInvocationException("Unexpected error occurred while fetching the aggregated HTTP request " +
@@ -79,7 +88,7 @@ public class HttpRequestsAPI {
                                            @PathParam("namespace") String namespace,
                                            @QueryParam("queryStartTime") long queryStartTime,
                                            @QueryParam("queryEndTime") long queryEndTime,
-                                           @DefaultValue("seconds") @QueryParam("timeGranularity")
+                                           @DefaultValue("") @QueryParam("timeGranularity")
                                                        String timeGranularity,
                                            @DefaultValue("") @QueryParam("sourceInstance") String sourceInstance,
                                            @DefaultValue("") @QueryParam("destinationInstance")
@@ -96,13 +105,13 @@ public class HttpRequestsAPI {
             Utils.validateCelleryIdParam("destinationInstance", destinationInstance);
         }
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
-        Utils.validateTimeGranularityParam(timeGranularity);
+        if (StringUtils.isNotEmpty(timeGranularity)) {
+            Utils.validateTimeGranularityParam(timeGranularity);
+        }
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCES_METRICS.builder()
+            SiddhiStoreQuery.Builder queryBuilder = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCES_METRICS
+                    .builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.TIME_GRANULARITY, timeGranularity)
                     .setArg(SiddhiStoreQueryTemplates.Params.SOURCE_NAMESPACE,
                             StringUtils.isEmpty(sourceInstance) ? "" : namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.SOURCE_INSTANCE, sourceInstance)
@@ -111,10 +120,12 @@ public class HttpRequestsAPI {
                     .setArg(SiddhiStoreQueryTemplates.Params.DESTINATION_INSTANCE, destinationInstance)
                     .setArg(SiddhiStoreQueryTemplates.Params.CONDITION,
                             includeIntraInstance
-                                    ? "true"
-                                    : "sourceInstance != destinationInstance")
-                    .build()
-                    .execute();
+                                    ? ""
+                                    : "sourceInstance != destinationInstance");
+            String plannedTimeGranularity = RequestAggregationPlanner.planTimeSeriesGranularity(timeGranularity,
+                    queryStartTime, queryEndTime);
+            Object[][] results = requestAggregationCache.execute(queryBuilder, plannedTimeGranularity,
+                    queryStartTime, queryEndTime);
             return Response.ok().entity(results).build();
         } catch (Throwable throwable) {
             throw new APIInvocationException("Unexpected error occurred while fetching aggregated HTTP Request metrics",
@@ -134,21 +145,29 @@ public class HttpRequestsAPI {
         Utils.validateCelleryIdParam("namespace", namespace);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCES_METADATA.builder()
-                    .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
-                    .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
-                    .build()
-                    .execute();
+            // The sub ranges are queried in parallel using the coarsest granularities covering them
+            List<Future<Object[][]>> resultsFutures = new ArrayList<>();
+            for (RequestAggregationPlanner.AggregationRange range
+                    : RequestAggregationPlanner.planCoveringRanges(queryStartTime, queryEndTime)) {
+                resultsFutures.add(SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCES_METADATA.builder()
+                        .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
+                        .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
+                        .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, range.getStartTime())
+                        .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, range.getEndTime())
+                        .setArg(SiddhiStoreQueryTemplates.Params.TIME_GRANULARITY, range.getGranularity())
+                        .build()
+                        .executeAsync());
+            }
 
             Set<String> instances = new HashSet<>();
-            for (Object[] result : results) {
-                if (Objects.equals(namespace, result[0])) {
-                    instances.add((String) result[1]);
-                }
-                if (Objects.equals(namespace, result[2])) {
-                    instances.add((String) result[3]);
+            for (Future<Object[][]> resultsFuture : resultsFutures) {
+                for (Object[] result : resultsFuture.get()) {
+                    if (Objects.equals(namespace, result[0])) {
+                        instances.add((String) result[1]);
+                    }
+                    if (Objects.equals(namespace, result[2])) {
+                        instances.add((String) result[3]);
+                    }
                 }
             }
 
@@ -176,7 +195,7 @@ public class HttpRequestsAPI {
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         Utils.validateTimeGranularityParam(timeGranularity);
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCE_COMPONENTS.builder()
+            StreamingOutput results = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCE_COMPONENTS.builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
                     .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.INSTANCE, instanceName)
@@ -184,7 +203,7 @@ public class HttpRequestsAPI {
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
                     .setArg(SiddhiStoreQueryTemplates.Params.TIME_GRANULARITY, timeGranularity)
                     .build()
-                    .execute();
+                    .stream();
             return Response.ok().entity(results).build();
         } catch (Throwable throwable) {
             throw new APIInvocationException("API Invocation error occurred while fetching the aggregated HTTP " +
@@ -199,7 +218,7 @@ public class HttpRequestsAPI {
                                             @PathParam("namespace") String namespace,
                                             @QueryParam("queryStartTime") long queryStartTime,
                                             @QueryParam("queryEndTime") long queryEndTime,
-                                            @DefaultValue("seconds") @QueryParam("timeGranularity")
+                                            @DefaultValue("") @QueryParam("timeGranularity")
                                                         String timeGranularity,
                                             @DefaultValue("") @QueryParam("sourceInstance") String sourceInstance,
                                             @DefaultValue("") @QueryParam("sourceComponent")
@@ -224,13 +243,13 @@ public class HttpRequestsAPI {
             Utils.validateCelleryIdParam("destinationComponent", destinationComponent);
         }
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
-        Utils.validateTimeGranularityParam(timeGranularity);
+        if (StringUtils.isNotEmpty(timeGranularity)) {
+            Utils.validateTimeGranularityParam(timeGranularity);
+        }
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_COMPONENTS_METRICS.builder()
+            SiddhiStoreQuery.Builder queryBuilder = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_COMPONENTS_METRICS
+                    .builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.TIME_GRANULARITY, timeGranularity)
                     .setArg(SiddhiStoreQueryTemplates.Params.SOURCE_NAMESPACE,
                             StringUtils.isEmpty(sourceInstance) ? "" : namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.SOURCE_INSTANCE, sourceInstance)
@@ -238,9 +257,11 @@ public class HttpRequestsAPI {
                     .setArg(SiddhiStoreQueryTemplates.Params.DESTINATION_NAMESPACE,
                             StringUtils.isEmpty(destinationInstance) ? "" : namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.DESTINATION_INSTANCE, destinationInstance)
-                    .setArg(SiddhiStoreQueryTemplates.Params.DESTINATION_COMPONENT, destinationComponent)
-                    .build()
-                    .execute();
+                    .setArg(SiddhiStoreQueryTemplates.Params.DESTINATION_COMPONENT, destinationComponent);
+            String plannedTimeGranularity = RequestAggregationPlanner.planTimeSeriesGranularity(timeGranularity,
+                    queryStartTime, queryEndTime);
+            Object[][] results = requestAggregationCache.execute(queryBuilder, plannedTimeGranularity,
+                    queryStartTime, queryEndTime);
             return Response.ok().entity(results).build();
         } catch (Throwable throwable) {
             throw new APIInvocationException("API Invocation error occurred while fetching the aggregated Component " +
@@ -260,27 +281,35 @@ public class HttpRequestsAPI {
         Utils.validateCelleryIdParam("namespace", namespace);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_COMPONENTS_METADATA.builder()
-                    .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
-                    .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
-                    .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
-                    .build()
-                    .execute();
+            // The sub ranges are queried in parallel using the coarsest granularities covering them
+            List<Future<Object[][]>> resultsFutures = new ArrayList<>();
+            for (RequestAggregationPlanner.AggregationRange range
+                    : RequestAggregationPlanner.planCoveringRanges(queryStartTime, queryEndTime)) {
+                resultsFutures.add(SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_COMPONENTS_METADATA.builder()
+                        .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
+                        .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
+                        .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, range.getStartTime())
+                        .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, range.getEndTime())
+                        .setArg(SiddhiStoreQueryTemplates.Params.TIME_GRANULARITY, range.getGranularity())
+                        .build()
+                        .executeAsync());
+            }
 
             Set<JsonObject> components = new HashSet<>();
-            for (Object[] result : results) {
-                if (Objects.equals(namespace, result[0])) {
-                    JsonObject component = new JsonObject();
-                    component.addProperty("instance", (String) result[1]);
-                    component.addProperty("component", (String) result[2]);
-                    components.add(component);
-                }
-                if (Objects.equals(namespace, result[3])) {
-                    JsonObject component = new JsonObject();
-                    component.addProperty("instance", (String) result[4]);
-                    component.addProperty("component", (String) result[5]);
-                    components.add(component);
+            for (Future<Object[][]> resultsFuture : resultsFutures) {
+                for (Object[] result : resultsFuture.get()) {
+                    if (Objects.equals(namespace, result[0])) {
+                        JsonObject component = new JsonObject();
+                        component.addProperty("instance", (String) result[1]);
+                        component.addProperty("component", (String) result[2]);
+                        components.add(component);
+                    }
+                    if (Objects.equals(namespace, result[3])) {
+                        JsonObject component = new JsonObject();
+                        component.addProperty("instance", (String) result[4]);
+                        component.addProperty("component", (String) result[5]);
+                        components.add(component);
+                    }
                 }
             }
 
@@ -32,6 +32,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * MSF4J service for fetching instances related data.
@@ -50,14 +51,14 @@ public class InstanceAPI {
         Utils.validateCelleryIdParam("namespace", namespace);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.K8S_GET_INSTANCES.builder()
+            StreamingOutput results = SiddhiStoreQueryTemplates.K8S_GET_INSTANCES.builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
                     .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.INSTANCE, "")
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
                     .build()
-                    .execute();
+                    .stream();
             return Response.ok().entity(results).build();
         } catch (Throwable e) {
             throw new APIInvocationException("API Invocation error occurred while fetching Tracing metadata", e);
@@ -78,7 +79,7 @@ public class InstanceAPI {
         Utils.validateCelleryIdParam("instanceName", instanceName);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.K8S_GET_COMPONENTS.builder()
+            StreamingOutput results = SiddhiStoreQueryTemplates.K8S_GET_COMPONENTS.builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
                     .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.INSTANCE, instanceName)
@@ -86,7 +87,7 @@ public class InstanceAPI {
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
                     .build()
-                    .execute();
+                    .stream();
             return Response.ok().entity(results).build();
         } catch (Throwable e) {
             throw new APIInvocationException("API Invocation error occurred while fetching Tracing metadata", e);
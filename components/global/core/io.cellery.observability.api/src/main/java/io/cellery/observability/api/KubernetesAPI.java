@@ -30,6 +30,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * MSF4J service for fetching K8s level information.
@@ -53,7 +54,7 @@ public class KubernetesAPI {
         Utils.validateCelleryIdParam("component", component);
         Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.K8S_GET_PODS_FOR_COMPONENT.builder()
+            StreamingOutput results = SiddhiStoreQueryTemplates.K8S_GET_PODS_FOR_COMPONENT.builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
                     .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.INSTANCE, instance)
@@ -61,7 +62,7 @@ public class KubernetesAPI {
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
                     .build()
-                    .execute();
+                    .stream();
             return Response.ok().entity(results).build();
         } catch (Throwable throwable) {
             throw new APIInvocationException("API Invocation error occurred while fetching Kubernetes pod information",
@@ -127,7 +128,7 @@ public class KubernetesAPI {
                                                    long queryStartTime, long queryEndTime)
             throws APIInvocationException {
         try {
-            Object[][] results = SiddhiStoreQueryTemplates.K8S_GET_COMPONENTS.builder()
+            StreamingOutput results = SiddhiStoreQueryTemplates.K8S_GET_COMPONENTS.builder()
                     .setArg(SiddhiStoreQueryTemplates.Params.RUNTIME, runtime)
                     .setArg(SiddhiStoreQueryTemplates.Params.NAMESPACE, namespace)
                     .setArg(SiddhiStoreQueryTemplates.Params.INSTANCE, instance)
@@ -135,7 +136,7 @@ public class KubernetesAPI {
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
                     .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
                     .build()
-                    .execute();
+                    .stream();
             return Response.ok().entity(results).build();
         } catch (Throwable throwable) {
             throw new APIInvocationException("API Invocation error occurred while fetching " +
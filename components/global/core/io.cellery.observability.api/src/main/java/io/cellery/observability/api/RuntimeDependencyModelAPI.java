@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.api;
+
+import io.cellery.observability.api.exception.APIInvocationException;
+import io.cellery.observability.api.exception.InvalidParamException;
+import io.cellery.observability.api.internal.ServiceHolder;
+import io.cellery.observability.model.generator.exception.ModelNotRetainedException;
+import io.cellery.observability.model.generator.model.ModelDiff;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.OPTIONS;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
+
+/**
+ * MSF4J service for fetching the dependency models spanning all the namespaces of a runtime.
+ */
+@Path("/api/runtimes/{runtime}/dependency-model")
+public class RuntimeDependencyModelAPI {
+
+    @GET
+    @Path("/diff")
+    @Produces("application/json")
+    public Response getDependencyModelDiff(@PathParam("runtime") String runtime,
+                                           @QueryParam("queryStartTime") Long queryStartTime,
+                                           @QueryParam("queryEndTime") Long queryEndTime)
+            throws APIInvocationException {
+        Utils.validateCelleryIdParam("runtime", runtime);
+        Utils.validateRequiredParam("queryStartTime", queryStartTime);
+        Utils.validateRequiredParam("queryEndTime", queryEndTime);
+        Utils.validateQueryRangeParam(queryStartTime, queryEndTime);
+        try {
+            ModelDiff modelDiff = ServiceHolder.getModelManager().getDependencyModelDiff(queryStartTime,
+                    queryEndTime, runtime, null);
+            return Response.ok().entity(modelDiff).build();
+        } catch (ModelNotRetainedException e) {
+            throw new InvalidParamException("queryStartTime", "a value not earlier than "
+                    + e.getRetainedModelsStartTime() + " since the older dependency models are compacted",
+                    queryStartTime, e);
+        } catch (Throwable e) {
+            throw new APIInvocationException("API Invocation error occurred while fetching the dependency model " +
+                    "changes for runtime: " + runtime, e);
+        }
+    }
+
+    @OPTIONS
+    @Path(".*")
+    public Response getOptions() {
+        return Response.ok().build();
+    }
+}
@@ -20,6 +20,8 @@ package io.cellery.observability.api;
 
 import io.cellery.observability.api.exception.InvalidParamException;
 
+import java.util.Map;
+
 /**
  * Common utilities for the API.
  */
@@ -39,6 +41,19 @@ public class Utils {
         }
     }
 
+    /**
+     * Validate and check if a required parameter is provided.
+     *
+     * @param paramName The name of the parameter
+     * @param value The value of the parameter
+     * @throws InvalidParamException if the parameter is not provided
+     */
+    public static void validateRequiredParam(String paramName, Object value) throws InvalidParamException {
+        if (value == null) {
+            throw new InvalidParamException(paramName, "a value", "none");
+        }
+    }
+
     /**
      * Validate and check if a query range is correct.
      *
@@ -84,6 +99,36 @@ public class Utils {
         }
     }
 
+    /**
+     * Check if an entity tag matches any of the entity tags in an If-None-Match header.
+     * Weak comparison is used as recommended for If-None-Match and therefore weak tags are matched as well.
+     *
+     * @param ifNoneMatchHeader The value of the If-None-Match header or null if the header is absent
+     * @param entityTag The opaque value of the entity tag of the current representation of the resource
+     * @return True if the entity tag matched
+     */
+    public static boolean isEntityTagMatched(String ifNoneMatchHeader, String entityTag) {
+        if (ifNoneMatchHeader == null) {
+            return false;
+        }
+        for (String headerTag : ifNoneMatchHeader.split(",")) {
+            String tag = headerTag.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (tag.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Generate a Siddhi match condition to match a set of values for a particular attribute.
      *
@@ -109,6 +154,39 @@ public class Utils {
         return traceIdMatchConditionBuilder.toString();
     }
 
+    /**
+     * Generate a Siddhi match condition to match a set of key value pairs stored in a pair of attributes.
+     *
+     * Eg:-
+     *     Input  - tagKey, tagValue, {"http.method": "GET", "error": "true"}
+     *     Output - (tagKey == "http.method" and tagValue == "GET") or (tagKey == "error" and tagValue == "true")
+     *
+     * @param keyAttributeName The name of the attribute holding the key
+     * @param valueAttributeName The name of the attribute holding the value
+     * @param pairs The key value pairs from which at least one should match
+     * @return The match condition which would match any pair from the provided map
+     */
+    public static String generateSiddhiMatchConditionForMultiplePairs(String keyAttributeName,
+                                                                      String valueAttributeName,
+                                                                      Map<String, String> pairs) {
+        StringBuilder pairMatchConditionBuilder = new StringBuilder();
+        for (Map.Entry<String, String> pair : pairs.entrySet()) {
+            if (pairMatchConditionBuilder.length() != 0) {
+                pairMatchConditionBuilder.append(" or ");
+            }
+            pairMatchConditionBuilder.append("(")
+                    .append(keyAttributeName)
+                    .append(" == \"")
+                    .append(pair.getKey())
+                    .append("\" and ")
+                    .append(valueAttributeName)
+                    .append(" == \"")
+                    .append(pair.getValue())
+                    .append("\")");
+        }
+        return pairMatchConditionBuilder.toString();
+    }
+
     private Utils() {   // Prevent initialization
     }
 }
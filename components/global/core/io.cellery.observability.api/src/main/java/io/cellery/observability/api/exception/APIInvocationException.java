@@ -34,12 +34,22 @@ public class APIInvocationException extends Exception {
      */
     public static class Mapper extends BaseExceptionMapper<APIInvocationException> {
 
+        private final InvalidParamException.Mapper invalidParamExceptionMapper = new InvalidParamException.Mapper();
+
         public Mapper() {
             super(Response.Status.INTERNAL_SERVER_ERROR);
         }
 
         @Override
         public Response toResponse(APIInvocationException exception) {
+            // Invalid parameters detected while executing the API call are reported as invalid parameters as well
+            Throwable cause = exception.getCause();
+            while (cause != null) {
+                if (cause instanceof InvalidParamException) {
+                    return invalidParamExceptionMapper.toResponse((InvalidParamException) cause);
+                }
+                cause = cause.getCause();
+            }
             return generateResponse(exception);
         }
     }
@@ -23,6 +23,7 @@ import io.cellery.observability.api.DistributedTracingAPI;
 import io.cellery.observability.api.HttpRequestsAPI;
 import io.cellery.observability.api.InstanceAPI;
 import io.cellery.observability.api.KubernetesAPI;
+import io.cellery.observability.api.RuntimeDependencyModelAPI;
 import io.cellery.observability.api.UserAPI;
 import io.cellery.observability.api.exception.APIInvocationException;
 import io.cellery.observability.api.exception.InvalidParamException;
@@ -33,6 +34,7 @@ import io.cellery.observability.api.siddhi.SiddhiStoreQueryManager;
 import io.cellery.observability.auth.AuthProvider;
 import io.cellery.observability.auth.DcrProvider;
 import io.cellery.observability.model.generator.model.ModelManager;
+import io.cellery.observability.siddhi.extensions.tracing.RecentSpanStore;
 import org.apache.log4j.Logger;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
@@ -89,8 +91,9 @@ public class ApiServiceComponent {
                             new UnexpectedException.Mapper()
                     )
                     .deploy(
-                            new DependencyModelAPI(), new HttpRequestsAPI(), new DistributedTracingAPI(),
-                            new KubernetesAPI(), new InstanceAPI(), new AuthAPI(), new UserAPI()
+                            new DependencyModelAPI(), new RuntimeDependencyModelAPI(), new HttpRequestsAPI(),
+                            new DistributedTracingAPI(), new KubernetesAPI(), new InstanceAPI(), new AuthAPI(),
+                            new UserAPI()
                     )
             );
             ServiceHolder.getMicroservicesRunner().start();
@@ -196,4 +199,19 @@ public class ApiServiceComponent {
     protected void unsetAuthProvider(AuthProvider authProvider) {
         ServiceHolder.setAuthProvider(null);
     }
+
+    @Reference(
+            name = "io.cellery.observability.siddhi.extensions.tracing.RecentSpanStore",
+            service = RecentSpanStore.class,
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetRecentSpanStore"
+    )
+    protected void setRecentSpanStore(RecentSpanStore recentSpanStore) {
+        ServiceHolder.setRecentSpanStore(recentSpanStore);
+    }
+
+    protected void unsetRecentSpanStore(RecentSpanStore recentSpanStore) {
+        ServiceHolder.setRecentSpanStore(null);
+    }
 }
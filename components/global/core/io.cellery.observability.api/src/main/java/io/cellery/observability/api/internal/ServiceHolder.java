@@ -21,6 +21,7 @@ import io.cellery.observability.api.siddhi.SiddhiStoreQueryManager;
 import io.cellery.observability.auth.AuthProvider;
 import io.cellery.observability.auth.DcrProvider;
 import io.cellery.observability.model.generator.model.ModelManager;
+import io.cellery.observability.siddhi.extensions.tracing.RecentSpanStore;
 import org.wso2.carbon.kernel.CarbonRuntime;
 import org.wso2.msf4j.MicroservicesRunner;
 import org.wso2.siddhi.core.SiddhiManager;
@@ -36,6 +37,7 @@ public class ServiceHolder {
     private static SiddhiManager siddhiManager;
     private static DcrProvider dcrProvider;
     private static AuthProvider authProvider;
+    private static RecentSpanStore recentSpanStore;
 
     public static CarbonRuntime getCarbonRuntime() {
         return carbonRuntime;
@@ -93,6 +95,14 @@ public class ServiceHolder {
         ServiceHolder.authProvider = authProvider;
     }
 
+    public static RecentSpanStore getRecentSpanStore() {
+        return recentSpanStore;
+    }
+
+    public static void setRecentSpanStore(RecentSpanStore recentSpanStore) {
+        ServiceHolder.recentSpanStore = recentSpanStore;
+    }
+
     private ServiceHolder() {   // Prevent initialization
     }
 }
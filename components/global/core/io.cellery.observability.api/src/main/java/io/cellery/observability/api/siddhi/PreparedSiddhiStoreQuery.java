@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.api.siddhi;
+
+import io.cellery.observability.api.exception.InvalidParamException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Siddhi Store Query template parsed into literal segments and typed parameters.
+ *
+ * The type of a parameter is derived from the place it is used in the template.
+ * <ul>
+ *     <li>Parameters within double quotes ("${param}") are bound as String literals</li>
+ *     <li>Parameters followed by the long suffix (${param}L) are bound as Long literals</li>
+ *     <li>Any other parameter (${param}) is bound as a raw Siddhi expression</li>
+ * </ul>
+ * Values of String and Long parameters cannot change the structure of the query. Since the values of String
+ * parameters are provided by the clients, a value containing double quotes is rejected as an invalid parameter.
+ *
+ * Optional filters are enclosed in [[ and ]]. An optional filter is left out of the query if any of its parameters
+ * is absent. Empty Strings, empty raw expressions and -1 Longs are considered absent. This allows the store to use
+ * simple predicates (and therefore indexes) instead of disjunctions which check for the absent values.
+ */
+class PreparedSiddhiStoreQuery {
+    private static final String OPTIONAL_START = "[[";
+    private static final String OPTIONAL_END = "]]";
+
+    private static final String PARAM_PREFIX = "${";
+    private static final String PARAM_SUFFIX = "}";
+    private static final char STRING_QUOTE = '"';
+    private static final char LONG_SUFFIX = 'L';
+    private static final long ABSENT_LONG_VALUE = -1L;
+
+    private final String query;
+    private final Block[] blocks;
+
+    PreparedSiddhiStoreQuery(String query) {
+        List<Block> blockList = new ArrayList<>();
+        int blockStartIndex = 0;
+        int optionalStartIndex = query.indexOf(OPTIONAL_START);
+        while (optionalStartIndex >= 0) {
+            int optionalEndIndex = query.indexOf(OPTIONAL_END, optionalStartIndex + OPTIONAL_START.length());
+            if (optionalEndIndex < 0) {
+                throw new IllegalArgumentException("Optional filter starting at " + optionalStartIndex
+                        + " is not closed in query: " + query);
+            }
+            if (optionalStartIndex > blockStartIndex) {
+                blockList.add(new Block(query.substring(blockStartIndex, optionalStartIndex), false));
+            }
+            blockList.add(new Block(query.substring(optionalStartIndex + OPTIONAL_START.length(), optionalEndIndex),
+                    true));
+            blockStartIndex = optionalEndIndex + OPTIONAL_END.length();
+            optionalStartIndex = query.indexOf(OPTIONAL_START, blockStartIndex);
+        }
+        if (blockStartIndex < query.length() || blockList.isEmpty()) {
+            blockList.add(new Block(query.substring(blockStartIndex), false));
+        }
+
+        this.query = query;
+        this.blocks = blockList.toArray(new Block[0]);
+    }
+
+    /**
+     * Bind the values of the parameters and generate the Siddhi Store Query.
+     *
+     * @param args The values of the parameters
+     * @return The Siddhi Store Query with the values bound
+     * @throws InvalidParamException If the value of a String parameter contains double quotes
+     */
+    String bind(Map<String, Object> args) {
+        if (blocks.length == 1 && blocks[0].paramNames.length == 0) {
+            return blocks[0].segments[0];
+        }
+        StringBuilder queryBuilder = new StringBuilder(query.length());
+        for (Block block : blocks) {
+            if (!block.isOptional || block.isPresent(args)) {
+                block.bind(args, queryBuilder);
+            }
+        }
+        return queryBuilder.toString();
+    }
+
+    /**
+     * Block of a Siddhi Store Query template which is either mandatory or optional.
+     */
+    private static class Block {
+        private final boolean isOptional;
+        private final String[] segments;
+        private final String[] paramNames;
+        private final ParamType[] paramTypes;
+
+        Block(String blockTemplate, boolean isOptional) {
+            List<String> segmentList = new ArrayList<>();
+            List<String> paramNameList = new ArrayList<>();
+            List<ParamType> paramTypeList = new ArrayList<>();
+            int segmentStartIndex = 0;
+            int paramStartIndex = blockTemplate.indexOf(PARAM_PREFIX);
+            while (paramStartIndex >= 0) {
+                int paramEndIndex = blockTemplate.indexOf(PARAM_SUFFIX, paramStartIndex + PARAM_PREFIX.length());
+                if (paramEndIndex < 0) {
+                    break;
+                }
+                segmentList.add(blockTemplate.substring(segmentStartIndex, paramStartIndex));
+                paramNameList.add(blockTemplate.substring(paramStartIndex + PARAM_PREFIX.length(), paramEndIndex));
+
+                int nextCharIndex = paramEndIndex + PARAM_SUFFIX.length();
+                char previousChar = paramStartIndex > 0 ? blockTemplate.charAt(paramStartIndex - 1) : 0;
+                char nextChar = nextCharIndex < blockTemplate.length() ? blockTemplate.charAt(nextCharIndex) : 0;
+                if (previousChar == STRING_QUOTE && nextChar == STRING_QUOTE) {
+                    paramTypeList.add(ParamType.STRING);
+                } else if (nextChar == LONG_SUFFIX) {
+                    paramTypeList.add(ParamType.LONG);
+                } else {
+                    paramTypeList.add(ParamType.RAW);
+                }
+
+                segmentStartIndex = nextCharIndex;
+                paramStartIndex = blockTemplate.indexOf(PARAM_PREFIX, segmentStartIndex);
+            }
+            segmentList.add(blockTemplate.substring(segmentStartIndex));
+
+            this.isOptional = isOptional;
+            this.segments = segmentList.toArray(new String[0]);
+            this.paramNames = paramNameList.toArray(new String[0]);
+            this.paramTypes = paramTypeList.toArray(new ParamType[0]);
+        }
+
+        /**
+         * Check whether all the parameters of the block are present.
+         *
+         * @param args The values of the parameters
+         * @return True if all the parameters are present
+         */
+        boolean isPresent(Map<String, Object> args) {
+            for (int i = 0; i < paramNames.length; i++) {
+                Object value = getValue(args, i);
+                if (paramTypes[i] == ParamType.LONG) {
+                    if (value instanceof Number && ((Number) value).longValue() == ABSENT_LONG_VALUE) {
+                        return false;
+                    }
+                } else if (value.toString().isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Bind the values of the parameters of the block and append the block to the query.
+         *
+         * @param args The values of the parameters
+         * @param queryBuilder The builder of the query to which the block should be appended
+         */
+        void bind(Map<String, Object> args, StringBuilder queryBuilder) {
+            for (int i = 0; i < paramNames.length; i++) {
+                queryBuilder.append(segments[i]);
+                Object value = getValue(args, i);
+                switch (paramTypes[i]) {
+                    case STRING:
+                        String stringValue = value.toString();
+                        if (stringValue.indexOf(STRING_QUOTE) >= 0) {
+                            throw new InvalidParamException(paramNames[i], "a value without double quotes",
+                                    stringValue);
+                        }
+                        queryBuilder.append(stringValue);
+                        break;
+                    case LONG:
+                        if (!(value instanceof Long || value instanceof Integer || value instanceof Short
+                                || value instanceof Byte)) {
+                            throw new IllegalArgumentException("Expected an integral value for Long parameter "
+                                    + paramNames[i] + ", but found " + value);
+                        }
+                        queryBuilder.append(((Number) value).longValue());
+                        break;
+                    default:
+                        queryBuilder.append(value);
+                        break;
+                }
+            }
+            queryBuilder.append(segments[paramNames.length]);
+        }
+
+        /**
+         * Get the value of a parameter of the block.
+         *
+         * @param args The values of the parameters
+         * @param paramIndex The index of the parameter in the block
+         * @return The value of the parameter
+         */
+        private Object getValue(Map<String, Object> args, int paramIndex) {
+            Object value = args.get(paramNames[paramIndex]);
+            if (value == null) {
+                throw new IllegalArgumentException("Value not provided for parameter " + paramNames[paramIndex]);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Types of the parameters in a Siddhi Store Query template.
+     */
+    private enum ParamType {
+        STRING,
+        LONG,
+        RAW
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.api.siddhi;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache for the results of Request Aggregation time series queries.
+ *
+ * A requested range is split into the buckets of the requested time granularity which are already closed and the
+ * open tail which may still receive requests. The rows of the closed buckets never change and therefore they are
+ * cached (bounded by the number of cached rows) while the open tail is always queried from the store. This allows
+ * repeated refreshes of the same range to only query the store for the newest buckets.
+ *
+ * Only queries which select AGG_TIMESTAMP as the first attribute are supported, since the rows are assigned to the
+ * buckets using it. Month and year buckets do not have a fixed duration and such queries are not cached.
+ */
+public class RequestAggregationCache {
+
+    private static final Logger logger = Logger.getLogger(RequestAggregationCache.class);
+
+    private static final int AGG_TIMESTAMP_INDEX = 0;
+    private static final long MAX_CACHED_ROWS = 500000;
+    private static final long MAX_CACHEABLE_BUCKETS_PER_QUERY = 10000;
+    private static final long CLOSED_BUCKET_GRACE_PERIOD_MILLIS = 10 * 1000;
+
+    private final Cache<String, Object[][]> closedBucketsCache;
+    private final long gracePeriodMillis;
+    private final LongSupplier clock;
+
+    public RequestAggregationCache() {
+        this(MAX_CACHED_ROWS, CLOSED_BUCKET_GRACE_PERIOD_MILLIS, System::currentTimeMillis);
+    }
+
+    RequestAggregationCache(long maxCachedRows, long gracePeriodMillis, LongSupplier clock) {
+        this.closedBucketsCache = CacheBuilder.newBuilder()
+                .maximumWeight(maxCachedRows)
+                .weigher((String key, Object[][] rows) -> rows.length + 1)
+                .build();
+        this.gracePeriodMillis = gracePeriodMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Execute a Request Aggregation time series query using the cached closed buckets where possible.
+     *
+     * The time granularity, query start time and query end time parameters of the builder are set by this method
+     * for the sub ranges queried from the store.
+     *
+     * @param queryBuilder    The builder of the query with all the other parameters set
+     * @param timeGranularity The time granularity of the aggregation
+     * @param queryStartTime  The start of the requested range
+     * @param queryEndTime    The end of the requested range
+     * @return The rows of the buckets in the requested range
+     */
+    public Object[][] execute(SiddhiStoreQuery.Builder queryBuilder, String timeGranularity, long queryStartTime,
+                              long queryEndTime) {
+        queryBuilder.setArg(SiddhiStoreQueryTemplates.Params.TIME_GRANULARITY, timeGranularity);
+        long bucketDuration = RequestAggregationPlanner.getFixedBucketDuration(timeGranularity);
+        if (bucketDuration == -1) {
+            return queryRange(queryBuilder, queryStartTime, queryEndTime);
+        }
+
+        // Buckets are identified by their start times and the store returns the buckets starting within the range
+        long firstBucketStartTime = ceil(queryStartTime, bucketDuration);
+        long openBucketStartTime = (clock.getAsLong() - gracePeriodMillis) / bucketDuration * bucketDuration;
+        long closedRangeEndTime = Math.min(openBucketStartTime, queryEndTime);
+        if (closedRangeEndTime <= firstBucketStartTime
+                || (closedRangeEndTime - firstBucketStartTime) / bucketDuration > MAX_CACHEABLE_BUCKETS_PER_QUERY) {
+            return queryRange(queryBuilder, queryStartTime, queryEndTime);
+        }
+
+        String cacheKeyPrefix = queryBuilder
+                .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, 0L)
+                .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, 0L)
+                .build()
+                .getQuery() + "\n";
+        Map<Long, Object[][]> closedBuckets = new HashMap<>();
+        long firstMissingBucketStartTime = -1;
+        long lastMissingBucketStartTime = -1;
+        for (long bucketStartTime = firstBucketStartTime; bucketStartTime < closedRangeEndTime;
+                bucketStartTime += bucketDuration) {
+            Object[][] bucketRows = closedBucketsCache.getIfPresent(cacheKeyPrefix + bucketStartTime);
+            if (bucketRows == null) {
+                if (firstMissingBucketStartTime == -1) {
+                    firstMissingBucketStartTime = bucketStartTime;
+                }
+                lastMissingBucketStartTime = bucketStartTime;
+            } else {
+                closedBuckets.put(bucketStartTime, bucketRows);
+            }
+        }
+
+        // The missing buckets are fetched using a single query and cached along with the empty buckets
+        if (firstMissingBucketStartTime != -1) {
+            Map<Long, List<Object[]>> fetchedBuckets = new HashMap<>();
+            for (Object[] row : queryRange(queryBuilder, firstMissingBucketStartTime,
+                    lastMissingBucketStartTime + bucketDuration)) {
+                fetchedBuckets.computeIfAbsent((Long) row[AGG_TIMESTAMP_INDEX], key -> new ArrayList<>()).add(row);
+            }
+            for (long bucketStartTime = firstMissingBucketStartTime; bucketStartTime <= lastMissingBucketStartTime;
+                    bucketStartTime += bucketDuration) {
+                List<Object[]> bucketRowsList = fetchedBuckets.get(bucketStartTime);
+                Object[][] bucketRows = bucketRowsList == null
+                        ? new Object[0][0]
+                        : bucketRowsList.toArray(new Object[0][]);
+                closedBucketsCache.put(cacheKeyPrefix + bucketStartTime, bucketRows);
+                closedBuckets.put(bucketStartTime, bucketRows);
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Fetched " + (firstMissingBucketStartTime == -1 ? 0
+                    : (lastMissingBucketStartTime - firstMissingBucketStartTime) / bucketDuration + 1)
+                    + " closed buckets out of " + closedBuckets.size() + " from the store for query: "
+                    + cacheKeyPrefix);
+        }
+
+        List<Object[]> results = new ArrayList<>();
+        for (long bucketStartTime = firstBucketStartTime; bucketStartTime < closedRangeEndTime;
+                bucketStartTime += bucketDuration) {
+            Collections.addAll(results, closedBuckets.get(bucketStartTime));
+        }
+        if (closedRangeEndTime < queryEndTime) {
+            Collections.addAll(results, queryRange(queryBuilder, closedRangeEndTime, queryEndTime));
+        }
+        return results.toArray(new Object[0][]);
+    }
+
+    /**
+     * Query a range from the store.
+     *
+     * @param queryBuilder   The builder of the query
+     * @param queryStartTime The start of the range
+     * @param queryEndTime   The end of the range
+     * @return The rows returned by the store
+     */
+    private Object[][] queryRange(SiddhiStoreQuery.Builder queryBuilder, long queryStartTime, long queryEndTime) {
+        return queryBuilder
+                .setArg(SiddhiStoreQueryTemplates.Params.QUERY_START_TIME, queryStartTime)
+                .setArg(SiddhiStoreQueryTemplates.Params.QUERY_END_TIME, queryEndTime)
+                .build()
+                .execute();
+    }
+
+    /**
+     * Round up a timestamp to the start of a bucket.
+     *
+     * @param timestamp      The timestamp to round up
+     * @param bucketDuration The duration of a bucket
+     * @return The start time of the first bucket starting at or after the timestamp
+     */
+    private static long ceil(long timestamp, long bucketDuration) {
+        return (timestamp + bucketDuration - 1) / bucketDuration * bucketDuration;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.api.siddhi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Planner for selecting the Request Aggregation granularities used for answering a query range.
+ *
+ * Request Aggregation keeps a separate set of buckets for each granularity and the store returns the buckets which
+ * start within the queried range. Querying a coarser granularity scans fewer rows, but the coarser buckets should
+ * still align with the range for the results to be accurate.
+ */
+public class RequestAggregationPlanner {
+
+    private static final String[] GRANULARITIES = {"seconds", "minutes", "hours", "days", "months", "years"};
+    private static final long[] GRANULARITY_DURATIONS = {
+            1000L,
+            60 * 1000L,
+            60 * 60 * 1000L,
+            24 * 60 * 60 * 1000L,
+            30 * 24 * 60 * 60 * 1000L,     // Approximate duration used only for estimating the points count
+            365 * 24 * 60 * 60 * 1000L     // Approximate duration used only for estimating the points count
+    };
+    private static final int FIXED_DURATION_GRANULARITIES_COUNT = 4;
+    private static final long MAX_TIME_SERIES_POINTS = 2000;
+
+    /**
+     * Plan the granularity to be used for a time series query.
+     *
+     * The requested granularity is used unless the range would return more than the maximum number of points at it,
+     * in which case the finest coarser granularity which returns at most the maximum number of points is used. If no
+     * granularity is requested, the finest granularity which returns at most the maximum number of points is used.
+     *
+     * @param requestedGranularity The granularity requested by the client or an empty string if none was requested
+     * @param queryStartTime       The start of the query range
+     * @param queryEndTime         The end of the query range
+     * @return The granularity to be used for the query
+     */
+    public static String planTimeSeriesGranularity(String requestedGranularity, long queryStartTime,
+                                                   long queryEndTime) {
+        int granularityIndex = requestedGranularity.isEmpty() ? 0 : indexOf(requestedGranularity);
+        long rangeDuration = queryEndTime - queryStartTime;
+        while (granularityIndex < GRANULARITIES.length - 1
+                && rangeDuration / GRANULARITY_DURATIONS[granularityIndex] > MAX_TIME_SERIES_POINTS) {
+            granularityIndex++;
+        }
+        return GRANULARITIES[granularityIndex];
+    }
+
+    /**
+     * Plan the sub ranges and granularities which together cover a query range using the least number of buckets.
+     *
+     * The middle of the range is covered using the coarsest fixed duration granularity that fits within it, and the
+     * unaligned edges are covered using gradually finer granularities. This is suitable for queries which do not
+     * depend on the bucket boundaries (for example, fetching the distinct values of attributes within a range).
+     *
+     * @param queryStartTime The start of the query range
+     * @param queryEndTime   The end of the query range
+     * @return The sub ranges covering the query range
+     */
+    public static List<AggregationRange> planCoveringRanges(long queryStartTime, long queryEndTime) {
+        List<AggregationRange> ranges = new ArrayList<>();
+        long startTime = queryStartTime;
+        long endTime = queryEndTime;
+        int granularityIndex = 0;
+        while (granularityIndex < FIXED_DURATION_GRANULARITIES_COUNT - 1) {
+            long coarserDuration = GRANULARITY_DURATIONS[granularityIndex + 1];
+            long coarserStartTime = (startTime + coarserDuration - 1) / coarserDuration * coarserDuration;
+            long coarserEndTime = endTime / coarserDuration * coarserDuration;
+            if (coarserStartTime >= coarserEndTime) {
+                break;
+            }
+            if (startTime < coarserStartTime) {
+                ranges.add(new AggregationRange(GRANULARITIES[granularityIndex], startTime, coarserStartTime));
+            }
+            if (coarserEndTime < endTime) {
+                ranges.add(new AggregationRange(GRANULARITIES[granularityIndex], coarserEndTime, endTime));
+            }
+            startTime = coarserStartTime;
+            endTime = coarserEndTime;
+            granularityIndex++;
+        }
+        if (startTime < endTime) {
+            ranges.add(new AggregationRange(GRANULARITIES[granularityIndex], startTime, endTime));
+        }
+        return ranges;
+    }
+
+    /**
+     * Get the duration of the buckets of a granularity.
+     *
+     * @param granularity The granularity of the buckets
+     * @return The duration of the buckets in milliseconds or -1 if the duration of the buckets is not fixed
+     */
+    static long getFixedBucketDuration(String granularity) {
+        int granularityIndex = indexOf(granularity);
+        return granularityIndex < FIXED_DURATION_GRANULARITIES_COUNT
+                ? GRANULARITY_DURATIONS[granularityIndex]
+                : -1;
+    }
+
+    /**
+     * Get the index of a granularity.
+     *
+     * @param granularity The granularity
+     * @return The index of the granularity
+     */
+    private static int indexOf(String granularity) {
+        for (int i = 0; i < GRANULARITIES.length; i++) {
+            if (GRANULARITIES[i].equals(granularity)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown time granularity " + granularity);
+    }
+
+    private RequestAggregationPlanner() {   // Prevent initialization
+    }
+
+    /**
+     * Sub range of a query range to be queried using a particular granularity.
+     */
+    public static class AggregationRange {
+        private final String granularity;
+        private final long startTime;
+        private final long endTime;
+
+        AggregationRange(String granularity, long startTime, long endTime) {
+            this.granularity = granularity;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        public String getGranularity() {
+            return granularity;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public long getEndTime() {
+            return endTime;
+        }
+    }
+}
@@ -22,6 +22,11 @@ import io.cellery.observability.api.internal.ServiceHolder;
 import org.apache.log4j.Logger;
 import org.wso2.siddhi.core.event.Event;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import javax.ws.rs.core.StreamingOutput;
+
 /**
  * Executable Siddhi Store Query.
  *
@@ -43,11 +48,65 @@ public class SiddhiStoreQuery {
      * @return Siddhi Store Query Results
      */
     public Object[][] execute() {
+        return toRows(queryStore());
+    }
+
+    /**
+     * Execute the Siddhi Store query asynchronously and get the future results as Json Array of Json Objects.
+     *
+     * This should be used for running the independent queries required for an API call in parallel, so that the
+     * latency is bounded by the slowest query instead of the sum of all of them.
+     *
+     * @return Future Siddhi Store Query Results
+     */
+    public Future<Object[][]> executeAsync() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Submitted Siddhi store query: " + query);
+        }
+        return ServiceHolder.getSiddhiStoreQueryManager().queryAsync(query)
+                .thenApply(SiddhiStoreQuery::toRows);
+    }
+
+    /**
+     * Execute the Siddhi Store query and get the results as a streaming Json Array of Json Arrays.
+     *
+     * This should be preferred over {@link #execute()} when the results are returned from the API without any
+     * further processing, since the rows are written to the response without being copied into an intermediate array.
+     *
+     * @return Siddhi Store Query Results which can be used as the entity of a response
+     */
+    public StreamingOutput stream() {
+        return new SiddhiStoreQueryResultsOutput(queryStore());
+    }
+
+    /**
+     * Get the Siddhi Store Query string with all the parameters bound.
+     *
+     * @return The Siddhi Store Query string
+     */
+    String getQuery() {
+        return query;
+    }
+
+    /**
+     * Run the Siddhi Store Query against the store.
+     *
+     * @return The events returned by the store
+     */
+    private Event[] queryStore() {
         if (logger.isDebugEnabled()) {
             logger.debug("Executed Siddhi store query: " + query);
         }
-        Event[] queryResults = ServiceHolder.getSiddhiStoreQueryManager().query(query);
+        return ServiceHolder.getSiddhiStoreQueryManager().query(query);
+    }
 
+    /**
+     * Copy the events returned by the store into rows.
+     *
+     * @param queryResults The events returned by the store
+     * @return The rows of the results
+     */
+    private static Object[][] toRows(Event[] queryResults) {
         Object[][] results = null;
         if (queryResults != null) {
             int rowCount = queryResults.length;
@@ -72,29 +131,35 @@ public class SiddhiStoreQuery {
 
     /**
      * Siddhi Store Query Builder for building a query string.
-     * This supports replacing values in the query.
+     * This supports binding values to the parameters of a prepared query.
      * Method chaining can be used with this builder.
      */
     public static class Builder {
 
-        private String query;
+        private final PreparedSiddhiStoreQuery preparedQuery;
+        private final Map<String, Object> args;
 
         Builder(String query) {
-            this.query = query;
+            this(new PreparedSiddhiStoreQuery(query));
+        }
+
+        Builder(PreparedSiddhiStoreQuery preparedQuery) {
+            this.preparedQuery = preparedQuery;
+            this.args = new HashMap<>();
         }
 
         /**
-         * Replace a parameter in the Siddhi Store Query.
+         * Set the value of a parameter in the Siddhi Store Query.
          *
-         * @param key   The name of the parameter to replace
-         * @param value The value by which the parameter should be replaced with
+         * @param key   The name of the parameter
+         * @param value The value to be bound to the parameter
          * @return The Siddhi Store Query Builder for chaining
          */
         public Builder setArg(String key, Object value) {
             if (logger.isDebugEnabled()) {
-                logger.debug("Replacing ${" + key + "} with value " + value + " in query: " + this.query);
+                logger.debug("Setting ${" + key + "} to value " + value);
             }
-            this.query = this.query.replaceAll("\\$\\{" + key + "}", value.toString());
+            this.args.put(key, value);
             return this;
         }
 
@@ -104,7 +169,7 @@ public class SiddhiStoreQuery {
          * @return The Siddhi Store Query
          */
         public SiddhiStoreQuery build() {
-            return new SiddhiStoreQuery(query);
+            return new SiddhiStoreQuery(preparedQuery.bind(args));
         }
     }
 }
@@ -18,10 +18,17 @@
 
 package io.cellery.observability.api.siddhi;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.cellery.observability.api.internal.ServiceHolder;
 import org.wso2.siddhi.core.SiddhiAppRuntime;
 import org.wso2.siddhi.core.event.Event;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Manager for running Siddhi Store Queries.
  * This doesn't need to be accessed directly except for starting and stopping the service.
@@ -31,10 +38,37 @@ public class SiddhiStoreQueryManager {
     private static final String DISTRIBUTED_TRACING_TABLE_DEFINITION = "@Store(type=\"rdbms\", " +
             "datasource=\"CELLERY_OBSERVABILITY_DB\", field.length=\"tags:8000\")\n" +
             "@PrimaryKey(\"runtime\", \"traceId\", \"spanId\")\n" +
+            "@Index(\"runtime\", \"namespace\", \"startTime\")\n" +
             "@purge(enable=\"false\")\n" +
             "define table DistributedTracingTable (runtime string, traceId string, spanId string, parentId string, " +
             "namespace string, instance string, instanceKind string, serviceName string, pod string, " +
             "operationName string, spanKind string, startTime long, duration long, tags string);";
+    private static final String DISTRIBUTED_TRACING_TAG_TABLE_DEFINITION = "@Store(type=\"rdbms\", " +
+            "datasource=\"CELLERY_OBSERVABILITY_DB\")\n" +
+            "@PrimaryKey(\"runtime\", \"traceId\", \"spanId\", \"tagKey\")\n" +
+            "@Index(\"runtime\", \"tagKey\", \"tagValue\")\n" +
+            "@purge(enable=\"false\")\n" +
+            "define table DistributedTracingTagTable (runtime string, traceId string, spanId string, " +
+            "tagKey string, tagValue string);";
+    private static final String DISTRIBUTED_TRACING_SUMMARY_TABLE_DEFINITION = "@Store(type=\"rdbms\", " +
+            "datasource=\"CELLERY_OBSERVABILITY_DB\")\n" +
+            "@PrimaryKey(\"runtime\", \"traceId\")\n" +
+            "@Index(\"runtime\", \"namespace\", \"startTime\")\n" +
+            "@purge(enable=\"false\")\n" +
+            "define table DistributedTracingSummaryTable (runtime string, traceId string, namespace string, " +
+            "instance string, serviceName string, operationName string, startTime long, duration long, " +
+            "hasError bool);";
+    private static final String DISTRIBUTED_TRACING_SPAN_COUNT_TABLE_DEFINITION = "@Store(type=\"rdbms\", " +
+            "datasource=\"CELLERY_OBSERVABILITY_DB\")\n" +
+            "@PrimaryKey(\"runtime\", \"traceId\", \"instance\", \"serviceName\")\n" +
+            "@purge(enable=\"false\")\n" +
+            "define table DistributedTracingSpanCountTable (runtime string, traceId string, instance string, " +
+            "serviceName string, spanCount long);";
+    private static final String DISTRIBUTED_TRACING_METADATA_TABLE_DEFINITION = "@Store(type=\"rdbms\", " +
+            "datasource=\"CELLERY_OBSERVABILITY_DB\")\n" +
+            "@PrimaryKey(\"name\")\n" +
+            "@purge(enable=\"false\")\n" +
+            "define table DistributedTracingMetadataTable (name string, value long);";
     private static final String REQUEST_AGGREGATION_DEFINITION = "define stream ProcessedRequestsStream(" +
             "runtime string, sourceNamespace string, sourceInstance string, sourceInstanceKind string, " +
             "sourceComponent string, destinationNamespace string, destinationInstance string, " +
@@ -68,17 +102,36 @@ public class SiddhiStoreQueryManager {
             "instanceKind string, creationTimestamp long, lastKnownAliveTimestamp long, ingressTypes string)";
 
     private static final String SIDDHI_APP = DISTRIBUTED_TRACING_TABLE_DEFINITION + "\n" +
+            DISTRIBUTED_TRACING_TAG_TABLE_DEFINITION + "\n" +
+            DISTRIBUTED_TRACING_SUMMARY_TABLE_DEFINITION + "\n" +
+            DISTRIBUTED_TRACING_SPAN_COUNT_TABLE_DEFINITION + "\n" +
+            DISTRIBUTED_TRACING_METADATA_TABLE_DEFINITION + "\n" +
             REQUEST_AGGREGATION_DEFINITION + "\n" + K8S_POD_INFO_TABLE  + "\n" + K8S_COMPONENT_INFO_TABLE;
 
+    private static final int QUERY_EXECUTOR_THREADS_COUNT = 8;
+    private static final int QUERY_EXECUTOR_QUEUE_CAPACITY = 64;
+
     private SiddhiAppRuntime siddhiAppRuntime;
+    private final ExecutorService queryExecutorService;
 
     public SiddhiStoreQueryManager() {
+        // When the executor is saturated the queries run in the calling threads instead of being rejected
+        queryExecutorService = new ThreadPoolExecutor(QUERY_EXECUTOR_THREADS_COUNT, QUERY_EXECUTOR_THREADS_COUNT,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUERY_EXECUTOR_QUEUE_CAPACITY),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("siddhi-store-query-executor-%d")
+                        .setDaemon(true)
+                        .build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
         siddhiAppRuntime = ServiceHolder.getSiddhiManager().createSiddhiAppRuntime(SIDDHI_APP);
         siddhiAppRuntime.start();
     }
 
     /**
      * Run Siddhi Store Query and get the results.
+     * Siddhi Store Queries do not support bound parameters and therefore the queries are not cached here, since the
+     * bound queries of an API call rarely repeat (they include the requested time range). Siddhi reuses the compiled
+     * runtime of a query equal to a recently executed query.
      *
      * @param siddhiQuery Siddhi Store Query to run
      * @return The results of the Siddhi Store Query
@@ -87,11 +140,23 @@ public class SiddhiStoreQueryManager {
         return siddhiAppRuntime.query(siddhiQuery);
     }
 
+    /**
+     * Run Siddhi Store Query asynchronously in the bounded query executor.
+     * This should be used for running the independent queries required for an API call in parallel.
+     *
+     * @param siddhiQuery Siddhi Store Query to run
+     * @return The future results of the Siddhi Store Query
+     */
+    CompletableFuture<Event[]> queryAsync(String siddhiQuery) {
+        return CompletableFuture.supplyAsync(() -> query(siddhiQuery), queryExecutorService);
+    }
+
     /**
      * Stop the Siddhi Store Query Manager.
-     * This will stop the siddhi App run time to clear any resources allocated.
+     * This will stop the query executor and the siddhi App run time to clear any resources allocated.
      */
     public void stop() {
+        queryExecutorService.shutdownNow();
         siddhiAppRuntime.shutdown();
     }
 }
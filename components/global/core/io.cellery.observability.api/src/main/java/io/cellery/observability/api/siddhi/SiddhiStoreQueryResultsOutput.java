@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.api.siddhi;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.wso2.siddhi.core.event.Event;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Siddhi Store Query results which are written to the response as a Json Array of Json Arrays.
+ *
+ * The rows are serialized directly from the events returned by the store one at a time, without copying them into
+ * an intermediate array or building the complete Json string in memory before writing the response.
+ */
+class SiddhiStoreQueryResultsOutput implements StreamingOutput {
+
+    private static final Gson gson = new Gson();
+
+    private final Event[] queryResults;
+
+    SiddhiStoreQueryResultsOutput(Event[] queryResults) {
+        this.queryResults = queryResults;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        jsonWriter.beginArray();
+        if (queryResults != null) {
+            for (Event queryResult : queryResults) {
+                gson.toJson(queryResult.getData(), Object[].class, jsonWriter);
+            }
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();     // The output stream is owned and closed by the container
+    }
+}
@@ -21,6 +21,9 @@ package io.cellery.observability.api.siddhi;
 /**
  * Siddhi Store Query Templates Enum class containing all the Siddhi Store Queries.
  * The Siddhi Store Query Builder can be accessed from the Siddhi Store Query Templates.
+ *
+ * Optional filters are enclosed in [[ and ]] and are left out of the query when their parameters are absent.
+ * Refer {@link PreparedSiddhiStoreQuery} for the details.
  */
 public enum SiddhiStoreQueryTemplates {
 
@@ -45,21 +48,17 @@ public enum SiddhiStoreQueryTemplates {
             "and (sourceNamespace == \"${" + Params.NAMESPACE + "}\" " +
             "or destinationNamespace == \"${" + Params.NAMESPACE + "}\")\n" +
             "within ${" + Params.QUERY_START_TIME + "}L, ${" + Params.QUERY_END_TIME + "}L\n" +
-            "per \"seconds\"\n" +
+            "per \"${" + Params.TIME_GRANULARITY + "}\"\n" +
             "select sourceNamespace, sourceInstance, destinationNamespace, destinationInstance\n" +
             "group by sourceNamespace, sourceInstance, destinationNamespace, destinationInstance"
     ),
     REQUEST_AGGREGATION_INSTANCES_METRICS("from RequestAggregation\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" " +
-            "and (\"${" + Params.SOURCE_NAMESPACE + "}\" == \"\" " +
-            "or sourceNamespace == \"${" + Params.SOURCE_NAMESPACE + "}\") " +
-            "and (\"${" + Params.SOURCE_INSTANCE + "}\" == \"\" " +
-            "or sourceInstance == \"${" + Params.SOURCE_INSTANCE + "}\") " +
-            "and (\"${" + Params.DESTINATION_NAMESPACE + "}\" == \"\" " +
-            "or destinationNamespace == \"${" + Params.DESTINATION_NAMESPACE + "}\") " +
-            "and (\"${" + Params.DESTINATION_INSTANCE + "}\" == \"\" " +
-            "or destinationInstance == \"${" + Params.DESTINATION_INSTANCE + "}\") " +
-            "and (${" + Params.CONDITION + "})\n" +
+            "on runtime == \"${" + Params.RUNTIME + "}\"" +
+            "[[ and sourceNamespace == \"${" + Params.SOURCE_NAMESPACE + "}\"]]" +
+            "[[ and sourceInstance == \"${" + Params.SOURCE_INSTANCE + "}\"]]" +
+            "[[ and destinationNamespace == \"${" + Params.DESTINATION_NAMESPACE + "}\"]]" +
+            "[[ and destinationInstance == \"${" + Params.DESTINATION_INSTANCE + "}\"]]" +
+            "[[ and (${" + Params.CONDITION + "})]]\n" +
             "within ${" + Params.QUERY_START_TIME + "}L, ${" + Params.QUERY_END_TIME + "}L\n" +
             "per \"${" + Params.TIME_GRANULARITY + "}\"\n" +
             "select AGG_TIMESTAMP, httpResponseGroup, sum(totalResponseTimeMilliSec) as totalResponseTimeMilliSec, " +
@@ -86,26 +85,20 @@ public enum SiddhiStoreQueryTemplates {
             "and (sourceNamespace == \"${" + Params.NAMESPACE + "}\" " +
             "or destinationNamespace == \"${" + Params.NAMESPACE + "}\")\n" +
             "within ${" + Params.QUERY_START_TIME + "}L, ${" + Params.QUERY_END_TIME + "}L\n" +
-            "per \"seconds\"\n" +
+            "per \"${" + Params.TIME_GRANULARITY + "}\"\n" +
             "select sourceNamespace, sourceInstance, sourceComponent, destinationNamespace, destinationInstance, " +
             "destinationComponent\n" +
             "group by sourceNamespace, sourceInstance, sourceComponent, destinationNamespace, destinationInstance, " +
             "destinationComponent"
     ),
     REQUEST_AGGREGATION_COMPONENTS_METRICS("from RequestAggregation\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" " +
-            "and (\"${" + Params.SOURCE_NAMESPACE + "}\" == \"\" " +
-            "or sourceNamespace == \"${" + Params.SOURCE_NAMESPACE + "}\") " +
-            "and (\"${" + Params.SOURCE_INSTANCE + "}\" == \"\" " +
-            "or sourceInstance == \"${" + Params.SOURCE_INSTANCE + "}\") " +
-            "and (\"${" + Params.SOURCE_COMPONENT + "}\" == \"\" " +
-            "or sourceComponent == \"${" + Params.SOURCE_COMPONENT + "}\") " +
-            "and (\"${" + Params.DESTINATION_NAMESPACE + "}\" == \"\" " +
-            "or destinationNamespace == \"${" + Params.DESTINATION_NAMESPACE + "}\") " +
-            "and (\"${" + Params.DESTINATION_INSTANCE + "}\" == \"\" " +
-            "or destinationInstance == \"${" + Params.DESTINATION_INSTANCE + "}\")\n" +
-            "and (\"${" + Params.DESTINATION_COMPONENT + "}\" == \"\" " +
-            "or destinationComponent == \"${" + Params.DESTINATION_COMPONENT + "}\")\n" +
+            "on runtime == \"${" + Params.RUNTIME + "}\"" +
+            "[[ and sourceNamespace == \"${" + Params.SOURCE_NAMESPACE + "}\"]]" +
+            "[[ and sourceInstance == \"${" + Params.SOURCE_INSTANCE + "}\"]]" +
+            "[[ and sourceComponent == \"${" + Params.SOURCE_COMPONENT + "}\"]]" +
+            "[[ and destinationNamespace == \"${" + Params.DESTINATION_NAMESPACE + "}\"]]" +
+            "[[ and destinationInstance == \"${" + Params.DESTINATION_INSTANCE + "}\"]]" +
+            "[[ and destinationComponent == \"${" + Params.DESTINATION_COMPONENT + "}\"]]\n" +
             "within ${" + Params.QUERY_START_TIME + "}L, ${" + Params.QUERY_END_TIME + "}L\n" +
             "per \"${" + Params.TIME_GRANULARITY + "}\"\n" +
             "select AGG_TIMESTAMP, httpResponseGroup, sum(totalResponseTimeMilliSec) as totalResponseTimeMilliSec, " +
@@ -114,58 +107,78 @@ public enum SiddhiStoreQueryTemplates {
             "group by AGG_TIMESTAMP, httpResponseGroup"
     ),
     DISTRIBUTED_TRACING_METADATA("from DistributedTracingTable\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\" " +
-            "and (${" + Params.QUERY_START_TIME + "}L == -1L or startTime >= ${" + Params.QUERY_START_TIME + "}L) " +
-            "and (${" + Params.QUERY_END_TIME + "}L == -1L or startTime <= ${" + Params.QUERY_END_TIME + "}L)\n" +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\"" +
+            "[[ and startTime >= ${" + Params.QUERY_START_TIME + "}L]]" +
+            "[[ and startTime <= ${" + Params.QUERY_END_TIME + "}L]]\n" +
             "select instance, serviceName, operationName\n" +
             "group by instance, serviceName, operationName"
     ),
-    DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS("from DistributedTracingTable\n" +
+    DISTRIBUTED_TRACING_SEARCH_GET_ROOT_SPANS("from DistributedTracingSummaryTable\n" +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\"" +
+            "[[ and startTime >= ${" + Params.QUERY_START_TIME + "}L]]" +
+            "[[ and startTime <= ${" + Params.QUERY_END_TIME + "}L]]" +
+            "[[ and startTime <= ${" + Params.CURSOR_START_TIME + "}L]]" +
+            "[[ and duration >= ${" + Params.MIN_DURATION + "}L]]" +
+            "[[ and duration <= ${" + Params.MAX_DURATION + "}L]]\n" +
+            "select traceId, instance, serviceName, operationName, startTime, duration, hasError\n" +
+            "order by startTime desc, traceId desc\n" +
+            "limit ${" + Params.LIMIT + "}"
+    ),
+    DISTRIBUTED_TRACING_SEARCH_GET_LEGACY_ROOT_SPANS("from DistributedTracingTable\n" +
             "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\" " +
-            "and (\"${" + Params.INSTANCE + "}\" == \"\" " +
-            "or instance == \"${" + Params.INSTANCE + "}\") " +
-            "and (\"${" + Params.SERVICE_NAME + "}\" == \"\" " +
-            "or serviceName == \"${" + Params.SERVICE_NAME + "}\") " +
-            "and (\"${" + Params.OPERATION_NAME + "}\" == \"\" " +
-            "or operationName == \"${" + Params.OPERATION_NAME + "}\")\n" +
-            "select traceId\n" +
+            "and parentId is null" +
+            "[[ and startTime >= ${" + Params.QUERY_START_TIME + "}L]]" +
+            "[[ and startTime <= ${" + Params.QUERY_END_TIME + "}L]]" +
+            "[[ and startTime <= ${" + Params.CURSOR_START_TIME + "}L]]" +
+            "[[ and duration >= ${" + Params.MIN_DURATION + "}L]]" +
+            "[[ and duration <= ${" + Params.MAX_DURATION + "}L]]\n" +
+            "select traceId, instance, serviceName, operationName, startTime, duration, false as hasError\n" +
             "group by traceId\n" +
-            "order by startTime desc"
+            "order by startTime desc, traceId desc\n" +
+            "limit ${" + Params.LIMIT + "}"
+    ),
+    DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS("from DistributedTracingTable\n" +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\"" +
+            "[[ and instance == \"${" + Params.INSTANCE + "}\"]]" +
+            "[[ and serviceName == \"${" + Params.SERVICE_NAME + "}\"]]" +
+            "[[ and operationName == \"${" + Params.OPERATION_NAME + "}\"]] " +
+            "and (${" + Params.CONDITION + "})\n" +
+            "select traceId\n" +
+            "group by traceId"
     ),
     DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS_WITH_TAGS("from DistributedTracingTable\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\" " +
-            "and (\"${" + Params.INSTANCE + "}\" == \"\" " +
-            "or instance == \"${" + Params.INSTANCE + "}\") " +
-            "and (\"${" + Params.SERVICE_NAME + "}\" == \"\" or " +
-            "serviceName == \"${" + Params.SERVICE_NAME + "}\") " +
-            "and (\"${" + Params.OPERATION_NAME + "}\" == \"\" or " +
-            "operationName == \"${" + Params.OPERATION_NAME + "}\")\n" +
-            "select traceId, tags\n" +
-            "order by startTime desc"
+            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\"" +
+            "[[ and instance == \"${" + Params.INSTANCE + "}\"]]" +
+            "[[ and serviceName == \"${" + Params.SERVICE_NAME + "}\"]]" +
+            "[[ and operationName == \"${" + Params.OPERATION_NAME + "}\"]] " +
+            "and (${" + Params.CONDITION + "})\n" +
+            "select traceId, tags"
     ),
-    DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS_WITH_VALID_ROOT_SPANS("from DistributedTracingTable\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\" " +
-            "and parentId is null " +
-            "and (${" + Params.QUERY_START_TIME + "}L == -1L or startTime >= ${" + Params.QUERY_START_TIME + "}L) " +
-            "and (${" + Params.QUERY_END_TIME + "}L == -1L or startTime <= ${" + Params.QUERY_END_TIME + "}L) " +
-            "and (${" + Params.MIN_DURATION + "}L == -1L or duration >= ${" + Params.MIN_DURATION + "}L) " +
-            "and (${" + Params.MAX_DURATION + "}L == -1L or duration <= ${" + Params.MAX_DURATION + "}L)\n" +
-            "select traceId\n" +
-            "group by traceId\n" +
-            "order by startTime desc"
+    DISTRIBUTED_TRACING_SEARCH_GET_SPAN_IDS("from DistributedTracingTable\n" +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\"" +
+            "[[ and instance == \"${" + Params.INSTANCE + "}\"]]" +
+            "[[ and serviceName == \"${" + Params.SERVICE_NAME + "}\"]]" +
+            "[[ and operationName == \"${" + Params.OPERATION_NAME + "}\"]] " +
+            "and (${" + Params.CONDITION + "})\n" +
+            "select traceId, spanId"
     ),
-    DISTRIBUTED_TRACING_SEARCH_GET_ROOT_SPAN_METADATA("from DistributedTracingTable\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\" " +
-            "and parentId is null and (${" + Params.CONDITION + "})\n" +
-            "select traceId, instance, serviceName, operationName, startTime, duration\n" +
-            "group by traceId\n" +
-            "order by startTime desc"
+    DISTRIBUTED_TRACING_SEARCH_GET_SPAN_IDS_WITH_INDEXED_TAGS("from DistributedTracingTagTable\n" +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and (${" + Params.TAGS_CONDITION + "}) " +
+            "and (${" + Params.CONDITION + "})\n" +
+            "select traceId, spanId"
     ),
-    DISTRIBUTED_TRACING_SEARCH_GET_MULTIPLE_INSTANCE_SERVICE_COUNTS("from DistributedTracingTable\n" +
+    DISTRIBUTED_TRACING_SEARCH_GET_MULTIPLE_INSTANCE_SERVICE_COUNTS("from DistributedTracingSpanCountTable\n" +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and (${" + Params.CONDITION + "}) and spanCount > 0L\n" +
+            "select traceId, instance, serviceName, spanCount as count"
+    ),
+    DISTRIBUTED_TRACING_SEARCH_GET_LEGACY_MULTIPLE_INSTANCE_SERVICE_COUNTS("from DistributedTracingTable\n" +
             "on runtime == \"${" + Params.RUNTIME + "}\" and (${" + Params.CONDITION + "})\n" +
             "select traceId, instance, serviceName, count() as count\n" +
-            "group by traceId, instance, serviceName\n" +
-            "order by startTime desc"
+            "group by traceId, instance, serviceName"
+    ),
+    DISTRIBUTED_TRACING_GET_SUMMARY_START_TIME("from DistributedTracingMetadataTable\n" +
+            "on name == \"summaryStartTime\"\n" +
+            "select value"
     ),
     DISTRIBUTED_TRACING_GET_TRACE("from DistributedTracingTable\n" +
             "on runtime == \"${" + Params.RUNTIME + "}\" and traceId == \"${" + Params.TRACE_ID + "}\"\n" +
@@ -173,42 +186,39 @@ public enum SiddhiStoreQueryTemplates {
             "spanKind, startTime, duration, tags"
     ),
     K8S_GET_PODS_FOR_COMPONENT("from K8sPodInfoTable\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\" " +
-            "and (\"${" + Params.INSTANCE + "}\" == \"\" or instance == \"${" + Params.INSTANCE + "}\") " +
-            "and (\"${" + Params.COMPONENT + "}\" == \"\" or component == \"${" + Params.COMPONENT + "}\") " +
-            "and ((${" + Params.QUERY_START_TIME + "}L == -1L and ${" + Params.QUERY_END_TIME + "}L == -1L) " +
-            "or ((creationTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\"" +
+            "[[ and instance == \"${" + Params.INSTANCE + "}\"]]" +
+            "[[ and component == \"${" + Params.COMPONENT + "}\"]]" +
+            "[[ and ((creationTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
             "and creationTimestamp <= ${" + Params.QUERY_END_TIME + "}L) " +
             "or (lastKnownAliveTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
             "and lastKnownAliveTimestamp <= ${" + Params.QUERY_END_TIME + "}L) " +
             "or (creationTimestamp <= ${" + Params.QUERY_START_TIME + "}L " +
-            "and lastKnownAliveTimestamp >= ${" + Params.QUERY_END_TIME + "}L)))\n" +
+            "and lastKnownAliveTimestamp >= ${" + Params.QUERY_END_TIME + "}L))]]\n" +
             "select instance, component, podName, creationTimestamp, lastKnownAliveTimestamp, nodeName"
     ),
     K8S_GET_INSTANCES("from K8sComponentInfoTable\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\" " +
-            "and (\"${" + Params.INSTANCE + "}\" == \"\" or instance == \"${" + Params.INSTANCE + "}\") " +
-            "and ((${" + Params.QUERY_START_TIME + "}L == -1L and ${" + Params.QUERY_END_TIME + "}L == -1L) " +
-            "or ((creationTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\"" +
+            "[[ and instance == \"${" + Params.INSTANCE + "}\"]]" +
+            "[[ and ((creationTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
             "and creationTimestamp <= ${" + Params.QUERY_END_TIME + "}L) " +
             "or (lastKnownAliveTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
             "and lastKnownAliveTimestamp <= ${" + Params.QUERY_END_TIME + "}L) " +
             "or (creationTimestamp <= ${" + Params.QUERY_START_TIME + "}L " +
-            "and lastKnownAliveTimestamp >= ${" + Params.QUERY_END_TIME + "}L)))\n" +
+            "and lastKnownAliveTimestamp >= ${" + Params.QUERY_END_TIME + "}L))]]\n" +
             "select instance, instanceKind\n" +
             "group by instance"
     ),
     K8S_GET_COMPONENTS("from K8sComponentInfoTable\n" +
-            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\" " +
-            "and (\"${" + Params.INSTANCE + "}\" == \"\" or instance == \"${" + Params.INSTANCE + "}\") " +
-            "and (\"${" + Params.COMPONENT + "}\" == \"\" or component == \"${" + Params.COMPONENT + "}\") " +
-            "and ((${" + Params.QUERY_START_TIME + "}L == -1L and ${" + Params.QUERY_END_TIME + "}L == -1L) " +
-            "or ((creationTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
+            "on runtime == \"${" + Params.RUNTIME + "}\" and namespace == \"${" + Params.NAMESPACE + "}\"" +
+            "[[ and instance == \"${" + Params.INSTANCE + "}\"]]" +
+            "[[ and component == \"${" + Params.COMPONENT + "}\"]]" +
+            "[[ and ((creationTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
             "and creationTimestamp <= ${" + Params.QUERY_END_TIME + "}L) " +
             "or (lastKnownAliveTimestamp >= ${" + Params.QUERY_START_TIME + "}L " +
             "and lastKnownAliveTimestamp <= ${" + Params.QUERY_END_TIME + "}L) " +
             "or (creationTimestamp <= ${" + Params.QUERY_START_TIME + "}L " +
-            "and lastKnownAliveTimestamp >= ${" + Params.QUERY_END_TIME + "}L)))\n" +
+            "and lastKnownAliveTimestamp >= ${" + Params.QUERY_END_TIME + "}L))]]\n" +
             "select instance, component, instanceKind, ingressTypes\n" +
             "group by instance, component"
     );
@@ -217,10 +227,10 @@ public enum SiddhiStoreQueryTemplates {
      * Siddhi Store Queries End Here
      */
 
-    private String query;
+    private final PreparedSiddhiStoreQuery preparedQuery;
 
     SiddhiStoreQueryTemplates(String query) {
-        this.query = query;
+        this.preparedQuery = new PreparedSiddhiStoreQuery(query);
     }
 
     /**
@@ -248,6 +258,9 @@ public enum SiddhiStoreQueryTemplates {
         public static final String MIN_DURATION = "minDuration";
         public static final String MAX_DURATION = "maxDuration";
         public static final String TRACE_ID = "traceId";
+        public static final String CURSOR_START_TIME = "cursorStartTime";
+        public static final String LIMIT = "limit";
+        public static final String TAGS_CONDITION = "tagsCondition";   // Should be used with caution as well
 
         private Params() {      // Prevent initialization
         }
@@ -259,6 +272,6 @@ public enum SiddhiStoreQueryTemplates {
      * @return The Siddhi Store Query Builder for the particular query
      */
     public SiddhiStoreQuery.Builder builder() {
-        return new SiddhiStoreQuery.Builder(query);
+        return new SiddhiStoreQuery.Builder(preparedQuery);
     }
 }
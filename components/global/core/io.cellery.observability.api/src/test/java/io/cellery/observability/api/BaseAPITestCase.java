@@ -211,8 +211,9 @@ public class BaseAPITestCase {
                 .addGlobalRequestInterceptor(new CORSInterceptor(), new AuthInterceptor())
                 .addExceptionMapper(new APIInvocationException.Mapper(), new InvalidParamException.Mapper())
                 .deploy(
-                        new DependencyModelAPI(), new HttpRequestsAPI(), new DistributedTracingAPI(),
-                        new KubernetesAPI(), new InstanceAPI(), new AuthAPI(), new UserAPI()
+                        new DependencyModelAPI(), new RuntimeDependencyModelAPI(), new HttpRequestsAPI(),
+                        new DistributedTracingAPI(), new KubernetesAPI(), new InstanceAPI(), new AuthAPI(),
+                        new UserAPI()
                 )
         );
         ServiceHolder.getMicroservicesRunner().start();
@@ -18,6 +18,7 @@
 
 package io.cellery.observability.api;
 
+import io.cellery.observability.api.exception.InvalidParamException;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.testng.PowerMockObjectFactory;
@@ -26,6 +27,9 @@ import org.testng.IObjectFactory;
 import org.testng.annotations.ObjectFactory;
 import org.testng.annotations.Test;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.net.ssl.HttpsURLConnection;
 
 /**
@@ -55,4 +59,50 @@ public class UtilsTestCase {
         String condition = Utils.generateSiddhiMatchConditionForMultipleValues("testAttr", new String[]{});
         Assert.assertEquals(condition, "");
     }
+
+    @Test
+    public void testGenerateSiddhiMatchConditionForMultiplePairs() {
+        Map<String, String> pairs = new LinkedHashMap<>();
+        pairs.put("key1", "value1");
+        pairs.put("key2", "value2");
+        String condition = Utils.generateSiddhiMatchConditionForMultiplePairs("keyAttr", "valueAttr", pairs);
+        Assert.assertEquals(condition, "(keyAttr == \"key1\" and valueAttr == \"value1\") " +
+                "or (keyAttr == \"key2\" and valueAttr == \"value2\")");
+    }
+
+    @Test
+    public void testGenerateSiddhiMatchConditionForMultiplePairsWithEmptyMap() {
+        String condition = Utils.generateSiddhiMatchConditionForMultiplePairs("keyAttr", "valueAttr",
+                Collections.emptyMap());
+        Assert.assertEquals(condition, "");
+    }
+
+    @Test
+    public void testValidateRequiredParam() {
+        Utils.validateRequiredParam("queryStartTime", 0L);
+        Utils.validateRequiredParam("instance", "");
+    }
+
+    @Test(expectedExceptions = InvalidParamException.class)
+    public void testValidateRequiredParamWithMissingValue() {
+        Utils.validateRequiredParam("queryStartTime", null);
+    }
+
+    @Test
+    public void testIsEntityTagMatched() {
+        String entityTag = "16b-3-a1b2";
+        Assert.assertTrue(Utils.isEntityTagMatched("\"16b-3-a1b2\"", entityTag));
+        Assert.assertTrue(Utils.isEntityTagMatched("W/\"16b-3-a1b2\"", entityTag));
+        Assert.assertTrue(Utils.isEntityTagMatched("\"16b-2-a1b2\", \"16b-3-a1b2\"", entityTag));
+        Assert.assertTrue(Utils.isEntityTagMatched("*", entityTag));
+    }
+
+    @Test
+    public void testIsEntityTagMatchedWithMismatchingTags() {
+        String entityTag = "16b-3-a1b2";
+        Assert.assertFalse(Utils.isEntityTagMatched(null, entityTag));
+        Assert.assertFalse(Utils.isEntityTagMatched("", entityTag));
+        Assert.assertFalse(Utils.isEntityTagMatched("\"16b-2-a1b2\"", entityTag));
+        Assert.assertFalse(Utils.isEntityTagMatched("\"16b-2-a1b2\", W/\"16b-4-a1b2\"", entityTag));
+    }
 }
@@ -26,6 +26,7 @@ import org.testng.annotations.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -51,4 +52,21 @@ public class APIInvocationExceptionTestCase {
         Assert.assertEquals(contentTypeHeader.size(), 1);
         Assert.assertEquals(contentTypeHeader.get(0), MediaType.APPLICATION_JSON);
     }
+
+    @Test
+    public void testMappingWithAPIInvocationExceptionCausedByInvalidParam() {
+        APIInvocationException.Mapper apiExceptionMapper = new APIInvocationException.Mapper();
+        APIInvocationException exception = new APIInvocationException("Test Exception",
+                new ExecutionException(new InvalidParamException("serviceName", "a value without double quotes",
+                        "test\"")));
+
+        Response response = apiExceptionMapper.toResponse(exception);
+        JsonObject responseBodyJson = jsonParser.parse(response.getEntity().toString()).getAsJsonObject();
+
+        Assert.assertNotNull(response);
+        Assert.assertEquals(responseBodyJson.get("status").getAsString(), "Error");
+        Assert.assertEquals(responseBodyJson.get("message").getAsString(), "Invalid parameter serviceName provided. " +
+                "Expected a value without double quotes, received test\"");
+        Assert.assertEquals(response.getStatus(), Response.Status.PRECONDITION_FAILED.getStatusCode());
+    }
 }
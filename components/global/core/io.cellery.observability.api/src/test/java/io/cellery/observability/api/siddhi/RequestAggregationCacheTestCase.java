@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.api.siddhi;
+
+import io.cellery.observability.api.internal.ServiceHolder;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.siddhi.core.event.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test Cases for Request Aggregation Cache.
+ */
+public class RequestAggregationCacheTestCase {
+
+    private static final String QUERY = "from RequestAggregation on runtime == \"${runtime}\"\n" +
+            "within ${queryStartTime}L, ${queryEndTime}L\n" +
+            "per \"${timeGranularity}\"\n" +
+            "select AGG_TIMESTAMP, httpResponseGroup, sum(requestCount) as requestCount\n" +
+            "group by AGG_TIMESTAMP, httpResponseGroup";
+    private static final Pattern WITHIN_PATTERN = Pattern.compile("within (\\d+)L, (\\d+)L");
+    private static final long MINUTE = 60 * 1000L;
+
+    private AtomicLong currentTime;
+    private List<long[]> queriedRanges;
+    private RequestAggregationCache requestAggregationCache;
+
+    @BeforeMethod
+    public void init() {
+        currentTime = new AtomicLong(100 * MINUTE + 30 * 1000);
+        queriedRanges = new ArrayList<>();
+        requestAggregationCache = new RequestAggregationCache(1000, 0, currentTime::get);
+
+        // Every minute bucket has two rows except the buckets with start times divisible by 10 minutes
+        SiddhiStoreQueryManager siddhiStoreQueryManager = Mockito.mock(SiddhiStoreQueryManager.class);
+        Mockito.when(siddhiStoreQueryManager.query(Mockito.anyString())).thenAnswer(invocation -> {
+            Matcher matcher = WITHIN_PATTERN.matcher((String) invocation.getArguments()[0]);
+            Assert.assertTrue(matcher.find());
+            long queryStartTime = Long.parseLong(matcher.group(1));
+            long queryEndTime = Long.parseLong(matcher.group(2));
+            queriedRanges.add(new long[]{queryStartTime, queryEndTime});
+
+            List<Event> events = new ArrayList<>();
+            for (long bucket = (queryStartTime + MINUTE - 1) / MINUTE * MINUTE; bucket < queryEndTime;
+                    bucket += MINUTE) {
+                if (bucket % (10 * MINUTE) != 0) {
+                    events.add(new Event(bucket, new Object[]{bucket, "2xx", 10L}));
+                    events.add(new Event(bucket, new Object[]{bucket, "5xx", 1L}));
+                }
+            }
+            return events.toArray(new Event[0]);
+        });
+        ServiceHolder.setSiddhiStoreQueryManager(siddhiStoreQueryManager);
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+        ServiceHolder.setSiddhiStoreQueryManager(null);
+    }
+
+    @Test
+    public void testExecuteWithEmptyCache() {
+        Object[][] results = execute("minutes", 80 * MINUTE, 101 * MINUTE);
+
+        assertBuckets(results, 80 * MINUTE, 101 * MINUTE);
+        Assert.assertEquals(queriedRanges.size(), 2);
+        assertRange(queriedRanges.get(0), 80 * MINUTE, 100 * MINUTE);
+        assertRange(queriedRanges.get(1), 100 * MINUTE, 101 * MINUTE);
+    }
+
+    @Test
+    public void testExecuteWithCachedClosedBuckets() {
+        execute("minutes", 80 * MINUTE, 101 * MINUTE);
+        queriedRanges.clear();
+        Object[][] results = execute("minutes", 80 * MINUTE, 101 * MINUTE);
+
+        assertBuckets(results, 80 * MINUTE, 101 * MINUTE);
+        Assert.assertEquals(queriedRanges.size(), 1);
+        assertRange(queriedRanges.get(0), 100 * MINUTE, 101 * MINUTE);
+    }
+
+    @Test
+    public void testExecuteWithSlidingRange() {
+        execute("minutes", 80 * MINUTE, 101 * MINUTE);
+        queriedRanges.clear();
+        currentTime.addAndGet(2 * MINUTE);
+        Object[][] results = execute("minutes", 82 * MINUTE + 30 * 1000, 103 * MINUTE);
+
+        assertBuckets(results, 83 * MINUTE, 103 * MINUTE);
+        Assert.assertEquals(queriedRanges.size(), 2);
+        assertRange(queriedRanges.get(0), 100 * MINUTE, 102 * MINUTE);
+        assertRange(queriedRanges.get(1), 102 * MINUTE, 103 * MINUTE);
+    }
+
+    @Test
+    public void testExecuteWithPartiallyCachedRange() {
+        execute("minutes", 90 * MINUTE, 95 * MINUTE);
+        queriedRanges.clear();
+        Object[][] results = execute("minutes", 85 * MINUTE, 98 * MINUTE);
+
+        assertBuckets(results, 85 * MINUTE, 98 * MINUTE);
+        Assert.assertEquals(queriedRanges.size(), 1);
+        assertRange(queriedRanges.get(0), 85 * MINUTE, 98 * MINUTE);
+    }
+
+    @Test
+    public void testExecuteWithOpenRange() {
+        Object[][] results = execute("minutes", 100 * MINUTE, 101 * MINUTE);
+
+        assertBuckets(results, 100 * MINUTE, 101 * MINUTE);
+        Assert.assertEquals(queriedRanges.size(), 1);
+        assertRange(queriedRanges.get(0), 100 * MINUTE, 101 * MINUTE);
+    }
+
+    @Test
+    public void testExecuteWithVariableDurationGranularity() {
+        execute("months", 80 * MINUTE, 101 * MINUTE);
+        execute("months", 80 * MINUTE, 101 * MINUTE);
+
+        Assert.assertEquals(queriedRanges.size(), 2);
+        assertRange(queriedRanges.get(0), 80 * MINUTE, 101 * MINUTE);
+        assertRange(queriedRanges.get(1), 80 * MINUTE, 101 * MINUTE);
+    }
+
+    @Test
+    public void testExecuteWithDifferentArgs() {
+        execute("minutes", 80 * MINUTE, 101 * MINUTE);
+        queriedRanges.clear();
+        Object[][] results = requestAggregationCache.execute(new SiddhiStoreQuery.Builder(QUERY)
+                .setArg("runtime", "other-runtime"), "minutes", 80 * MINUTE, 101 * MINUTE);
+
+        assertBuckets(results, 80 * MINUTE, 101 * MINUTE);
+        Assert.assertEquals(queriedRanges.size(), 2);
+    }
+
+    private Object[][] execute(String timeGranularity, long queryStartTime, long queryEndTime) {
+        return requestAggregationCache.execute(new SiddhiStoreQuery.Builder(QUERY).setArg("runtime", "test-runtime"),
+                timeGranularity, queryStartTime, queryEndTime);
+    }
+
+    private void assertBuckets(Object[][] results, long firstBucket, long endTime) {
+        int i = 0;
+        for (long bucket = firstBucket; bucket < endTime; bucket += MINUTE) {
+            if (bucket % (10 * MINUTE) != 0) {
+                Assert.assertEquals(results[i++], new Object[]{bucket, "2xx", 10L});
+                Assert.assertEquals(results[i++], new Object[]{bucket, "5xx", 1L});
+            }
+        }
+        Assert.assertEquals(results.length, i);
+    }
+
+    private void assertRange(long[] queriedRange, long queryStartTime, long queryEndTime) {
+        Assert.assertEquals(queriedRange[0], queryStartTime);
+        Assert.assertEquals(queriedRange[1], queryEndTime);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.api.siddhi;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Test Cases for Request Aggregation Planner.
+ */
+public class RequestAggregationPlannerTestCase {
+
+    private static final long SECOND = 1000L;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    @Test
+    public void testPlanTimeSeriesGranularityWithRequestedGranularity() {
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("seconds", 0, 10 * MINUTE),
+                "seconds");
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("hours", 0, 10 * MINUTE),
+                "hours");
+    }
+
+    @Test
+    public void testPlanTimeSeriesGranularityWithTooManyPoints() {
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("seconds", 0, 7 * DAY),
+                "hours");
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("minutes", 0, DAY),
+                "minutes");
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("days", 0, 100000 * DAY),
+                "years");
+    }
+
+    @Test
+    public void testPlanTimeSeriesGranularityWithoutRequestedGranularity() {
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("", 0, 30 * MINUTE), "seconds");
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("", 0, 12 * HOUR), "minutes");
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("", 0, 30 * DAY), "hours");
+        Assert.assertEquals(RequestAggregationPlanner.planTimeSeriesGranularity("", 0, 365 * DAY), "days");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPlanTimeSeriesGranularityWithUnknownGranularity() {
+        RequestAggregationPlanner.planTimeSeriesGranularity("weeks", 0, DAY);
+    }
+
+    @Test
+    public void testPlanCoveringRanges() {
+        long queryStartTime = 10 * DAY + 22 * HOUR + 58 * MINUTE + 30 * SECOND;
+        long queryEndTime = 15 * DAY + 2 * HOUR + 3 * MINUTE + 4 * SECOND + 500;
+        List<RequestAggregationPlanner.AggregationRange> ranges =
+                RequestAggregationPlanner.planCoveringRanges(queryStartTime, queryEndTime);
+
+        Assert.assertEquals(ranges.size(), 7);
+        assertRange(ranges.get(0), "seconds", queryStartTime, 10 * DAY + 22 * HOUR + 59 * MINUTE);
+        assertRange(ranges.get(1), "seconds", 15 * DAY + 2 * HOUR + 3 * MINUTE, queryEndTime);
+        assertRange(ranges.get(2), "minutes", 10 * DAY + 22 * HOUR + 59 * MINUTE, 10 * DAY + 23 * HOUR);
+        assertRange(ranges.get(3), "minutes", 15 * DAY + 2 * HOUR, 15 * DAY + 2 * HOUR + 3 * MINUTE);
+        assertRange(ranges.get(4), "hours", 10 * DAY + 23 * HOUR, 11 * DAY);
+        assertRange(ranges.get(5), "hours", 15 * DAY, 15 * DAY + 2 * HOUR);
+        assertRange(ranges.get(6), "days", 11 * DAY, 15 * DAY);
+        assertContiguous(ranges, queryStartTime, queryEndTime);
+    }
+
+    @Test
+    public void testPlanCoveringRangesWithAlignedRange() {
+        List<RequestAggregationPlanner.AggregationRange> ranges =
+                RequestAggregationPlanner.planCoveringRanges(3 * DAY, 5 * DAY);
+
+        Assert.assertEquals(ranges.size(), 1);
+        assertRange(ranges.get(0), "days", 3 * DAY, 5 * DAY);
+    }
+
+    @Test
+    public void testPlanCoveringRangesWithShortRange() {
+        List<RequestAggregationPlanner.AggregationRange> ranges =
+                RequestAggregationPlanner.planCoveringRanges(5 * HOUR + 10 * SECOND, 5 * HOUR + 50 * SECOND);
+
+        Assert.assertEquals(ranges.size(), 1);
+        assertRange(ranges.get(0), "seconds", 5 * HOUR + 10 * SECOND, 5 * HOUR + 50 * SECOND);
+    }
+
+    @Test
+    public void testPlanCoveringRangesWithinSingleDay() {
+        long queryStartTime = 2 * DAY + 3 * HOUR + 15 * MINUTE;
+        long queryEndTime = 2 * DAY + 9 * HOUR;
+        List<RequestAggregationPlanner.AggregationRange> ranges =
+                RequestAggregationPlanner.planCoveringRanges(queryStartTime, queryEndTime);
+
+        Assert.assertEquals(ranges.size(), 2);
+        assertRange(ranges.get(0), "minutes", queryStartTime, 2 * DAY + 4 * HOUR);
+        assertRange(ranges.get(1), "hours", 2 * DAY + 4 * HOUR, queryEndTime);
+    }
+
+    @Test
+    public void testGetFixedBucketDuration() {
+        Assert.assertEquals(RequestAggregationPlanner.getFixedBucketDuration("seconds"), SECOND);
+        Assert.assertEquals(RequestAggregationPlanner.getFixedBucketDuration("minutes"), MINUTE);
+        Assert.assertEquals(RequestAggregationPlanner.getFixedBucketDuration("hours"), HOUR);
+        Assert.assertEquals(RequestAggregationPlanner.getFixedBucketDuration("days"), DAY);
+        Assert.assertEquals(RequestAggregationPlanner.getFixedBucketDuration("months"), -1);
+        Assert.assertEquals(RequestAggregationPlanner.getFixedBucketDuration("years"), -1);
+    }
+
+    private void assertRange(RequestAggregationPlanner.AggregationRange range, String granularity, long startTime,
+                             long endTime) {
+        Assert.assertEquals(range.getGranularity(), granularity);
+        Assert.assertEquals(range.getStartTime(), startTime);
+        Assert.assertEquals(range.getEndTime(), endTime);
+    }
+
+    private void assertContiguous(List<RequestAggregationPlanner.AggregationRange> ranges, long queryStartTime,
+                                  long queryEndTime) {
+        long coveredDuration = 0;
+        for (RequestAggregationPlanner.AggregationRange range : ranges) {
+            Assert.assertTrue(range.getStartTime() >= queryStartTime);
+            Assert.assertTrue(range.getEndTime() <= queryEndTime);
+            coveredDuration += range.getEndTime() - range.getStartTime();
+        }
+        Assert.assertEquals(coveredDuration, queryEndTime - queryStartTime);
+    }
+}
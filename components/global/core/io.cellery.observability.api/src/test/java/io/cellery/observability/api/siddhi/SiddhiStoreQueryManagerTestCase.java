@@ -76,8 +76,11 @@ public class SiddhiStoreQueryManagerTestCase {
 
     @Test
     public void testQuery() {
-        siddhiStoreQueryManager.query("test");
-        Mockito.verify(internalSiddhiAppRuntime, Mockito.times(1)).query("test");
+        String query = "from DistributedTracingTable\n" +
+                "on runtime == \"test-runtime\" and traceId == \"a3f9c2b7\"\n" +
+                "select traceId, spanId";
+        siddhiStoreQueryManager.query(query);
+        Mockito.verify(internalSiddhiAppRuntime, Mockito.times(1)).query(query);
     }
 
     @Test
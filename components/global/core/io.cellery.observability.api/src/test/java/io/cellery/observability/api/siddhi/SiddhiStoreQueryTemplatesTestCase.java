@@ -72,6 +72,7 @@ public class SiddhiStoreQueryTemplatesTestCase {
                 .setArg(Params.NAMESPACE, namespace)
                 .setArg(Params.QUERY_START_TIME, queryStartTime)
                 .setArg(Params.QUERY_END_TIME, queryEndTime)
+                .setArg(Params.TIME_GRANULARITY, "hours")
                 .build();
         String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
 
@@ -80,7 +81,7 @@ public class SiddhiStoreQueryTemplatesTestCase {
                 "and (sourceNamespace == \"" + namespace + "\" " +
                 "or destinationNamespace == \"" + namespace + "\")\n" +
                 "within " + queryStartTime + "L, " + queryEndTime + "L\n" +
-                "per \"seconds\"\n" +
+                "per \"hours\"\n" +
                 "select sourceNamespace, sourceInstance, destinationNamespace, destinationInstance\n" +
                 "group by sourceNamespace, sourceInstance, destinationNamespace, destinationInstance");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
@@ -113,12 +114,10 @@ public class SiddhiStoreQueryTemplatesTestCase {
 
         Assert.assertEquals(resultantQuery, "from RequestAggregation\n" +
                 "on runtime == \"" + runtime + "\" " +
-                "and (\"" + sourceNamespace + "\" == \"\" or sourceNamespace == \"" + sourceNamespace + "\") " +
-                "and (\"" + sourceInstance + "\" == \"\" or sourceInstance == \"" + sourceInstance + "\") " +
-                "and (\"" + destinationNamespace + "\" == \"\" " +
-                "or destinationNamespace == \"" + destinationNamespace + "\") " +
-                "and (\"" + destinationInstance + "\" == \"\" " +
-                "or destinationInstance == \"" + destinationInstance + "\") " +
+                "and sourceNamespace == \"" + sourceNamespace + "\" " +
+                "and sourceInstance == \"" + sourceInstance + "\" " +
+                "and destinationNamespace == \"" + destinationNamespace + "\" " +
+                "and destinationInstance == \"" + destinationInstance + "\" " +
                 "and (sourceInstance != destinationInstance)\n" +
                 "within " + queryStartTime + "L, " + queryEndTime + "L\n" +
                 "per \"" + timeGranularity + "\"\n" +
@@ -130,6 +129,42 @@ public class SiddhiStoreQueryTemplatesTestCase {
         SiddhiCompiler.parseStoreQuery(resultantQuery);
     }
 
+    @Test
+    public void testRequestAggregationInstancesMetricsTemplateWithAbsentFilters() {
+        final String runtime = "test-runtime";
+        final long queryStartTime = 6784356;
+        final long queryEndTime = 83465265;
+        final String timeGranularity = "seconds";
+        final String destinationNamespace = "test-destination-namespace";
+        final String destinationInstance = "pet-be";
+
+        SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates.REQUEST_AGGREGATION_INSTANCES_METRICS.builder()
+                .setArg(Params.RUNTIME, runtime)
+                .setArg(Params.QUERY_START_TIME, queryStartTime)
+                .setArg(Params.QUERY_END_TIME, queryEndTime)
+                .setArg(Params.TIME_GRANULARITY, timeGranularity)
+                .setArg(Params.SOURCE_NAMESPACE, "")
+                .setArg(Params.SOURCE_INSTANCE, "")
+                .setArg(Params.DESTINATION_NAMESPACE, destinationNamespace)
+                .setArg(Params.DESTINATION_INSTANCE, destinationInstance)
+                .setArg(Params.CONDITION, "")
+                .build();
+        String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
+
+        Assert.assertEquals(resultantQuery, "from RequestAggregation\n" +
+                "on runtime == \"" + runtime + "\" " +
+                "and destinationNamespace == \"" + destinationNamespace + "\" " +
+                "and destinationInstance == \"" + destinationInstance + "\"\n" +
+                "within " + queryStartTime + "L, " + queryEndTime + "L\n" +
+                "per \"" + timeGranularity + "\"\n" +
+                "select AGG_TIMESTAMP, httpResponseGroup, " +
+                "sum(totalResponseTimeMilliSec) as totalResponseTimeMilliSec, " +
+                "sum(totalRequestSizeBytes) as totalRequestSizeBytes, " +
+                "sum(totalResponseSizeBytes) as totalResponseSizeBytes, sum(requestCount) as requestCount\n" +
+                "group by AGG_TIMESTAMP, httpResponseGroup");
+        SiddhiCompiler.parseStoreQuery(resultantQuery);
+    }
+
     @Test
     public void testRequestAggregationInstanceComponentsTemplate() {
         final String runtime = "test-runtime";
@@ -175,6 +210,7 @@ public class SiddhiStoreQueryTemplatesTestCase {
                 .setArg(Params.NAMESPACE, namespace)
                 .setArg(Params.QUERY_START_TIME, queryStartTime)
                 .setArg(Params.QUERY_END_TIME, queryEndTime)
+                .setArg(Params.TIME_GRANULARITY, "hours")
                 .build();
         String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
 
@@ -182,7 +218,7 @@ public class SiddhiStoreQueryTemplatesTestCase {
                 "on runtime == \"" + runtime + "\" and (sourceNamespace == \"" + namespace + "\" " +
                 "or destinationNamespace == \"" + namespace +  "\")\n" +
                 "within " + queryStartTime + "L, " + queryEndTime + "L\n" +
-                "per \"seconds\"\n" +
+                "per \"hours\"\n" +
                 "select sourceNamespace, sourceInstance, sourceComponent, destinationNamespace, " +
                 "destinationInstance, destinationComponent\n" +
                 "group by sourceNamespace, sourceInstance, sourceComponent, destinationNamespace, " +
@@ -219,15 +255,12 @@ public class SiddhiStoreQueryTemplatesTestCase {
 
         Assert.assertEquals(resultantQuery, "from RequestAggregation\n" +
                 "on runtime == \"" + runtime + "\" " +
-                "and (\"" + sourceNamespace + "\" == \"\" or sourceNamespace == \"" + sourceNamespace + "\") " +
-                "and (\"" + sourceInstance + "\" == \"\" or sourceInstance == \"" + sourceInstance + "\") " +
-                "and (\"" + sourceComponent + "\" == \"\" or sourceComponent == \"" + sourceComponent + "\") " +
-                "and (\"" + destinationNamespace + "\" == \"\" " +
-                "or destinationNamespace == \"" + destinationNamespace + "\") " +
-                "and (\"" + destinationInstance + "\" == \"\" " +
-                "or destinationInstance == \"" + destinationInstance + "\")\n" +
-                "and (\"" + destinationComponent + "\" == \"\" or " +
-                "destinationComponent == \"" + destinationComponent + "\")\n" +
+                "and sourceNamespace == \"" + sourceNamespace + "\" " +
+                "and sourceInstance == \"" + sourceInstance + "\" " +
+                "and sourceComponent == \"" + sourceComponent + "\" " +
+                "and destinationNamespace == \"" + destinationNamespace + "\" " +
+                "and destinationInstance == \"" + destinationInstance + "\" " +
+                "and destinationComponent == \"" + destinationComponent + "\"\n" +
                 "within " + queryStartTime + "L, " + queryEndTime + "L\n" +
                 "per \"seconds\"\n" +
                 "select AGG_TIMESTAMP, httpResponseGroup, " +
@@ -255,42 +288,163 @@ public class SiddhiStoreQueryTemplatesTestCase {
 
         Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
                 "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
-                "and (" + queryStartTime + "L == -1L or startTime >= " + queryStartTime + "L) " +
-                "and (" + queryEndTime + "L == -1L or startTime <= " + queryEndTime + "L)\n" +
+                "and startTime >= " + queryStartTime + "L " +
+                "and startTime <= " + queryEndTime + "L\n" +
                 "select instance, serviceName, operationName\n" +
                 "group by instance, serviceName, operationName");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
     }
 
     @Test
-    public void testDistributedTracingSearchGetTraceIdsTemplate() {
+    public void testDistributedTracingMetadataTemplateWithoutTimeRange() {
+        final String runtime = "test-runtime";
+        final String namespace = "test-namespace";
+
+        SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_METADATA.builder()
+                .setArg(Params.RUNTIME, runtime)
+                .setArg(Params.NAMESPACE, namespace)
+                .setArg(Params.QUERY_START_TIME, -1L)
+                .setArg(Params.QUERY_END_TIME, -1L)
+                .build();
+        String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
+
+        Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
+                "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\"\n" +
+                "select instance, serviceName, operationName\n" +
+                "group by instance, serviceName, operationName");
+        SiddhiCompiler.parseStoreQuery(resultantQuery);
+    }
+
+    @Test
+    public void testDistributedTracingSearchGetRootSpansTemplate() {
         final String runtime = "test-runtime";
         final String namespace = "test-namespace";
         final long queryStartTime = 243423;
         final long queryEndTime = 21234322;
+        final long cursorStartTime = 20234322;
+        final long minDuration = 12321;
+        final long maxDuration = 12321312;
+        final int limit = 26;
+
+        SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates
+                .DISTRIBUTED_TRACING_SEARCH_GET_ROOT_SPANS.builder()
+                .setArg(Params.RUNTIME, runtime)
+                .setArg(Params.NAMESPACE, namespace)
+                .setArg(Params.QUERY_START_TIME, queryStartTime)
+                .setArg(Params.QUERY_END_TIME, queryEndTime)
+                .setArg(Params.CURSOR_START_TIME, cursorStartTime)
+                .setArg(Params.MIN_DURATION, minDuration)
+                .setArg(Params.MAX_DURATION, maxDuration)
+                .setArg(Params.LIMIT, limit)
+                .build();
+        String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
+
+        Assert.assertEquals(resultantQuery, "from DistributedTracingSummaryTable\n" +
+                "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
+                "and startTime >= " + queryStartTime + "L " +
+                "and startTime <= " + queryEndTime + "L " +
+                "and startTime <= " + cursorStartTime + "L " +
+                "and duration >= " + minDuration + "L " +
+                "and duration <= " + maxDuration + "L\n" +
+                "select traceId, instance, serviceName, operationName, startTime, duration, hasError\n" +
+                "order by startTime desc, traceId desc\n" +
+                "limit " + limit);
+        SiddhiCompiler.parseStoreQuery(resultantQuery);
+    }
+
+    @Test
+    public void testDistributedTracingSearchGetRootSpansTemplateWithoutCursor() {
+        final String runtime = "test-runtime";
+        final String namespace = "test-namespace";
+        final long queryStartTime = 243423;
+        final long queryEndTime = 21234322;
+        final int limit = 26;
+
+        SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates
+                .DISTRIBUTED_TRACING_SEARCH_GET_ROOT_SPANS.builder()
+                .setArg(Params.RUNTIME, runtime)
+                .setArg(Params.NAMESPACE, namespace)
+                .setArg(Params.QUERY_START_TIME, queryStartTime)
+                .setArg(Params.QUERY_END_TIME, queryEndTime)
+                .setArg(Params.CURSOR_START_TIME, -1L)
+                .setArg(Params.MIN_DURATION, -1L)
+                .setArg(Params.MAX_DURATION, -1L)
+                .setArg(Params.LIMIT, limit)
+                .build();
+        String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
+
+        Assert.assertEquals(resultantQuery, "from DistributedTracingSummaryTable\n" +
+                "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
+                "and startTime >= " + queryStartTime + "L " +
+                "and startTime <= " + queryEndTime + "L\n" +
+                "select traceId, instance, serviceName, operationName, startTime, duration, hasError\n" +
+                "order by startTime desc, traceId desc\n" +
+                "limit " + limit);
+        SiddhiCompiler.parseStoreQuery(resultantQuery);
+    }
+
+    @Test
+    public void testDistributedTracingSearchGetLegacyRootSpansTemplate() {
+        final String runtime = "test-runtime";
+        final String namespace = "test-namespace";
+        final long queryEndTime = 21234322;
+        final long cursorStartTime = 20234322;
+        final long minDuration = 12321;
+        final int limit = 26;
+
+        SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates
+                .DISTRIBUTED_TRACING_SEARCH_GET_LEGACY_ROOT_SPANS.builder()
+                .setArg(Params.RUNTIME, runtime)
+                .setArg(Params.NAMESPACE, namespace)
+                .setArg(Params.QUERY_START_TIME, -1L)
+                .setArg(Params.QUERY_END_TIME, queryEndTime)
+                .setArg(Params.CURSOR_START_TIME, cursorStartTime)
+                .setArg(Params.MIN_DURATION, minDuration)
+                .setArg(Params.MAX_DURATION, -1L)
+                .setArg(Params.LIMIT, limit)
+                .build();
+        String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
+
+        Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
+                "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
+                "and parentId is null " +
+                "and startTime <= " + queryEndTime + "L " +
+                "and startTime <= " + cursorStartTime + "L " +
+                "and duration >= " + minDuration + "L\n" +
+                "select traceId, instance, serviceName, operationName, startTime, duration, false as hasError\n" +
+                "group by traceId\n" +
+                "order by startTime desc, traceId desc\n" +
+                "limit " + limit);
+        SiddhiCompiler.parseStoreQuery(resultantQuery);
+    }
+
+    @Test
+    public void testDistributedTracingSearchGetTraceIdsTemplate() {
+        final String runtime = "test-runtime";
+        final String namespace = "test-namespace";
         final String instance = "pet-be";
         final String serviceName = "customers";
         final String operationName = "GET /customer/john";
+        final String condition = "traceId == \"342fsd23423\" or traceId == \"4ger435f324\"";
 
         SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates.DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS.builder()
                 .setArg(Params.RUNTIME, runtime)
                 .setArg(Params.NAMESPACE, namespace)
-                .setArg(Params.QUERY_START_TIME, queryStartTime)
-                .setArg(Params.QUERY_END_TIME, queryEndTime)
                 .setArg(Params.INSTANCE, instance)
                 .setArg(Params.SERVICE_NAME, serviceName)
                 .setArg(Params.OPERATION_NAME, operationName)
+                .setArg(Params.CONDITION, condition)
                 .build();
         String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
 
         Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
                 "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
-                "and (\"" + instance + "\" == \"\" or instance == \"" + instance + "\") " +
-                "and (\"" + serviceName + "\" == \"\" or serviceName == \"" + serviceName + "\") " +
-                "and (\"" + operationName + "\" == \"\" or operationName == \"" + operationName + "\")\n" +
+                "and instance == \"" + instance + "\" " +
+                "and serviceName == \"" + serviceName + "\" " +
+                "and operationName == \"" + operationName + "\" " +
+                "and (" + condition + ")\n" +
                 "select traceId\n" +
-                "group by traceId\n" +
-                "order by startTime desc");
+                "group by traceId");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
     }
 
@@ -298,83 +452,73 @@ public class SiddhiStoreQueryTemplatesTestCase {
     public void testDistributedTracingSearchGetTraceIdsWithTagsTemplate() {
         final String runtime = "test-runtime";
         final String namespace = "test-namespace";
-        final String instance = "pet-be";
         final String serviceName = "orders";
-        final String operationName = "GET /orders/1";
+        final String condition = "traceId == \"342fsd23423\" or traceId == \"4ger435f324\"";
 
         SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates
                 .DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS_WITH_TAGS.builder()
                 .setArg(Params.RUNTIME, runtime)
                 .setArg(Params.NAMESPACE, namespace)
-                .setArg(Params.INSTANCE, instance)
+                .setArg(Params.INSTANCE, "")
                 .setArg(Params.SERVICE_NAME, serviceName)
-                .setArg(Params.OPERATION_NAME, operationName)
+                .setArg(Params.OPERATION_NAME, "")
+                .setArg(Params.CONDITION, condition)
                 .build();
         String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
 
         Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
                 "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
-                "and (\"" + instance + "\" == \"\" or instance == \"" + instance + "\") and " +
-                "(\"" + serviceName + "\" == \"\" or serviceName == \"" + serviceName + "\") and " +
-                "(\"" + operationName + "\" == \"\" or operationName == \"" + operationName + "\")\n" +
-                "select traceId, tags\n" +
-                "order by startTime desc");
+                "and serviceName == \"" + serviceName + "\" " +
+                "and (" + condition + ")\n" +
+                "select traceId, tags");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
     }
 
     @Test
-    public void testDistributedTracingSearchGetTraceIdsWithValidRootSpans() {
+    public void testDistributedTracingSearchGetSpanIdsTemplate() {
         final String runtime = "test-runtime";
         final String namespace = "test-namespace";
-        final long queryStartTime = 243423;
-        final long queryEndTime = 21234322;
-        final long minDuration = 12321312;
-        final long maxDuration = 12321;
+        final String instance = "test-instance";
+        final String operationName = "GET /pets";
+        final String condition = "traceId == \"342fsd23423\" or traceId == \"4ger435f324\"";
 
         SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates
-                .DISTRIBUTED_TRACING_SEARCH_GET_TRACE_IDS_WITH_VALID_ROOT_SPANS.builder()
+                .DISTRIBUTED_TRACING_SEARCH_GET_SPAN_IDS.builder()
                 .setArg(Params.RUNTIME, runtime)
                 .setArg(Params.NAMESPACE, namespace)
-                .setArg(Params.QUERY_START_TIME, queryStartTime)
-                .setArg(Params.QUERY_END_TIME, queryEndTime)
-                .setArg(SiddhiStoreQueryTemplates.Params.MIN_DURATION, minDuration)
-                .setArg(SiddhiStoreQueryTemplates.Params.MAX_DURATION, maxDuration)
+                .setArg(Params.INSTANCE, instance)
+                .setArg(Params.SERVICE_NAME, "")
+                .setArg(Params.OPERATION_NAME, operationName)
+                .setArg(Params.CONDITION, condition)
                 .build();
         String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
 
         Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
                 "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
-                "and parentId is null " +
-                "and (" + queryStartTime + "L == -1L or startTime >= " + queryStartTime + "L) " +
-                "and (" + queryEndTime + "L == -1L or startTime <= " + queryEndTime + "L) " +
-                "and (" + minDuration + "L == -1L or duration >= " + minDuration + "L) " +
-                "and (" + maxDuration + "L == -1L or duration <= " + maxDuration + "L)\n" +
-                "select traceId\n" +
-                "group by traceId\n" +
-                "order by startTime desc");
+                "and instance == \"" + instance + "\" and operationName == \"" + operationName + "\" " +
+                "and (" + condition + ")\n" +
+                "select traceId, spanId");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
     }
 
     @Test
-    public void testDistributedTracingSearchGetRootSpanMetadataTemplate() {
+    public void testDistributedTracingSearchGetSpanIdsWithIndexedTagsTemplate() {
         final String runtime = "test-runtime";
-        final String namespace = "test-namespace";
+        final String tagsCondition = "(tagKey == \"http.method\" and tagValue == \"GET\") " +
+                "or (tagKey == \"error\" and tagValue == \"true\")";
         final String condition = "traceId == \"342fsd23423\" or traceId == \"4ger435f324\"";
 
         SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates
-                .DISTRIBUTED_TRACING_SEARCH_GET_ROOT_SPAN_METADATA.builder()
+                .DISTRIBUTED_TRACING_SEARCH_GET_SPAN_IDS_WITH_INDEXED_TAGS.builder()
                 .setArg(Params.RUNTIME, runtime)
-                .setArg(Params.NAMESPACE, namespace)
+                .setArg(Params.TAGS_CONDITION, tagsCondition)
                 .setArg(Params.CONDITION, condition)
                 .build();
         String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
 
-        Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
-                "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
-                "and parentId is null and (" + condition + ")\n" +
-                "select traceId, instance, serviceName, operationName, startTime, duration\n" +
-                "group by traceId\n" +
-                "order by startTime desc");
+        Assert.assertEquals(resultantQuery, "from DistributedTracingTagTable\n" +
+                "on runtime == \"" + runtime + "\" and (" + tagsCondition + ") and (" + condition + ")\n" +
+                "select traceId, spanId");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
     }
 
@@ -392,12 +536,42 @@ public class SiddhiStoreQueryTemplatesTestCase {
                 .build();
         String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
 
-        Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
+        Assert.assertEquals(resultantQuery, "from DistributedTracingSpanCountTable\n" +
                 "on runtime == \"" + runtime + "\" " +
-                "and (" + condition + ")\n" +
+                "and (" + condition + ") and spanCount > 0L\n" +
+                "select traceId, instance, serviceName, spanCount as count");
+        SiddhiCompiler.parseStoreQuery(resultantQuery);
+    }
+
+    @Test
+    public void testDistributedTracingSearchGetLegacyMultipleInstanceServiceCountsTemplate() {
+        final String runtime = "test-runtime";
+        final String condition = "traceId == \"342fsd23423\" or traceId == \"4ger435f324\"";
+
+        SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates
+                .DISTRIBUTED_TRACING_SEARCH_GET_LEGACY_MULTIPLE_INSTANCE_SERVICE_COUNTS.builder()
+                .setArg(Params.RUNTIME, runtime)
+                .setArg(Params.CONDITION, condition)
+                .build();
+        String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
+
+        Assert.assertEquals(resultantQuery, "from DistributedTracingTable\n" +
+                "on runtime == \"" + runtime + "\" and (" + condition + ")\n" +
                 "select traceId, instance, serviceName, count() as count\n" +
-                "group by traceId, instance, serviceName\n" +
-                "order by startTime desc");
+                "group by traceId, instance, serviceName");
+        SiddhiCompiler.parseStoreQuery(resultantQuery);
+    }
+
+    @Test
+    public void testDistributedTracingGetSummaryStartTimeTemplate() {
+        SiddhiStoreQuery siddhiStoreQuery = SiddhiStoreQueryTemplates
+                .DISTRIBUTED_TRACING_GET_SUMMARY_START_TIME.builder()
+                .build();
+        String resultantQuery = Whitebox.getInternalState(siddhiStoreQuery, "query");
+
+        Assert.assertEquals(resultantQuery, "from DistributedTracingMetadataTable\n" +
+                "on name == \"summaryStartTime\"\n" +
+                "select value");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
     }
 
@@ -443,15 +617,14 @@ public class SiddhiStoreQueryTemplatesTestCase {
 
         Assert.assertEquals(resultantQuery, "from K8sPodInfoTable\n" +
                 "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
-                "and (\"" + instance + "\" == \"\" or instance == \"" + instance + "\") " +
-                "and (\"" + component + "\" == \"\" or component == \"catalog\") " +
-                "and ((" + queryStartTime + "L == -1L and " + queryEndTime + "L == -1L) " +
-                "or ((creationTimestamp >= " + queryStartTime + "L " +
+                "and instance == \"" + instance + "\" " +
+                "and component == \"" + component + "\" " +
+                "and ((creationTimestamp >= " + queryStartTime + "L " +
                 "and creationTimestamp <= " + queryEndTime + "L) " +
                 "or (lastKnownAliveTimestamp >= " + queryStartTime + "L " +
                 "and lastKnownAliveTimestamp <= " + queryEndTime + "L) " +
                 "or (creationTimestamp <= " + queryStartTime + "L " +
-                "and lastKnownAliveTimestamp >= " + queryEndTime + "L)))\n" +
+                "and lastKnownAliveTimestamp >= " + queryEndTime + "L))\n" +
                 "select instance, component, podName, creationTimestamp, lastKnownAliveTimestamp, nodeName");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
     }
@@ -475,14 +648,13 @@ public class SiddhiStoreQueryTemplatesTestCase {
 
         Assert.assertEquals(resultantQuery, "from K8sComponentInfoTable\n" +
                 "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
-                "and (\"" + instance + "\" == \"\" or instance == \"" + instance + "\") " +
-                "and ((" + queryStartTime + "L == -1L and " + queryEndTime + "L == -1L) " +
-                "or ((creationTimestamp >= " + queryStartTime + "L " +
+                "and instance == \"" + instance + "\" " +
+                "and ((creationTimestamp >= " + queryStartTime + "L " +
                 "and creationTimestamp <= " + queryEndTime + "L) " +
                 "or (lastKnownAliveTimestamp >= " + queryStartTime + "L " +
                 "and lastKnownAliveTimestamp <= " + queryEndTime + "L) " +
                 "or (creationTimestamp <= " + queryStartTime + "L " +
-                "and lastKnownAliveTimestamp >= " + queryEndTime + "L)))\n" +
+                "and lastKnownAliveTimestamp >= " + queryEndTime + "L))\n" +
                 "select instance, instanceKind\n" +
                 "group by instance");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
@@ -509,15 +681,14 @@ public class SiddhiStoreQueryTemplatesTestCase {
 
         Assert.assertEquals(resultantQuery, "from K8sComponentInfoTable\n" +
                 "on runtime == \"" + runtime + "\" and namespace == \"" + namespace + "\" " +
-                "and (\"" + instance + "\" == \"\" or instance == \"" + instance + "\") " +
-                "and (\"" + component + "\" == \"\" or component == \"" + component + "\") " +
-                "and ((" + queryStartTime + "L == -1L and " + queryEndTime + "L == -1L) " +
-                "or ((creationTimestamp >= " + queryStartTime + "L " +
+                "and instance == \"" + instance + "\" " +
+                "and component == \"" + component + "\" " +
+                "and ((creationTimestamp >= " + queryStartTime + "L " +
                 "and creationTimestamp <= " + queryEndTime + "L) " +
                 "or (lastKnownAliveTimestamp >= " + queryStartTime + "L " +
                 "and lastKnownAliveTimestamp <= " + queryEndTime + "L) " +
                 "or (creationTimestamp <= " + queryStartTime + "L " +
-                "and lastKnownAliveTimestamp >= " + queryEndTime + "L)))\n" +
+                "and lastKnownAliveTimestamp >= " + queryEndTime + "L))\n" +
                 "select instance, component, instanceKind, ingressTypes\n" +
                 "group by instance, component");
         SiddhiCompiler.parseStoreQuery(resultantQuery);
@@ -18,6 +18,7 @@
 
 package io.cellery.observability.api.siddhi;
 
+import io.cellery.observability.api.exception.InvalidParamException;
 import io.cellery.observability.api.internal.ServiceHolder;
 import org.mockito.Mockito;
 import org.powermock.reflect.Whitebox;
@@ -25,6 +26,11 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.siddhi.core.event.Event;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import javax.ws.rs.core.StreamingOutput;
+
 /**
  * Test Cases for Siddhi Store Query.
  */
@@ -34,19 +40,117 @@ public class SiddhiStoreQueryTestCase {
     public void testBuilderInitialization() {
         String query = "test query";
         SiddhiStoreQuery.Builder builder = new SiddhiStoreQuery.Builder(query);
-        Assert.assertEquals(Whitebox.getInternalState(builder, "query"), query);
+        Object preparedQuery = Whitebox.getInternalState(builder, "preparedQuery");
+        Assert.assertEquals(Whitebox.getInternalState(preparedQuery, "query"), query);
     }
 
     @Test
     public void testBuilderSetArg() {
         String key = "replaceValue";
         String query = "test query ${" + key + "} query end;";
-        SiddhiStoreQuery.Builder builder = new SiddhiStoreQuery.Builder(query)
-                .setArg(key, "Test Value 1");
-        Assert.assertEquals(Whitebox.getInternalState(builder, "query"),
+        SiddhiStoreQuery siddhiStoreQuery = new SiddhiStoreQuery.Builder(query)
+                .setArg(key, "Test Value 1")
+                .build();
+        Assert.assertEquals(Whitebox.getInternalState(siddhiStoreQuery, "query"),
                 "test query Test Value 1 query end;");
     }
 
+    @Test
+    public void testBuilderSetTypedArgs() {
+        SiddhiStoreQuery siddhiStoreQuery = new SiddhiStoreQuery.Builder("from Table on name == \"${name}\" "
+                + "and time >= ${time}L and (${condition}) select *")
+                .setArg("name", "test-name")
+                .setArg("time", 1234L)
+                .setArg("condition", "count > 5")
+                .build();
+        Assert.assertEquals(Whitebox.getInternalState(siddhiStoreQuery, "query"),
+                "from Table on name == \"test-name\" and time >= 1234L and (count > 5) select *");
+    }
+
+    @Test
+    public void testBuilderSetArgForRepeatedParam() {
+        SiddhiStoreQuery siddhiStoreQuery = new SiddhiStoreQuery.Builder("\"${name}\" == \"\" or "
+                + "name == \"${name}\"")
+                .setArg("name", "test-name")
+                .build();
+        Assert.assertEquals(Whitebox.getInternalState(siddhiStoreQuery, "query"),
+                "\"test-name\" == \"\" or name == \"test-name\"");
+    }
+
+    @Test(expectedExceptions = InvalidParamException.class)
+    public void testBuilderSetStringArgWithQuotes() {
+        new SiddhiStoreQuery.Builder("from Table on name == \"${name}\" select *")
+                .setArg("name", "test\" or name != \"")
+                .build();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBuilderSetLongArgWithNonIntegralValue() {
+        new SiddhiStoreQuery.Builder("from Table on time >= ${time}L select *")
+                .setArg("time", "0L or time < 0")
+                .build();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBuilderBuildWithMissingArg() {
+        new SiddhiStoreQuery.Builder("from Table on name == \"${name}\" and time >= ${time}L select *")
+                .setArg("name", "test-name")
+                .build();
+    }
+
+    @Test
+    public void testBuilderBuildWithOptionalFilters() {
+        String query = "from Table on runtime == \"${runtime}\"[[ and name == \"${name}\"]]"
+                + "[[ and time >= ${time}L]][[ and (${condition})]] select *";
+        SiddhiStoreQuery siddhiStoreQuery = new SiddhiStoreQuery.Builder(query)
+                .setArg("runtime", "test-runtime")
+                .setArg("name", "test-name")
+                .setArg("time", 1234L)
+                .setArg("condition", "count > 5")
+                .build();
+        Assert.assertEquals(Whitebox.getInternalState(siddhiStoreQuery, "query"), "from Table on "
+                + "runtime == \"test-runtime\" and name == \"test-name\" and time >= 1234L and (count > 5) select *");
+    }
+
+    @Test
+    public void testBuilderBuildWithAbsentOptionalFilters() {
+        String query = "from Table on runtime == \"${runtime}\"[[ and name == \"${name}\"]]"
+                + "[[ and time >= ${time}L]][[ and (${condition})]] select *";
+        SiddhiStoreQuery siddhiStoreQuery = new SiddhiStoreQuery.Builder(query)
+                .setArg("runtime", "test-runtime")
+                .setArg("name", "")
+                .setArg("time", -1L)
+                .setArg("condition", "")
+                .build();
+        Assert.assertEquals(Whitebox.getInternalState(siddhiStoreQuery, "query"),
+                "from Table on runtime == \"test-runtime\" select *");
+    }
+
+    @Test
+    public void testBuilderBuildWithPartiallyAbsentOptionalFilter() {
+        String query = "from Table on runtime == \"${runtime}\"[[ and time >= ${start}L and time <= ${end}L]] select *";
+        SiddhiStoreQuery siddhiStoreQuery = new SiddhiStoreQuery.Builder(query)
+                .setArg("runtime", "test-runtime")
+                .setArg("start", 1234L)
+                .setArg("end", -1L)
+                .build();
+        Assert.assertEquals(Whitebox.getInternalState(siddhiStoreQuery, "query"),
+                "from Table on runtime == \"test-runtime\" select *");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBuilderWithUnclosedOptionalFilter() {
+        new SiddhiStoreQuery.Builder("from Table on runtime == \"${runtime}\"[[ and name == \"${name}\" select *");
+    }
+
+    @Test
+    public void testBuilderBuildWithoutParams() {
+        String query = "from Table select *";
+        SiddhiStoreQuery siddhiStoreQuery = new SiddhiStoreQuery.Builder(query)
+                .build();
+        Assert.assertEquals(Whitebox.getInternalState(siddhiStoreQuery, "query"), query);
+    }
+
     @Test
     public void testBuilderBuild() {
         String key = "testKey";
@@ -86,6 +190,88 @@ public class SiddhiStoreQueryTestCase {
         ServiceHolder.setSiddhiStoreQueryManager(null);
     }
 
+    @Test
+    public void testExecuteAsync() throws Exception {
+        Event[] resultantEvents = new Event[]{
+                new Event(1, new Object[]{"pet-be", "controller", 15}),
+                new Event(2, new Object[]{"pet-fe", "portal", 142})
+        };
+        String query = "test query";
+        SiddhiStoreQueryManager siddhiStoreQueryManager = Mockito.mock(SiddhiStoreQueryManager.class);
+        Mockito.when(siddhiStoreQueryManager.queryAsync(query))
+                .thenReturn(CompletableFuture.completedFuture(resultantEvents));
+        ServiceHolder.setSiddhiStoreQueryManager(siddhiStoreQueryManager);
+
+        Object[][] result = new SiddhiStoreQuery.Builder(query)
+                .build()
+                .executeAsync()
+                .get();
+
+        Assert.assertEquals(result.length, resultantEvents.length);
+        for (int i = 0; i < resultantEvents.length; i++) {
+            Assert.assertEquals(result[i], resultantEvents[i].getData());
+        }
+        Mockito.verify(siddhiStoreQueryManager, Mockito.never()).query(query);
+        ServiceHolder.setSiddhiStoreQueryManager(null);
+    }
+
+    @Test
+    public void testExecuteAsyncWithSiddhiStoreQueryManagerReturnNull() throws Exception {
+        String query = "test query";
+        SiddhiStoreQueryManager siddhiStoreQueryManager = Mockito.mock(SiddhiStoreQueryManager.class);
+        Mockito.when(siddhiStoreQueryManager.queryAsync(query))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        ServiceHolder.setSiddhiStoreQueryManager(siddhiStoreQueryManager);
+
+        Object[][] result = new SiddhiStoreQuery.Builder(query)
+                .build()
+                .executeAsync()
+                .get();
+
+        Assert.assertEquals(result.length, 0);
+        ServiceHolder.setSiddhiStoreQueryManager(null);
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        Event[] resultantEvents = new Event[]{
+                new Event(1, new Object[]{"pet-be", "controller", 15L}),
+                new Event(2, new Object[]{"pet-be", null, 12.5}),
+                new Event(3, new Object[]{"pet-fe", "portal \"main\"", 142})
+        };
+        String query = "test query";
+        SiddhiStoreQueryManager siddhiStoreQueryManager = Mockito.mock(SiddhiStoreQueryManager.class);
+        Mockito.when(siddhiStoreQueryManager.query(query)).thenReturn(resultantEvents);
+        ServiceHolder.setSiddhiStoreQueryManager(siddhiStoreQueryManager);
+
+        StreamingOutput result = new SiddhiStoreQuery.Builder(query)
+                .build()
+                .stream();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.write(outputStream);
+
+        Assert.assertEquals(new String(outputStream.toByteArray(), StandardCharsets.UTF_8),
+                "[[\"pet-be\",\"controller\",15],[\"pet-be\",null,12.5],[\"pet-fe\",\"portal \\\"main\\\"\",142]]");
+        ServiceHolder.setSiddhiStoreQueryManager(null);
+    }
+
+    @Test
+    public void testStreamWithSiddhiStoreQueryManagerReturnNull() throws Exception {
+        String query = "test query";
+        SiddhiStoreQueryManager siddhiStoreQueryManager = Mockito.mock(SiddhiStoreQueryManager.class);
+        Mockito.when(siddhiStoreQueryManager.query(query)).thenReturn(null);
+        ServiceHolder.setSiddhiStoreQueryManager(siddhiStoreQueryManager);
+
+        StreamingOutput result = new SiddhiStoreQuery.Builder(query)
+                .build()
+                .stream();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.write(outputStream);
+
+        Assert.assertEquals(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), "[]");
+        ServiceHolder.setSiddhiStoreQueryManager(null);
+    }
+
     @Test
     public void testExecuteWithSiddhiStoreQueryManagerReturnNull() {
         String query = "test query";
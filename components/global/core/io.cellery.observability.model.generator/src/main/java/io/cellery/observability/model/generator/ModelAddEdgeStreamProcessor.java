@@ -44,24 +44,39 @@ import java.util.Map;
 
 /**
  * This is the Siddhi extension which add edges to the dependency model. If the source and destination nodes
- * in the edge does not exist, they will be added as well.
+ * in the edge does not exist, they will be added as well. If the HTTP response group and the response time
+ * of the request are provided, the request is recorded in the statistics of the edge as well.
  */
 @Extension(
         name = "addEdge",
         namespace = "model",
         description = "This add edges to the dependency model",
-        examples = @Example(
-                description = "This updates the dependency model based on the request",
-                syntax = "model:addEdge(runtime, sourceNamespace, sourceInstance, sourceComponent, "
-                        + "sourceInstanceKind, destinationNamespace, destinationInstance, destinationComponent,"
-                        + "destinationInstanceKind)\n"
-                        + "select *\n"
-                        + "insert into outputStream;"
-        )
+        examples = {
+                @Example(
+                        description = "This updates the dependency model based on the request",
+                        syntax = "model:addEdge(runtime, sourceNamespace, sourceInstance, sourceComponent, "
+                                + "sourceInstanceKind, destinationNamespace, destinationInstance, "
+                                + "destinationComponent, destinationInstanceKind)\n"
+                                + "select *\n"
+                                + "insert into outputStream;"
+                ),
+                @Example(
+                        description = "This updates the dependency model and the edge statistics based on the "
+                                + "request",
+                        syntax = "model:addEdge(runtime, sourceNamespace, sourceInstance, sourceComponent, "
+                                + "sourceInstanceKind, destinationNamespace, destinationInstance, "
+                                + "destinationComponent, destinationInstanceKind, httpResponseGroup, "
+                                + "responseTimeMilliSec)\n"
+                                + "select *\n"
+                                + "insert into outputStream;"
+                )
+        }
 )
 public class ModelAddEdgeStreamProcessor extends StreamProcessor {
     private static final Logger logger = Logger.getLogger(ModelAddEdgeStreamProcessor.class);
 
+    private static final String ERROR_HTTP_RESPONSE_GROUP = "5xx";
+
     private ExpressionExecutor runtimeExecutor;
     private ExpressionExecutor sourceNamespaceExecutor;
     private ExpressionExecutor sourceInstanceExecutor;
@@ -71,6 +86,8 @@ public class ModelAddEdgeStreamProcessor extends StreamProcessor {
     private ExpressionExecutor destinationInstanceExecutor;
     private ExpressionExecutor destinationComponentExecutor;
     private ExpressionExecutor destinationInstanceKindExecutor;
+    private ExpressionExecutor httpResponseGroupExecutor;
+    private ExpressionExecutor responseTimeMilliSecExecutor;
 
     @Override
     protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
@@ -114,6 +131,14 @@ public class ModelAddEdgeStreamProcessor extends StreamProcessor {
                     }
                     if (sourceNode != null && destinationNode != null) {
                         ServiceHolder.getModelManager().addEdge(runtime, sourceNode, destinationNode);
+                        if (httpResponseGroupExecutor != null && responseTimeMilliSecExecutor != null) {
+                            String httpResponseGroup = (String) httpResponseGroupExecutor.execute(incomingStreamEvent);
+                            Double responseTimeMilliSec =
+                                    (Double) responseTimeMilliSecExecutor.execute(incomingStreamEvent);
+                            ServiceHolder.getModelManager().recordEdgeRequest(runtime, sourceNode, destinationNode,
+                                    ERROR_HTTP_RESPONSE_GROUP.equals(httpResponseGroup),
+                                    responseTimeMilliSec == null ? 0 : responseTimeMilliSec);
+                        }
                     } else {
                         if (logger.isDebugEnabled()) {
                             logger.debug("Ignoring add invalid edge event: "
@@ -172,8 +197,9 @@ public class ModelAddEdgeStreamProcessor extends StreamProcessor {
     @Override
     protected List<Attribute> init(AbstractDefinition abstractDefinition, ExpressionExecutor[] expressionExecutors,
                                    ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
-        if (expressionExecutors.length != 9) {
-            throw new SiddhiAppCreationException("Nine arguments are required");
+        if (expressionExecutors.length != 9 && expressionExecutors.length != 11) {
+            throw new SiddhiAppCreationException("Nine arguments or eleven arguments including the request "
+                    + "statistics are required");
         } else {
             if (expressionExecutors[0].getReturnType() == Attribute.Type.STRING) {
                 runtimeExecutor = expressionExecutors[0];
@@ -246,6 +272,24 @@ public class ModelAddEdgeStreamProcessor extends StreamProcessor {
                         + "instance kind field, but found a field with return type - "
                         + expressionExecutors[8].getReturnType());
             }
+
+            if (expressionExecutors.length == 11) {
+                if (expressionExecutors[9].getReturnType() == Attribute.Type.STRING) {
+                    httpResponseGroupExecutor = expressionExecutors[9];
+                } else {
+                    throw new SiddhiAppCreationException("Expected a field with String return type for the HTTP "
+                            + "response group field, but found a field with return type - "
+                            + expressionExecutors[9].getReturnType());
+                }
+
+                if (expressionExecutors[10].getReturnType() == Attribute.Type.DOUBLE) {
+                    responseTimeMilliSecExecutor = expressionExecutors[10];
+                } else {
+                    throw new SiddhiAppCreationException("Expected a field with Double return type for the response "
+                            + "time field, but found a field with return type - "
+                            + expressionExecutors[10].getReturnType());
+                }
+            }
         }
         return new ArrayList<>(0);
     }
@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.model.generator.internal;
+
+import io.cellery.observability.model.generator.exception.GraphStoreException;
+import io.cellery.observability.model.generator.model.Edge;
+import io.cellery.observability.model.generator.model.EdgeNode;
+import io.cellery.observability.model.generator.model.Model;
+import io.cellery.observability.model.generator.model.Node;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary codec used for persisting dependency models.
+ *
+ * The first byte of the encoded models is a format marker indicating whether the rest of the content is compressed.
+ * The content consists of a string dictionary, the distinct (namespace, instance, component) endpoints referring to
+ * the dictionary and the nodes and edges of each model referring to the endpoints. All the numbers are written as
+ * unsigned variable length integers and references to strings which can be null are offset by one.
+ */
+public class ModelCodec {
+    private static final byte FORMAT_BINARY = 1;
+    private static final byte FORMAT_DEFLATED_BINARY = 2;
+
+    /*
+     * The minimum encoded size (in bytes) from which compression is attempted. Compressing smaller models is not
+     * worth the overhead.
+     */
+    private static final int COMPRESSION_THRESHOLD = 256;
+
+    private ModelCodec() {   // Prevent initialization
+    }
+
+    /**
+     * Encode a list of models into the binary format.
+     * The models share the same dictionary and hence encoding related models together is more compact.
+     *
+     * @param models The models to be encoded
+     * @return The encoded models
+     */
+    public static byte[] encode(Model... models) {
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        Map<EdgeNode, Integer> endpointIds = new HashMap<>();
+        List<EdgeNode> endpoints = new ArrayList<>();
+        VarIntOutputStream modelsOutputStream = new VarIntOutputStream();
+        modelsOutputStream.writeVarInt(models.length);
+        for (Model model : models) {
+            modelsOutputStream.writeVarInt(model.getNodes().size());
+            for (Node node : model.getNodes()) {
+                modelsOutputStream.writeVarInt(getEndpointId(node, endpointIds, endpoints));
+                modelsOutputStream.writeVarInt(getStringReference(node.getInstanceKind(), stringIds, strings));
+            }
+            modelsOutputStream.writeVarInt(model.getEdges().size());
+            for (Edge edge : model.getEdges()) {
+                modelsOutputStream.writeVarInt(getEndpointId(edge.getSource(), endpointIds, endpoints));
+                modelsOutputStream.writeVarInt(getEndpointId(edge.getTarget(), endpointIds, endpoints));
+            }
+        }
+
+        // Endpoints are resolved before writing the dictionary as they add the strings they refer to
+        VarIntOutputStream endpointsOutputStream = new VarIntOutputStream();
+        endpointsOutputStream.writeVarInt(endpoints.size());
+        for (EdgeNode endpoint : endpoints) {
+            endpointsOutputStream.writeVarInt(getStringReference(endpoint.getNamespace(), stringIds, strings));
+            endpointsOutputStream.writeVarInt(getStringReference(endpoint.getInstance(), stringIds, strings));
+            endpointsOutputStream.writeVarInt(getStringReference(endpoint.getComponent(), stringIds, strings));
+        }
+
+        VarIntOutputStream outputStream = new VarIntOutputStream();
+        outputStream.writeVarInt(strings.size());
+        for (String string : strings) {
+            byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+            outputStream.writeVarInt(stringBytes.length);
+            outputStream.write(stringBytes, 0, stringBytes.length);
+        }
+        endpointsOutputStream.appendTo(outputStream);
+        modelsOutputStream.appendTo(outputStream);
+        byte[] content = outputStream.toByteArray();
+
+        if (content.length >= COMPRESSION_THRESHOLD) {
+            byte[] compressedContent = deflate(content);
+            if (compressedContent.length < content.length) {
+                return withFormatMarker(FORMAT_DEFLATED_BINARY, compressedContent);
+            }
+        }
+        return withFormatMarker(FORMAT_BINARY, content);
+    }
+
+    /**
+     * Decode a list of models encoded in the binary format.
+     *
+     * @param encodedModels The encoded models
+     * @return The decoded models in the order they were encoded
+     * @throws GraphStoreException If the encoded models are invalid
+     */
+    public static List<Model> decode(byte[] encodedModels) throws GraphStoreException {
+        if (encodedModels == null || encodedModels.length == 0) {
+            throw new GraphStoreException("Unable to decode empty dependency model content");
+        }
+        byte[] content;
+        if (encodedModels[0] == FORMAT_BINARY) {
+            content = new byte[encodedModels.length - 1];
+            System.arraycopy(encodedModels, 1, content, 0, content.length);
+        } else if (encodedModels[0] == FORMAT_DEFLATED_BINARY) {
+            content = inflate(encodedModels);
+        } else {
+            throw new GraphStoreException("Unknown dependency model format " + encodedModels[0]);
+        }
+
+        try {
+            VarIntInputStream inputStream = new VarIntInputStream(content);
+            String[] strings = new String[inputStream.readVarInt()];
+            for (int i = 0; i < strings.length; i++) {
+                int stringLength = inputStream.readVarInt();
+                strings[i] = new String(content, inputStream.position, stringLength, StandardCharsets.UTF_8);
+                inputStream.position += stringLength;
+            }
+            EdgeNode[] endpoints = new EdgeNode[inputStream.readVarInt()];
+            for (int i = 0; i < endpoints.length; i++) {
+                endpoints[i] = new EdgeNode(resolveString(strings, inputStream.readVarInt()),
+                        resolveString(strings, inputStream.readVarInt()),
+                        resolveString(strings, inputStream.readVarInt()));
+            }
+
+            int modelCount = inputStream.readVarInt();
+            List<Model> models = new ArrayList<>(modelCount);
+            for (int i = 0; i < modelCount; i++) {
+                int nodeCount = inputStream.readVarInt();
+                Set<Node> nodes = new HashSet<>(nodeCount * 2);
+                for (int j = 0; j < nodeCount; j++) {
+                    EdgeNode endpoint = endpoints[inputStream.readVarInt()];
+                    Node node = new Node(endpoint.getNamespace(), endpoint.getInstance(), endpoint.getComponent());
+                    node.setInstanceKind(resolveString(strings, inputStream.readVarInt()));
+                    nodes.add(node);
+                }
+                int edgeCount = inputStream.readVarInt();
+                Set<Edge> edges = new HashSet<>(edgeCount * 2);
+                for (int j = 0; j < edgeCount; j++) {
+                    edges.add(new Edge(endpoints[inputStream.readVarInt()], endpoints[inputStream.readVarInt()]));
+                }
+                models.add(new Model(nodes, edges));
+            }
+            return models;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new GraphStoreException("Unable to decode corrupted dependency model content", e);
+        }
+    }
+
+    /**
+     * Get the id of an endpoint, assigning a new id if the endpoint was not seen before.
+     *
+     * @param endpoint The endpoint of which the id should be fetched
+     * @param endpointIds The ids of the endpoints seen so far
+     * @param endpoints The endpoints seen so far in the order of their ids
+     * @return The id of the endpoint
+     */
+    private static int getEndpointId(EdgeNode endpoint, Map<EdgeNode, Integer> endpointIds,
+                                     List<EdgeNode> endpoints) {
+        Integer endpointId = endpointIds.get(endpoint);
+        if (endpointId == null) {
+            endpointId = endpoints.size();
+            endpointIds.put(endpoint, endpointId);
+            endpoints.add(endpoint);
+        }
+        return endpointId;
+    }
+
+    /**
+     * Get the reference to a string in the dictionary, adding the string to the dictionary if required.
+     *
+     * @param string The string of which the reference should be fetched
+     * @param stringIds The ids of the strings in the dictionary
+     * @param strings The strings in the dictionary in the order of their ids
+     * @return The id of the string offset by one or zero if the string is null
+     */
+    private static int getStringReference(String string, Map<String, Integer> stringIds, List<String> strings) {
+        if (string == null) {
+            return 0;
+        }
+        Integer stringId = stringIds.get(string);
+        if (stringId == null) {
+            stringId = strings.size();
+            stringIds.put(string, stringId);
+            strings.add(string);
+        }
+        return stringId + 1;
+    }
+
+    /**
+     * Resolve a string reference from the dictionary.
+     *
+     * @param strings The strings in the dictionary
+     * @param stringReference The reference to the string
+     * @return The referenced string or null
+     */
+    private static String resolveString(String[] strings, int stringReference) {
+        return stringReference == 0 ? null : strings[stringReference - 1];
+    }
+
+    /**
+     * Prepend the format marker to encoded content.
+     *
+     * @param format The format marker
+     * @param content The encoded content
+     * @return The content prefixed by the format marker
+     */
+    private static byte[] withFormatMarker(byte format, byte[] content) {
+        byte[] encodedModels = new byte[content.length + 1];
+        encodedModels[0] = format;
+        System.arraycopy(content, 0, encodedModels, 1, content.length);
+        return encodedModels;
+    }
+
+    /**
+     * Compress content using deflate.
+     *
+     * @param content The content to be compressed
+     * @return The compressed content
+     */
+    private static byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompress the deflated content following the format marker.
+     *
+     * @param encodedModels The encoded models with the format marker
+     * @return The decompressed content
+     * @throws GraphStoreException If the content is corrupted
+     */
+    private static byte[] inflate(byte[] encodedModels) throws GraphStoreException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(encodedModels, 1, encodedModels.length - 1);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(encodedModels.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new GraphStoreException("Unable to decode truncated dependency model content");
+                }
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } catch (DataFormatException e) {
+            throw new GraphStoreException("Unable to decode corrupted dependency model content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Output stream supporting unsigned variable length integers.
+     */
+    private static class VarIntOutputStream extends ByteArrayOutputStream {
+
+        /**
+         * Write an unsigned variable length integer using 7 bits per byte.
+         *
+         * @param value The value to be written
+         */
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        /**
+         * Write the content of this stream to another stream.
+         *
+         * @param outputStream The stream to which the content should be written
+         */
+        void appendTo(VarIntOutputStream outputStream) {
+            outputStream.write(buf, 0, count);
+        }
+    }
+
+    /**
+     * Input reader supporting unsigned variable length integers.
+     */
+    private static class VarIntInputStream {
+        private final byte[] content;
+        private int position;
+
+        VarIntInputStream(byte[] content) {
+            this.content = content;
+            this.position = 0;
+        }
+
+        /**
+         * Read an unsigned variable length integer written using 7 bits per byte.
+         *
+         * @return The value read
+         */
+        int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte currentByte;
+            do {
+                currentByte = content[position++];
+                value |= (currentByte & 0x7F) << shift;
+                shift += 7;
+            } while ((currentByte & 0x80) != 0);
+            return value;
+        }
+    }
+}
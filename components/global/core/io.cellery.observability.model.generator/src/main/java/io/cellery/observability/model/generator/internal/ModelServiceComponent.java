@@ -17,16 +17,23 @@
  */
 package io.cellery.observability.model.generator.internal;
 
+import io.cellery.observability.model.generator.exception.GraphStoreException;
 import io.cellery.observability.model.generator.model.ModelManager;
 import org.apache.log4j.Logger;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
+import org.wso2.carbon.config.provider.ConfigProvider;
 import org.wso2.carbon.datasource.core.api.DataSourceService;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * This class acts as a Service Component which specifies the services that is required by the component.
  */
@@ -37,18 +44,105 @@ import org.wso2.carbon.datasource.core.api.DataSourceService;
 public class ModelServiceComponent {
     private static final Logger log = Logger.getLogger(ModelServiceComponent.class);
 
+    private ScheduledExecutorService maintenanceExecutorService;
+    private ScheduledExecutorService compactionExecutorService;
+    private ScheduledExecutorService replicationExecutorService;
+
     @Activate
     protected void start(BundleContext bundleContext) throws Exception {
         try {
-            ServiceHolder.setModelStoreManager(new ModelStoreManager());
+            ModelStoreConfig modelStoreConfig = ModelStoreConfig.getInstance();
+            // The stored models are retained forever unless compaction is enabled
+            ServiceHolder.setModelStoreManager(modelStoreConfig.isCompactionEnabled()
+                    ? new ModelStoreManager(modelStoreConfig.getRawModelsRetention(),
+                            modelStoreConfig.getHourlyRollupsRetention())
+                    : new ModelStoreManager());
             ServiceHolder.setModelManager(new ModelManager());
             bundleContext.registerService(ModelManager.class.getName(), ServiceHolder.getModelManager(), null);
+
+            // Periodically flushing the rollups of the buckets which closed without any models being stored after them
+            // and expiring the edge statistics which are not retained anymore
+            maintenanceExecutorService = Executors.newSingleThreadScheduledExecutor();
+            maintenanceExecutorService.scheduleWithFixedDelay(() -> {
+                try {
+                    ServiceHolder.getModelStoreManager().flushRollups();
+                } catch (GraphStoreException e) {
+                    log.error("Error occurred while flushing the dependency model rollups", e);
+                }
+                try {
+                    ServiceHolder.getModelManager().expireEdgeStats();
+                } catch (Throwable throwable) {
+                    log.error("Error occurred while expiring the dependency model edge statistics", throwable);
+                }
+            }, ModelStoreManager.ROLLUP_FLUSH_INTERVAL, ModelStoreManager.ROLLUP_FLUSH_INTERVAL,
+                    TimeUnit.MILLISECONDS);
+
+            // Periodically compacting the stored models according to the configured retention periods
+            if (modelStoreConfig.isCompactionEnabled()) {
+                compactionExecutorService = Executors.newSingleThreadScheduledExecutor();
+                compactionExecutorService.scheduleWithFixedDelay(() -> {
+                    try {
+                        ServiceHolder.getModelStoreManager().compact();
+                    } catch (GraphStoreException e) {
+                        log.error("Error occurred while compacting the stored dependency models", e);
+                    }
+                }, modelStoreConfig.getCompactionIntervalMinutes(), modelStoreConfig.getCompactionIntervalMinutes(),
+                        TimeUnit.MINUTES);
+                log.info("Enabled dependency model compaction with an interval of "
+                        + modelStoreConfig.getCompactionIntervalMinutes() + " minute(s)");
+            }
+
+            // Periodically replicating the models stored by the other nodes sharing the datasource
+            if (modelStoreConfig.isReplicationEnabled()) {
+                replicationExecutorService = Executors.newSingleThreadScheduledExecutor();
+                replicationExecutorService.scheduleWithFixedDelay(() -> {
+                    try {
+                        ServiceHolder.getModelManager().replicateDependencyGraphs();
+                    } catch (Throwable throwable) {
+                        log.error("Error occurred while replicating the stored dependency models", throwable);
+                    }
+                }, modelStoreConfig.getReplicationIntervalSeconds(),
+                        modelStoreConfig.getReplicationIntervalSeconds(), TimeUnit.SECONDS);
+                log.info("Enabled dependency model replication with an interval of "
+                        + modelStoreConfig.getReplicationIntervalSeconds() + " second(s)");
+            }
         } catch (Throwable throwable) {
             log.error("Error occurred while activating the model generation bundle", throwable);
             throw throwable;
         }
     }
 
+    @Deactivate
+    protected void stop() {
+        if (maintenanceExecutorService != null) {
+            maintenanceExecutorService.shutdownNow();
+            maintenanceExecutorService = null;
+        }
+        if (compactionExecutorService != null) {
+            compactionExecutorService.shutdownNow();
+            compactionExecutorService = null;
+        }
+        if (replicationExecutorService != null) {
+            replicationExecutorService.shutdownNow();
+            replicationExecutorService = null;
+        }
+    }
+
+    @Reference(
+            name = "carbon.config.provider",
+            service = ConfigProvider.class,
+            cardinality = ReferenceCardinality.MANDATORY,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetConfigProvider"
+    )
+    protected void setConfigProvider(ConfigProvider configProvider) {
+        ServiceHolder.setConfigProvider(configProvider);
+    }
+
+    protected void unsetConfigProvider(ConfigProvider configProvider) {
+        ServiceHolder.setConfigProvider(null);
+    }
+
     @Reference(
             name = "org.wso2.carbon.datasource.DataSourceService",
             service = DataSourceService.class,
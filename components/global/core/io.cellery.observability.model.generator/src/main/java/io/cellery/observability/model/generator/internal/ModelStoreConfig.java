@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.model.generator.internal;
+
+import io.cellery.observability.model.generator.exception.GraphStoreException;
+import org.wso2.carbon.config.ConfigurationException;
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This bean class is used to read cellery dependency model store config.
+ *
+ * Compaction permanently removes the stored checkpoints and deltas older than the raw models retention (keeping only
+ * the hourly and daily rollups for these periods) and the hourly rollups older than the hourly rollups retention.
+ * Since this cannot be undone, compaction is disabled unless it is explicitly enabled, and the stored models are
+ * retained forever by default.
+ */
+@Configuration(
+        namespace = "cellery.observability.model.store",
+        description = "Cellery Dependency Model Store Configuration"
+)
+public class ModelStoreConfig {
+
+    private static volatile ModelStoreConfig modelStoreConfig;
+
+    @Element(description = "compactionEnabled")
+    private boolean compactionEnabled = false;
+
+    @Element(description = "rawModelsRetentionHours")
+    private int rawModelsRetentionHours = 168;
+
+    @Element(description = "hourlyRollupsRetentionDays")
+    private int hourlyRollupsRetentionDays = 90;
+
+    @Element(description = "compactionIntervalMinutes")
+    private int compactionIntervalMinutes = 60;
+
+    @Element(description = "replicationEnabled")
+    private boolean replicationEnabled = false;
+
+    @Element(description = "replicationIntervalSeconds")
+    private int replicationIntervalSeconds = 5;
+
+    public boolean isCompactionEnabled() {
+        return compactionEnabled;
+    }
+
+    public long getRawModelsRetention() {
+        return TimeUnit.HOURS.toMillis(rawModelsRetentionHours);
+    }
+
+    public long getHourlyRollupsRetention() {
+        return TimeUnit.DAYS.toMillis(hourlyRollupsRetentionDays);
+    }
+
+    public int getCompactionIntervalMinutes() {
+        return compactionIntervalMinutes;
+    }
+
+    public boolean isReplicationEnabled() {
+        return replicationEnabled;
+    }
+
+    public int getReplicationIntervalSeconds() {
+        return replicationIntervalSeconds;
+    }
+
+    public static synchronized ModelStoreConfig getInstance() throws ConfigurationException, GraphStoreException {
+        if (modelStoreConfig == null) {
+            modelStoreConfig = ServiceHolder.getConfigProvider().getConfigurationObject(ModelStoreConfig.class);
+            modelStoreConfig.validate();
+        }
+        return modelStoreConfig;
+    }
+
+    /**
+     * Validate whether the configuration is valid.
+     */
+    private void validate() throws GraphStoreException {
+        // The retention periods and the compaction interval are only used when compaction is enabled
+        if (this.compactionEnabled) {
+            if (this.rawModelsRetentionHours < 0) {
+                throw new GraphStoreException("Raw models retention provided is negative, expected a number of " +
+                        "hours or 0 to retain the raw models forever");
+            }
+            if (this.hourlyRollupsRetentionDays < 0) {
+                throw new GraphStoreException("Hourly rollups retention provided is negative, expected a number of " +
+                        "days or 0 to retain the hourly rollups forever");
+            }
+            if (this.hourlyRollupsRetentionDays != 0 && (this.rawModelsRetentionHours == 0
+                    || this.getHourlyRollupsRetention() < this.getRawModelsRetention())) {
+                throw new GraphStoreException("Hourly rollups retention should not be shorter than the raw models " +
+                        "retention");
+            }
+            if (this.compactionIntervalMinutes <= 0) {
+                throw new GraphStoreException("Compaction interval provided is " + this.compactionIntervalMinutes +
+                        ", expected a positive number of minutes");
+            }
+        }
+        if (this.replicationEnabled && this.replicationIntervalSeconds <= 0) {
+            throw new GraphStoreException("Replication interval provided is " + this.replicationIntervalSeconds +
+                    ", expected a positive number of seconds");
+        }
+    }
+}
@@ -30,20 +30,26 @@ import java.lang.reflect.Type;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import javax.sql.DataSource;
 
 /**
@@ -53,24 +59,85 @@ public class ModelStoreManager {
     private static final Logger logger = Logger.getLogger(ModelStoreManager.class);
 
     private static final String TABLE_NAME = "DependencyModelTable";
+    private static final String DELTA_TABLE_NAME = "DependencyModelDeltaTable";
+    private static final String ROLLUP_TABLE_NAME = "DependencyModelRollupTable";
+    private static final String LATEST_TABLE_NAME = "DependencyModelLatestTable";
+    private static final String MODEL_COLUMN_NAME = "MODEL";
+    private static final String SEQUENCE_ID_COLUMN_NAME = "SEQUENCE_ID";
     private static final String DATASOURCE_NAME = "CELLERY_OBSERVABILITY_DB";
 
+    /*
+     * The value stored in the JSON nodes and edges columns of the checkpoints stored in the binary format. An empty
+     * string is not used since some databases (for example, Oracle) store empty strings as nulls.
+     */
+    private static final String EMPTY_JSON_ARRAY = "[]";
+
     private static final Gson gson = new Gson();
     private static final Type NODE_SET_TYPE = new TypeToken<HashSet<Node>>() {
     }.getType();
     private static final Type STRING_SET_TYPE = new TypeToken<HashSet<Edge>>() {
     }.getType();
 
+    /*
+     * The maximum number of deltas persisted for a runtime before a full checkpoint of the runtime model is stored.
+     * This bounds the number of deltas that need to be applied when reconstructing a model.
+     */
+    private static final int CHECKPOINT_INTERVAL = 100;
+
+    /**
+     * The interval at which the rollups of the closed buckets should be flushed using {@link #flushRollups()}.
+     */
+    public static final long ROLLUP_FLUSH_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    /*
+     * The time after the end of a bucket within which the rollup of the bucket may not yet be flushed. The models
+     * stored within the buckets which ended within this time are loaded instead of the rollups.
+     */
+    private static final long ROLLUP_FLUSH_DELAY = 5 * ROLLUP_FLUSH_INTERVAL;
+
     private final ReadWriteLock lock;
+    private final Map<String, Integer> deltaCounts;
+    private final Map<RollupGranularity, Map<String, Rollup>> currentRollups;
     private DataSource dataSource;
     private Map<String, Model> lastModels;
+    private long lastStoredTimestamp;
+    private long lastSequenceId;
+    private final AtomicLong modelVersion;
+    private final AtomicLong rewriteCount;
+    private final long rawModelsRetention;
+    private final long hourlyRollupsRetention;
 
     public ModelStoreManager() {
+        this(0, 0);
+    }
+
+    /**
+     * Initialize the Model Store Manager with the retention periods used when compacting the stored models.
+     * The checkpoints and deltas older than the raw models retention are collapsed into the hourly and daily rollups
+     * and the hourly rollups older than the hourly rollups retention are collapsed into the daily rollups.
+     *
+     * @param rawModelsRetention The retention period of the checkpoints and deltas in milliseconds or 0 to retain
+     *                           them forever
+     * @param hourlyRollupsRetention The retention period of the hourly rollups in milliseconds or 0 to retain
+     *                               them forever
+     */
+    public ModelStoreManager(long rawModelsRetention, long hourlyRollupsRetention) {
+        this.rawModelsRetention = rawModelsRetention;
+        this.hourlyRollupsRetention = hourlyRollupsRetention;
         this.lock = new ReentrantReadWriteLock();
+        this.deltaCounts = new HashMap<>();
+        this.modelVersion = new AtomicLong(0);
+        this.rewriteCount = new AtomicLong(0);
+        this.currentRollups = new EnumMap<>(RollupGranularity.class);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            this.currentRollups.put(granularity, new HashMap<>());
+        }
         try {
             this.dataSource = (DataSource) ServiceHolder.getDataSourceService().getDataSource(DATASOURCE_NAME);
             createTable();
+            generateMissingRollups();
             this.lastModels = loadLastModels();
+            loadOpenRollups();
             logger.info("Initialized Model Store Manager with " + (
                     this.lastModels == null
                             ? "no stored runtime models"
@@ -82,7 +149,15 @@ public class ModelStoreManager {
     }
 
     /**
-     * Create the table required by the model manager.
+     * Create the tables required by the model manager.
+     * The model table holds the full checkpoints of the runtime models and the delta table holds the changes
+     * applied on top of the last checkpoint. The rollup table holds the union of the models stored within each
+     * hour and day, which is kept in memory while the bucket is open and is only written when a checkpoint is
+     * stored and when the bucket closes. The latest table points to the latest checkpoint of each runtime along with
+     * the number of deltas stored after it. The models are stored in the binary format of {@link ModelCodec},
+     * except for the checkpoints stored as JSON before the binary format was introduced. The checkpoints and deltas
+     * are numbered using a sequence ID in the order they are stored, except for the ones stored before the sequence
+     * ID was introduced, which are not replicated.
      *
      * @throws SQLException if creating table failed
      * @throws GraphStoreException if getting a connection failed
@@ -93,13 +168,197 @@ public class ModelStoreManager {
                 " (RUNTIME VARCHAR(255) NOT NULL, " +
                 "MODEL_TIMESTAMP TIMESTAMP NOT NULL, " +
                 "NODES TEXT NOT NULL, " +
-                "EDGES TEXT NOT NULL)");
+                "EDGES TEXT NOT NULL, " +
+                "MODEL BLOB, " +
+                "SEQUENCE_ID BIGINT)");
         statement.execute();
-        cleanupConnection(null, statement, connection);
+        cleanupConnection(null, statement, null);
+
+        // Adding the columns to the model tables created before the binary format and the sequence ID were introduced
+        addMissingColumn(connection, TABLE_NAME, MODEL_COLUMN_NAME, "BLOB");
+        addMissingColumn(connection, TABLE_NAME, SEQUENCE_ID_COLUMN_NAME, "BIGINT");
+
+        PreparedStatement deltaStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " +
+                DELTA_TABLE_NAME + " (RUNTIME VARCHAR(255) NOT NULL, " +
+                "MODEL_TIMESTAMP TIMESTAMP NOT NULL, " +
+                "DELTA BLOB NOT NULL, " +
+                "SEQUENCE_ID BIGINT)");
+        deltaStatement.execute();
+        cleanupConnection(null, deltaStatement, null);
+        addMissingColumn(connection, DELTA_TABLE_NAME, SEQUENCE_ID_COLUMN_NAME, "BIGINT");
+
+        PreparedStatement rollupStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " +
+                ROLLUP_TABLE_NAME + " (RUNTIME VARCHAR(255) NOT NULL, " +
+                "GRANULARITY VARCHAR(10) NOT NULL, " +
+                "BUCKET_TIMESTAMP TIMESTAMP NOT NULL, " +
+                "MODEL BLOB NOT NULL)");
+        rollupStatement.execute();
+        cleanupConnection(null, rollupStatement, null);
+
+        String latestTableDefinition = " (RUNTIME VARCHAR(255) NOT NULL PRIMARY KEY, " +
+                "MODEL_TIMESTAMP TIMESTAMP NOT NULL, " +
+                "DELTA_COUNT INTEGER NOT NULL)";
+        PreparedStatement latestStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " +
+                LATEST_TABLE_NAME + latestTableDefinition);
+        latestStatement.execute();
+        cleanupConnection(null, latestStatement, null);
+
+        // Recreating the latest table created when it held the full last models since it is repopulated when loading
+        if (hasColumn(connection, LATEST_TABLE_NAME, MODEL_COLUMN_NAME)) {
+            PreparedStatement dropStatement = connection.prepareStatement("DROP TABLE " + LATEST_TABLE_NAME);
+            dropStatement.execute();
+            cleanupConnection(null, dropStatement, null);
+            PreparedStatement recreateStatement = connection.prepareStatement("CREATE TABLE " + LATEST_TABLE_NAME +
+                    latestTableDefinition);
+            recreateStatement.execute();
+            cleanupConnection(null, recreateStatement, null);
+        }
+        cleanupConnection(null, null, connection);
+    }
+
+    /**
+     * Check whether a table has a column.
+     *
+     * @param connection The connection to the datasource
+     * @param tableName The name of the table
+     * @param columnName The name of the column
+     * @return True if the table has the column
+     * @throws SQLException if checking the column failed
+     */
+    private boolean hasColumn(Connection connection, String tableName, String columnName) throws SQLException {
+        PreparedStatement columnsStatement = connection.prepareStatement("SELECT * FROM " + tableName +
+                " WHERE 1 = 0");
+        ResultSet columnsResultSet = columnsStatement.executeQuery();
+        ResultSetMetaData columnsMetaData = columnsResultSet.getMetaData();
+        boolean isColumnAvailable = false;
+        for (int i = 1; i <= columnsMetaData.getColumnCount(); i++) {
+            if (columnName.equalsIgnoreCase(columnsMetaData.getColumnName(i))) {
+                isColumnAvailable = true;
+                break;
+            }
+        }
+        cleanupConnection(columnsResultSet, columnsStatement, null);
+        return isColumnAvailable;
+    }
+
+    /**
+     * Add a column to a table created before the column was introduced.
+     *
+     * @param connection The connection to the datasource
+     * @param tableName The name of the table
+     * @param columnName The name of the column
+     * @param columnType The SQL type of the column
+     * @throws SQLException if checking or adding the column failed
+     */
+    private void addMissingColumn(Connection connection, String tableName, String columnName, String columnType)
+            throws SQLException {
+        if (!hasColumn(connection, tableName, columnName)) {
+            PreparedStatement alterStatement = connection.prepareStatement("ALTER TABLE " + tableName +
+                    " ADD " + columnName + " " + columnType);
+            alterStatement.execute();
+            cleanupConnection(null, alterStatement, null);
+        }
+    }
+
+    /**
+     * Generate the rollups for the models stored before the rollups were introduced.
+     * This is only done if no rollups are available in the datasource.
+     *
+     * @throws SQLException if generating the rollups failed
+     * @throws GraphStoreException if getting a connection failed
+     */
+    private void generateMissingRollups() throws SQLException, GraphStoreException {
+        Connection connection = getConnection();
+        PreparedStatement rollupsStatement = connection.prepareStatement("SELECT RUNTIME FROM " + ROLLUP_TABLE_NAME);
+        rollupsStatement.setMaxRows(1);
+        ResultSet rollupsResultSet = rollupsStatement.executeQuery();
+        boolean rollupsAvailable = rollupsResultSet.next();
+        cleanupConnection(rollupsResultSet, rollupsStatement, null);
+        if (rollupsAvailable) {
+            cleanupConnection(null, null, connection);
+            return;
+        }
+
+        PreparedStatement runtimesStatement = connection.prepareStatement("SELECT DISTINCT RUNTIME FROM " +
+                TABLE_NAME);
+        ResultSet runtimesResultSet = runtimesStatement.executeQuery();
+        List<String> runtimes = new ArrayList<>();
+        while (runtimesResultSet.next()) {
+            runtimes.add(runtimesResultSet.getString(1));
+        }
+        cleanupConnection(runtimesResultSet, runtimesStatement, null);
+
+        PreparedStatement insertStatement = connection.prepareStatement("INSERT INTO " + ROLLUP_TABLE_NAME
+                + " VALUES (?, ?, ?, ?)");
+        for (String runtime : runtimes) {
+            Map<RollupGranularity, List<Rollup>> rollups = new EnumMap<>(RollupGranularity.class);
+            replayModels(connection, 0, Instant.now().toEpochMilli(), runtime, (timestamp, model) -> {
+                for (RollupGranularity granularity : RollupGranularity.values()) {
+                    long bucketTimestamp = granularity.getBucketTimestamp(timestamp);
+                    List<Rollup> granularityRollups = rollups.computeIfAbsent(granularity, (key) -> new ArrayList<>());
+                    Rollup rollup = granularityRollups.isEmpty()
+                            ? null
+                            : granularityRollups.get(granularityRollups.size() - 1);
+                    if (rollup == null || rollup.bucketTimestamp != bucketTimestamp) {
+                        rollup = new Rollup(bucketTimestamp, new Model(new HashSet<>(), new HashSet<>()), false,
+                                true);
+                        granularityRollups.add(rollup);
+                    }
+                    rollup.model.getNodes().addAll(model.getNodes());
+                    rollup.model.getEdges().addAll(model.getEdges());
+                }
+            });
+            for (Map.Entry<RollupGranularity, List<Rollup>> rollupsEntry : rollups.entrySet()) {
+                for (Rollup rollup : rollupsEntry.getValue()) {
+                    addRollupToBatch(insertStatement, runtime, rollupsEntry.getKey(), rollup);
+                }
+            }
+        }
+        insertStatement.executeBatch();
+        connection.commit();
+        cleanupConnection(null, insertStatement, connection);
+        if (runtimes.size() > 0) {
+            logger.info("Generated dependency model rollups for " + runtimes.size() + " runtime(s)");
+        }
+    }
+
+    /**
+     * Load the rollups of the buckets in which the last model of each runtime was stored.
+     * The rollups of these buckets may not have been written before the last shutdown and are therefore rebuilt from
+     * the stored rollups and the models stored within the buckets. The rebuilt rollups are written when the buckets
+     * close or when the next checkpoint is stored.
+     *
+     * @throws SQLException If loading the rollups failed
+     * @throws GraphStoreException If decoding the rollups failed
+     */
+    private void loadOpenRollups() throws SQLException, GraphStoreException {
+        Connection connection = getConnection();
+        Map<String, Long> lastModelTimestamps = new HashMap<>();
+        for (String tableName : new String[]{TABLE_NAME, DELTA_TABLE_NAME}) {
+            PreparedStatement statement = connection.prepareStatement("SELECT RUNTIME, MAX(MODEL_TIMESTAMP) FROM " +
+                    tableName + " GROUP BY RUNTIME");
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                lastModelTimestamps.merge(resultSet.getString(1), resultSet.getTimestamp(2).getTime(), Math::max);
+            }
+            cleanupConnection(resultSet, statement, null);
+        }
+        for (Map.Entry<String, Long> lastModelTimestampEntry : lastModelTimestamps.entrySet()) {
+            String runtime = lastModelTimestampEntry.getKey();
+            long lastModelTimestamp = lastModelTimestampEntry.getValue();
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                this.currentRollups.get(granularity).put(runtime, loadOpenRollup(connection, runtime, granularity,
+                        granularity.getBucketTimestamp(lastModelTimestamp), lastModelTimestamp));
+            }
+        }
+        cleanupConnection(null, null, connection);
     }
 
     /**
      * Load the last saved model.
+     * The last model of each runtime is rebuilt by applying the deltas stored after the latest checkpoint pointed to
+     * by the latest table. If the latest table is not yet populated or points to a checkpoint which is no longer
+     * available, the latest checkpoints are searched for instead and the latest table is populated using them.
      *
      * @return The last saved runtime models map
      * @throws GraphStoreException If loading the model failed
@@ -107,30 +366,266 @@ public class ModelStoreManager {
     public Map<String, Model> loadLastModels() throws GraphStoreException {
         try {
             Connection connection = getConnection();
-            PreparedStatement statement = connection.prepareStatement("SELECT a.RUNTIME, a.NODES, a.EDGES FROM " +
-                    TABLE_NAME + " AS a INNER JOIN  (" +
-                    "SELECT RUNTIME, MAX(MODEL_TIMESTAMP) AS MAX_TIMESTAMP, NODES, EDGES FROM " + TABLE_NAME +
-                    " GROUP BY RUNTIME, NODES, EDGES) AS b ON a.MODEL_TIMESTAMP = b.MAX_TIMESTAMP");
+            // Read before the models to replicate any models stored while loading again instead of missing them
+            long loadedSequenceId = loadLastSequenceId(connection);
+            PreparedStatement statement = connection.prepareStatement("SELECT RUNTIME, MODEL_TIMESTAMP FROM " +
+                    LATEST_TABLE_NAME);
             ResultSet resultSet = statement.executeQuery();
+            Map<String, Timestamp> checkpointTimestamps = new HashMap<>();
+            while (resultSet.next()) {
+                checkpointTimestamps.put(resultSet.getString(1), resultSet.getTimestamp(2));
+            }
+            cleanupConnection(resultSet, statement, null);
 
             Map<String, Model> models = new HashMap<>();
+            Map<String, Integer> loadedDeltaCounts = new HashMap<>();
+            Map<String, Long> modelTimestamps = new HashMap<>();
+            for (Map.Entry<String, Timestamp> checkpointTimestampEntry : checkpointTimestamps.entrySet()) {
+                if (!replayLastModel(connection, checkpointTimestampEntry.getKey(),
+                        checkpointTimestampEntry.getValue(), models, loadedDeltaCounts, modelTimestamps)) {
+                    models.clear();
+                    break;
+                }
+            }
+
+            if (models.size() == 0) {
+                checkpointTimestamps = loadLatestCheckpointTimestamps(connection);
+                for (Map.Entry<String, Timestamp> checkpointTimestampEntry : checkpointTimestamps.entrySet()) {
+                    replayLastModel(connection, checkpointTimestampEntry.getKey(),
+                            checkpointTimestampEntry.getValue(), models, loadedDeltaCounts, modelTimestamps);
+                }
+                PreparedStatement deleteStatement = connection.prepareStatement("DELETE FROM " + LATEST_TABLE_NAME);
+                deleteStatement.executeUpdate();
+                cleanupConnection(null, deleteStatement, null);
+                PreparedStatement insertStatement = connection.prepareStatement("INSERT INTO " + LATEST_TABLE_NAME
+                        + " (MODEL_TIMESTAMP, DELTA_COUNT, RUNTIME) VALUES (?, ?, ?)");
+                for (String runtime : models.keySet()) {
+                    addLatestCheckpointToBatch(insertStatement, runtime, checkpointTimestamps.get(runtime),
+                            loadedDeltaCounts.get(runtime));
+                }
+                insertStatement.executeBatch();
+                connection.commit();
+                cleanupConnection(null, insertStatement, null);
+            }
+            cleanupConnection(null, null, connection);
+
+            long lastModelTimestamp = this.lastStoredTimestamp;
+            for (long modelTimestamp : modelTimestamps.values()) {
+                lastModelTimestamp = Math.max(lastModelTimestamp, modelTimestamp);
+            }
+            this.deltaCounts.putAll(loadedDeltaCounts);
+            this.lastStoredTimestamp = lastModelTimestamp;
+            this.lastSequenceId = Math.max(this.lastSequenceId, loadedSequenceId);
+            return models.size() > 0 ? models : null;
+        } catch (SQLException ex) {
+            throw new GraphStoreException("Unable to load the graph from datasource : " + DATASOURCE_NAME, ex);
+        }
+    }
+
+    /**
+     * Load the sequence ID of the last stored checkpoint or delta.
+     *
+     * @param connection The connection to the datasource
+     * @return The last sequence ID or 0 if no checkpoints or deltas were stored with a sequence ID
+     * @throws SQLException If loading the sequence ID failed
+     */
+    private long loadLastSequenceId(Connection connection) throws SQLException {
+        long sequenceId = 0;
+        for (String tableName : new String[]{TABLE_NAME, DELTA_TABLE_NAME}) {
+            PreparedStatement statement = connection.prepareStatement("SELECT MAX(SEQUENCE_ID) FROM " + tableName);
+            ResultSet resultSet = statement.executeQuery();
+            if (resultSet.next()) {
+                sequenceId = Math.max(sequenceId, resultSet.getLong(1));
+            }
+            cleanupConnection(resultSet, statement, null);
+        }
+        return sequenceId;
+    }
+
+    /**
+     * Get the last saved models loaded when initializing or stored after initializing.
+     *
+     * @return The last saved runtime models map or null if no models were saved
+     */
+    public Map<String, Model> getLastModels() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return this.lastModels == null ? null : Collections.unmodifiableMap(this.lastModels);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Replicate the models stored by another node sharing the same datasource.
+     * The checkpoints and deltas are numbered using a sequence ID in the order they are stored and therefore act as
+     * a change log. The checkpoints and deltas stored after the last stored or replicated sequence ID are applied on
+     * top of the last models, which allows a node to take over storing the models from the replicated state. The
+     * timestamps are not used for this since the clocks of the nodes may differ. The sequence IDs are assigned by
+     * the single node storing the models and therefore replication is only supported while the node storing the
+     * models is the only node updating the models. The checkpoints stored when compacting replace models which were
+     * already stored and are therefore skipped unless the models they replace were removed before being replicated.
+     *
+     * @return The changed runtime models which were replicated
+     * @throws GraphStoreException If replicating the models failed
+     */
+    public Map<String, Model> replicateModels() throws GraphStoreException {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Connection connection = getConnection();
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT RUNTIME, MODEL_TIMESTAMP, NODES, EDGES, MODEL, NULL, SEQUENCE_ID FROM " + TABLE_NAME +
+                            " WHERE SEQUENCE_ID > ?" +
+                            " UNION ALL " +
+                            "SELECT RUNTIME, MODEL_TIMESTAMP, NULL, NULL, NULL, DELTA, SEQUENCE_ID FROM " +
+                            DELTA_TABLE_NAME + " WHERE SEQUENCE_ID > ?" +
+                            " ORDER BY 7");
+            statement.setLong(1, this.lastSequenceId);
+            statement.setLong(2, this.lastSequenceId);
+            ResultSet resultSet = statement.executeQuery();
+            Map<String, Model> replicatedModels = new HashMap<>();
+            Map<String, Integer> replicatedDeltaCounts = new HashMap<>();
+            long lastReplicatedTimestamp = this.lastStoredTimestamp;
+            long lastReplicatedSequenceId = this.lastSequenceId;
             while (resultSet.next()) {
                 String runtime = resultSet.getString(1);
-                String nodes = resultSet.getString(2);
-                String edges = resultSet.getString(3);
-                Set<Node> nodesSet = gson.fromJson(nodes, NODE_SET_TYPE);
-                Set<Edge> edgeSet = gson.fromJson(edges, STRING_SET_TYPE);
-                models.put(runtime, new Model(nodesSet, edgeSet));
+                long timestamp = resultSet.getTimestamp(2).getTime();
+                byte[] delta = resultSet.getBytes(6);
+                if (delta == null && timestamp <= lastReplicatedTimestamp) {
+                    // A checkpoint stored when compacting the models which were already replicated
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Skipped replicating the compacted checkpoint of runtime " + runtime);
+                    }
+                } else if (delta == null) {
+                    replicatedModels.put(runtime, readCheckpoint(resultSet, 3));
+                    replicatedDeltaCounts.put(runtime, 0);
+                } else {
+                    Model model = replicatedModels.get(runtime);
+                    if (model == null) {
+                        Model lastModel = this.lastModels == null ? null : this.lastModels.get(runtime);
+                        Integer deltaCount = this.deltaCounts.get(runtime);
+                        if (lastModel == null || deltaCount == null) {
+                            // The delta count is not known and a checkpoint is forced if this node stores models
+                            StoredModel storedModel = loadLastStoredModel(connection, runtime, timestamp - 1);
+                            lastModel = storedModel == null
+                                    ? new Model(new HashSet<>(), new HashSet<>())
+                                    : storedModel.model;
+                            deltaCount = CHECKPOINT_INTERVAL;
+                        }
+                        model = new Model(new HashSet<>(lastModel.getNodes()), new HashSet<>(lastModel.getEdges()));
+                        replicatedModels.put(runtime, model);
+                        replicatedDeltaCounts.put(runtime, deltaCount);
+                    }
+                    applyDelta(model.getNodes(), model.getEdges(), delta);
+                    replicatedDeltaCounts.put(runtime, replicatedDeltaCounts.get(runtime) + 1);
+                }
+                lastReplicatedTimestamp = Math.max(lastReplicatedTimestamp, timestamp);
+                lastReplicatedSequenceId = resultSet.getLong(7);
             }
             cleanupConnection(resultSet, statement, connection);
-            return models.size() > 0 ? models : null;
+
+            this.lastSequenceId = lastReplicatedSequenceId;
+            if (replicatedModels.size() > 0) {
+                Map<String, Model> newLastModels = this.lastModels == null
+                        ? new HashMap<>()
+                        : new HashMap<>(this.lastModels);
+                newLastModels.putAll(replicatedModels);
+                this.lastModels = newLastModels;
+                this.lastStoredTimestamp = lastReplicatedTimestamp;
+                this.modelVersion.incrementAndGet();
+                this.deltaCounts.putAll(replicatedDeltaCounts);
+                // The rollups were updated by the other node and are reloaded from the datasource when required
+                for (Map<String, Rollup> rollups : this.currentRollups.values()) {
+                    rollups.keySet().removeAll(replicatedModels.keySet());
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Replicated stored dependency models of " + replicatedModels.size()
+                            + " runtime(s)");
+                }
+            }
+            return replicatedModels;
         } catch (SQLException ex) {
-            throw new GraphStoreException("Unable to load the graph from datasource : " + DATASOURCE_NAME, ex);
+            throw new GraphStoreException("Unable to replicate the graph from datasource : " + DATASOURCE_NAME, ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Load the timestamps of the latest checkpoints of each runtime.
+     *
+     * @param connection The connection to the datasource
+     * @return The latest checkpoint timestamps of the runtimes
+     * @throws SQLException If loading the timestamps failed
+     */
+    private Map<String, Timestamp> loadLatestCheckpointTimestamps(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("SELECT RUNTIME, MAX(MODEL_TIMESTAMP) FROM " +
+                TABLE_NAME + " GROUP BY RUNTIME");
+        ResultSet resultSet = statement.executeQuery();
+        Map<String, Timestamp> checkpointTimestamps = new HashMap<>();
+        while (resultSet.next()) {
+            checkpointTimestamps.put(resultSet.getString(1), resultSet.getTimestamp(2));
         }
+        cleanupConnection(resultSet, statement, null);
+        return checkpointTimestamps;
+    }
+
+    /**
+     * Rebuild the last saved model of a runtime by applying the deltas stored after a checkpoint.
+     *
+     * @param connection The connection to the datasource
+     * @param runtime The runtime of which the model should be rebuilt
+     * @param checkpointTimestamp The timestamp of the latest checkpoint of the runtime
+     * @param models The map to which the last model should be added
+     * @param deltaCounts The map to which the number of deltas applied should be added
+     * @param modelTimestamps The map to which the time at which the last model was stored should be added
+     * @return True if the model was rebuilt or false if the checkpoint is not available
+     * @throws SQLException If loading the model failed
+     * @throws GraphStoreException If decoding the model failed
+     */
+    private boolean replayLastModel(Connection connection, String runtime, Timestamp checkpointTimestamp,
+                                    Map<String, Model> models, Map<String, Integer> deltaCounts,
+                                    Map<String, Long> modelTimestamps) throws SQLException, GraphStoreException {
+        PreparedStatement checkpointStatement = connection.prepareStatement("SELECT NODES, EDGES, MODEL FROM " +
+                TABLE_NAME + " WHERE RUNTIME = ? AND MODEL_TIMESTAMP = ?");
+        checkpointStatement.setString(1, runtime);
+        checkpointStatement.setTimestamp(2, checkpointTimestamp);
+        ResultSet checkpointResultSet = checkpointStatement.executeQuery();
+        if (!checkpointResultSet.next()) {
+            cleanupConnection(checkpointResultSet, checkpointStatement, null);
+            return false;
+        }
+        Model checkpoint = readCheckpoint(checkpointResultSet, 1);
+        Set<Node> nodes = checkpoint.getNodes();
+        Set<Edge> edges = checkpoint.getEdges();
+        cleanupConnection(checkpointResultSet, checkpointStatement, null);
+
+        PreparedStatement deltaStatement = connection.prepareStatement(
+                "SELECT MODEL_TIMESTAMP, DELTA FROM " + DELTA_TABLE_NAME +
+                        " WHERE RUNTIME = ? AND MODEL_TIMESTAMP > ? ORDER BY MODEL_TIMESTAMP");
+        deltaStatement.setString(1, runtime);
+        deltaStatement.setTimestamp(2, checkpointTimestamp);
+        ResultSet deltaResultSet = deltaStatement.executeQuery();
+        int appliedDeltaCount = 0;
+        long modelTimestamp = checkpointTimestamp.getTime();
+        while (deltaResultSet.next()) {
+            modelTimestamp = deltaResultSet.getTimestamp(1).getTime();
+            applyDelta(nodes, edges, deltaResultSet.getBytes(2));
+            appliedDeltaCount++;
+        }
+        cleanupConnection(deltaResultSet, deltaStatement, null);
+
+        models.put(runtime, new Model(nodes, edges));
+        deltaCounts.put(runtime, appliedDeltaCount);
+        modelTimestamps.put(runtime, modelTimestamp);
+        return true;
     }
 
     /**
      * Load a list of models stored within a given time period.
+     * The models are reconstructed by applying the stored deltas on top of the nearest checkpoint.
      *
      * @param startTime The start of the time period
      * @param endTime   The end of the time period
@@ -141,29 +636,287 @@ public class ModelStoreManager {
     public List<Model> loadModels(long startTime, long endTime, String runtime) throws GraphStoreException {
         try {
             Connection connection = getConnection();
-            PreparedStatement statement = connection.prepareStatement(
-                    "SELECT NODES, EDGES FROM " + TABLE_NAME +
-                            " WHERE MODEL_TIMESTAMP >= ? AND MODEL_TIMESTAMP <= ? AND RUNTIME = ?" +
-                            " ORDER BY MODEL_TIMESTAMP");
-            statement.setTimestamp(1, new Timestamp(startTime));
-            statement.setTimestamp(2, new Timestamp(endTime));
-            statement.setString(3, runtime);
+            List<Model> models = new ArrayList<>();
+            replayModels(connection, startTime, endTime, runtime, (timestamp, model) ->
+                    models.add(new Model(new HashSet<>(model.getNodes()), new HashSet<>(model.getEdges()))));
+            cleanupConnection(null, null, connection);
+            return models;
+        } catch (SQLException ex) {
+            throw new GraphStoreException("Unable to load the graph from datasource : " + DATASOURCE_NAME, ex);
+        }
+    }
+
+    /**
+     * Load the model of a runtime as it was at a given point in time.
+     * The model is reconstructed by applying the deltas stored up to the time on top of the nearest checkpoint.
+     *
+     * @param timestamp The point in time
+     * @param runtime   The runtime of which the model should be fetched
+     * @return The last model stored at or before the time or an empty model if no model was stored before the time
+     * @throws GraphStoreException If loading the model failed
+     */
+    public Model loadModel(long timestamp, String runtime) throws GraphStoreException {
+        try {
+            Connection connection = getConnection();
+            StoredModel storedModel = loadLastStoredModel(connection, runtime, timestamp);
+            cleanupConnection(null, null, connection);
+            return storedModel == null
+                    ? new Model(new HashSet<>(), new HashSet<>())
+                    : storedModel.model;
+        } catch (SQLException ex) {
+            throw new GraphStoreException("Unable to load the graph from datasource : " + DATASOURCE_NAME, ex);
+        }
+    }
+
+    /**
+     * Get the time from which the models of a runtime stored at any point in time can be reconstructed.
+     * Only the rollups are retained for the time periods compacted before this time.
+     *
+     * @param runtime The runtime of which the time should be fetched
+     * @return The start time of the retained models or the minimum timestamp if the models are retained forever
+     * @throws GraphStoreException If loading the oldest checkpoint failed
+     */
+    public long getRetainedModelsStartTime(String runtime) throws GraphStoreException {
+        long rawModelsCutoffTime = getRawModelsCutoffTime(Instant.now().toEpochMilli());
+        if (rawModelsCutoffTime == Long.MIN_VALUE) {
+            return rawModelsCutoffTime;
+        }
+        try {
+            Connection connection = getConnection();
+            PreparedStatement statement = connection.prepareStatement("SELECT MIN(MODEL_TIMESTAMP) FROM " +
+                    TABLE_NAME + " WHERE RUNTIME = ?");
+            statement.setString(1, runtime);
             ResultSet resultSet = statement.executeQuery();
+            Timestamp oldestCheckpointTimestamp = resultSet.next() ? resultSet.getTimestamp(1) : null;
+            cleanupConnection(resultSet, statement, connection);
+            // The models stored before the cutoff time are available until they are compacted
+            return oldestCheckpointTimestamp == null
+                    ? rawModelsCutoffTime
+                    : Math.min(rawModelsCutoffTime, oldestCheckpointTimestamp.getTime());
+        } catch (SQLException ex) {
+            throw new GraphStoreException("Unable to load the graph from datasource : " + DATASOURCE_NAME, ex);
+        }
+    }
 
-            List<Model> models = new ArrayList<>();
-            while (resultSet.next()) {
-                String nodes = resultSet.getString(1);
-                String edges = resultSet.getString(2);
-                Set<Node> nodesSet = gson.fromJson(nodes, NODE_SET_TYPE);
-                Set<Edge> edgeSet = gson.fromJson(edges, STRING_SET_TYPE);
+    /**
+     * Load the last model of a runtime stored at or before a given time.
+     *
+     * @param connection The connection to the datasource
+     * @param runtime The runtime of which the model should be loaded
+     * @param time The time at or before which the model should have been stored
+     * @return The last stored model or null if no checkpoint was stored at or before the time
+     * @throws SQLException If loading the model failed
+     * @throws GraphStoreException If decoding the model failed
+     */
+    private StoredModel loadLastStoredModel(Connection connection, String runtime, long time)
+            throws SQLException, GraphStoreException {
+        PreparedStatement checkpointStatement = connection.prepareStatement("SELECT MAX(MODEL_TIMESTAMP) FROM " +
+                TABLE_NAME + " WHERE RUNTIME = ? AND MODEL_TIMESTAMP <= ?");
+        checkpointStatement.setString(1, runtime);
+        checkpointStatement.setTimestamp(2, new Timestamp(time));
+        ResultSet checkpointResultSet = checkpointStatement.executeQuery();
+        Timestamp checkpointTimestamp = checkpointResultSet.next() ? checkpointResultSet.getTimestamp(1) : null;
+        cleanupConnection(checkpointResultSet, checkpointStatement, null);
+        if (checkpointTimestamp == null) {
+            return null;
+        }
+
+        List<StoredModel> storedModels = new ArrayList<>(1);
+        replayModels(connection, checkpointTimestamp.getTime(), time, runtime, (timestamp, model) -> {
+            storedModels.clear();
+            storedModels.add(new StoredModel(timestamp, checkpointTimestamp.getTime(), model));
+        });
+        return storedModels.get(0);
+    }
+
+    /**
+     * Load the models required for building the union of the models stored within a given time period.
+     * The pre-merged hourly and daily rollups are used for the buckets fully covered by the time period and the
+     * models stored in the remaining partial hours at the start and the end of the period are loaded separately.
+     * The models stored in the recent buckets of which the rollups may not be flushed yet are also loaded separately.
+     * The start and the end of the period which fall within the compacted time periods are widened to the enclosing
+     * hour or day since only the rollups are retained for these periods.
+     *
+     * @param startTime The start of the time period
+     * @param endTime   The end of the time period
+     * @param runtime   The runtime of which the models should be fetched
+     * @return The models which should be merged to get the union of the models stored within the period
+     * @throws GraphStoreException If loading the model failed
+     */
+    public List<Model> loadRolledUpModels(long startTime, long endTime, String runtime) throws GraphStoreException {
+        long currentTime = Instant.now().toEpochMilli();
+        long rawModelsCutoffTime = getRawModelsCutoffTime(currentTime);
+        long hourlyRollupsCutoffTime = getHourlyRollupsCutoffTime(currentTime);
+        if (startTime < hourlyRollupsCutoffTime) {
+            startTime = RollupGranularity.DAY.getBucketTimestamp(startTime);
+        } else if (startTime < rawModelsCutoffTime) {
+            startTime = RollupGranularity.HOUR.getBucketTimestamp(startTime);
+        }
+        if (endTime < hourlyRollupsCutoffTime) {
+            endTime = RollupGranularity.DAY.getNextBucketTimestamp(endTime + 1) - 1;
+        } else if (endTime < rawModelsCutoffTime) {
+            endTime = RollupGranularity.HOUR.getNextBucketTimestamp(endTime + 1) - 1;
+        }
+
+        // The rollups of the recent buckets may not be flushed yet and hence the models stored in them are loaded
+        long hourStartTime = RollupGranularity.HOUR.getNextBucketTimestamp(startTime);
+        long hourEndTime = Math.min(RollupGranularity.HOUR.getBucketTimestamp(endTime + 1),
+                RollupGranularity.HOUR.getBucketTimestamp(currentTime - ROLLUP_FLUSH_DELAY));
+        if (hourStartTime >= hourEndTime) {
+            return loadModels(startTime, endTime, runtime);
+        }
+        long dayStartTime = RollupGranularity.DAY.getNextBucketTimestamp(hourStartTime);
+        long dayEndTime = RollupGranularity.DAY.getBucketTimestamp(hourEndTime);
+        if (dayStartTime >= dayEndTime) {
+            dayStartTime = hourEndTime;
+            dayEndTime = hourEndTime;
+        }
 
-                models.add(new Model(nodesSet, edgeSet));
+        List<Model> models = new ArrayList<>();
+        if (startTime < hourStartTime) {
+            models.addAll(loadModels(startTime, hourStartTime - 1, runtime));
+        }
+        try {
+            Connection connection = getConnection();
+            PreparedStatement statement = connection.prepareStatement("SELECT MODEL FROM " +
+                    ROLLUP_TABLE_NAME + " WHERE RUNTIME = ? AND (" +
+                    "(GRANULARITY = ? AND BUCKET_TIMESTAMP >= ? AND BUCKET_TIMESTAMP < ?) OR " +
+                    "(GRANULARITY = ? AND ((BUCKET_TIMESTAMP >= ? AND BUCKET_TIMESTAMP < ?) OR " +
+                    "(BUCKET_TIMESTAMP >= ? AND BUCKET_TIMESTAMP < ?))))");
+            statement.setString(1, runtime);
+            statement.setString(2, RollupGranularity.DAY.name());
+            statement.setTimestamp(3, new Timestamp(dayStartTime));
+            statement.setTimestamp(4, new Timestamp(dayEndTime));
+            statement.setString(5, RollupGranularity.HOUR.name());
+            statement.setTimestamp(6, new Timestamp(hourStartTime));
+            statement.setTimestamp(7, new Timestamp(dayStartTime));
+            statement.setTimestamp(8, new Timestamp(dayEndTime));
+            statement.setTimestamp(9, new Timestamp(hourEndTime));
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                models.addAll(ModelCodec.decode(resultSet.getBytes(1)));
             }
             cleanupConnection(resultSet, statement, connection);
-            return models;
         } catch (SQLException ex) {
-            throw new GraphStoreException("Unable to load the graph from datasource : " + DATASOURCE_NAME, ex);
+            throw new GraphStoreException("Unable to load the graph rollups from datasource : " + DATASOURCE_NAME,
+                    ex);
         }
+        if (hourEndTime <= endTime) {
+            models.addAll(loadModels(hourEndTime, endTime, runtime));
+        }
+        return models;
+    }
+
+    /**
+     * Replay the models stored within a given time period in the order they were stored.
+     * The models are reconstructed by applying the stored deltas on top of the nearest checkpoint. The model passed
+     * to the consumer is reused for the next replayed model and hence should be copied if it needs to be retained.
+     *
+     * @param connection The connection to the datasource
+     * @param startTime The start of the time period
+     * @param endTime The end of the time period
+     * @param runtime The runtime of which the models should be replayed
+     * @param consumer The consumer to which the timestamp and the model at the timestamp is passed
+     * @throws SQLException If loading the model failed
+     * @throws GraphStoreException If decoding the model failed
+     */
+    private void replayModels(Connection connection, long startTime, long endTime, String runtime,
+                              BiConsumer<Long, Model> consumer) throws SQLException, GraphStoreException {
+        // Loading the nearest checkpoint to start applying the deltas from
+        Timestamp replayStartTimestamp = new Timestamp(0);
+        Set<Node> nodes = new HashSet<>();
+        Set<Edge> edges = new HashSet<>();
+        PreparedStatement checkpointStatement = connection.prepareStatement(
+                "SELECT MODEL_TIMESTAMP, NODES, EDGES, MODEL FROM " + TABLE_NAME +
+                        " WHERE RUNTIME = ? AND MODEL_TIMESTAMP <= ? ORDER BY MODEL_TIMESTAMP DESC");
+        checkpointStatement.setMaxRows(1);
+        checkpointStatement.setString(1, runtime);
+        checkpointStatement.setTimestamp(2, new Timestamp(startTime));
+        ResultSet checkpointResultSet = checkpointStatement.executeQuery();
+        if (checkpointResultSet.next()) {
+            replayStartTimestamp = checkpointResultSet.getTimestamp(1);
+            Model checkpoint = readCheckpoint(checkpointResultSet, 2);
+            nodes = checkpoint.getNodes();
+            edges = checkpoint.getEdges();
+            if (replayStartTimestamp.getTime() >= startTime) {
+                consumer.accept(replayStartTimestamp.getTime(), new Model(nodes, edges));
+            }
+        }
+        cleanupConnection(checkpointResultSet, checkpointStatement, null);
+
+        // Loading the checkpoints and deltas stored after the nearest checkpoint
+        PreparedStatement statement = connection.prepareStatement(
+                "SELECT MODEL_TIMESTAMP, NODES, EDGES, MODEL, NULL FROM " + TABLE_NAME +
+                        " WHERE RUNTIME = ? AND MODEL_TIMESTAMP > ? AND MODEL_TIMESTAMP <= ?" +
+                        " UNION ALL " +
+                        "SELECT MODEL_TIMESTAMP, NULL, NULL, NULL, DELTA FROM " + DELTA_TABLE_NAME +
+                        " WHERE RUNTIME = ? AND MODEL_TIMESTAMP > ? AND MODEL_TIMESTAMP <= ?" +
+                        " ORDER BY 1");
+        Timestamp endTimestamp = new Timestamp(endTime);
+        statement.setString(1, runtime);
+        statement.setTimestamp(2, replayStartTimestamp);
+        statement.setTimestamp(3, endTimestamp);
+        statement.setString(4, runtime);
+        statement.setTimestamp(5, replayStartTimestamp);
+        statement.setTimestamp(6, endTimestamp);
+        ResultSet resultSet = statement.executeQuery();
+        while (resultSet.next()) {
+            byte[] delta = resultSet.getBytes(5);
+            if (delta == null) {
+                Model checkpoint = readCheckpoint(resultSet, 2);
+                nodes = checkpoint.getNodes();
+                edges = checkpoint.getEdges();
+            } else {
+                applyDelta(nodes, edges, delta);
+            }
+            long timestamp = resultSet.getTimestamp(1).getTime();
+            if (timestamp >= startTime) {
+                consumer.accept(timestamp, new Model(nodes, edges));
+            }
+        }
+        cleanupConnection(resultSet, statement, null);
+    }
+
+    /**
+     * Read a checkpoint from the datasource.
+     * The checkpoints stored before the binary format was introduced are read from the JSON columns.
+     *
+     * @param resultSet The result set positioned at the checkpoint row
+     * @param startColumnIndex The index of the nodes column followed by the edges and model columns
+     * @return The checkpoint model
+     * @throws SQLException If reading the checkpoint failed
+     * @throws GraphStoreException If decoding the checkpoint failed
+     */
+    private Model readCheckpoint(ResultSet resultSet, int startColumnIndex) throws SQLException, GraphStoreException {
+        byte[] encodedModel = resultSet.getBytes(startColumnIndex + 2);
+        Model model;
+        if (encodedModel == null) {
+            Set<Node> nodes = gson.fromJson(resultSet.getString(startColumnIndex), NODE_SET_TYPE);
+            Set<Edge> edges = gson.fromJson(resultSet.getString(startColumnIndex + 1), STRING_SET_TYPE);
+            model = new Model(nodes, edges);
+        } else {
+            model = ModelCodec.decode(encodedModel).get(0);
+        }
+        return model;
+    }
+
+    /**
+     * Apply a delta read from the datasource on a set of nodes and edges.
+     * The delta is encoded as the model of added nodes and edges followed by the model of removed nodes and edges.
+     *
+     * @param nodes The nodes to which the delta should be applied
+     * @param edges The edges to which the delta should be applied
+     * @param encodedDelta The encoded delta
+     * @throws GraphStoreException If decoding the delta failed
+     */
+    private void applyDelta(Set<Node> nodes, Set<Edge> edges, byte[] encodedDelta) throws GraphStoreException {
+        List<Model> delta = ModelCodec.decode(encodedDelta);
+        Model addedModel = delta.get(0);
+        Model removedModel = delta.get(1);
+        nodes.removeAll(removedModel.getNodes());
+        nodes.addAll(addedModel.getNodes());
+        edges.removeAll(removedModel.getEdges());
+        edges.addAll(addedModel.getEdges());
     }
 
     /**
@@ -214,6 +967,8 @@ public class ModelStoreManager {
 
     /**
      * Persist a particular model.
+     * Only the changes since the last persisted model are stored for a runtime, except for the first model of the
+     * runtime and every {@link #CHECKPOINT_INTERVAL} deltas, for which a full checkpoint is stored instead.
      *
      * @param models The runtime models to be saved
      * @throws GraphStoreException If storing the model failed
@@ -223,22 +978,84 @@ public class ModelStoreManager {
         writeLock.lock();
         try {
             Connection connection = getConnection();
-            PreparedStatement statement = connection.prepareStatement("INSERT INTO " + TABLE_NAME
+            PreparedStatement checkpointStatement = connection.prepareStatement("INSERT INTO " + TABLE_NAME
+                    + " (RUNTIME, MODEL_TIMESTAMP, NODES, EDGES, MODEL, SEQUENCE_ID) VALUES (?, ?, ?, ?, ?, ?)");
+            PreparedStatement deltaStatement = connection.prepareStatement("INSERT INTO " + DELTA_TABLE_NAME
+                    + " (RUNTIME, MODEL_TIMESTAMP, DELTA, SEQUENCE_ID) VALUES (?, ?, ?, ?)");
+            PreparedStatement rollupInsertStatement = connection.prepareStatement("INSERT INTO " + ROLLUP_TABLE_NAME
                     + " VALUES (?, ?, ?, ?)");
-            Timestamp timestamp = Timestamp.from(Instant.now());
+            PreparedStatement rollupUpdateStatement = connection.prepareStatement("UPDATE " + ROLLUP_TABLE_NAME
+                    + " SET MODEL = ? WHERE RUNTIME = ? AND GRANULARITY = ? AND BUCKET_TIMESTAMP = ?");
+            PreparedStatement latestInsertStatement = connection.prepareStatement("INSERT INTO " + LATEST_TABLE_NAME
+                    + " (MODEL_TIMESTAMP, DELTA_COUNT, RUNTIME) VALUES (?, ?, ?)");
+            PreparedStatement latestUpdateStatement = connection.prepareStatement("UPDATE " + LATEST_TABLE_NAME
+                    + " SET MODEL_TIMESTAMP = ?, DELTA_COUNT = ? WHERE RUNTIME = ?");
+            PreparedStatement deltaCountUpdateStatement = connection.prepareStatement("UPDATE " + LATEST_TABLE_NAME
+                    + " SET DELTA_COUNT = ? WHERE RUNTIME = ?");
+            Timestamp timestamp = generateStoreTimestamp();
+            long sequenceId = this.lastSequenceId;
+            Map<String, Integer> newDeltaCounts = new HashMap<>();
+            Map<RollupGranularity, Map<String, Rollup>> newRollups = new EnumMap<>(RollupGranularity.class);
             for (Map.Entry<String, Model> modelEntry : models.entrySet()) {
-                String nodesJson = gson.toJson(modelEntry.getValue().getNodes(), NODE_SET_TYPE);
-                String edgesJson = gson.toJson(modelEntry.getValue().getEdges(), STRING_SET_TYPE);
+                String runtime = modelEntry.getKey();
+                Model model = modelEntry.getValue();
+                Model lastModel = this.lastModels == null ? null : this.lastModels.get(runtime);
+                Integer deltaCount = this.deltaCounts.get(runtime);
+                if (lastModel == null || deltaCount == null || deltaCount >= CHECKPOINT_INTERVAL) {
+                    checkpointStatement.setString(1, runtime);
+                    checkpointStatement.setTimestamp(2, timestamp);
+                    checkpointStatement.setString(3, EMPTY_JSON_ARRAY);
+                    checkpointStatement.setString(4, EMPTY_JSON_ARRAY);
+                    checkpointStatement.setBytes(5, ModelCodec.encode(model));
+                    checkpointStatement.setLong(6, ++sequenceId);
+                    checkpointStatement.addBatch();
+                    newDeltaCounts.put(runtime, 0);
+                    updateRollups(connection, rollupInsertStatement, rollupUpdateStatement, runtime, model,
+                            timestamp.getTime(), true, newRollups);
+                    addLatestCheckpointToBatch(deltaCount == null ? latestInsertStatement : latestUpdateStatement,
+                            runtime, timestamp, 0);
+                } else {
+                    Set<Node> addedNodes = new HashSet<>(model.getNodes());
+                    addedNodes.removeAll(lastModel.getNodes());
+                    Set<Node> removedNodes = new HashSet<>(lastModel.getNodes());
+                    removedNodes.removeAll(model.getNodes());
+                    Set<Edge> addedEdges = new HashSet<>(model.getEdges());
+                    addedEdges.removeAll(lastModel.getEdges());
+                    Set<Edge> removedEdges = new HashSet<>(lastModel.getEdges());
+                    removedEdges.removeAll(model.getEdges());
 
-                statement.setString(1, modelEntry.getKey());
-                statement.setTimestamp(2, timestamp);
-                statement.setString(3, nodesJson);
-                statement.setString(4, edgesJson);
-                statement.addBatch();
+                    if (addedNodes.size() > 0 || removedNodes.size() > 0 || addedEdges.size() > 0
+                            || removedEdges.size() > 0) {
+                        deltaStatement.setString(1, runtime);
+                        deltaStatement.setTimestamp(2, timestamp);
+                        deltaStatement.setBytes(3, ModelCodec.encode(new Model(addedNodes, addedEdges),
+                                new Model(removedNodes, removedEdges)));
+                        deltaStatement.setLong(4, ++sequenceId);
+                        deltaStatement.addBatch();
+                        newDeltaCounts.put(runtime, deltaCount + 1);
+                        updateRollups(connection, rollupInsertStatement, rollupUpdateStatement, runtime, model,
+                                timestamp.getTime(), false, newRollups);
+                        deltaCountUpdateStatement.setInt(1, deltaCount + 1);
+                        deltaCountUpdateStatement.setString(2, runtime);
+                        deltaCountUpdateStatement.addBatch();
+                    }
+                }
             }
-            statement.executeBatch();
+            checkpointStatement.executeBatch();
+            deltaStatement.executeBatch();
+            rollupInsertStatement.executeBatch();
+            rollupUpdateStatement.executeBatch();
+            latestInsertStatement.executeBatch();
+            latestUpdateStatement.executeBatch();
+            deltaCountUpdateStatement.executeBatch();
             connection.commit();
-            cleanupConnection(null, statement, connection);
+            cleanupConnection(null, checkpointStatement, null);
+            cleanupConnection(null, deltaStatement, null);
+            cleanupConnection(null, rollupInsertStatement, null);
+            cleanupConnection(null, rollupUpdateStatement, null);
+            cleanupConnection(null, latestInsertStatement, null);
+            cleanupConnection(null, latestUpdateStatement, null);
+            cleanupConnection(null, deltaCountUpdateStatement, connection);
 
             Map<String, Model> newRuntimeModels = new HashMap<>();
             for (Map.Entry<String, Model> modelEntry : models.entrySet()) {
@@ -247,6 +1064,12 @@ public class ModelStoreManager {
                                 new HashSet<>(modelEntry.getValue().getEdges())));
             }
             this.lastModels = newRuntimeModels;
+            this.lastSequenceId = sequenceId;
+            this.modelVersion.incrementAndGet();
+            this.deltaCounts.putAll(newDeltaCounts);
+            for (Map.Entry<RollupGranularity, Map<String, Rollup>> rollupsEntry : newRollups.entrySet()) {
+                this.currentRollups.get(rollupsEntry.getKey()).putAll(rollupsEntry.getValue());
+            }
         } catch (SQLException ex) {
             throw new GraphStoreException("Unable to persist the graph to the datasource: " + DATASOURCE_NAME, ex);
         } finally {
@@ -254,6 +1077,412 @@ public class ModelStoreManager {
         }
     }
 
+    /**
+     * Add a stored model to the hourly and daily rollups of the buckets the model was stored in.
+     * The rollups of the open buckets are kept in memory and are only written when a checkpoint is stored and when
+     * the buckets close. The rollups are not updated in memory until the transaction is committed and are therefore
+     * collected into the new rollups map.
+     *
+     * @param connection The connection to the datasource
+     * @param insertStatement The statement to which new rollups should be added
+     * @param updateStatement The statement to which updated rollups should be added
+     * @param runtime The runtime the model belongs to
+     * @param model The model that was stored
+     * @param timestamp The timestamp at which the model was stored
+     * @param isCheckpoint True if the model was stored as a checkpoint
+     * @param newRollups The map to which the new rollups should be added
+     * @throws SQLException If loading or storing the rollup failed
+     * @throws GraphStoreException If decoding the stored rollup failed
+     */
+    private void updateRollups(Connection connection, PreparedStatement insertStatement,
+                               PreparedStatement updateStatement, String runtime, Model model, long timestamp,
+                               boolean isCheckpoint, Map<RollupGranularity, Map<String, Rollup>> newRollups)
+            throws SQLException, GraphStoreException {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            long bucketTimestamp = granularity.getBucketTimestamp(timestamp);
+            Rollup currentRollup = this.currentRollups.get(granularity).get(runtime);
+            if (currentRollup == null) {
+                currentRollup = loadOpenRollup(connection, runtime, granularity, bucketTimestamp, timestamp - 1);
+            } else if (currentRollup.bucketTimestamp != bucketTimestamp) {
+                addRollupToStoreBatch(insertStatement, updateStatement, runtime, granularity, currentRollup);
+                currentRollup = new Rollup(bucketTimestamp, new Model(new HashSet<>(), new HashSet<>()), false,
+                        true);
+            }
+
+            Rollup rollup = currentRollup;
+            if (!currentRollup.model.getNodes().containsAll(model.getNodes())
+                    || !currentRollup.model.getEdges().containsAll(model.getEdges())) {
+                Set<Node> nodes = new HashSet<>(currentRollup.model.getNodes());
+                nodes.addAll(model.getNodes());
+                Set<Edge> edges = new HashSet<>(currentRollup.model.getEdges());
+                edges.addAll(model.getEdges());
+                rollup = new Rollup(bucketTimestamp, new Model(nodes, edges), currentRollup.isStored, true);
+            }
+            if (isCheckpoint) {
+                rollup = addRollupToStoreBatch(insertStatement, updateStatement, runtime, granularity, rollup);
+            }
+            newRollups.computeIfAbsent(granularity, (key) -> new HashMap<>()).put(runtime, rollup);
+        }
+    }
+
+    /**
+     * Flush the rollups of the closed buckets which were not written when the buckets closed since no models were
+     * stored after the buckets closed.
+     *
+     * @throws GraphStoreException If storing the rollups failed
+     */
+    public void flushRollups() throws GraphStoreException {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Connection connection = getConnection();
+            flushRollups(connection, Instant.now().toEpochMilli());
+            cleanupConnection(null, null, connection);
+        } catch (SQLException e) {
+            throw new GraphStoreException("Failed to flush the dependency model rollups", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Flush the rollups of the buckets closed before a given time.
+     *
+     * @param connection The connection to the datasource
+     * @param currentTime The current time
+     * @throws SQLException If storing the rollups failed
+     */
+    private void flushRollups(Connection connection, long currentTime) throws SQLException {
+        PreparedStatement insertStatement = connection.prepareStatement("INSERT INTO " + ROLLUP_TABLE_NAME
+                + " VALUES (?, ?, ?, ?)");
+        PreparedStatement updateStatement = connection.prepareStatement("UPDATE " + ROLLUP_TABLE_NAME
+                + " SET MODEL = ? WHERE RUNTIME = ? AND GRANULARITY = ? AND BUCKET_TIMESTAMP = ?");
+        Map<RollupGranularity, Map<String, Rollup>> flushedRollups = new EnumMap<>(RollupGranularity.class);
+        for (Map.Entry<RollupGranularity, Map<String, Rollup>> rollupsEntry : this.currentRollups.entrySet()) {
+            RollupGranularity granularity = rollupsEntry.getKey();
+            for (Map.Entry<String, Rollup> rollupEntry : rollupsEntry.getValue().entrySet()) {
+                Rollup rollup = rollupEntry.getValue();
+                if (rollup.isChanged && granularity.getNextBucketTimestamp(rollup.bucketTimestamp + 1)
+                        <= currentTime) {
+                    flushedRollups.computeIfAbsent(granularity, (key) -> new HashMap<>()).put(rollupEntry.getKey(),
+                            addRollupToStoreBatch(insertStatement, updateStatement, rollupEntry.getKey(),
+                                    granularity, rollup));
+                }
+            }
+        }
+        insertStatement.executeBatch();
+        updateStatement.executeBatch();
+        connection.commit();
+        cleanupConnection(null, insertStatement, null);
+        cleanupConnection(null, updateStatement, null);
+        for (Map.Entry<RollupGranularity, Map<String, Rollup>> rollupsEntry : flushedRollups.entrySet()) {
+            this.currentRollups.get(rollupsEntry.getKey()).putAll(rollupsEntry.getValue());
+        }
+    }
+
+    /**
+     * Load the rollup of an open bucket.
+     * The rollup is rebuilt from the stored rollup and the models stored within the bucket up to a given time since
+     * the stored rollup may not include the models stored after it was last written.
+     *
+     * @param connection The connection to the datasource
+     * @param runtime The runtime the rollup belongs to
+     * @param granularity The granularity of the rollup
+     * @param bucketTimestamp The start timestamp of the rollup bucket
+     * @param endTime The time up to which the models stored within the bucket should be added
+     * @return The rollup of the bucket
+     * @throws SQLException If loading the rollup failed
+     * @throws GraphStoreException If decoding the rollup failed
+     */
+    private Rollup loadOpenRollup(Connection connection, String runtime, RollupGranularity granularity,
+                                  long bucketTimestamp, long endTime) throws SQLException, GraphStoreException {
+        Rollup storedRollup = loadRollup(connection, runtime, granularity, bucketTimestamp);
+        Set<Node> nodes = storedRollup == null ? new HashSet<>() : new HashSet<>(storedRollup.model.getNodes());
+        Set<Edge> edges = storedRollup == null ? new HashSet<>() : new HashSet<>(storedRollup.model.getEdges());
+        if (endTime >= bucketTimestamp) {
+            replayModels(connection, bucketTimestamp, endTime, runtime, (timestamp, model) -> {
+                nodes.addAll(model.getNodes());
+                edges.addAll(model.getEdges());
+            });
+        }
+        Model model = new Model(nodes, edges);
+        return storedRollup == null
+                ? new Rollup(bucketTimestamp, model, false, true)
+                : new Rollup(bucketTimestamp, model, true, !Objects.equals(model, storedRollup.model));
+    }
+
+    /**
+     * Load a rollup stored in the datasource.
+     *
+     * @param connection The connection to the datasource
+     * @param runtime The runtime the rollup belongs to
+     * @param granularity The granularity of the rollup
+     * @param bucketTimestamp The start timestamp of the rollup bucket
+     * @return The stored rollup or null if the rollup is not available
+     * @throws SQLException If loading the rollup failed
+     * @throws GraphStoreException If decoding the rollup failed
+     */
+    private Rollup loadRollup(Connection connection, String runtime, RollupGranularity granularity,
+                              long bucketTimestamp) throws SQLException, GraphStoreException {
+        PreparedStatement statement = connection.prepareStatement("SELECT MODEL FROM " + ROLLUP_TABLE_NAME +
+                " WHERE RUNTIME = ? AND GRANULARITY = ? AND BUCKET_TIMESTAMP = ?");
+        statement.setString(1, runtime);
+        statement.setString(2, granularity.name());
+        statement.setTimestamp(3, new Timestamp(bucketTimestamp));
+        ResultSet resultSet = statement.executeQuery();
+        Rollup rollup = null;
+        if (resultSet.next()) {
+            rollup = new Rollup(bucketTimestamp, ModelCodec.decode(resultSet.getBytes(1)).get(0), true, false);
+        }
+        cleanupConnection(resultSet, statement, null);
+        return rollup;
+    }
+
+    /**
+     * Add a rollup to the batch insert or update statement if it was changed since it was last written.
+     *
+     * @param insertStatement The statement to which the rollup should be added if it was never written
+     * @param updateStatement The statement to which the rollup should be added if it was written before
+     * @param runtime The runtime the rollup belongs to
+     * @param granularity The granularity of the rollup
+     * @param rollup The rollup to be added
+     * @return The rollup as it would be once the batch is executed
+     * @throws SQLException If adding the rollup to the batch failed
+     */
+    private Rollup addRollupToStoreBatch(PreparedStatement insertStatement, PreparedStatement updateStatement,
+                                         String runtime, RollupGranularity granularity, Rollup rollup)
+            throws SQLException {
+        if (!rollup.isStored) {
+            addRollupToBatch(insertStatement, runtime, granularity, rollup);
+        } else if (rollup.isChanged) {
+            updateStatement.setBytes(1, ModelCodec.encode(rollup.model));
+            updateStatement.setString(2, runtime);
+            updateStatement.setString(3, granularity.name());
+            updateStatement.setTimestamp(4, new Timestamp(rollup.bucketTimestamp));
+            updateStatement.addBatch();
+        } else {
+            return rollup;
+        }
+        return new Rollup(rollup.bucketTimestamp, rollup.model, true, false);
+    }
+
+    /**
+     * Add a rollup to a batch insert statement.
+     *
+     * @param insertStatement The statement to which the rollup should be added
+     * @param runtime The runtime the rollup belongs to
+     * @param granularity The granularity of the rollup
+     * @param rollup The rollup to be added
+     * @throws SQLException If adding the rollup to the batch failed
+     */
+    private void addRollupToBatch(PreparedStatement insertStatement, String runtime, RollupGranularity granularity,
+                                  Rollup rollup) throws SQLException {
+        insertStatement.setString(1, runtime);
+        insertStatement.setString(2, granularity.name());
+        insertStatement.setTimestamp(3, new Timestamp(rollup.bucketTimestamp));
+        insertStatement.setBytes(4, ModelCodec.encode(rollup.model));
+        insertStatement.addBatch();
+    }
+
+    /**
+     * Add the latest checkpoint of a runtime to a batch statement updating the latest table.
+     *
+     * @param statement The insert or update statement to which the checkpoint should be added
+     * @param runtime The runtime the checkpoint belongs to
+     * @param checkpointTimestamp The timestamp at which the checkpoint was stored
+     * @param deltaCount The number of deltas stored after the checkpoint
+     * @throws SQLException If adding the checkpoint to the batch failed
+     */
+    private void addLatestCheckpointToBatch(PreparedStatement statement, String runtime,
+                                            Timestamp checkpointTimestamp, int deltaCount) throws SQLException {
+        statement.setTimestamp(1, checkpointTimestamp);
+        statement.setInt(2, deltaCount);
+        statement.setString(3, runtime);
+        statement.addBatch();
+    }
+
+    /**
+     * Generate the timestamp to be used for storing a model.
+     * The generated timestamps are strictly increasing to preserve the order in which the deltas should be applied.
+     *
+     * @return The timestamp to be used
+     */
+    private Timestamp generateStoreTimestamp() {
+        long currentTimestamp = Math.max(Instant.now().toEpochMilli(), this.lastStoredTimestamp + 1);
+        this.lastStoredTimestamp = currentTimestamp;
+        return new Timestamp(currentTimestamp);
+    }
+
+    /**
+     * Compact the stored models according to the configured retention periods.
+     * For each runtime, the checkpoints and deltas stored before the raw models cutoff are replaced by a single
+     * checkpoint of the last model stored before the cutoff, which is required for replaying the later deltas.
+     * The hourly rollups before the hourly rollups cutoff are removed since the daily rollups cover these periods.
+     *
+     * @throws GraphStoreException If compacting the stored models failed
+     */
+    public void compact() throws GraphStoreException {
+        long currentTime = Instant.now().toEpochMilli();
+        long rawModelsCutoffTime = getRawModelsCutoffTime(currentTime);
+        long hourlyRollupsCutoffTime = getHourlyRollupsCutoffTime(currentTime);
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Connection connection = getConnection();
+            // Flushing the rollups of the closed buckets since the models stored within them may be compacted
+            flushRollups(connection, currentTime);
+            int removedRowsCount = 0;
+            if (rawModelsCutoffTime != Long.MIN_VALUE) {
+                PreparedStatement runtimesStatement = connection.prepareStatement("SELECT DISTINCT RUNTIME FROM " +
+                        TABLE_NAME + " WHERE MODEL_TIMESTAMP < ?");
+                runtimesStatement.setTimestamp(1, new Timestamp(rawModelsCutoffTime));
+                ResultSet runtimesResultSet = runtimesStatement.executeQuery();
+                List<String> runtimes = new ArrayList<>();
+                while (runtimesResultSet.next()) {
+                    runtimes.add(runtimesResultSet.getString(1));
+                }
+                cleanupConnection(runtimesResultSet, runtimesStatement, null);
+
+                for (String runtime : runtimes) {
+                    removedRowsCount += compactRawModels(connection, runtime, rawModelsCutoffTime);
+                    connection.commit();
+                }
+            }
+            if (hourlyRollupsCutoffTime != Long.MIN_VALUE) {
+                PreparedStatement rollupStatement = connection.prepareStatement("DELETE FROM " + ROLLUP_TABLE_NAME +
+                        " WHERE GRANULARITY = ? AND BUCKET_TIMESTAMP < ?");
+                rollupStatement.setString(1, RollupGranularity.HOUR.name());
+                rollupStatement.setTimestamp(2, new Timestamp(hourlyRollupsCutoffTime));
+                removedRowsCount += rollupStatement.executeUpdate();
+                connection.commit();
+                cleanupConnection(null, rollupStatement, null);
+            }
+            cleanupConnection(null, null, connection);
+            if (removedRowsCount > 0) {
+                this.rewriteCount.incrementAndGet();
+                logger.info("Compacted the stored dependency models by removing " + removedRowsCount + " row(s)");
+            }
+        } catch (SQLException e) {
+            throw new GraphStoreException("Failed to compact stored models", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Compact the checkpoints and deltas of a runtime stored before a cutoff time.
+     *
+     * @param connection The connection to the datasource
+     * @param runtime The runtime of which the models should be compacted
+     * @param cutoffTime The time before which the checkpoints and deltas should be compacted
+     * @return The number of removed rows
+     * @throws SQLException If compacting the models failed
+     * @throws GraphStoreException If decoding the models failed
+     */
+    private int compactRawModels(Connection connection, String runtime, long cutoffTime)
+            throws SQLException, GraphStoreException {
+        // Finding the last model stored before the cutoff time which will be retained as a checkpoint
+        StoredModel lastStoredModel = loadLastStoredModel(connection, runtime, cutoffTime - 1);
+        if (lastStoredModel == null) {
+            return 0;
+        }
+        Timestamp compactedTimestamp = new Timestamp(lastStoredModel.timestamp);
+        if (lastStoredModel.timestamp != lastStoredModel.checkpointTimestamp) {
+            PreparedStatement insertStatement = connection.prepareStatement("INSERT INTO " + TABLE_NAME +
+                    " (RUNTIME, MODEL_TIMESTAMP, NODES, EDGES, MODEL, SEQUENCE_ID) VALUES (?, ?, ?, ?, ?, ?)");
+            insertStatement.setString(1, runtime);
+            insertStatement.setTimestamp(2, compactedTimestamp);
+            insertStatement.setString(3, EMPTY_JSON_ARRAY);
+            insertStatement.setString(4, EMPTY_JSON_ARRAY);
+            insertStatement.setBytes(5, ModelCodec.encode(lastStoredModel.model));
+            insertStatement.setLong(6, ++this.lastSequenceId);
+            insertStatement.executeUpdate();
+            cleanupConnection(null, insertStatement, null);
+        }
+
+        PreparedStatement deltaStatement = connection.prepareStatement("DELETE FROM " + DELTA_TABLE_NAME +
+                " WHERE RUNTIME = ? AND MODEL_TIMESTAMP <= ?");
+        deltaStatement.setString(1, runtime);
+        deltaStatement.setTimestamp(2, compactedTimestamp);
+        int removedRowsCount = deltaStatement.executeUpdate();
+        cleanupConnection(null, deltaStatement, null);
+        PreparedStatement statement = connection.prepareStatement("DELETE FROM " + TABLE_NAME +
+                " WHERE RUNTIME = ? AND MODEL_TIMESTAMP < ?");
+        statement.setString(1, runtime);
+        statement.setTimestamp(2, compactedTimestamp);
+        removedRowsCount += statement.executeUpdate();
+        cleanupConnection(null, statement, null);
+
+        // Pointing the latest table to the compacted checkpoint if the latest checkpoint was removed
+        PreparedStatement countStatement = connection.prepareStatement("SELECT COUNT(*) FROM " + DELTA_TABLE_NAME +
+                " WHERE RUNTIME = ? AND MODEL_TIMESTAMP > ?");
+        countStatement.setString(1, runtime);
+        countStatement.setTimestamp(2, compactedTimestamp);
+        ResultSet countResultSet = countStatement.executeQuery();
+        int deltaCount = countResultSet.next() ? countResultSet.getInt(1) : 0;
+        cleanupConnection(countResultSet, countStatement, null);
+        PreparedStatement latestStatement = connection.prepareStatement("UPDATE " + LATEST_TABLE_NAME +
+                " SET MODEL_TIMESTAMP = ?, DELTA_COUNT = ? WHERE RUNTIME = ? AND MODEL_TIMESTAMP < ?");
+        latestStatement.setTimestamp(1, compactedTimestamp);
+        latestStatement.setInt(2, deltaCount);
+        latestStatement.setString(3, runtime);
+        latestStatement.setTimestamp(4, compactedTimestamp);
+        if (latestStatement.executeUpdate() > 0 && this.deltaCounts.containsKey(runtime)) {
+            this.deltaCounts.put(runtime, deltaCount);
+        }
+        cleanupConnection(null, latestStatement, null);
+        return removedRowsCount;
+    }
+
+    /**
+     * Get the time before which only the hourly and daily rollups are retained.
+     *
+     * @param currentTime The current time
+     * @return The cutoff time or the minimum timestamp if the raw models are retained forever
+     */
+    private long getRawModelsCutoffTime(long currentTime) {
+        return this.rawModelsRetention > 0
+                ? RollupGranularity.HOUR.getBucketTimestamp(currentTime - this.rawModelsRetention)
+                : Long.MIN_VALUE;
+    }
+
+    /**
+     * Get the time before which only the daily rollups are retained.
+     *
+     * @param currentTime The current time
+     * @return The cutoff time or the minimum timestamp if the hourly rollups are retained forever
+     */
+    private long getHourlyRollupsCutoffTime(long currentTime) {
+        return this.hourlyRollupsRetention > 0
+                ? RollupGranularity.DAY.getBucketTimestamp(currentTime - this.hourlyRollupsRetention)
+                : Long.MIN_VALUE;
+    }
+
+    /**
+     * Get the version of the stored models.
+     * The version changes whenever the stored models are updated.
+     *
+     * @return The version of the stored models
+     */
+    public long getModelVersion() {
+        return this.modelVersion.get();
+    }
+
+    /**
+     * Get the generation of the stored models of the past time periods.
+     * Unlike the model version, this only changes when the models of the past time periods may change, which is
+     * when the stored models are compacted or cleared and when the compaction cutoff times move forward (changing
+     * how the time periods are widened when loading the rolled up models).
+     *
+     * @return The generation of the stored models
+     */
+    public String getStoreGeneration() {
+        long currentTime = Instant.now().toEpochMilli();
+        return Long.toHexString(this.rewriteCount.get()) + "."
+                + Long.toHexString(getRawModelsCutoffTime(currentTime)) + "."
+                + Long.toHexString(getHourlyRollupsCutoffTime(currentTime));
+    }
+
     /**
      * Store the current model in the Model Manager.
      *
@@ -303,9 +1532,24 @@ public class ModelStoreManager {
             Connection connection = getConnection();
             PreparedStatement statement = connection.prepareStatement("DELETE FROM " + TABLE_NAME);
             statement.executeUpdate();
+            PreparedStatement deltaStatement = connection.prepareStatement("DELETE FROM " + DELTA_TABLE_NAME);
+            deltaStatement.executeUpdate();
+            PreparedStatement rollupStatement = connection.prepareStatement("DELETE FROM " + ROLLUP_TABLE_NAME);
+            rollupStatement.executeUpdate();
+            PreparedStatement latestStatement = connection.prepareStatement("DELETE FROM " + LATEST_TABLE_NAME);
+            latestStatement.executeUpdate();
             connection.commit();
-            cleanupConnection(null, statement, connection);
+            cleanupConnection(null, statement, null);
+            cleanupConnection(null, deltaStatement, null);
+            cleanupConnection(null, rollupStatement, null);
+            cleanupConnection(null, latestStatement, connection);
             this.lastModels = null;
+            this.modelVersion.incrementAndGet();
+            this.rewriteCount.incrementAndGet();
+            this.deltaCounts.clear();
+            for (Map<String, Rollup> rollups : this.currentRollups.values()) {
+                rollups.clear();
+            }
             if (logger.isDebugEnabled()) {
                 logger.debug("Cleared all the stored models");
             }
@@ -315,4 +1559,71 @@ public class ModelStoreManager {
             writeLock.unlock();
         }
     }
+
+    /**
+     * The granularities at which the stored models are rolled up.
+     */
+    private enum RollupGranularity {
+        HOUR(TimeUnit.HOURS.toMillis(1)),
+        DAY(TimeUnit.DAYS.toMillis(1));
+
+        private final long bucketSize;
+
+        RollupGranularity(long bucketSize) {
+            this.bucketSize = bucketSize;
+        }
+
+        /**
+         * Get the start timestamp of the bucket a timestamp belongs to.
+         *
+         * @param timestamp The timestamp
+         * @return The start timestamp of the bucket
+         */
+        long getBucketTimestamp(long timestamp) {
+            return timestamp - Math.floorMod(timestamp, bucketSize);
+        }
+
+        /**
+         * Get the start timestamp of the first bucket starting at or after a timestamp.
+         *
+         * @param timestamp The timestamp
+         * @return The start timestamp of the bucket
+         */
+        long getNextBucketTimestamp(long timestamp) {
+            long bucketTimestamp = getBucketTimestamp(timestamp);
+            return bucketTimestamp == timestamp ? bucketTimestamp : bucketTimestamp + bucketSize;
+        }
+    }
+
+    /**
+     * The union of the models of a runtime stored within a bucket.
+     */
+    private static class Rollup {
+        private final long bucketTimestamp;
+        private final Model model;
+        private final boolean isStored;
+        private final boolean isChanged;
+
+        Rollup(long bucketTimestamp, Model model, boolean isStored, boolean isChanged) {
+            this.bucketTimestamp = bucketTimestamp;
+            this.model = model;
+            this.isStored = isStored;
+            this.isChanged = isChanged;
+        }
+    }
+
+    /**
+     * A model of a runtime reconstructed from the checkpoint it was replayed from.
+     */
+    private static class StoredModel {
+        private final long timestamp;
+        private final long checkpointTimestamp;
+        private final Model model;
+
+        StoredModel(long timestamp, long checkpointTimestamp, Model model) {
+            this.timestamp = timestamp;
+            this.checkpointTimestamp = checkpointTimestamp;
+            this.model = model;
+        }
+    }
 }
@@ -18,6 +18,7 @@
 package io.cellery.observability.model.generator.internal;
 
 import io.cellery.observability.model.generator.model.ModelManager;
+import org.wso2.carbon.config.provider.ConfigProvider;
 import org.wso2.carbon.datasource.core.api.DataSourceService;
 
 /**
@@ -25,6 +26,7 @@ import org.wso2.carbon.datasource.core.api.DataSourceService;
  */
 public class ServiceHolder {
     private static DataSourceService dataSourceService;
+    private static ConfigProvider configProvider;
     private static ModelStoreManager modelStoreManager;
     private static ModelManager modelManager;
 
@@ -39,6 +41,14 @@ public class ServiceHolder {
         ServiceHolder.dataSourceService = dataSourceService;
     }
 
+    public static ConfigProvider getConfigProvider() {
+        return configProvider;
+    }
+
+    public static void setConfigProvider(ConfigProvider configProvider) {
+        ServiceHolder.configProvider = configProvider;
+    }
+
     public static ModelStoreManager getModelStoreManager() {
         return modelStoreManager;
     }
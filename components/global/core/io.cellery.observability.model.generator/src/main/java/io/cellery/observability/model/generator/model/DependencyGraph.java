@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.model.generator.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact directed dependency graph of a runtime.
+ * Nodes are identified by int ids and the edges are stored as sorted arrays of adjacent node ids instead of
+ * edge objects. The storage grows with the graph and the Node and Edge view is only generated when required.
+ * This is not thread safe and the callers are expected to handle the synchronization.
+ */
+public class DependencyGraph {
+    private static final int MIN_NODE_CAPACITY = 8;
+    private static final int MIN_ADJACENCY_CAPACITY = 2;
+    private static final int[] EMPTY_ADJACENCY = new int[0];
+
+    private final Map<EdgeNode, Integer> nodeIds;
+    private Node[] nodes;
+    private int[][] outgoingNodeIds;
+    private int[] outgoingCounts;
+    private int[][] incomingNodeIds;
+    private int[] incomingCounts;
+    private int[] freeNodeIds;
+    private int freeNodeIdsCount;
+    private int allocatedNodeIdsCount;
+    private int edgeCount;
+
+    public DependencyGraph(int expectedNodeCount) {
+        int nodeCapacity = Math.max(expectedNodeCount, MIN_NODE_CAPACITY);
+        this.nodeIds = new HashMap<>(nodeCapacity * 4 / 3 + 1);
+        this.nodes = new Node[nodeCapacity];
+        this.outgoingNodeIds = new int[nodeCapacity][];
+        this.outgoingCounts = new int[nodeCapacity];
+        this.incomingNodeIds = new int[nodeCapacity][];
+        this.incomingCounts = new int[nodeCapacity];
+        this.freeNodeIds = EMPTY_ADJACENCY;
+    }
+
+    /**
+     * Get the node in the graph matching an edge node.
+     *
+     * @param edgeNode The edge node of which the matching node should be fetched
+     * @return The node in the graph or null if the graph does not contain the node
+     */
+    public Node getNode(EdgeNode edgeNode) {
+        Integer nodeId = this.nodeIds.get(edgeNode);
+        return nodeId == null ? null : this.nodes[nodeId];
+    }
+
+    /**
+     * Add a node to the graph.
+     *
+     * @param node The node to be added
+     * @return True if the graph was modified as a result of this call
+     */
+    public boolean addNode(Node node) {
+        if (this.nodeIds.containsKey(node)) {
+            return false;
+        }
+        int nodeId;
+        if (this.freeNodeIdsCount > 0) {
+            nodeId = this.freeNodeIds[--this.freeNodeIdsCount];
+        } else {
+            if (this.allocatedNodeIdsCount == this.nodes.length) {
+                int nodeCapacity = this.nodes.length * 2;
+                this.nodes = Arrays.copyOf(this.nodes, nodeCapacity);
+                this.outgoingNodeIds = Arrays.copyOf(this.outgoingNodeIds, nodeCapacity);
+                this.outgoingCounts = Arrays.copyOf(this.outgoingCounts, nodeCapacity);
+                this.incomingNodeIds = Arrays.copyOf(this.incomingNodeIds, nodeCapacity);
+                this.incomingCounts = Arrays.copyOf(this.incomingCounts, nodeCapacity);
+            }
+            nodeId = this.allocatedNodeIdsCount++;
+        }
+        this.nodes[nodeId] = node;
+        this.outgoingNodeIds[nodeId] = EMPTY_ADJACENCY;
+        this.incomingNodeIds[nodeId] = EMPTY_ADJACENCY;
+        this.nodeIds.put(node, nodeId);
+        return true;
+    }
+
+    /**
+     * Add an edge to the graph.
+     * The source and target nodes are added to the graph if they are not already present.
+     *
+     * @param source The source node of the edge
+     * @param target The target node of the edge
+     * @return True if the graph was modified as a result of this call
+     */
+    public boolean addEdge(Node source, Node target) {
+        boolean wasModified = addNode(source);
+        wasModified |= addNode(target);
+        int sourceId = this.nodeIds.get(source);
+        int targetId = this.nodeIds.get(target);
+        int position = Arrays.binarySearch(this.outgoingNodeIds[sourceId], 0, this.outgoingCounts[sourceId],
+                targetId);
+        if (position < 0) {
+            this.outgoingNodeIds[sourceId] = insert(this.outgoingNodeIds[sourceId], this.outgoingCounts[sourceId]++,
+                    -position - 1, targetId);
+            int incomingPosition = Arrays.binarySearch(this.incomingNodeIds[targetId], 0,
+                    this.incomingCounts[targetId], sourceId);
+            this.incomingNodeIds[targetId] = insert(this.incomingNodeIds[targetId], this.incomingCounts[targetId]++,
+                    -incomingPosition - 1, sourceId);
+            this.edgeCount++;
+            wasModified = true;
+        }
+        return wasModified;
+    }
+
+    /**
+     * Remove a node and the edges connected to it from the graph.
+     *
+     * @param edgeNode The edge node matching the node to be removed
+     * @return True if the graph was modified as a result of this call
+     */
+    public boolean removeNode(EdgeNode edgeNode) {
+        Integer nodeId = this.nodeIds.remove(edgeNode);
+        if (nodeId == null) {
+            return false;
+        }
+        for (int i = 0; i < this.outgoingCounts[nodeId]; i++) {
+            int targetId = this.outgoingNodeIds[nodeId][i];
+            if (targetId != nodeId) {
+                this.incomingCounts[targetId] = remove(this.incomingNodeIds[targetId],
+                        this.incomingCounts[targetId], nodeId);
+            }
+        }
+        this.edgeCount -= this.outgoingCounts[nodeId];
+        for (int i = 0; i < this.incomingCounts[nodeId]; i++) {
+            int sourceId = this.incomingNodeIds[nodeId][i];
+            if (sourceId != nodeId) {
+                this.outgoingCounts[sourceId] = remove(this.outgoingNodeIds[sourceId],
+                        this.outgoingCounts[sourceId], nodeId);
+                this.edgeCount--;
+            }
+        }
+        this.nodes[nodeId] = null;
+        this.outgoingNodeIds[nodeId] = null;
+        this.outgoingCounts[nodeId] = 0;
+        this.incomingNodeIds[nodeId] = null;
+        this.incomingCounts[nodeId] = 0;
+        if (this.freeNodeIdsCount == this.freeNodeIds.length) {
+            this.freeNodeIds = Arrays.copyOf(this.freeNodeIds,
+                    Math.max(this.freeNodeIds.length * 2, MIN_ADJACENCY_CAPACITY));
+        }
+        this.freeNodeIds[this.freeNodeIdsCount++] = nodeId;
+        return true;
+    }
+
+    /**
+     * Get the number of nodes in the graph.
+     *
+     * @return The number of nodes
+     */
+    public int getNodeCount() {
+        return this.nodeIds.size();
+    }
+
+    /**
+     * Get the number of edges in the graph.
+     *
+     * @return The number of edges
+     */
+    public int getEdgeCount() {
+        return this.edgeCount;
+    }
+
+    /**
+     * Generate the dependency model view of the graph.
+     * The generated model is a snapshot and is not affected by later changes to the graph.
+     *
+     * @return The dependency model
+     */
+    public Model toModel() {
+        Set<Node> modelNodes = new HashSet<>(this.getNodeCount() * 4 / 3 + 1);
+        EdgeNode[] edgeNodes = new EdgeNode[this.allocatedNodeIdsCount];
+        for (int i = 0; i < this.allocatedNodeIdsCount; i++) {
+            Node node = this.nodes[i];
+            if (node != null) {
+                modelNodes.add(node);
+                edgeNodes[i] = new EdgeNode(node.getNamespace(), node.getInstance(), node.getComponent());
+            }
+        }
+        Set<Edge> modelEdges = new HashSet<>(this.edgeCount * 4 / 3 + 1);
+        for (int i = 0; i < this.allocatedNodeIdsCount; i++) {
+            for (int j = 0; j < this.outgoingCounts[i]; j++) {
+                modelEdges.add(new Edge(edgeNodes[i], edgeNodes[this.outgoingNodeIds[i][j]]));
+            }
+        }
+        return new Model(modelNodes, modelEdges);
+    }
+
+    /**
+     * Insert a node id into a sorted adjacency array, growing the array if it is full.
+     *
+     * @param adjacency The adjacency array
+     * @param count The number of node ids in the adjacency array
+     * @param position The position at which the node id should be inserted
+     * @param nodeId The node id to be inserted
+     * @return The adjacency array containing the inserted node id
+     */
+    private static int[] insert(int[] adjacency, int count, int position, int nodeId) {
+        int[] newAdjacency = adjacency;
+        if (count == adjacency.length) {
+            newAdjacency = new int[Math.max(adjacency.length * 2, MIN_ADJACENCY_CAPACITY)];
+            System.arraycopy(adjacency, 0, newAdjacency, 0, position);
+        }
+        System.arraycopy(adjacency, position, newAdjacency, position + 1, count - position);
+        newAdjacency[position] = nodeId;
+        return newAdjacency;
+    }
+
+    /**
+     * Remove a node id from a sorted adjacency array.
+     *
+     * @param adjacency The adjacency array
+     * @param count The number of node ids in the adjacency array
+     * @param nodeId The node id to be removed
+     * @return The number of node ids in the adjacency array after removing the node id
+     */
+    private static int remove(int[] adjacency, int count, int nodeId) {
+        int position = Arrays.binarySearch(adjacency, 0, count, nodeId);
+        if (position < 0) {
+            return count;
+        }
+        System.arraycopy(adjacency, position + 1, adjacency, position, count - position - 1);
+        return count - 1;
+    }
+}
@@ -25,12 +25,19 @@ import java.util.Objects;
 public class Edge {
     private EdgeNode source;
     private EdgeNode target;
+    private EdgeStats stats;
 
     public Edge(EdgeNode source, EdgeNode target) {
         this.source = source;
         this.target = target;
     }
 
+    public Edge(EdgeNode source, EdgeNode target, EdgeStats stats) {
+        this.source = source;
+        this.target = target;
+        this.stats = stats;
+    }
+
     public EdgeNode getSource() {
         return source;
     }
@@ -39,6 +46,16 @@ public class Edge {
         return target;
     }
 
+    /**
+     * Get the statistics of the requests sent along the edge.
+     * Edge equality does not consider the statistics.
+     *
+     * @return The request statistics or null if not available
+     */
+    public EdgeStats getStats() {
+        return stats;
+    }
+
     public boolean equals(Object anotherObject) {
         boolean equals;
         if (anotherObject instanceof Edge) {
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.model.generator.model;
+
+import java.util.Objects;
+
+/**
+ * Represents the statistics of the requests sent along an edge in the dependency model.
+ */
+public class EdgeStats {
+    private long requestCount;
+    private long errorCount;
+    private double totalResponseTimeMilliSec;
+
+    public EdgeStats() {
+    }
+
+    public EdgeStats(long requestCount, long errorCount, double totalResponseTimeMilliSec) {
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.totalResponseTimeMilliSec = totalResponseTimeMilliSec;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getTotalResponseTimeMilliSec() {
+        return totalResponseTimeMilliSec;
+    }
+
+    /**
+     * Add the statistics of another set of requests sent along the same edge.
+     *
+     * @param edgeStats The statistics to be added
+     */
+    void add(EdgeStats edgeStats) {
+        this.requestCount += edgeStats.getRequestCount();
+        this.errorCount += edgeStats.getErrorCount();
+        this.totalResponseTimeMilliSec += edgeStats.getTotalResponseTimeMilliSec();
+    }
+
+    public boolean equals(Object anotherObject) {
+        boolean equals;
+        if (anotherObject instanceof EdgeStats) {
+            EdgeStats anotherEdgeStats = (EdgeStats) anotherObject;
+            equals = this.requestCount == anotherEdgeStats.getRequestCount()
+                    && this.errorCount == anotherEdgeStats.getErrorCount()
+                    && Double.compare(this.totalResponseTimeMilliSec,
+                    anotherEdgeStats.getTotalResponseTimeMilliSec()) == 0;
+        } else {
+            equals = false;
+        }
+        return equals;
+    }
+
+    public int hashCode() {
+        return Objects.hash(this.requestCount, this.errorCount, this.totalResponseTimeMilliSec);
+    }
+
+    public String toString() {
+        return "Requests: " + this.requestCount + ", Errors: " + this.errorCount + ", Total Response Time: "
+                + this.totalResponseTimeMilliSec + "ms";
+    }
+}
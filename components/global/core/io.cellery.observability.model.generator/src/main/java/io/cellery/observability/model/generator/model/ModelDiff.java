@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.model.generator.model;
+
+import java.util.Objects;
+
+/**
+ * Represents the changes in a dependency model between two points in time.
+ */
+public class ModelDiff {
+    private Model added;
+    private Model removed;
+
+    public ModelDiff(Model added, Model removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public Model getAdded() {
+        return added;
+    }
+
+    public Model getRemoved() {
+        return removed;
+    }
+
+    public boolean equals(Object anotherObject) {
+        boolean equals;
+        if (anotherObject instanceof ModelDiff) {
+            ModelDiff anotherModelDiff = (ModelDiff) anotherObject;
+            equals = Objects.equals(this.added, anotherModelDiff.getAdded())
+                    && Objects.equals(this.removed, anotherModelDiff.getRemoved());
+        } else {
+            equals = false;
+        }
+        return equals;
+    }
+
+    public int hashCode() {
+        return Objects.hash(this.added, this.removed);
+    }
+
+    public String toString() {
+        return "Added: {" + this.added + "}, Removed: {" + this.removed + "}";
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.model.generator.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index over a dependency model for looking up nodes and their outgoing edges in constant time.
+ */
+public class ModelIndex {
+    private final Map<EdgeNode, Node> nodes;
+    private final Map<EdgeNode, List<Edge>> outgoingEdges;
+
+    public ModelIndex(Model model) {
+        this.nodes = new HashMap<>(model.getNodes().size() * 2);
+        for (Node node : model.getNodes()) {
+            this.nodes.put(node, node);
+        }
+        this.outgoingEdges = new HashMap<>(model.getNodes().size() * 2);
+        for (Edge edge : model.getEdges()) {
+            this.outgoingEdges.computeIfAbsent(edge.getSource(), (key) -> new ArrayList<>()).add(edge);
+        }
+    }
+
+    /**
+     * Get the node in the model matching an edge node.
+     *
+     * @param edgeNode The edge node of which the matching node should be fetched
+     * @return The node in the model or null if the model does not contain the node
+     */
+    public Node getNode(EdgeNode edgeNode) {
+        return this.nodes.get(edgeNode);
+    }
+
+    /**
+     * Get the edges in the model starting from a node.
+     *
+     * @param source The source node of the edges
+     * @return The outgoing edges of the node
+     */
+    public List<Edge> getOutgoingEdges(EdgeNode source) {
+        return this.outgoingEdges.getOrDefault(source, Collections.emptyList());
+    }
+}
@@ -17,22 +17,34 @@
  */
 package io.cellery.observability.model.generator.model;
 
-import com.google.common.graph.MutableNetwork;
-import com.google.common.graph.NetworkBuilder;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import io.cellery.observability.model.generator.exception.GraphStoreException;
 import io.cellery.observability.model.generator.exception.ModelException;
+import io.cellery.observability.model.generator.exception.ModelNotRetainedException;
+import io.cellery.observability.model.generator.internal.ModelStoreManager;
 import io.cellery.observability.model.generator.internal.ServiceHolder;
 import org.apache.log4j.Logger;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -45,29 +57,76 @@ import java.util.stream.Collectors;
 public class ModelManager {
     private static final Logger logger = Logger.getLogger(ModelManager.class);
 
+    private static final String RUNTIME_SCOPE = "runtime";
+    private static final String NAMESPACE_SCOPE = "namespace";
+    private static final String INSTANCE_SCOPE = "instance";
+    private static final String COMPONENT_SCOPE = "component";
+
+    /*
+     * Dependency model query time ranges are widened to this bucket size, allowing queries of the same time range
+     * issued at slightly different times (eg:- last hour) to share the cached model.
+     */
+    private static final long MODEL_CACHE_BUCKET_SIZE = TimeUnit.MINUTES.toMillis(1);
+    private static final int MODEL_CACHE_MAX_SIZE = 100;
+    private static final long CLOSED_RANGE_MODEL_CACHE_TTL_MINUTES = 60;
+    private static final long OPEN_RANGE_MODEL_CACHE_TTL_MINUTES = 5;
+
+    /*
+     * The request statistics of the edges are recorded in buckets of this size and the buckets are retained in memory
+     * for the retention period. Therefore, statistics are only available for the recent time periods.
+     */
+    private static final long EDGE_STATS_BUCKET_SIZE = TimeUnit.MINUTES.toMillis(1);
+    private static final long EDGE_STATS_RETENTION = TimeUnit.DAYS.toMillis(1);
+
+    /*
+     * The names of the namespaces, instances and components are repeated across the nodes of all the runtimes and
+     * are therefore interned to share a single copy of each name.
+     */
+    private static final Interner<String> STRING_INTERNER = Interners.newWeakInterner();
+
     private final ReadWriteLock lock;
-    private final Map<String, MutableNetwork<Node, Edge>> dependencyGraphs;
-    private final Map<String, Map<String, Node>> nodeCache;
+    private final Map<String, DependencyGraph> dependencyGraphs;
+    private final Cache<ModelCacheKey, CachedModel> closedRangeModelCache;
+    private final Cache<ModelCacheKey, CachedModel> openRangeModelCache;
+    private final Map<String, ConcurrentNavigableMap<Long, Map<Edge, EdgeStatsRecorder>>> edgeStats;
+
+    /*
+     * The replicated models are assigned sequence IDs by the node storing them. Therefore, a node which updates the
+     * dependency graphs locally (for example, a node running the Telemetry App) stops replicating the stored models
+     * to avoid two nodes storing the models from diverged graphs.
+     */
+    private volatile boolean isLocallyUpdated;
+    private boolean isReplicationRefused;
+
+    /*
+     * The model versions are not persisted and start over whenever the server is restarted. Therefore, the model
+     * tags are prefixed with the start time of the Model Manager to avoid matching tags issued before a restart.
+     */
+    private final String modelTagPrefix;
 
     public ModelManager() throws ModelException {
-        try {
-            this.lock = new ReentrantReadWriteLock();
-            this.dependencyGraphs = new ConcurrentHashMap<>();
-            this.nodeCache = new ConcurrentHashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+        this.modelTagPrefix = Long.toHexString(System.currentTimeMillis());
+        this.dependencyGraphs = new ConcurrentHashMap<>();
+        this.edgeStats = new ConcurrentHashMap<>();
+        this.closedRangeModelCache = CacheBuilder.newBuilder()
+                .maximumSize(MODEL_CACHE_MAX_SIZE)
+                .expireAfterWrite(CLOSED_RANGE_MODEL_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+                .build();
+        this.openRangeModelCache = CacheBuilder.newBuilder()
+                .maximumSize(MODEL_CACHE_MAX_SIZE)
+                .expireAfterWrite(OPEN_RANGE_MODEL_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+                .build();
 
-            Map<String, Model> models = ServiceHolder.getModelStoreManager().loadLastModels();
-            if (models != null) {
-                for (Map.Entry<String, Model> modelEntry : models.entrySet()) {
-                    addNodes(modelEntry.getKey(), modelEntry.getValue().getNodes());
-                    addEdges(modelEntry.getKey(), modelEntry.getValue().getEdges());
-                }
-                logger.info("Initialized Model Manager using models loaded from Store with " + models.size()
-                        + " runtime model(s)");
-            } else {
-                logger.info("Initialized Model Manager with no models");
+        Map<String, Model> models = ServiceHolder.getModelStoreManager().getLastModels();
+        if (models != null) {
+            for (Map.Entry<String, Model> modelEntry : models.entrySet()) {
+                buildDependencyGraph(modelEntry.getKey(), modelEntry.getValue());
             }
-        } catch (GraphStoreException e) {
-            throw new ModelException("Unable to load already persisted model", e);
+            logger.info("Initialized Model Manager using models loaded from Store with " + models.size()
+                    + " runtime model(s)");
+        } else {
+            logger.info("Initialized Model Manager with no models");
         }
     }
 
@@ -77,42 +136,29 @@ public class ModelManager {
      * @param runtime The runtime of which the dependency graph should be fetched
      * @return The dependency graph
      */
-    private MutableNetwork<Node, Edge> getOrGenerateDependencyGraph(String runtime) {
-        return this.dependencyGraphs.computeIfAbsent(runtime, k -> NetworkBuilder.directed()
-                .allowsParallelEdges(true)
-                .expectedNodeCount(100000)
-                .expectedEdgeCount(1000000)
-                .build());
+    private DependencyGraph getOrGenerateDependencyGraph(String runtime) {
+        return this.dependencyGraphs.computeIfAbsent(runtime, k -> new DependencyGraph(0));
     }
 
     /**
-     * Add a set of nodes to the dependency model.
+     * Build the dependency graph of a runtime from a stored model.
+     * The graph is fully populated before replacing the existing graph of the runtime and therefore the graph is
+     * populated without acquiring the lock for each node and edge.
      *
-     * @param runtime The runtime to which the nodes should be added
-     * @param nodes   The set of nodes to be added
+     * @param runtime The runtime to which the model belongs
+     * @param model   The model from which the dependency graph should be built
+     * @throws ModelException If source or target node of an edge is not present in the model
      */
-    private void addNodes(String runtime, Set<Node> nodes) {
-        for (Node node : nodes) {
-            this.addNode(runtime, node);
+    private void buildDependencyGraph(String runtime, Model model) throws ModelException {
+        DependencyGraph dependencyGraph = new DependencyGraph(model.getNodes().size());
+        for (Node node : model.getNodes()) {
+            dependencyGraph.addNode(node);
         }
-    }
-
-    /**
-     * Add a set of edges to the dependency model.
-     * Expects that the relevant nodes had been already added.
-     *
-     * @param runtime The runtime to which the edges should be added
-     * @param edges   The set of edges to which the edges should be added
-     * @throws ModelException If source or target node was not added before adding a particular edge
-     */
-    private void addEdges(String runtime, Set<Edge> edges) throws ModelException {
-        for (Edge edge : edges) {
-            Node sourceNode = getNode(runtime, edge.getSource().getNamespace(),
-                    edge.getSource().getInstance(), edge.getSource().getComponent());
-            Node targetNode = getNode(runtime, edge.getTarget().getNamespace(),
-                    edge.getTarget().getInstance(), edge.getTarget().getComponent());
+        for (Edge edge : model.getEdges()) {
+            Node sourceNode = dependencyGraph.getNode(edge.getSource());
+            Node targetNode = dependencyGraph.getNode(edge.getTarget());
             if (sourceNode != null && targetNode != null) {
-                this.getOrGenerateDependencyGraph(runtime).addEdge(sourceNode, targetNode, edge);
+                dependencyGraph.addEdge(sourceNode, targetNode);
             } else {
                 String msg = "";
                 if (sourceNode == null) {
@@ -124,6 +170,42 @@ public class ModelManager {
                 throw new ModelException(msg);
             }
         }
+        this.dependencyGraphs.put(runtime, dependencyGraph);
+    }
+
+    /**
+     * Replicate the dependency graphs from the models stored by another node sharing the same datasource.
+     * The dependency graphs of the runtimes changed since the last stored or replicated models are rebuilt,
+     * allowing this node to serve the dependency models or to take over generating them. Replication is refused
+     * once the dependency graphs are updated locally.
+     *
+     * @throws GraphStoreException If replicating the stored models failed
+     * @throws ModelException If source or target node of an edge is not present in a replicated model
+     */
+    public void replicateDependencyGraphs() throws GraphStoreException, ModelException {
+        if (this.isLocallyUpdated) {
+            if (!this.isReplicationRefused) {
+                logger.warn("Refused replicating the stored dependency models since the dependency graphs are "
+                        + "updated by this node");
+                this.isReplicationRefused = true;
+            }
+            return;
+        }
+        Map<String, Model> models = ServiceHolder.getModelStoreManager().replicateModels();
+        if (models.size() > 0) {
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                if (this.isLocallyUpdated) {
+                    return;
+                }
+                for (Map.Entry<String, Model> modelEntry : models.entrySet()) {
+                    buildDependencyGraph(modelEntry.getKey(), modelEntry.getValue());
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
     }
 
     /**
@@ -139,22 +221,10 @@ public class ModelManager {
         Lock readLock = this.lock.readLock();
         readLock.lock();
         try {
-            String nodeFQN = Model.getNodeFQN(namespace, instance, component);
-            Node cachedNode = this.nodeCache.computeIfAbsent(runtime, k -> new HashMap<>()).get(nodeFQN);
-            if (cachedNode == null) {
-                Optional<Node> requiredNode = this.getOrGenerateDependencyGraph(runtime).nodes()
-                        .stream()
-                        .filter(node -> Objects.equals(node.getFQN(), nodeFQN))
-                        .findAny();
-                if (requiredNode.isPresent()) {
-                    Map<String, Node> runtimeNodes = this.nodeCache.computeIfAbsent(runtime, k -> new HashMap<>());
-                    runtimeNodes.put(requiredNode.get().getFQN(), requiredNode.get());
-                    return requiredNode.get();
-                } else {
-                    return null;
-                }
-            }
-            return cachedNode;
+            DependencyGraph dependencyGraph = this.dependencyGraphs.get(runtime);
+            return dependencyGraph == null
+                    ? null
+                    : dependencyGraph.getNode(new EdgeNode(namespace, instance, component));
         } finally {
             readLock.unlock();
         }
@@ -175,7 +245,8 @@ public class ModelManager {
         try {
             Node node = this.getNode(runtime, namespace, instance, component);
             if (node == null) {
-                node = new Node(namespace, instance, component);
+                node = new Node(STRING_INTERNER.intern(namespace), STRING_INTERNER.intern(instance),
+                        STRING_INTERNER.intern(component));
                 this.addNode(runtime, node);
             }
             return node;
@@ -194,9 +265,8 @@ public class ModelManager {
         Lock writeLock = lock.writeLock();
         writeLock.lock();
         try {
+            this.isLocallyUpdated = true;
             this.getOrGenerateDependencyGraph(runtime).addNode(node);
-            Map<String, Node> runtimeNodes = this.nodeCache.computeIfAbsent(runtime, k -> new HashMap<>());
-            runtimeNodes.put(node.getFQN(), node);
         } finally {
             writeLock.unlock();
         }
@@ -212,17 +282,57 @@ public class ModelManager {
         Lock writeLock = lock.writeLock();
         writeLock.lock();
         try {
-            EdgeNode sourceEdgeNode = new EdgeNode(source.getNamespace(), source.getInstance(),
-                    source.getComponent());
-            EdgeNode targetEdgeNode = new EdgeNode(target.getNamespace(), target.getInstance(),
-                    target.getComponent());
-            this.getOrGenerateDependencyGraph(runtime).addEdge(source, target,
-                    new Edge(sourceEdgeNode, targetEdgeNode));
+            this.isLocallyUpdated = true;
+            this.getOrGenerateDependencyGraph(runtime).addEdge(source, target);
         } finally {
             writeLock.unlock();
         }
     }
 
+    /**
+     * Record a request sent along an edge in the dependency graph.
+     * The request is recorded against the current time similar to the stored models.
+     *
+     * @param runtime The runtime to which the edge belongs to
+     * @param source The source node of the edge
+     * @param target The target node of the edge
+     * @param isError True if the request failed
+     * @param responseTimeMilliSec The time taken to respond to the request
+     */
+    public void recordEdgeRequest(String runtime, Node source, Node target, boolean isError,
+                                  double responseTimeMilliSec) {
+        recordEdgeRequest(runtime, source, target, isError, responseTimeMilliSec, System.currentTimeMillis());
+    }
+
+    /**
+     * Record a request sent along an edge in the dependency graph against the bucket of the provided time.
+     *
+     * @param runtime The runtime to which the edge belongs to
+     * @param source The source node of the edge
+     * @param target The target node of the edge
+     * @param isError True if the request failed
+     * @param responseTimeMilliSec The time taken to respond to the request
+     * @param timestamp The time at which the request was sent
+     */
+    void recordEdgeRequest(String runtime, Node source, Node target, boolean isError, double responseTimeMilliSec,
+                           long timestamp) {
+        this.edgeStats.computeIfAbsent(runtime, k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(getEdgeStatsBucketTimestamp(timestamp), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(new Edge(source, target), k -> new EdgeStatsRecorder())
+                .recordRequest(isError, responseTimeMilliSec);
+    }
+
+    /**
+     * Remove the edge statistics buckets older than the retention period.
+     * This is called periodically instead of when recording requests to keep the request recording path cheap.
+     */
+    public void expireEdgeStats() {
+        long edgeStatsRetentionStartTime = getEdgeStatsRetentionStartTime(System.currentTimeMillis());
+        for (ConcurrentNavigableMap<Long, Map<Edge, EdgeStatsRecorder>> runtimeEdgeStats : this.edgeStats.values()) {
+            runtimeEdgeStats.headMap(edgeStatsRetentionStartTime).clear();
+        }
+    }
+
     /**
      * Remove a node from the dependency graph.
      *
@@ -236,20 +346,10 @@ public class ModelManager {
         Lock writeLock = lock.writeLock();
         writeLock.lock();
         try {
-            boolean wasModified = false;
-            MutableNetwork<Node, Edge> dependencyGraph = this.dependencyGraphs.get(runtime);
-            if (dependencyGraph != null) {
-                Node nodeToBeRemoved = null;
-                Map<String, Node> nodeMap = this.nodeCache.get(runtime);
-                if (nodeMap != null) {
-                    nodeToBeRemoved = nodeMap.remove(runtime);
-                }
-                if (nodeToBeRemoved == null) {
-                    nodeToBeRemoved = new Node(namespace, instance, component);
-                }
-                wasModified = dependencyGraph.removeNode(nodeToBeRemoved);
-            }
-            return wasModified;
+            this.isLocallyUpdated = true;
+            DependencyGraph dependencyGraph = this.dependencyGraphs.get(runtime);
+            return dependencyGraph != null
+                    && dependencyGraph.removeNode(new EdgeNode(namespace, instance, component));
         } finally {
             writeLock.unlock();
         }
@@ -265,10 +365,8 @@ public class ModelManager {
         readLock.lock();
         try {
             Map<String, Model> runtimeModels = new HashMap<>();
-            for (Map.Entry<String, MutableNetwork<Node, Edge>> dependencyGraphEntry : dependencyGraphs.entrySet()) {
-                MutableNetwork<Node, Edge> dependencyGraph = dependencyGraphEntry.getValue();
-                runtimeModels.put(dependencyGraphEntry.getKey(),
-                        new Model(dependencyGraph.nodes(), dependencyGraph.edges()));
+            for (Map.Entry<String, DependencyGraph> dependencyGraphEntry : dependencyGraphs.entrySet()) {
+                runtimeModels.put(dependencyGraphEntry.getKey(), dependencyGraphEntry.getValue().toModel());
             }
             return runtimeModels;
         } finally {
@@ -286,8 +384,26 @@ public class ModelManager {
      * @throws GraphStoreException If loading the model failed
      */
     public Model getRuntimeDependencyModel(long startTime, long endTime, String runtime) throws GraphStoreException {
-        List<Model> models = ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtime);
-        return getMergedModel(models);
+        return getModelWithEdgeStats(getCachedRuntimeDependencyModel(startTime, endTime, runtime), startTime,
+                endTime, runtime);
+    }
+
+    /**
+     * Get the dependency model for a particular runtime for a given time period without the edge statistics.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime of which the dependency model should be fetched
+     * @return The union dependency mode
+     * @throws GraphStoreException If loading the model failed
+     */
+    private Model getCachedRuntimeDependencyModel(long startTime, long endTime, String runtime)
+            throws GraphStoreException {
+        return getCachedModel(startTime, endTime, runtime, RUNTIME_SCOPE, (queryStartTime, queryEndTime) -> {
+            List<Model> models = ServiceHolder.getModelStoreManager()
+                    .loadRolledUpModels(queryStartTime, queryEndTime, runtime);
+            return getMergedModel(models);
+        });
     }
 
     /**
@@ -302,14 +418,33 @@ public class ModelManager {
      */
     public Model getNamespaceDependencyModel(long startTime, long endTime, String runtime, String namespace)
             throws GraphStoreException {
-        Model completeModel = this.getRuntimeDependencyModel(startTime, endTime, runtime);
+        Model model = getCachedModel(startTime, endTime, runtime, getNamespaceScope(namespace),
+                (queryStartTime, queryEndTime) -> generateNamespaceDependencyModel(queryStartTime, queryEndTime,
+                        runtime, namespace));
+        return getModelWithEdgeStats(model, startTime, endTime, runtime);
+    }
+
+    /**
+     * Generate the dependency model for a particular namespace for a given time period.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime the namespace belongs to
+     * @param namespace The namespace of which the dependency model should be generated
+     * @return The union dependency mode
+     * @throws GraphStoreException If loading the model failed
+     */
+    private Model generateNamespaceDependencyModel(long startTime, long endTime, String runtime, String namespace)
+            throws GraphStoreException {
+        Model completeModel = this.getCachedRuntimeDependencyModel(startTime, endTime, runtime);
+        ModelIndex completeModelIndex = new ModelIndex(completeModel);
         Model partialModel = new Model(new HashSet<>(), new HashSet<>());
         List<Node> instanceNodes = completeModel.getNodes()
                 .stream()
                 .filter((node) -> Objects.equals(node.getNamespace(), namespace))
                 .collect(Collectors.toList());
         for (Node instanceNode : instanceNodes) {
-            extractPartialModel(completeModel, partialModel, instanceNode,
+            extractPartialModel(completeModelIndex, partialModel, instanceNode,
                     (edge) -> Objects.equals(edge.getSource().getNamespace(), namespace));
         }
         return partialModel;
@@ -328,7 +463,27 @@ public class ModelManager {
      */
     public Model getInstanceDependencyModel(long startTime, long endTime, String runtime, String namespace,
                                             String instance) throws GraphStoreException {
-        Model completeModel = this.getRuntimeDependencyModel(startTime, endTime, runtime);
+        Model model = getCachedModel(startTime, endTime, runtime, getInstanceScope(namespace, instance),
+                (queryStartTime, queryEndTime) -> generateInstanceDependencyModel(queryStartTime, queryEndTime,
+                        runtime, namespace, instance));
+        return getModelWithEdgeStats(model, startTime, endTime, runtime);
+    }
+
+    /**
+     * Generate the dependency model for a particular instance in a namespace for a given time period.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime the namespace belongs to
+     * @param namespace The namespace the instance belongs to
+     * @param instance The instance of which the dependency model should be generated
+     * @return The union dependency mode
+     * @throws GraphStoreException If loading the model failed
+     */
+    private Model generateInstanceDependencyModel(long startTime, long endTime, String runtime, String namespace,
+                                                  String instance) throws GraphStoreException {
+        Model completeModel = this.getCachedRuntimeDependencyModel(startTime, endTime, runtime);
+        ModelIndex completeModelIndex = new ModelIndex(completeModel);
         Model partialModel = new Model(new HashSet<>(), new HashSet<>());
         List<Node> instanceNodes = completeModel.getNodes()
                 .stream()
@@ -336,7 +491,7 @@ public class ModelManager {
                         && Objects.equals(node.getInstance(), instance))
                 .collect(Collectors.toList());
         for (Node instanceNode : instanceNodes) {
-            extractPartialModel(completeModel, partialModel, instanceNode,
+            extractPartialModel(completeModelIndex, partialModel, instanceNode,
                     (edge) -> Objects.equals(edge.getSource().getNamespace(), namespace)
                             && Objects.equals(edge.getSource().getInstance(), instance));
         }
@@ -357,7 +512,28 @@ public class ModelManager {
      */
     public Model getComponentDependencyModel(long startTime, long endTime, String runtime, String namespace,
                                              String instance, String component) throws GraphStoreException {
-        Model completeModel = this.getRuntimeDependencyModel(startTime, endTime, runtime);
+        Model model = getCachedModel(startTime, endTime, runtime, getComponentScope(namespace, instance, component),
+                (queryStartTime, queryEndTime) -> generateComponentDependencyModel(queryStartTime, queryEndTime,
+                        runtime, namespace, instance, component));
+        return getModelWithEdgeStats(model, startTime, endTime, runtime);
+    }
+
+    /**
+     * Generate the dependency model for a particular component in a namespace for a given time period.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime the namespace belongs to
+     * @param namespace The namespace the instance belongs to
+     * @param instance The instance the component belongs to
+     * @param component The component of which the dependency model should be generated
+     * @return The union dependency mode
+     * @throws GraphStoreException If loading the model failed
+     */
+    private Model generateComponentDependencyModel(long startTime, long endTime, String runtime, String namespace,
+                                                   String instance, String component) throws GraphStoreException {
+        Model completeModel = this.getCachedRuntimeDependencyModel(startTime, endTime, runtime);
+        ModelIndex completeModelIndex = new ModelIndex(completeModel);
         Model partialModel = new Model(new HashSet<>(), new HashSet<>());
         Optional<Node> componentNode = completeModel.getNodes()
                 .stream()
@@ -366,39 +542,303 @@ public class ModelManager {
                         && Objects.equals(node.getComponent(), component))
                 .findAny();
         componentNode.ifPresent(node -> extractPartialModel(
-                completeModel, partialModel, node,
+                completeModelIndex, partialModel, node,
                 (edge -> Objects.equals(edge.getSource().getNamespace(), namespace)
                         && Objects.equals(edge.getSource().getInstance(), instance))));
         return partialModel;
     }
 
+    /**
+     * Get the tag identifying the current version of the dependency model of a runtime for a given time period.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime of which the dependency model tag should be fetched
+     * @return The dependency model tag
+     */
+    public String getRuntimeDependencyModelTag(long startTime, long endTime, String runtime) {
+        return getModelTag(startTime, endTime, runtime, RUNTIME_SCOPE);
+    }
+
+    /**
+     * Get the tag identifying the current version of the dependency model of a namespace for a given time period.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime the namespace belongs to
+     * @param namespace The namespace of which the dependency model tag should be fetched
+     * @return The dependency model tag
+     */
+    public String getNamespaceDependencyModelTag(long startTime, long endTime, String runtime, String namespace) {
+        return getModelTag(startTime, endTime, runtime, getNamespaceScope(namespace));
+    }
+
+    /**
+     * Get the tag identifying the current version of the dependency model of an instance for a given time period.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime the namespace belongs to
+     * @param namespace The namespace the instance belongs to
+     * @param instance The instance of which the dependency model tag should be fetched
+     * @return The dependency model tag
+     */
+    public String getInstanceDependencyModelTag(long startTime, long endTime, String runtime, String namespace,
+                                                String instance) {
+        return getModelTag(startTime, endTime, runtime, getInstanceScope(namespace, instance));
+    }
+
+    /**
+     * Get the tag identifying the current version of the dependency model of a component for a given time period.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime the namespace belongs to
+     * @param namespace The namespace the instance belongs to
+     * @param instance The instance the component belongs to
+     * @param component The component of which the dependency model tag should be fetched
+     * @return The dependency model tag
+     */
+    public String getComponentDependencyModelTag(long startTime, long endTime, String runtime, String namespace,
+                                                 String instance, String component) {
+        return getModelTag(startTime, endTime, runtime, getComponentScope(namespace, instance, component));
+    }
+
+    /**
+     * Get the changes in the dependency model of a runtime between two points in time.
+     * Only the models stored at the two points in time are loaded instead of the unions of the time periods. The
+     * points in time should not be earlier than the compacted time periods since the models at these points in time
+     * cannot be reconstructed.
+     *
+     * @param fromTime The point in time from which the changes should be calculated
+     * @param toTime The point in time up to which the changes should be calculated
+     * @param runtime The runtime of which the changes should be calculated
+     * @param namespace The namespace to which the changes should be limited or null to get all the changes in
+     *                  the runtime
+     * @return The nodes and edges added and removed between the two points in time
+     * @throws GraphStoreException If loading the models failed
+     * @throws ModelNotRetainedException If the models stored at either of the points in time were compacted
+     */
+    public ModelDiff getDependencyModelDiff(long fromTime, long toTime, String runtime, String namespace)
+            throws GraphStoreException, ModelNotRetainedException {
+        long retainedModelsStartTime = ServiceHolder.getModelStoreManager().getRetainedModelsStartTime(runtime);
+        if (Math.min(fromTime, toTime) < retainedModelsStartTime) {
+            throw new ModelNotRetainedException("The dependency models of runtime " + runtime + " stored before "
+                    + retainedModelsStartTime + " were compacted", retainedModelsStartTime);
+        }
+        Model fromModel = ServiceHolder.getModelStoreManager().loadModel(fromTime, runtime);
+        Model toModel = ServiceHolder.getModelStoreManager().loadModel(toTime, runtime);
+        Predicate<EdgeNode> nodeFilter = (node) -> namespace == null
+                || Objects.equals(node.getNamespace(), namespace);
+        Predicate<Edge> edgeFilter = (edge) -> nodeFilter.test(edge.getSource()) || nodeFilter.test(edge.getTarget());
+
+        Model addedModel = new Model(
+                toModel.getNodes().stream()
+                        .filter(node -> nodeFilter.test(node) && !fromModel.getNodes().contains(node))
+                        .collect(Collectors.toSet()),
+                toModel.getEdges().stream()
+                        .filter(edge -> edgeFilter.test(edge) && !fromModel.getEdges().contains(edge))
+                        .collect(Collectors.toSet()));
+        Model removedModel = new Model(
+                fromModel.getNodes().stream()
+                        .filter(node -> nodeFilter.test(node) && !toModel.getNodes().contains(node))
+                        .collect(Collectors.toSet()),
+                fromModel.getEdges().stream()
+                        .filter(edge -> edgeFilter.test(edge) && !toModel.getEdges().contains(edge))
+                        .collect(Collectors.toSet()));
+        return new ModelDiff(addedModel, removedModel);
+    }
+
     /**
      * Extract a partial model from the complete model.
+     * The complete model is traversed breadth first starting from the start node.
      *
-     * @param completeModel The complete model from which the partial model should be extracted
+     * @param completeModelIndex The index of the complete model from which the partial model should be extracted
      * @param partialModel The partial model object which should be populated
-     * @param startNode The node to start the DFS from
+     * @param startNode The node to start the BFS from
      * @param edgeTraversePredicate Predicate indicating a particular edge should be traversed in a search
      */
-    private void extractPartialModel(Model completeModel, Model partialModel, EdgeNode startNode,
+    private void extractPartialModel(ModelIndex completeModelIndex, Model partialModel, EdgeNode startNode,
                                      Predicate<Edge> edgeTraversePredicate) {
-        Optional<Node> actualStartNode = completeModel.getNodes()
-                .stream()
-                .filter((node) -> Objects.equals(node, startNode))
-                .findAny();
-        if (actualStartNode.isPresent() && !partialModel.getNodes().contains(actualStartNode.get())) {  // Avoid loops
-            partialModel.getNodes().add(actualStartNode.get());
-            for (Edge edge : completeModel.getEdges()) {
-                if (Objects.equals(edge.getSource(), startNode)) {
+        Queue<EdgeNode> pendingNodes = new ArrayDeque<>();
+        pendingNodes.add(startNode);
+        while (!pendingNodes.isEmpty()) {
+            EdgeNode currentNode = pendingNodes.poll();
+            Node actualNode = completeModelIndex.getNode(currentNode);
+            if (actualNode != null && partialModel.getNodes().add(actualNode)) {  // Avoid loops
+                for (Edge edge : completeModelIndex.getOutgoingEdges(currentNode)) {
                     if (edgeTraversePredicate.test(edge)) {
                         partialModel.getEdges().add(edge);
-                        extractPartialModel(completeModel, partialModel, edge.getTarget(), edgeTraversePredicate);
+                        pendingNodes.add(edge.getTarget());
                     }
                 }
             }
         }
     }
 
+    /**
+     * Get a dependency model from the cache, generating and caching the model if it is not available.
+     * The time period is widened to the cache buckets before generating the model. Models of time periods ending
+     * in the past only change when the stored models of the past are rewritten and are cached for longer, while
+     * models of time periods which are not yet closed are regenerated whenever the stored models are updated.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime of which the dependency model should be fetched
+     * @param scope The scope of the dependency model within the runtime
+     * @param modelGenerator The generator to be used for generating the model if it is not cached
+     * @return The dependency model which should not be modified
+     * @throws GraphStoreException If loading the model failed
+     */
+    private Model getCachedModel(long startTime, long endTime, String runtime, String scope,
+                                 ModelGenerator modelGenerator) throws GraphStoreException {
+        long queryStartTime = getQueryStartTime(startTime);
+        long queryEndTime = getQueryEndTime(endTime);
+        ModelCacheKey cacheKey = new ModelCacheKey(runtime, scope, queryStartTime, queryEndTime);
+
+        String storeGeneration = ServiceHolder.getModelStoreManager().getStoreGeneration();
+        CachedModel cachedModel = this.closedRangeModelCache.getIfPresent(cacheKey);
+        if (cachedModel != null && Objects.equals(cachedModel.storeGeneration, storeGeneration)) {
+            return cachedModel.model;
+        }
+        long modelVersion = ServiceHolder.getModelStoreManager().getModelVersion();
+        cachedModel = this.openRangeModelCache.getIfPresent(cacheKey);
+        if (cachedModel != null && cachedModel.modelVersion == modelVersion) {
+            return cachedModel.model;
+        }
+
+        // Models are stored with the current time and therefore time periods ending in the past are closed
+        boolean isClosedRange = queryEndTime < System.currentTimeMillis();
+        Model model = modelGenerator.generate(queryStartTime, queryEndTime);
+        if (isClosedRange) {
+            this.closedRangeModelCache.put(cacheKey, new CachedModel(model, modelVersion, storeGeneration));
+            this.openRangeModelCache.invalidate(cacheKey);
+        } else {
+            this.openRangeModelCache.put(cacheKey, new CachedModel(model, modelVersion, storeGeneration));
+        }
+        return model;
+    }
+
+    /**
+     * Get the tag identifying the version of a dependency model without generating the model.
+     * The tag of a recent time period changes whenever the stored models are updated or the window of closed edge
+     * statistics buckets served for it moves, which happens at most once per bucket. Time periods which ended before
+     * the edge statistics retention period are not updated anymore and their tags only change when the stored models
+     * of the past are rewritten.
+     *
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime of which the dependency model tag should be fetched
+     * @param scope The scope of the dependency model within the runtime
+     * @return The dependency model tag
+     */
+    private String getModelTag(long startTime, long endTime, String runtime, String scope) {
+        long queryStartTime = getQueryStartTime(startTime);
+        long queryEndTime = getQueryEndTime(endTime);
+        long currentTime = System.currentTimeMillis();
+        long edgeStatsRetentionStartTime = getEdgeStatsRetentionStartTime(currentTime);
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        String rangeVersion = queryEndTime < edgeStatsRetentionStartTime
+                ? "closed"
+                : Long.toHexString(modelStoreManager.getModelVersion()) + "."
+                + Long.toHexString(Math.max(queryStartTime, edgeStatsRetentionStartTime)) + "."
+                + Long.toHexString(Math.min(queryEndTime, getEdgeStatsBucketTimestamp(currentTime) - 1));
+        return this.modelTagPrefix + "-" + rangeVersion + "-" + modelStoreManager.getStoreGeneration() + "-"
+                + Integer.toHexString(Objects.hash(runtime, scope, queryStartTime, queryEndTime));
+    }
+
+    /**
+     * Get a copy of a dependency model with the statistics of the requests sent along the edges in a time period.
+     * The time period is widened to the cache buckets similar to the model. Only the closed buckets are considered
+     * so that the statistics of a time period change at most once per bucket. The buckets older than the retention
+     * period are not considered even if they are not yet removed.
+     *
+     * @param model The dependency model to which the statistics should be added
+     * @param startTime The start time of the time period
+     * @param endTime The end time of the time period
+     * @param runtime The runtime the dependency model belongs to
+     * @return The dependency model with the edge statistics or the same model if no statistics are available
+     */
+    private Model getModelWithEdgeStats(Model model, long startTime, long endTime, String runtime) {
+        Map<Edge, EdgeStats> rangeEdgeStats = new HashMap<>();
+        NavigableMap<Long, Map<Edge, EdgeStatsRecorder>> runtimeEdgeStats = this.edgeStats.get(runtime);
+        long currentTime = System.currentTimeMillis();
+        long bucketsStartTime = Math.max(getQueryStartTime(startTime), getEdgeStatsRetentionStartTime(currentTime));
+        long bucketsEndTime = Math.min(getQueryEndTime(endTime), getEdgeStatsBucketTimestamp(currentTime) - 1);
+        if (runtimeEdgeStats != null && bucketsStartTime <= bucketsEndTime) {
+            Collection<Map<Edge, EdgeStatsRecorder>> buckets = runtimeEdgeStats.subMap(bucketsStartTime, true,
+                    bucketsEndTime, true).values();
+            for (Map<Edge, EdgeStatsRecorder> bucket : buckets) {
+                for (Map.Entry<Edge, EdgeStatsRecorder> edgeStatsEntry : bucket.entrySet()) {
+                    rangeEdgeStats.computeIfAbsent(edgeStatsEntry.getKey(), k -> new EdgeStats())
+                            .add(edgeStatsEntry.getValue().getEdgeStats());
+                }
+            }
+        }
+
+        if (rangeEdgeStats.isEmpty()) {
+            return model;
+        }
+        Set<Edge> edges = new HashSet<>();
+        for (Edge edge : model.getEdges()) {
+            EdgeStats stats = rangeEdgeStats.get(edge);
+            edges.add(stats == null ? edge : new Edge(edge.getSource(), edge.getTarget(), stats));
+        }
+        return new Model(model.getNodes(), edges);
+    }
+
+    /**
+     * Get the start time of the first edge statistics bucket within the retention period.
+     *
+     * @param currentTime The current time
+     * @return The start time of the first retained bucket
+     */
+    private static long getEdgeStatsRetentionStartTime(long currentTime) {
+        return getEdgeStatsBucketTimestamp(currentTime) - EDGE_STATS_RETENTION + EDGE_STATS_BUCKET_SIZE;
+    }
+
+    /**
+     * Get the start time of the edge statistics bucket to which a time belongs to.
+     *
+     * @param timestamp The time of which the bucket should be fetched
+     * @return The start time of the bucket
+     */
+    private static long getEdgeStatsBucketTimestamp(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, EDGE_STATS_BUCKET_SIZE);
+    }
+
+    /**
+     * Get the start time of the cache bucket the start time of a query falls into.
+     *
+     * @param startTime The start time of the time period
+     * @return The widened start time
+     */
+    private static long getQueryStartTime(long startTime) {
+        return startTime - Math.floorMod(startTime, MODEL_CACHE_BUCKET_SIZE);
+    }
+
+    /**
+     * Get the end time of the cache bucket the end time of a query falls into.
+     *
+     * @param endTime The end time of the time period
+     * @return The widened end time
+     */
+    private static long getQueryEndTime(long endTime) {
+        return endTime - Math.floorMod(endTime, MODEL_CACHE_BUCKET_SIZE) + MODEL_CACHE_BUCKET_SIZE - 1;
+    }
+
+    private static String getNamespaceScope(String namespace) {
+        return NAMESPACE_SCOPE + ":" + namespace;
+    }
+
+    private static String getInstanceScope(String namespace, String instance) {
+        return INSTANCE_SCOPE + ":" + Model.getNodeFQN(namespace, instance, "");
+    }
+
+    private static String getComponentScope(String namespace, String instance, String component) {
+        return COMPONENT_SCOPE + ":" + Model.getNodeFQN(namespace, instance, component);
+    }
+
     /**
      * Ge the merged model of multiple models.
      *
@@ -414,4 +854,91 @@ public class ModelManager {
         }
         return new Model(mergedNodesSet, mergedEdgesSet);
     }
+
+    /**
+     * Generator of dependency models for a time period.
+     */
+    private interface ModelGenerator {
+
+        /**
+         * Generate the dependency model for a time period.
+         *
+         * @param startTime The start time of the time period
+         * @param endTime The end time of the time period
+         * @return The generated dependency model
+         * @throws GraphStoreException If loading the model failed
+         */
+        Model generate(long startTime, long endTime) throws GraphStoreException;
+    }
+
+    /**
+     * Key identifying a cached dependency model.
+     */
+    private static class ModelCacheKey {
+        private final String runtime;
+        private final String scope;
+        private final long startTime;
+        private final long endTime;
+
+        ModelCacheKey(String runtime, String scope, long startTime, long endTime) {
+            this.runtime = runtime;
+            this.scope = scope;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        public boolean equals(Object anotherObject) {
+            boolean equals;
+            if (anotherObject instanceof ModelCacheKey) {
+                ModelCacheKey anotherKey = (ModelCacheKey) anotherObject;
+                equals = Objects.equals(this.runtime, anotherKey.runtime)
+                        && Objects.equals(this.scope, anotherKey.scope)
+                        && this.startTime == anotherKey.startTime
+                        && this.endTime == anotherKey.endTime;
+            } else {
+                equals = false;
+            }
+            return equals;
+        }
+
+        public int hashCode() {
+            return Objects.hash(this.runtime, this.scope, this.startTime, this.endTime);
+        }
+    }
+
+    /**
+     * Statistics of the requests sent along an edge within a bucket which can be recorded concurrently.
+     */
+    private static class EdgeStatsRecorder {
+        private final LongAdder requestCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final DoubleAdder totalResponseTimeMilliSec = new DoubleAdder();
+
+        void recordRequest(boolean isError, double responseTimeMilliSec) {
+            this.requestCount.increment();
+            if (isError) {
+                this.errorCount.increment();
+            }
+            this.totalResponseTimeMilliSec.add(responseTimeMilliSec);
+        }
+
+        EdgeStats getEdgeStats() {
+            return new EdgeStats(this.requestCount.sum(), this.errorCount.sum(), this.totalResponseTimeMilliSec.sum());
+        }
+    }
+
+    /**
+     * Dependency model cached along with the version and the generation of the stored models it was generated from.
+     */
+    private static class CachedModel {
+        private final Model model;
+        private final long modelVersion;
+        private final String storeGeneration;
+
+        CachedModel(Model model, long modelVersion, String storeGeneration) {
+            this.model = model;
+            this.modelVersion = modelVersion;
+            this.storeGeneration = storeGeneration;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import io.cellery.observability.model.generator.internal.ModelStoreManager;
 import io.cellery.observability.model.generator.internal.ServiceHolder;
 import io.cellery.observability.model.generator.model.Edge;
 import io.cellery.observability.model.generator.model.EdgeNode;
+import io.cellery.observability.model.generator.model.EdgeStats;
 import io.cellery.observability.model.generator.model.Model;
 import io.cellery.observability.model.generator.model.ModelManager;
 import io.cellery.observability.model.generator.model.Node;
@@ -50,6 +51,7 @@ import java.io.File;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -924,6 +926,33 @@ public class ModelAddEdgeStreamProcessorTestCase {
         Assert.assertEquals(model.getEdges().size(), 0);
     }
 
+    @Test
+    public void testEdgeStats() throws Exception {
+        initializeSiddhiAppRuntime(true);
+        String runtime = "test-runtime";
+        String namespace = "test-namespace";
+        Node gatewayNode = new Node(namespace, "stats-instance", "gateway");
+        Node componentANode = new Node(namespace, "stats-instance", "component-a");
+        Node componentBNode = new Node(namespace, "stats-instance", "component-b");
+
+        long startTime = System.currentTimeMillis() - 100;
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(INPUT_STREAM);
+        publishEvent(inputHandler, runtime, gatewayNode, componentANode, "2xx", 12.5);
+        publishEvent(inputHandler, runtime, gatewayNode, componentANode, "5xx", 100.0);
+        publishEvent(inputHandler, runtime, gatewayNode, componentANode, "4xx", 7.5);
+        publishEvent(inputHandler, runtime, componentANode, componentBNode, "2xx", 20.0);
+        long endTime = System.currentTimeMillis() + 100;
+
+        Model model = ServiceHolder.getModelManager().getRuntimeDependencyModel(startTime, endTime, runtime);
+        Map<Edge, EdgeStats> edgeStats = new HashMap<>();
+        for (Edge edge : model.getEdges()) {
+            edgeStats.put(edge, edge.getStats());
+        }
+        Assert.assertEquals(edgeStats.size(), 2);
+        Assert.assertEquals(edgeStats.get(generateEdge(gatewayNode, componentANode)), new EdgeStats(3, 1, 120));
+        Assert.assertEquals(edgeStats.get(generateEdge(componentANode, componentBNode)), new EdgeStats(1, 0, 20));
+    }
+
     @Test(expectedExceptions = SiddhiAppCreationException.class)
     public void testInvalidParamCount() {
         testParams("sourceNamespace, sourceInstance, sourceComponent, sourceInstanceKind, " +
@@ -978,6 +1007,20 @@ public class ModelAddEdgeStreamProcessorTestCase {
                 "destinationNamespace, destinationInstance, destinationComponent, invalidValue");
     }
 
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidHttpResponseGroupParamType() {
+        testParams("sourceNamespace, sourceInstance, sourceComponent, sourceInstanceKind, destinationNamespace, " +
+                "destinationInstance, destinationComponent, destinationInstanceKind, invalidValue, sourceNamespace, " +
+                "responseTimeMilliSec");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidResponseTimeParamType() {
+        testParams("sourceNamespace, sourceInstance, sourceComponent, sourceInstanceKind, destinationNamespace, " +
+                "destinationInstance, destinationComponent, destinationInstanceKind, sourceNamespace, " +
+                "httpResponseGroup, invalidValue");
+    }
+
     @Test
     public void testPersistence() throws Exception {
         initializeSiddhiAppRuntime();
@@ -995,7 +1038,8 @@ public class ModelAddEdgeStreamProcessorTestCase {
     private void testParams(String params) {
         String streamDefinitionAttributes = "sourceNamespace string, sourceInstance string, sourceComponent string, " +
                 "sourceInstanceKind string, destinationNamespace string, destinationInstance string, " +
-                "destinationComponent string, destinationInstanceKind string, invalidValue int";
+                "destinationComponent string, destinationInstanceKind string, httpResponseGroup string, " +
+                "responseTimeMilliSec double, invalidValue int";
         String inStreamDefinition = "define stream inputStream(" + streamDefinitionAttributes + ");";
         String outStreamDefinition = "define stream outputStream(" + streamDefinitionAttributes + ");";
         String query = "@info(name = \"query\")\n" +
@@ -1024,6 +1068,25 @@ public class ModelAddEdgeStreamProcessorTestCase {
                 destinationNode.getInstance(), destinationNode.getComponent(), destinationNode.getInstanceKind()});
     }
 
+    /**
+     * Publish an event from a source node to a destination node along with the request statistics.
+     *
+     * @param inputHandler Siddhi input handler to use
+     * @param runtime The runtime the source and destination nodes belongs to
+     * @param sourceNode The source node of the request
+     * @param destinationNode The destintaion node of the request
+     * @param httpResponseGroup The HTTP response group of the request
+     * @param responseTimeMilliSec The response time of the request
+     * @throws Exception If input handler throws an exception
+     */
+    private void publishEvent(InputHandler inputHandler, String runtime, Node sourceNode, Node destinationNode,
+                              String httpResponseGroup, double responseTimeMilliSec) throws Exception {
+        inputHandler.send(new Object[]{runtime, sourceNode.getNamespace(), sourceNode.getInstance(),
+                sourceNode.getComponent(), sourceNode.getInstanceKind(), destinationNode.getNamespace(),
+                destinationNode.getInstance(), destinationNode.getComponent(), destinationNode.getInstanceKind(),
+                httpResponseGroup, responseTimeMilliSec});
+    }
+
     /**
      * Generate set from items.
      *
@@ -1053,15 +1116,26 @@ public class ModelAddEdgeStreamProcessorTestCase {
      * Initialize the Siddhi App Runtime.
      */
     private void initializeSiddhiAppRuntime() {
+        initializeSiddhiAppRuntime(false);
+    }
+
+    /**
+     * Initialize the Siddhi App Runtime.
+     *
+     * @param withEdgeStats True if the request statistics should be passed to the extension
+     */
+    private void initializeSiddhiAppRuntime(boolean withEdgeStats) {
         String streamDefinitionAttributes = "runtime string, sourceNamespace string, sourceInstance string, " +
                 "sourceComponent string, sourceInstanceKind string, destinationNamespace string, " +
-                "destinationInstance string, destinationComponent string, destinationInstanceKind string";
+                "destinationInstance string, destinationComponent string, destinationInstanceKind string" +
+                (withEdgeStats ? ", httpResponseGroup string, responseTimeMilliSec double" : "");
         String inStreamDefinition = "define stream inputStream(" + streamDefinitionAttributes + ");";
         String outStreamDefinition = "define stream outputStream(" + streamDefinitionAttributes + ");";
         String query = "@info(name = \"query\")\n" +
                 "from inputStream#model:addEdge(runtime, sourceNamespace, sourceInstance, sourceComponent, " +
                 "sourceInstanceKind, destinationNamespace, destinationInstance, destinationComponent, " +
-                "destinationInstanceKind)\n" +
+                "destinationInstanceKind" + (withEdgeStats ? ", httpResponseGroup, responseTimeMilliSec" : "") +
+                ")\n" +
                 "select *\n" +
                 "insert into outputStream;";
         SiddhiManager siddhiManager = new SiddhiManager();
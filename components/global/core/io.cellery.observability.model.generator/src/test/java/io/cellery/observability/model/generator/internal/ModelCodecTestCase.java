@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.model.generator.internal;
+
+import com.google.gson.Gson;
+import io.cellery.observability.model.generator.exception.GraphStoreException;
+import io.cellery.observability.model.generator.model.Edge;
+import io.cellery.observability.model.generator.model.EdgeNode;
+import io.cellery.observability.model.generator.model.Model;
+import io.cellery.observability.model.generator.model.Node;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Model Codec test cases.
+ */
+public class ModelCodecTestCase {
+    private static final Gson gson = new Gson();
+
+    @Test
+    public void testEncodeAndDecode() throws Exception {
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, new EdgeNode("namespace-b", "instance-d", "component-b"));
+
+        Model model = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                new HashSet<>(Arrays.asList(edgeA, edgeB)));
+        List<Model> decodedModels = ModelCodec.decode(ModelCodec.encode(model));
+        Assert.assertEquals(decodedModels.size(), 1);
+        Model decodedModel = decodedModels.get(0);
+        Assert.assertEquals(decodedModel, model);
+        for (Node node : decodedModel.getNodes()) {
+            if (node.equals(nodeA)) {
+                Assert.assertEquals(node.getInstanceKind(), "Cell");
+            } else if (node.equals(nodeB)) {
+                Assert.assertEquals(node.getInstanceKind(), "Composite");
+            } else {
+                Assert.assertNull(node.getInstanceKind());
+            }
+        }
+    }
+
+    @Test
+    public void testEncodeAndDecodeMultipleModels() throws Exception {
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+
+        Model modelA = new Model(new HashSet<>(Collections.singletonList(nodeA)),
+                new HashSet<>(Collections.singletonList(new Edge(nodeA, nodeB))));
+        Model modelB = new Model(new HashSet<>(Collections.singletonList(nodeB)), new HashSet<>());
+        Model modelC = new Model(new HashSet<>(), new HashSet<>());
+        List<Model> decodedModels = ModelCodec.decode(ModelCodec.encode(modelA, modelB, modelC));
+        Assert.assertEquals(decodedModels, Arrays.asList(modelA, modelB, modelC));
+    }
+
+    @Test
+    public void testEncodeAndDecodeLargeModel() throws Exception {
+        Set<Node> nodes = new HashSet<>();
+        Set<Edge> edges = new HashSet<>();
+        Node previousNode = null;
+        for (int i = 0; i < 500; i++) {
+            Node node = new Node("namespace-" + (i % 5), "instance-" + (i % 50), "component-" + i);
+            node.setInstanceKind(i % 2 == 0 ? "Cell" : "Composite");
+            nodes.add(node);
+            if (previousNode != null) {
+                edges.add(new Edge(previousNode, node));
+            }
+            previousNode = node;
+        }
+        Model model = new Model(nodes, edges);
+
+        byte[] encodedModel = ModelCodec.encode(model);
+        Assert.assertEquals(encodedModel[0], 2);
+        Assert.assertTrue(encodedModel.length * 10 < gson.toJson(nodes).length() + gson.toJson(edges).length());
+        Assert.assertEquals(ModelCodec.decode(encodedModel).get(0), model);
+    }
+
+    @Test(expectedExceptions = GraphStoreException.class)
+    public void testDecodeUnknownFormat() throws Exception {
+        ModelCodec.decode(new byte[]{9, 0, 0, 0});
+    }
+
+    @Test(expectedExceptions = GraphStoreException.class)
+    public void testDecodeEmptyContent() throws Exception {
+        ModelCodec.decode(new byte[0]);
+    }
+
+    @Test(expectedExceptions = GraphStoreException.class)
+    public void testDecodeTruncatedContent() throws Exception {
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        byte[] encodedModel = ModelCodec.encode(new Model(new HashSet<>(Collections.singletonList(nodeA)),
+                new HashSet<>()));
+        ModelCodec.decode(Arrays.copyOf(encodedModel, encodedModel.length - 3));
+    }
+}
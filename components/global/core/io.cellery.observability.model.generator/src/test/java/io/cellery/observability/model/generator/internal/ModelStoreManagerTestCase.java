@@ -20,11 +20,14 @@ package io.cellery.observability.model.generator.internal;
 
 import com.google.gson.Gson;
 import io.cellery.observability.model.generator.exception.GraphStoreException;
+import io.cellery.observability.model.generator.exception.ModelNotRetainedException;
 import io.cellery.observability.model.generator.model.Edge;
 import io.cellery.observability.model.generator.model.Model;
+import io.cellery.observability.model.generator.model.ModelDiff;
 import io.cellery.observability.model.generator.model.ModelManager;
 import io.cellery.observability.model.generator.model.Node;
 import javafx.util.Pair;
+import org.h2.jdbcx.JdbcDataSource;
 import org.mockito.Mockito;
 import org.powermock.reflect.Whitebox;
 import org.testng.Assert;
@@ -36,14 +39,18 @@ import org.wso2.carbon.datasource.core.exception.DataSourceException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 
 /**
@@ -56,6 +63,7 @@ public class ModelStoreManagerTestCase {
     @AfterMethod
     public void cleanUp() {
         ServiceHolder.setDataSourceService(null);
+        ServiceHolder.setModelStoreManager(null);
     }
 
     @Test
@@ -76,9 +84,12 @@ public class ModelStoreManagerTestCase {
                 new HashSet<>(Collections.singletonList(edgeA)));
         Model runtimeBModel = new Model(new HashSet<>(Arrays.asList(nodeC, nodeD)),
                 new HashSet<>(Collections.singletonList(edgeB)));
-        DataSource dataSource = mockDataSourceLoadLastModels(Arrays.asList(new Pair<>("runtime-a",
-                runtimeAModel), new Pair<>("runtime-b", runtimeBModel)));
+        DataSource dataSource = createInMemoryDataSource();
         mockDataSourceService(dataSource);
+        Map<String, Model> runtimeModels = new HashMap<>();
+        runtimeModels.put("runtime-a", runtimeAModel);
+        runtimeModels.put("runtime-b", runtimeBModel);
+        new ModelStoreManager().storeModel(runtimeModels);
 
         ModelStoreManager modelStoreManager = new ModelStoreManager();
         Map<String, Model> lastModels = Whitebox.getInternalState(modelStoreManager, "lastModels");
@@ -90,6 +101,172 @@ public class ModelStoreManagerTestCase {
         Assert.assertNotNull(Whitebox.getInternalState(modelStoreManager, "dataSource"));
     }
 
+    @Test
+    public void testInitializationWithStoredDeltas() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        ModelStoreManager initialModelStoreManager = new ModelStoreManager();
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime,
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                        new HashSet<>(Collections.singletonList(edgeA)))));
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime,
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                        new HashSet<>(Arrays.asList(edgeA, edgeB)))));
+        Model lastModel = new Model(new HashSet<>(Arrays.asList(nodeA, nodeC)),
+                new HashSet<>(Collections.singletonList(edgeB)));
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime, lastModel));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelTable"), 1);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 2);
+
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        Map<String, Model> lastModels = Whitebox.getInternalState(modelStoreManager, "lastModels");
+        Assert.assertNotNull(lastModels);
+        Assert.assertEquals(lastModels.size(), 1);
+        Assert.assertEquals(lastModels.get(runtime), lastModel);
+        Map<String, Integer> deltaCounts = Whitebox.getInternalState(modelStoreManager, "deltaCounts");
+        Assert.assertEquals(deltaCounts.get(runtime), Integer.valueOf(2));
+    }
+
+    @Test
+    public void testInitializationFromLatestModels() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("CREATE TABLE DependencyModelLatestTable (RUNTIME VARCHAR(255) NOT NULL " +
+                    "PRIMARY KEY, MODEL_TIMESTAMP TIMESTAMP NOT NULL, DELTA_COUNT INTEGER NOT NULL, " +
+                    "MODEL BLOB NOT NULL)").execute();
+        }
+        ModelStoreManager initialModelStoreManager = new ModelStoreManager();
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime,
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                        new HashSet<>(Collections.singletonList(edgeA)))));
+        long checkpointTimestamp = loadLatestModelTimestamp(dataSource, runtime);
+        Model lastModel = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                new HashSet<>(Arrays.asList(edgeA, edgeB)));
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime, lastModel));
+
+        // The latest table only points to the latest checkpoint and is not updated with the full models
+        Assert.assertEquals(countRows(dataSource, "DependencyModelLatestTable"), 1);
+        Assert.assertEquals(loadLatestModelTimestamp(dataSource, runtime), checkpointTimestamp);
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.prepareStatement("SELECT * FROM DependencyModelLatestTable")
+                     .executeQuery()) {
+            Assert.assertEquals(resultSet.getMetaData().getColumnCount(), 3);
+            resultSet.next();
+            Assert.assertEquals(resultSet.getInt("DELTA_COUNT"), 1);
+        }
+
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        Map<String, Model> lastModels = modelStoreManager.getLastModels();
+        Assert.assertNotNull(lastModels);
+        Assert.assertEquals(lastModels.size(), 1);
+        Assert.assertEquals(lastModels.get(runtime), lastModel);
+        Map<String, Integer> deltaCounts = Whitebox.getInternalState(modelStoreManager, "deltaCounts");
+        Assert.assertEquals(deltaCounts.get(runtime), Integer.valueOf(1));
+    }
+
+    @Test
+    public void testInitializationWithoutLatestModels() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        ModelStoreManager initialModelStoreManager = new ModelStoreManager();
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime,
+                new Model(new HashSet<>(Collections.singletonList(nodeA)), new HashSet<>())));
+        Model lastModel = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(edgeA)));
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime, lastModel));
+        long checkpointTimestamp = loadLatestModelTimestamp(dataSource, runtime);
+        long lastModelTimestamp = Whitebox.getInternalState(initialModelStoreManager, "lastStoredTimestamp");
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("DELETE FROM DependencyModelLatestTable").executeUpdate();
+        }
+        Thread.sleep(10);
+
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        Assert.assertEquals(modelStoreManager.getLastModels(), Collections.singletonMap(runtime, lastModel));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelLatestTable"), 1);
+        Map<String, Integer> deltaCounts = Whitebox.getInternalState(modelStoreManager, "deltaCounts");
+        Assert.assertEquals(deltaCounts.get(runtime), Integer.valueOf(1));
+        // The latest table is populated with the latest checkpoint instead of the current time
+        Assert.assertEquals(loadLatestModelTimestamp(dataSource, runtime), checkpointTimestamp);
+        Assert.assertEquals((long) Whitebox.getInternalState(modelStoreManager, "lastStoredTimestamp"),
+                lastModelTimestamp);
+    }
+
+    @Test
+    public void testInitializationWithJsonModels() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+
+        DataSource dataSource = createInMemoryDataSource();
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement createStatement = connection.prepareStatement("CREATE TABLE DependencyModelTable " +
+                    "(RUNTIME VARCHAR(255) NOT NULL, MODEL_TIMESTAMP TIMESTAMP NOT NULL, NODES TEXT NOT NULL, " +
+                    "EDGES TEXT NOT NULL)");
+            createStatement.execute();
+            PreparedStatement insertStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelTable VALUES (?, ?, ?, ?)");
+            insertStatement.setString(1, runtime);
+            insertStatement.setTimestamp(2, new Timestamp(System.currentTimeMillis() - 1000));
+            insertStatement.setString(3, gson.toJson(Arrays.asList(nodeA, nodeB)));
+            insertStatement.setString(4, gson.toJson(Collections.singletonList(edgeA)));
+            insertStatement.execute();
+        }
+        mockDataSourceService(dataSource);
+
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        Model jsonModel = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(edgeA)));
+        Map<String, Model> lastModels = Whitebox.getInternalState(modelStoreManager, "lastModels");
+        Assert.assertEquals(lastModels.get(runtime), jsonModel);
+
+        Model model = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                new HashSet<>(Arrays.asList(edgeA, edgeB)));
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, model));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 1);
+        Assert.assertEquals(modelStoreManager.loadModels(0, System.currentTimeMillis() + 1000, runtime),
+                Arrays.asList(jsonModel, model));
+        Assert.assertEquals(new ModelStoreManager().loadLastModels().get(runtime), model);
+    }
+
     @Test
     public void testInitializationWithNoSavedModel() throws Exception {
         DataSource dataSource = mockDataSourceLoadLastModels(Collections.emptyList());
@@ -139,8 +316,12 @@ public class ModelStoreManagerTestCase {
 
     @Test
     public void testInitializationWithLoadLastModelThrowingException() throws Exception {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        ResultSetMetaData resultSetMetaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+
         PreparedStatement statement = Mockito.mock(PreparedStatement.class);
-        Mockito.when(statement.executeQuery()).thenReturn(Mockito.mock(ResultSet.class));
+        Mockito.when(statement.executeQuery()).thenReturn(resultSet);
 
         Connection connection = Mockito.mock(Connection.class);
         Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
@@ -149,7 +330,7 @@ public class ModelStoreManagerTestCase {
         final int[] invocationCount = {0};
         Mockito.when(dataSource.getConnection()).then(invocationOnMock -> {
             invocationCount[0]++;
-            if (invocationCount[0] == 2) {  // Second call loads the model
+            if (invocationCount[0] == 3) {  // Third call loads the model
                 throw new SQLException("Test Exception");
             }
             return connection;
@@ -166,39 +347,399 @@ public class ModelStoreManagerTestCase {
 
     @Test
     public void testLoadModel() throws Exception {
-        ModelStoreManager modelStoreManager;
-        {
-            DataSource dataSource = mockDataSourceLoadLastModels(Collections.emptyList());
-            mockDataSourceService(dataSource);
-            modelStoreManager = new ModelStoreManager();
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
 
-            Assert.assertNull(Whitebox.getInternalState(modelStoreManager, "lastModels"));
-            Assert.assertNotNull(Whitebox.getInternalState(modelStoreManager, "dataSource"));
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+
+        Model modelA = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(edgeA)));
+        Model modelB = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                new HashSet<>(Arrays.asList(edgeA, edgeB)));
+        Model modelC = new Model(new HashSet<>(Arrays.asList(nodeA, nodeC)),
+                new HashSet<>(Collections.singletonList(edgeB)));
+
+        mockDataSourceService(createInMemoryDataSource());
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        long startTime = System.currentTimeMillis();
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelA));
+        modelStoreManager.storeModel(Collections.singletonMap("runtime-b", modelC));
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelB));
+        Thread.sleep(10);
+        long midTime = System.currentTimeMillis();
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelC));
+        long endTime = System.currentTimeMillis() + 10;
+
+        List<Model> models = modelStoreManager.loadModels(startTime, endTime, runtime);
+        Assert.assertEquals(models.size(), 3);
+        Assert.assertEquals(models.get(0), modelA);
+        Assert.assertEquals(models.get(1), modelB);
+        Assert.assertEquals(models.get(2), modelC);
+
+        List<Model> laterModels = modelStoreManager.loadModels(midTime, endTime, runtime);
+        Assert.assertEquals(laterModels.size(), 1);
+        Assert.assertEquals(laterModels.get(0), modelC);
+
+        List<Model> otherRuntimeModels = modelStoreManager.loadModels(startTime, endTime, "runtime-b");
+        Assert.assertEquals(otherRuntimeModels.size(), 1);
+        Assert.assertEquals(otherRuntimeModels.get(0), modelC);
+
+        Assert.assertEquals(modelStoreManager.loadModels(startTime, endTime, "runtime-c").size(), 0);
+    }
+
+    @Test
+    public void testLoadModelAtTime() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+
+        Model modelA = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(edgeA)));
+        Model modelB = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                new HashSet<>(Arrays.asList(edgeA, edgeB)));
+
+        mockDataSourceService(createInMemoryDataSource());
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        long startTime = System.currentTimeMillis();
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelA));
+        Thread.sleep(10);
+        long midTime = System.currentTimeMillis();
+        Thread.sleep(10);
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelB));
+
+        Assert.assertEquals(modelStoreManager.loadModel(startTime - 1000, runtime),
+                new Model(Collections.emptySet(), Collections.emptySet()));
+        Assert.assertEquals(modelStoreManager.loadModel(midTime, runtime), modelA);
+        Assert.assertEquals(modelStoreManager.loadModel(System.currentTimeMillis() + 1000, runtime), modelB);
+        Assert.assertEquals(modelStoreManager.loadModel(midTime, "runtime-b"),
+                new Model(Collections.emptySet(), Collections.emptySet()));
+    }
+
+    @Test
+    public void testLoadRolledUpModels() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        long startTime = System.currentTimeMillis();
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, new Model(
+                new HashSet<>(Arrays.asList(nodeA, nodeB)), new HashSet<>(Collections.singletonList(edgeA)))));
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, new Model(
+                new HashSet<>(Arrays.asList(nodeA, nodeC)), new HashSet<>(Collections.singletonList(edgeB)))));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelRollupTable"), 2);
+
+        // The models stored in the open buckets are loaded since the rollups of the open buckets are not flushed
+        long dayStartTime = startTime - Math.floorMod(startTime, TimeUnit.DAYS.toMillis(1));
+        List<Model> models = modelStoreManager.loadRolledUpModels(dayStartTime - TimeUnit.DAYS.toMillis(2),
+                dayStartTime + TimeUnit.DAYS.toMillis(1) - 1, runtime);
+        Set<Node> nodes = new HashSet<>();
+        Set<Edge> edges = new HashSet<>();
+        for (Model model : models) {
+            nodes.addAll(model.getNodes());
+            edges.addAll(model.getEdges());
         }
-        {
-            Node nodeA = new Node("namespace-a", "instance-a", "component-a");
-            nodeA.setInstanceKind("Cell");
-            Node nodeB = new Node("namespace-a", "instance-b", "component-a");
-            nodeB.setInstanceKind("Composite");
-            Node nodeC = new Node("namespace-a", "instance-c", "component-a");
-            nodeC.setInstanceKind("Cell");
+        Assert.assertEquals(nodes, new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)));
+        Assert.assertEquals(edges, new HashSet<>(Arrays.asList(edgeA, edgeB)));
+    }
 
-            Edge edgeA = new Edge(nodeA, nodeB);
-            Edge edgeB = new Edge(nodeA, nodeC);
+    @Test
+    public void testFlushRollups() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
 
-            Set<Node> nodes = new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC));
-            Set<Edge> edges = new HashSet<>(Arrays.asList(edgeA, edgeB));
-            DataSource dataSource = mockDataSourceLoadModels(Collections.singletonList(new Model(nodes, edges)));
-            Whitebox.setInternalState(modelStoreManager, "dataSource", dataSource);
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
 
-            List<Model> models = modelStoreManager.loadModels(1233542342, 1233572342, "runtime-a");
-            Assert.assertEquals(models.size(), 1);
-            Assert.assertEquals(models.get(0).getNodes(), nodes);
-            Assert.assertEquals(models.get(0).getEdges(), edges);
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        ModelStoreManager initialModelStoreManager = new ModelStoreManager();
+        Model checkpoint = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(edgeA)));
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime, checkpoint));
+        initialModelStoreManager.storeModel(Collections.singletonMap(runtime, new Model(
+                new HashSet<>(Arrays.asList(nodeA, nodeC)), new HashSet<>(Collections.singletonList(edgeB)))));
+
+        // The rollups are only written with the checkpoint while the buckets are open
+        Assert.assertEquals(countRows(dataSource, "DependencyModelRollupTable"), 2);
+        Assert.assertEquals(loadRollupModel(dataSource, runtime, "HOUR"), checkpoint);
+        Assert.assertEquals(loadRollupModel(dataSource, runtime, "DAY"), checkpoint);
+        initialModelStoreManager.flushRollups();
+        Assert.assertEquals(loadRollupModel(dataSource, runtime, "HOUR"), checkpoint);
+
+        // The open rollups are rebuilt from the stored models and flushed once the buckets close
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        try (Connection connection = dataSource.getConnection()) {
+            Whitebox.invokeMethod(modelStoreManager, "flushRollups", connection,
+                    System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1));
+        }
+        Model rollupModel = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                new HashSet<>(Arrays.asList(edgeA, edgeB)));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelRollupTable"), 2);
+        Assert.assertEquals(loadRollupModel(dataSource, runtime, "HOUR"), rollupModel);
+        Assert.assertEquals(loadRollupModel(dataSource, runtime, "DAY"), rollupModel);
+    }
 
-            Assert.assertNull(Whitebox.getInternalState(modelStoreManager, "lastModels"));
-            Assert.assertNotNull(Whitebox.getInternalState(modelStoreManager, "dataSource"));
+    @Test
+    public void testLoadRolledUpModelsWithGeneratedRollups() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+        Node nodeD = new Node("namespace-a", "instance-d", "component-a");
+        nodeD.setInstanceKind("Cell");
+        Node nodeE = new Node("namespace-a", "instance-e", "component-a");
+        nodeE.setInstanceKind("Cell");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        new ModelStoreManager();
+
+        long day = TimeUnit.DAYS.toMillis(1);
+        long hour = TimeUnit.HOURS.toMillis(1);
+        long dayStartTime = System.currentTimeMillis() - Math.floorMod(System.currentTimeMillis(), day) - 5 * day;
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement checkpointStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelTable (RUNTIME, MODEL_TIMESTAMP, NODES, EDGES) VALUES (?, ?, ?, ?)");
+            checkpointStatement.setString(1, runtime);
+            checkpointStatement.setTimestamp(2, new Timestamp(dayStartTime + 10 * hour + 30 * 60000));
+            checkpointStatement.setString(3, gson.toJson(Collections.singleton(nodeE)));
+            checkpointStatement.setString(4, gson.toJson(Collections.emptySet()));
+            checkpointStatement.execute();
+            checkpointStatement.setString(1, runtime);
+            checkpointStatement.setTimestamp(2, new Timestamp(dayStartTime + 11 * hour + 15 * 60000));
+            checkpointStatement.setString(3, gson.toJson(Arrays.asList(nodeA, nodeB)));
+            checkpointStatement.setString(4, gson.toJson(Collections.singleton(edgeA)));
+            checkpointStatement.execute();
+
+            PreparedStatement deltaStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelDeltaTable (RUNTIME, MODEL_TIMESTAMP, DELTA) VALUES (?, ?, ?)");
+            deltaStatement.setString(1, runtime);
+            deltaStatement.setTimestamp(2, new Timestamp(dayStartTime + day + 9 * hour));
+            deltaStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeC), Collections.singleton(edgeB)),
+                    new Model(Collections.singleton(nodeB), Collections.singleton(edgeA))));
+            deltaStatement.execute();
+            deltaStatement.setString(1, runtime);
+            deltaStatement.setTimestamp(2, new Timestamp(dayStartTime + 2 * day + 12 * hour + 30 * 60000));
+            deltaStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeD), Collections.emptySet()),
+                    new Model(Collections.emptySet(), Collections.emptySet())));
+            deltaStatement.execute();
+            connection.commit();
+        }
+
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        Assert.assertEquals(countRows(dataSource, "DependencyModelRollupTable"), 7);
+        Assert.assertEquals(modelStoreManager.loadLastModels().get(runtime),
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeC, nodeD)),
+                        new HashSet<>(Collections.singletonList(edgeB))));
+
+        long startTime = dayStartTime + 10 * hour + 45 * 60000;
+        long endTime = dayStartTime + 2 * day + 12 * hour;
+        List<Model> rolledUpModels = modelStoreManager.loadRolledUpModels(startTime, endTime, runtime);
+        Assert.assertEquals(rolledUpModels.size(), 2);
+        Set<Node> nodes = new HashSet<>();
+        Set<Edge> edges = new HashSet<>();
+        for (Model model : rolledUpModels) {
+            nodes.addAll(model.getNodes());
+            edges.addAll(model.getEdges());
+        }
+        Assert.assertEquals(nodes, new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)));
+        Assert.assertEquals(edges, new HashSet<>(Arrays.asList(edgeA, edgeB)));
+
+        List<Model> partialHourModels = modelStoreManager.loadRolledUpModels(startTime - 20 * 60000,
+                startTime + 20 * 60000, runtime);
+        Assert.assertEquals(partialHourModels.size(), 1);
+        Assert.assertEquals(partialHourModels.get(0).getNodes(), Collections.singleton(nodeE));
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+        Node nodeD = new Node("namespace-a", "instance-d", "component-a");
+        nodeD.setInstanceKind("Cell");
+        Node nodeE = new Node("namespace-a", "instance-e", "component-a");
+        nodeE.setInstanceKind("Cell");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        new ModelStoreManager();
+
+        long day = TimeUnit.DAYS.toMillis(1);
+        long hour = TimeUnit.HOURS.toMillis(1);
+        long dayStartTime = System.currentTimeMillis() - Math.floorMod(System.currentTimeMillis(), day) - 10 * day;
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement checkpointStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelTable (RUNTIME, MODEL_TIMESTAMP, NODES, EDGES, MODEL) " +
+                            "VALUES (?, ?, '[]', '[]', ?)");
+            checkpointStatement.setString(1, runtime);
+            checkpointStatement.setTimestamp(2, new Timestamp(dayStartTime + 10 * hour + 30 * 60000));
+            checkpointStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeE), Collections.emptySet())));
+            checkpointStatement.execute();
+            checkpointStatement.setString(1, runtime);
+            checkpointStatement.setTimestamp(2, new Timestamp(dayStartTime + 11 * hour + 15 * 60000));
+            checkpointStatement.setBytes(3, ModelCodec.encode(new Model(
+                    new HashSet<>(Arrays.asList(nodeA, nodeB)), Collections.singleton(edgeA))));
+            checkpointStatement.execute();
+
+            PreparedStatement deltaStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelDeltaTable (RUNTIME, MODEL_TIMESTAMP, DELTA) VALUES (?, ?, ?)");
+            deltaStatement.setString(1, runtime);
+            deltaStatement.setTimestamp(2, new Timestamp(dayStartTime + day + 9 * hour));
+            deltaStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeC), Collections.singleton(edgeB)),
+                    new Model(Collections.singleton(nodeB), Collections.singleton(edgeA))));
+            deltaStatement.execute();
+            deltaStatement.setString(1, runtime);
+            deltaStatement.setTimestamp(2, new Timestamp(dayStartTime + 2 * day + 12 * hour + 30 * 60000));
+            deltaStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeD), Collections.emptySet()),
+                    new Model(Collections.emptySet(), Collections.emptySet())));
+            deltaStatement.execute();
+            connection.commit();
+        }
+
+        ModelStoreManager modelStoreManager = new ModelStoreManager(TimeUnit.DAYS.toMillis(7),
+                TimeUnit.DAYS.toMillis(8));
+        Model lastModel = new Model(new HashSet<>(Arrays.asList(nodeA, nodeD)), new HashSet<>());
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, lastModel));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelTable"), 2);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 3);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelRollupTable"), 7);
+        List<Model> dayModels = modelStoreManager.loadRolledUpModels(dayStartTime + day,
+                dayStartTime + 2 * day - 1, runtime);
+
+        modelStoreManager.compact();
+        Assert.assertEquals(countRows(dataSource, "DependencyModelTable"), 1);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 1);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelRollupTable"), 4);
+        Assert.assertEquals(loadLatestModelTimestamp(dataSource, runtime),
+                dayStartTime + 2 * day + 12 * hour + 30 * 60000);
+        Assert.assertEquals(new ModelStoreManager().loadLastModels().get(runtime), lastModel);
+        Assert.assertEquals(modelStoreManager.loadModels(dayStartTime + 2 * day + 12 * hour,
+                System.currentTimeMillis() + 1000, runtime), Arrays.asList(new Model(
+                new HashSet<>(Arrays.asList(nodeA, nodeC, nodeD)), Collections.singleton(edgeB)), lastModel));
+
+        // Full buckets are not affected by the compaction and partial buckets are widened to the retained buckets
+        Assert.assertEquals(modelStoreManager.loadRolledUpModels(dayStartTime + day, dayStartTime + 2 * day - 1,
+                runtime), dayModels);
+        List<Model> rolledUpModels = modelStoreManager.loadRolledUpModels(dayStartTime + 10 * hour + 45 * 60000,
+                dayStartTime + 2 * day + 12 * hour, runtime);
+        Set<Node> nodes = new HashSet<>();
+        Set<Edge> edges = new HashSet<>();
+        for (Model model : rolledUpModels) {
+            nodes.addAll(model.getNodes());
+            edges.addAll(model.getEdges());
+        }
+        Assert.assertEquals(nodes, new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC, nodeD, nodeE)));
+        Assert.assertEquals(edges, new HashSet<>(Arrays.asList(edgeA, edgeB)));
+    }
+
+    @Test
+    public void testDependencyModelDiffAfterCompact() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        new ModelStoreManager();
+        long currentTime = System.currentTimeMillis();
+        long checkpointTime = currentTime - TimeUnit.DAYS.toMillis(3);
+        long deltaTime = currentTime - TimeUnit.DAYS.toMillis(2);
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement checkpointStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelTable VALUES (?, ?, '[]', '[]', ?, ?)");
+            checkpointStatement.setString(1, runtime);
+            checkpointStatement.setTimestamp(2, new Timestamp(checkpointTime));
+            checkpointStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeA), Collections.emptySet())));
+            checkpointStatement.setLong(4, 1);
+            checkpointStatement.execute();
+            PreparedStatement deltaStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelDeltaTable VALUES (?, ?, ?, ?)");
+            deltaStatement.setString(1, runtime);
+            deltaStatement.setTimestamp(2, new Timestamp(deltaTime));
+            deltaStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeB), Collections.emptySet()),
+                    new Model(Collections.emptySet(), Collections.emptySet())));
+            deltaStatement.setLong(4, 2);
+            deltaStatement.execute();
+            connection.commit();
+        }
+
+        ModelStoreManager modelStoreManager = new ModelStoreManager(TimeUnit.HOURS.toMillis(1), 0);
+        modelStoreManager.storeModel(Collections.singletonMap(runtime,
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)), new HashSet<>())));
+        ServiceHolder.setModelStoreManager(modelStoreManager);
+        ModelManager modelManager = new ModelManager();
+        long toTime = System.currentTimeMillis() + 1000;
+        Assert.assertEquals(modelStoreManager.getRetainedModelsStartTime(runtime), checkpointTime);
+        Assert.assertEquals(modelManager.getDependencyModelDiff(checkpointTime, toTime, runtime, null),
+                new ModelDiff(new Model(new HashSet<>(Arrays.asList(nodeB, nodeC)), Collections.emptySet()),
+                        new Model(Collections.emptySet(), Collections.emptySet())));
+
+        // The models stored before the compacted checkpoint cannot be reconstructed after compacting
+        modelStoreManager.compact();
+        Assert.assertEquals(modelStoreManager.getRetainedModelsStartTime(runtime), deltaTime);
+        try {
+            modelManager.getDependencyModelDiff(checkpointTime, toTime, runtime, null);
+            Assert.fail("Expected the diff from a compacted point in time to be rejected");
+        } catch (ModelNotRetainedException e) {
+            Assert.assertEquals(e.getRetainedModelsStartTime(), deltaTime);
         }
+        Assert.assertEquals(modelManager.getDependencyModelDiff(deltaTime, toTime, runtime, null),
+                new ModelDiff(new Model(Collections.singleton(nodeC), Collections.emptySet()),
+                        new Model(Collections.emptySet(), Collections.emptySet())));
+        Assert.assertEquals(new ModelStoreManager().getRetainedModelsStartTime(runtime), Long.MIN_VALUE);
     }
 
     @Test(expectedExceptions = GraphStoreException.class)
@@ -251,9 +792,13 @@ public class ModelStoreManagerTestCase {
             {
                 statement = Mockito.mock(PreparedStatement.class);
                 Mockito.when(statement.executeUpdate()).thenReturn(1);
+                PreparedStatement otherStatement = Mockito.mock(PreparedStatement.class);
+                Mockito.when(otherStatement.executeQuery()).thenReturn(Mockito.mock(ResultSet.class));
 
                 Connection connection = Mockito.mock(Connection.class);
-                Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+                Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(otherStatement);
+                Mockito.when(connection.prepareStatement(Mockito.startsWith("INSERT INTO DependencyModelTable ")))
+                        .thenReturn(statement);
 
                 DataSource dataSource = Whitebox.getInternalState(modelStoreManager, "dataSource");
                 Mockito.when(dataSource.getConnection()).thenReturn(connection);
@@ -273,12 +818,193 @@ public class ModelStoreManagerTestCase {
             Mockito.verify(statement, Mockito.times(1))
                     .setTimestamp(Mockito.eq(2), Mockito.any(Timestamp.class));
             Mockito.verify(statement, Mockito.times(1))
-                    .setString(Mockito.eq(3), Mockito.eq(gson.toJson(nodes)));
-            Mockito.verify(statement, Mockito.times(1))
-                    .setString(Mockito.eq(4), Mockito.eq(gson.toJson(edges)));
+                    .setBytes(Mockito.eq(5), Mockito.eq(ModelCodec.encode(runtimeModels.get(runtime))));
         }
     }
 
+    @Test
+    public void testReplicateModels() throws Exception {
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+        Model modelA = new Model(new HashSet<>(Collections.singletonList(nodeA)), new HashSet<>());
+        Model modelB = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(new Edge(nodeA, nodeB))));
+        Model modelC = new Model(new HashSet<>(Arrays.asList(nodeB, nodeC)),
+                new HashSet<>(Collections.singletonList(new Edge(nodeB, nodeC))));
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        ModelStoreManager writerModelStoreManager = new ModelStoreManager();
+        writerModelStoreManager.storeModel(Collections.singletonMap("runtime-a", modelA));
+        ModelStoreManager replicaModelStoreManager = new ModelStoreManager();
+        Assert.assertEquals(replicaModelStoreManager.getLastModels(), Collections.singletonMap("runtime-a", modelA));
+        Assert.assertEquals(replicaModelStoreManager.replicateModels().size(), 0);
+
+        Map<String, Model> models = new HashMap<>();
+        models.put("runtime-a", modelB);
+        models.put("runtime-b", modelC);
+        writerModelStoreManager.storeModel(models);
+        long modelVersion = replicaModelStoreManager.getModelVersion();
+        Assert.assertEquals(replicaModelStoreManager.replicateModels(), models);
+        Assert.assertEquals(replicaModelStoreManager.getLastModels(), models);
+        Assert.assertNotEquals(replicaModelStoreManager.getModelVersion(), modelVersion);
+        Map<String, Integer> deltaCounts = Whitebox.getInternalState(replicaModelStoreManager, "deltaCounts");
+        Assert.assertEquals(deltaCounts.get("runtime-a"), Integer.valueOf(1));
+        Assert.assertEquals(deltaCounts.get("runtime-b"), Integer.valueOf(0));
+        Assert.assertEquals(replicaModelStoreManager.replicateModels().size(), 0);
+
+        // Taking over storing the models from the replicated state
+        replicaModelStoreManager.storeModel(Collections.singletonMap("runtime-a", modelC));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelTable"), 2);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 2);
+        Assert.assertEquals(deltaCounts.get("runtime-a"), Integer.valueOf(2));
+        Assert.assertEquals(replicaModelStoreManager.loadModel(System.currentTimeMillis() + 1000, "runtime-a"),
+                modelC);
+        Assert.assertEquals(writerModelStoreManager.replicateModels(), Collections.singletonMap("runtime-a", modelC));
+    }
+
+    @Test
+    public void testReplicateModelsStoredWithSkewedClock() throws Exception {
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Model modelA = new Model(new HashSet<>(Collections.singletonList(nodeA)), new HashSet<>());
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        ModelStoreManager writerModelStoreManager = new ModelStoreManager();
+        writerModelStoreManager.storeModel(Collections.singletonMap("runtime-a", modelA));
+        ModelStoreManager replicaModelStoreManager = new ModelStoreManager();
+        Assert.assertEquals((long) Whitebox.getInternalState(replicaModelStoreManager, "lastSequenceId"), 1L);
+
+        // A delta stored by a node with a clock behind the clock of the node which stored the last model
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement deltaStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelDeltaTable VALUES (?, ?, ?, ?)");
+            deltaStatement.setString(1, "runtime-a");
+            deltaStatement.setTimestamp(2, new Timestamp(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+            deltaStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeB), Collections.emptySet()),
+                    new Model(Collections.emptySet(), Collections.emptySet())));
+            deltaStatement.setLong(4, 2);
+            deltaStatement.execute();
+            connection.commit();
+        }
+        Model modelB = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)), new HashSet<>());
+        Assert.assertEquals(replicaModelStoreManager.replicateModels(), Collections.singletonMap("runtime-a", modelB));
+        Assert.assertEquals(replicaModelStoreManager.replicateModels().size(), 0);
+        Assert.assertEquals((long) Whitebox.getInternalState(replicaModelStoreManager, "lastSequenceId"), 2L);
+    }
+
+    @Test
+    public void testReplicateCompactedModels() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        new ModelStoreManager();
+        long currentTime = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement checkpointStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelTable VALUES (?, ?, '[]', '[]', ?, ?)");
+            checkpointStatement.setString(1, runtime);
+            checkpointStatement.setTimestamp(2, new Timestamp(currentTime - TimeUnit.DAYS.toMillis(3)));
+            checkpointStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeA), Collections.emptySet())));
+            checkpointStatement.setLong(4, 1);
+            checkpointStatement.execute();
+            PreparedStatement deltaStatement = connection.prepareStatement(
+                    "INSERT INTO DependencyModelDeltaTable VALUES (?, ?, ?, ?)");
+            deltaStatement.setString(1, runtime);
+            deltaStatement.setTimestamp(2, new Timestamp(currentTime - TimeUnit.DAYS.toMillis(2)));
+            deltaStatement.setBytes(3, ModelCodec.encode(
+                    new Model(Collections.singleton(nodeB), Collections.emptySet()),
+                    new Model(Collections.emptySet(), Collections.emptySet())));
+            deltaStatement.setLong(4, 2);
+            deltaStatement.execute();
+            connection.commit();
+        }
+
+        ModelStoreManager writerModelStoreManager = new ModelStoreManager(TimeUnit.HOURS.toMillis(1), 0);
+        ModelStoreManager replicaModelStoreManager = new ModelStoreManager();
+        Model lastModel = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)), new HashSet<>());
+        writerModelStoreManager.storeModel(Collections.singletonMap(runtime, lastModel));
+        Assert.assertEquals(replicaModelStoreManager.replicateModels(), Collections.singletonMap(runtime, lastModel));
+
+        // The compacted checkpoint is numbered but does not replace the replicated models
+        writerModelStoreManager.compact();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.prepareStatement("SELECT SEQUENCE_ID FROM DependencyModelTable")
+                     .executeQuery()) {
+            Assert.assertTrue(resultSet.next());
+            Assert.assertEquals(resultSet.getLong(1), 4L);
+            Assert.assertFalse(resultSet.next());
+        }
+        long modelVersion = replicaModelStoreManager.getModelVersion();
+        Assert.assertEquals(replicaModelStoreManager.replicateModels().size(), 0);
+        Assert.assertEquals(replicaModelStoreManager.getModelVersion(), modelVersion);
+        Assert.assertEquals(replicaModelStoreManager.getLastModels(), Collections.singletonMap(runtime, lastModel));
+        Assert.assertEquals((long) Whitebox.getInternalState(replicaModelStoreManager, "lastSequenceId"), 4L);
+    }
+
+    @Test
+    public void testPersistModelCheckpoints() throws Exception {
+        String runtime = "runtime-a";
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        DataSource dataSource = createInMemoryDataSource();
+        mockDataSourceService(dataSource);
+        ModelStoreManager modelStoreManager = new ModelStoreManager();
+        Model modelA = new Model(new HashSet<>(Collections.singletonList(nodeA)), new HashSet<>());
+        Model modelB = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(new Edge(nodeA, nodeB))));
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelA));
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelA));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelTable"), 1);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 0);
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.prepareStatement("SELECT NODES, EDGES FROM DependencyModelTable")
+                     .executeQuery()) {
+            // Empty strings are not stored in the JSON columns since some databases store them as nulls
+            Assert.assertTrue(resultSet.next());
+            Assert.assertEquals(resultSet.getString(1), "[]");
+            Assert.assertEquals(resultSet.getString(2), "[]");
+        }
+
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelB));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelTable"), 1);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 1);
+
+        int checkpointInterval = Whitebox.getInternalState(ModelStoreManager.class, "CHECKPOINT_INTERVAL");
+        Map<String, Integer> deltaCounts = Whitebox.getInternalState(modelStoreManager, "deltaCounts");
+        deltaCounts.put(runtime, checkpointInterval);
+        Model modelC = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                new HashSet<>(Collections.singletonList(new Edge(nodeA, nodeB))));
+        modelStoreManager.storeModel(Collections.singletonMap(runtime, modelC));
+        Assert.assertEquals(countRows(dataSource, "DependencyModelTable"), 2);
+        Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 1);
+        Assert.assertEquals(deltaCounts.get(runtime), Integer.valueOf(0));
+
+        Map<String, Model> lastModels = modelStoreManager.loadLastModels();
+        Assert.assertEquals(lastModels.get(runtime), modelC);
+    }
+
     @Test(expectedExceptions = GraphStoreException.class)
     public void testPersistModelWithSqlException() throws Exception {
         ModelStoreManager modelStoreManager;
@@ -510,6 +1236,7 @@ public class ModelStoreManagerTestCase {
     public void testClear() throws Exception {
         String runtime = "runtime-a";
         ModelStoreManager modelStoreManager;
+        DataSource dataSource = createInMemoryDataSource();
         {
             Node nodeA = new Node("namespace-a", "instance-a", "component-a");
             nodeA.setInstanceKind("Cell");
@@ -523,10 +1250,8 @@ public class ModelStoreManagerTestCase {
 
             HashSet<Node> nodes = new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC));
             HashSet<Edge> edges = new HashSet<>(Arrays.asList(edgeA, edgeB));
-            List<Pair<String, Model>> models
-                    = Collections.singletonList(new Pair<>(runtime, new Model(nodes, edges)));
-            DataSource dataSource = mockDataSourceLoadLastModels(models);
             mockDataSourceService(dataSource);
+            new ModelStoreManager().storeModel(Collections.singletonMap(runtime, new Model(nodes, edges)));
             modelStoreManager = new ModelStoreManager();
 
             Map<String, Model> lastModels = Whitebox.getInternalState(modelStoreManager, "lastModels");
@@ -540,19 +1265,16 @@ public class ModelStoreManagerTestCase {
             Assert.assertNotNull(Whitebox.getInternalState(modelStoreManager, "dataSource"));
         }
         {
-            PreparedStatement statement = Mockito.mock(PreparedStatement.class);
-            Mockito.when(statement.executeUpdate()).thenReturn(1);
-
-            Connection connection = Mockito.mock(Connection.class);
-            Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
-
-            DataSource dataSource = Mockito.mock(DataSource.class);
-            Mockito.when(dataSource.getConnection()).thenReturn(connection);
-            Whitebox.setInternalState(modelStoreManager, "dataSource", dataSource);
-
+            String storeGeneration = modelStoreManager.getStoreGeneration();
             modelStoreManager.clear();
+            Assert.assertNotEquals(modelStoreManager.getStoreGeneration(), storeGeneration);
             Assert.assertNull(Whitebox.getInternalState(modelStoreManager, "lastModels"));
             Assert.assertNotNull(Whitebox.getInternalState(modelStoreManager, "dataSource"));
+            Assert.assertEquals(countRows(dataSource, "DependencyModelTable"), 0);
+            Assert.assertEquals(countRows(dataSource, "DependencyModelDeltaTable"), 0);
+            Assert.assertEquals(countRows(dataSource, "DependencyModelLatestTable"), 0);
+            Assert.assertNull(modelStoreManager.loadLastModels());
+            Assert.assertNull(modelStoreManager.getLastModels());
         }
     }
 
@@ -588,24 +1310,73 @@ public class ModelStoreManagerTestCase {
     }
 
     /**
-     * Mock a data source to load models for a runtime.
+     * Create an in-memory data source backed by a H2 database.
      *
-     * @param models Model to return
-     * @return mocked data source
-     * @throws Exception If mocking fails
+     * @return the created data source
      */
-    private DataSource mockDataSourceLoadModels(List<Model> models) throws Exception {
-        ResultSet resultSet = Mockito.mock(ResultSet.class);
-        final int[] nextCallCount = {0};
-        Mockito.when(resultSet.getString(Mockito.eq(1))).then(
-                invocationOnMock -> gson.toJson(models.get(nextCallCount[0] - 1).getNodes()));
-        Mockito.when(resultSet.getString(Mockito.eq(2))).then(
-                invocationOnMock -> gson.toJson(models.get(nextCallCount[0] - 1).getEdges()));
-        Mockito.when(resultSet.next()).then(invocationOnMock -> {
-            nextCallCount[0]++;
-            return nextCallCount[0] <= models.size();
-        });
-        return mockDataSource(resultSet);
+    private DataSource createInMemoryDataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID().toString() + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    /**
+     * Count the number of rows in a table.
+     *
+     * @param dataSource The data source the table belongs to
+     * @param tableName The name of the table
+     * @return The number of rows in the table
+     * @throws Exception If counting fails
+     */
+    private int countRows(DataSource dataSource, String tableName) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM " + tableName);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Load the model of the only rollup of a runtime stored with a granularity.
+     *
+     * @param dataSource The data source to query
+     * @param runtime The runtime of which the rollup should be loaded
+     * @param granularity The granularity of the rollup
+     * @return The model of the rollup
+     * @throws Exception If querying failed
+     */
+    private Model loadRollupModel(DataSource dataSource, String runtime, String granularity) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT MODEL FROM DependencyModelRollupTable WHERE RUNTIME = ? AND GRANULARITY = ?")) {
+            statement.setString(1, runtime);
+            statement.setString(2, granularity);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return ModelCodec.decode(resultSet.getBytes(1)).get(0);
+            }
+        }
+    }
+
+    /**
+     * Load the timestamp of the latest checkpoint of a runtime from the latest table.
+     *
+     * @param dataSource The data source to query
+     * @param runtime The runtime of which the timestamp should be loaded
+     * @return The timestamp of the latest checkpoint
+     * @throws Exception If querying failed
+     */
+    private long loadLatestModelTimestamp(DataSource dataSource, String runtime) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT MODEL_TIMESTAMP FROM DependencyModelLatestTable WHERE RUNTIME = ?")) {
+            statement.setString(1, runtime);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getTimestamp(1).getTime();
+            }
+        }
     }
 
     /**
@@ -639,6 +1410,9 @@ public class ModelStoreManagerTestCase {
      * @throws Exception If mocking fails
      */
     private DataSource mockDataSource(ResultSet resultSet) throws Exception {
+        ResultSetMetaData resultSetMetaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+
         PreparedStatement statement = Mockito.mock(PreparedStatement.class);
         Mockito.when(statement.executeQuery()).thenReturn(resultSet);
 
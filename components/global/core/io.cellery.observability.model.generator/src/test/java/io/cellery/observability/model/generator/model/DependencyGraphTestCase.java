@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.model.generator.model;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Dependency Graph related test cases.
+ */
+public class DependencyGraphTestCase {
+
+    @Test
+    public void testAddNodesAndEdges() {
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        DependencyGraph dependencyGraph = new DependencyGraph(0);
+        Assert.assertTrue(dependencyGraph.addNode(nodeA));
+        Assert.assertFalse(dependencyGraph.addNode(new Node("namespace-a", "instance-a", "component-a")));
+        Assert.assertTrue(dependencyGraph.addEdge(nodeA, nodeB));
+        Assert.assertTrue(dependencyGraph.addEdge(nodeC, nodeA));
+        Assert.assertTrue(dependencyGraph.addEdge(nodeA, nodeA));
+        Assert.assertFalse(dependencyGraph.addEdge(nodeA, nodeB));
+        Assert.assertEquals(dependencyGraph.getNodeCount(), 3);
+        Assert.assertEquals(dependencyGraph.getEdgeCount(), 3);
+        Assert.assertSame(dependencyGraph.getNode(new EdgeNode("namespace-a", "instance-b", "component-a")), nodeB);
+        Assert.assertNull(dependencyGraph.getNode(new EdgeNode("namespace-a", "instance-d", "component-a")));
+
+        Model model = dependencyGraph.toModel();
+        Assert.assertEquals(model.getNodes(), new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)));
+        Assert.assertEquals(model.getEdges(), new HashSet<>(Arrays.asList(new Edge(nodeA, nodeB),
+                new Edge(nodeC, nodeA), new Edge(nodeA, nodeA))));
+        for (Edge edge : model.getEdges()) {
+            Assert.assertEquals(edge.getSource().getClass(), EdgeNode.class);
+            Assert.assertEquals(edge.getTarget().getClass(), EdgeNode.class);
+        }
+    }
+
+    @Test
+    public void testRemoveNode() {
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        Node nodeD = new Node("namespace-a", "instance-d", "component-a");
+
+        DependencyGraph dependencyGraph = new DependencyGraph(0);
+        dependencyGraph.addEdge(nodeA, nodeB);
+        dependencyGraph.addEdge(nodeB, nodeC);
+        dependencyGraph.addEdge(nodeC, nodeB);
+        dependencyGraph.addEdge(nodeB, nodeB);
+        dependencyGraph.addEdge(nodeA, nodeC);
+
+        Assert.assertTrue(dependencyGraph.removeNode(new EdgeNode("namespace-a", "instance-b", "component-a")));
+        Assert.assertFalse(dependencyGraph.removeNode(new EdgeNode("namespace-a", "instance-b", "component-a")));
+        Assert.assertEquals(dependencyGraph.getNodeCount(), 2);
+        Assert.assertEquals(dependencyGraph.getEdgeCount(), 1);
+        Assert.assertEquals(dependencyGraph.toModel(), new Model(new HashSet<>(Arrays.asList(nodeA, nodeC)),
+                Collections.singleton(new Edge(nodeA, nodeC))));
+
+        // The removed node's id is reused by the next node
+        dependencyGraph.addEdge(nodeD, nodeA);
+        Assert.assertEquals(dependencyGraph.getNodeCount(), 3);
+        Assert.assertEquals(dependencyGraph.getEdgeCount(), 2);
+        Assert.assertEquals(dependencyGraph.toModel(), new Model(new HashSet<>(Arrays.asList(nodeA, nodeC, nodeD)),
+                new HashSet<>(Arrays.asList(new Edge(nodeA, nodeC), new Edge(nodeD, nodeA)))));
+    }
+
+    @Test
+    public void testGrowingGraph() {
+        int nodeCount = 1000;
+        Node hubNode = new Node("namespace-a", "instance-hub", "component-a");
+        DependencyGraph dependencyGraph = new DependencyGraph(0);
+        Set<Edge> edges = new HashSet<>();
+        for (int i = nodeCount - 1; i >= 0; i--) {
+            Node node = new Node("namespace-a", "instance-" + i, "component-a");
+            dependencyGraph.addEdge(hubNode, node);
+            dependencyGraph.addEdge(node, hubNode);
+            edges.add(new Edge(hubNode, node));
+            edges.add(new Edge(node, hubNode));
+        }
+        Assert.assertEquals(dependencyGraph.getNodeCount(), nodeCount + 1);
+        Assert.assertEquals(dependencyGraph.getEdgeCount(), nodeCount * 2);
+        Assert.assertEquals(dependencyGraph.toModel().getEdges(), edges);
+
+        dependencyGraph.removeNode(hubNode);
+        Assert.assertEquals(dependencyGraph.getNodeCount(), nodeCount);
+        Assert.assertEquals(dependencyGraph.getEdgeCount(), 0);
+    }
+}
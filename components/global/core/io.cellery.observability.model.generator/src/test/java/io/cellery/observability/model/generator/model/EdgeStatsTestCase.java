@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.model.generator.model;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Edge statistics related test cases.
+ */
+public class EdgeStatsTestCase {
+
+    @Test
+    public void testAdd() {
+        EdgeStats edgeStats = new EdgeStats(10, 2, 1200);
+        edgeStats.add(new EdgeStats(5, 0, 300.5));
+
+        Assert.assertEquals(edgeStats, new EdgeStats(15, 2, 1500.5));
+    }
+
+    @Test
+    public void testEquality() {
+        Assert.assertEquals(new EdgeStats(10, 2, 1200), new EdgeStats(10, 2, 1200));
+        Assert.assertEquals(new EdgeStats(10, 2, 1200).hashCode(), new EdgeStats(10, 2, 1200).hashCode());
+        Assert.assertNotEquals(new EdgeStats(10, 2, 1200), new EdgeStats(11, 2, 1200));
+        Assert.assertNotEquals(new EdgeStats(10, 2, 1200), new EdgeStats(10, 3, 1200));
+        Assert.assertNotEquals(new EdgeStats(10, 2, 1200), new EdgeStats(10, 2, 1201));
+        Assert.assertNotEquals(new EdgeStats(10, 2, 1200), null);
+    }
+}
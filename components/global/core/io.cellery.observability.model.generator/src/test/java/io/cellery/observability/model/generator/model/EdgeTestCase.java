@@ -130,4 +130,23 @@ public class EdgeTestCase {
         );
         Assert.assertNotEquals(edgeA, edgeB);
     }
+
+    @Test
+    public void testEqualityWithMismatchedStats() {
+        Edge edgeA = new Edge(
+                new EdgeNode("source-namespace", "source-instance", "source-component"),
+                new EdgeNode("destination-namespace", "destination-instance",
+                        "destination-component"),
+                new EdgeStats(10, 2, 1200)
+        );
+        Edge edgeB = new Edge(
+                new EdgeNode("source-namespace", "source-instance", "source-component"),
+                new EdgeNode("destination-namespace", "destination-instance",
+                        "destination-component")
+        );
+        Assert.assertEquals(edgeA, edgeB);
+        Assert.assertEquals(edgeA.hashCode(), edgeB.hashCode());
+        Assert.assertEquals(edgeA.getStats(), new EdgeStats(10, 2, 1200));
+        Assert.assertNull(edgeB.getStats());
+    }
 }
@@ -18,7 +18,6 @@
 
 package io.cellery.observability.model.generator.model;
 
-import io.cellery.observability.model.generator.exception.GraphStoreException;
 import io.cellery.observability.model.generator.exception.ModelException;
 import io.cellery.observability.model.generator.internal.ModelStoreManager;
 import io.cellery.observability.model.generator.internal.ServiceHolder;
@@ -35,6 +34,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 
 /**
@@ -76,40 +76,48 @@ public class ModelManagerTestCase {
         runtimeModels.put(runtimeB, runtimeBModel);
 
         ModelStoreManager modelStoreManager = Mockito.mock(ModelStoreManager.class);
-        Mockito.when(modelStoreManager.loadLastModels()).thenReturn(runtimeModels);
+        Mockito.when(modelStoreManager.getLastModels()).thenReturn(runtimeModels);
         ServiceHolder.setModelStoreManager(modelStoreManager);
 
         ModelManager modelManager = new ModelManager();
-        Map<String, HashMap<String, Node>> nodeCache = Whitebox.getInternalState(modelManager, "nodeCache");
+        Map<String, DependencyGraph> dependencyGraphs = Whitebox.getInternalState(modelManager,
+                "dependencyGraphs");
 
         Assert.assertEquals(modelManager.getCurrentRuntimeModels(), runtimeModels);
-        Assert.assertNotNull(nodeCache);
-        Assert.assertEquals(nodeCache.size(), 2);
+        Assert.assertNotNull(dependencyGraphs);
+        Assert.assertEquals(dependencyGraphs.size(), 2);
         {
-            HashMap<String, Node> nodes = nodeCache.get(runtimeA);
-            Assert.assertNotNull(nodes);
-            Assert.assertEquals(nodes.size(), 3);
-            Assert.assertEquals(nodes.get(nodeA.getFQN()), nodeA);
-            Assert.assertEquals(nodes.get(nodeB.getFQN()), nodeB);
-            Assert.assertEquals(nodes.get(nodeC.getFQN()), nodeC);
+            DependencyGraph dependencyGraph = dependencyGraphs.get(runtimeA);
+            Assert.assertNotNull(dependencyGraph);
+            Assert.assertEquals(dependencyGraph.getNodeCount(), 3);
+            Assert.assertEquals(dependencyGraph.getEdgeCount(), 2);
+            Assert.assertSame(modelManager.getNode(runtimeA, nodeA.getNamespace(), nodeA.getInstance(),
+                    nodeA.getComponent()), nodeA);
+            Assert.assertSame(modelManager.getNode(runtimeA, nodeB.getNamespace(), nodeB.getInstance(),
+                    nodeB.getComponent()), nodeB);
+            Assert.assertSame(modelManager.getNode(runtimeA, nodeC.getNamespace(), nodeC.getInstance(),
+                    nodeC.getComponent()), nodeC);
         }
         {
-            HashMap<String, Node> nodes = nodeCache.get(runtimeB);
-            Assert.assertNotNull(nodes);
-            Assert.assertEquals(nodes.size(), 1);
-            Assert.assertEquals(nodes.get(nodeD.getFQN()), nodeD);
+            DependencyGraph dependencyGraph = dependencyGraphs.get(runtimeB);
+            Assert.assertNotNull(dependencyGraph);
+            Assert.assertEquals(dependencyGraph.getNodeCount(), 1);
+            Assert.assertEquals(dependencyGraph.getEdgeCount(), 0);
+            Assert.assertSame(modelManager.getNode(runtimeB, nodeD.getNamespace(), nodeD.getInstance(),
+                    nodeD.getComponent()), nodeD);
         }
     }
 
     @Test
     public void testModelManagerInitializationWithNoModel() throws Exception {
         ModelStoreManager modelStoreManager = Mockito.mock(ModelStoreManager.class);
-        Mockito.when(modelStoreManager.loadLastModels()).thenReturn(null);
+        Mockito.when(modelStoreManager.getLastModels()).thenReturn(null);
         ServiceHolder.setModelStoreManager(modelStoreManager);
 
         ModelManager modelManager = new ModelManager();
-        Map<String, Node> nodeCache = Whitebox.getInternalState(modelManager, "nodeCache");
-        Assert.assertEquals(nodeCache.size(), 0);
+        Map<String, DependencyGraph> dependencyGraphs = Whitebox.getInternalState(modelManager,
+                "dependencyGraphs");
+        Assert.assertEquals(dependencyGraphs.size(), 0);
     }
 
     @Test(expectedExceptions = ModelException.class)
@@ -128,7 +136,7 @@ public class ModelManagerTestCase {
         Map<String, Model> runtimeModels = Collections.singletonMap(runtime, model);
 
         ModelStoreManager modelStoreManager = Mockito.mock(ModelStoreManager.class);
-        Mockito.when(modelStoreManager.loadLastModels()).thenReturn(runtimeModels);
+        Mockito.when(modelStoreManager.getLastModels()).thenReturn(runtimeModels);
         ServiceHolder.setModelStoreManager(modelStoreManager);
 
         new ModelManager();
@@ -150,7 +158,7 @@ public class ModelManagerTestCase {
         Map<String, Model> runtimeModels = Collections.singletonMap(runtime, model);
 
         ModelStoreManager modelStoreManager = Mockito.mock(ModelStoreManager.class);
-        Mockito.when(modelStoreManager.loadLastModels()).thenReturn(runtimeModels);
+        Mockito.when(modelStoreManager.getLastModels()).thenReturn(runtimeModels);
         ServiceHolder.setModelStoreManager(modelStoreManager);
 
         new ModelManager();
@@ -172,16 +180,7 @@ public class ModelManagerTestCase {
         Map<String, Model> runtimeModels = Collections.singletonMap(runtime, model);
 
         ModelStoreManager modelStoreManager = Mockito.mock(ModelStoreManager.class);
-        Mockito.when(modelStoreManager.loadLastModels()).thenReturn(runtimeModels);
-        ServiceHolder.setModelStoreManager(modelStoreManager);
-
-        new ModelManager();
-    }
-
-    @Test(expectedExceptions = ModelException.class)
-    public void testModelManagerInitializationWithGraphStoreException() throws Exception {
-        ModelStoreManager modelStoreManager = Mockito.mock(ModelStoreManager.class);
-        Mockito.when(modelStoreManager.loadLastModels()).thenThrow(new GraphStoreException("Test Exception"));
+        Mockito.when(modelStoreManager.getLastModels()).thenReturn(runtimeModels);
         ServiceHolder.setModelStoreManager(modelStoreManager);
 
         new ModelManager();
@@ -200,21 +199,18 @@ public class ModelManagerTestCase {
     }
 
     @Test
-    public void testGetNodeFromCache() throws Exception {
+    public void testGetNodeFromGraph() throws Exception {
         String runtime = "test-runtime";
         ModelManager modelManager = initEmptyModelManager();
-        Map<String, HashMap<String, Node>> nodeCache = Mockito.spy(
-                Whitebox.<HashMap<String, HashMap<String, Node>>>getInternalState(modelManager, "nodeCache"));
-        Whitebox.setInternalState(modelManager, "nodeCache", nodeCache);
 
         Node node = new Node("test-namespace", "test-instance", "test-component");
         modelManager.addNode(runtime, node);
 
         Node retrievedNode = modelManager.getNode(runtime, node.getNamespace(), node.getInstance(),
                 node.getComponent());
-        Mockito.verify(nodeCache, Mockito.times(2))
-                .computeIfAbsent(Mockito.eq(runtime), Mockito.any());
-        Assert.assertEquals(retrievedNode, node);
+        Assert.assertSame(retrievedNode, node);
+        Assert.assertNull(modelManager.getNode("different-runtime", node.getNamespace(), node.getInstance(),
+                node.getComponent()));
     }
 
     @Test
@@ -301,6 +297,130 @@ public class ModelManagerTestCase {
                         new HashSet<>(Arrays.asList(generateEdge(nodeA, nodeB), generateEdge(nodeC, nodeD))))));
     }
 
+    @Test
+    public void testRemoveNode() throws Exception {
+        String runtime = "test-runtime";
+        ModelManager modelManager = initEmptyModelManager();
+
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        Node nodeC = new Node("test-namespace", "test-instance-c", "test-component");
+        modelManager.addEdge(runtime, nodeA, nodeB);
+        modelManager.addEdge(runtime, nodeB, nodeC);
+
+        Assert.assertTrue(modelManager.removeNode(runtime, nodeB.getNamespace(), nodeB.getInstance(),
+                nodeB.getComponent()));
+        Assert.assertFalse(modelManager.removeNode(runtime, nodeB.getNamespace(), nodeB.getInstance(),
+                nodeB.getComponent()));
+        Assert.assertFalse(modelManager.removeNode("different-runtime", nodeA.getNamespace(), nodeA.getInstance(),
+                nodeA.getComponent()));
+        Assert.assertNull(modelManager.getNode(runtime, nodeB.getNamespace(), nodeB.getInstance(),
+                nodeB.getComponent()));
+        Assert.assertEquals(modelManager.getCurrentRuntimeModels(), Collections.singletonMap(runtime,
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeC)), Collections.emptySet())));
+    }
+
+    @Test
+    public void testReplicateDependencyGraphs() throws Exception {
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        Node nodeC = new Node("test-namespace", "test-instance-c", "test-component");
+        ModelManager modelManager = initEmptyModelManager();
+        Map<String, Model> initialModels = new HashMap<>();
+        initialModels.put("runtime-a", new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(generateEdge(nodeA, nodeB)))));
+        initialModels.put("runtime-b", new Model(new HashSet<>(Arrays.asList(nodeA, nodeC)),
+                new HashSet<>(Collections.singletonList(generateEdge(nodeA, nodeC)))));
+
+        Model replicatedModel = new Model(new HashSet<>(Arrays.asList(nodeB, nodeC)),
+                new HashSet<>(Collections.singletonList(generateEdge(nodeB, nodeC))));
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        Mockito.when(modelStoreManager.replicateModels())
+                .thenReturn(initialModels)
+                .thenReturn(Collections.singletonMap("runtime-a", replicatedModel));
+        modelManager.replicateDependencyGraphs();
+        modelManager.replicateDependencyGraphs();
+
+        Map<String, Model> currentRuntimeModels = modelManager.getCurrentRuntimeModels();
+        Assert.assertEquals(currentRuntimeModels.size(), 2);
+        Assert.assertEquals(currentRuntimeModels.get("runtime-a"), replicatedModel);
+        Assert.assertEquals(currentRuntimeModels.get("runtime-b"), new Model(new HashSet<>(Arrays.asList(nodeA,
+                nodeC)), new HashSet<>(Collections.singletonList(generateEdge(nodeA, nodeC)))));
+        Assert.assertNull(modelManager.getNode("runtime-a", nodeA.getNamespace(), nodeA.getInstance(),
+                nodeA.getComponent()));
+    }
+
+    @Test
+    public void testReplicateDependencyGraphsAfterLocalUpdates() throws Exception {
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        Node nodeC = new Node("test-namespace", "test-instance-c", "test-component");
+        ModelManager modelManager = initEmptyModelManager();
+        modelManager.addEdge("runtime-a", nodeA, nodeB);
+
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        Mockito.when(modelStoreManager.replicateModels())
+                .thenReturn(Collections.singletonMap("runtime-a", new Model(new HashSet<>(Arrays.asList(nodeB,
+                        nodeC)), new HashSet<>(Collections.singletonList(generateEdge(nodeB, nodeC))))));
+        modelManager.replicateDependencyGraphs();
+        modelManager.replicateDependencyGraphs();
+
+        Mockito.verify(modelStoreManager, Mockito.never()).replicateModels();
+        Assert.assertEquals(modelManager.getCurrentRuntimeModels(), Collections.singletonMap("runtime-a",
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                        new HashSet<>(Collections.singletonList(generateEdge(nodeA, nodeB))))));
+    }
+
+    @Test(expectedExceptions = ModelException.class)
+    public void testReplicateDependencyGraphsWithInvalidEdge() throws Exception {
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        ModelManager modelManager = initEmptyModelManager();
+        Mockito.when(ServiceHolder.getModelStoreManager().replicateModels())
+                .thenReturn(Collections.singletonMap("runtime-a", new Model(new HashSet<>(
+                        Collections.singletonList(nodeA)), new HashSet<>(Collections.singletonList(
+                        generateEdge(nodeA, nodeB))))));
+        modelManager.replicateDependencyGraphs();
+    }
+
+    @Test
+    public void testGetDependencyModelDiff() throws Exception {
+        String runtime = "test-runtime";
+        long fromTime = 12312312;
+        long toTime = 12315312;
+
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        Node nodeC = new Node("test-namespace", "test-instance-c", "test-component");
+        Node nodeD = new Node("other-namespace", "test-instance-d", "test-component");
+        Node nodeE = new Node("other-namespace", "test-instance-e", "test-component");
+        Edge edgeA = generateEdge(nodeA, nodeB);
+        Edge edgeB = generateEdge(nodeA, nodeC);
+        Edge edgeC = generateEdge(nodeD, nodeA);
+        Edge edgeD = generateEdge(nodeD, nodeE);
+
+        ModelManager modelManager = initEmptyModelManager();
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        Mockito.when(modelStoreManager.loadModel(fromTime, runtime)).thenReturn(
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeD)),
+                        new HashSet<>(Collections.singletonList(edgeA))));
+        Mockito.when(modelStoreManager.loadModel(toTime, runtime)).thenReturn(
+                new Model(new HashSet<>(Arrays.asList(nodeA, nodeC, nodeD, nodeE)),
+                        new HashSet<>(Arrays.asList(edgeB, edgeC, edgeD))));
+
+        Assert.assertEquals(modelManager.getDependencyModelDiff(fromTime, toTime, runtime, null), new ModelDiff(
+                new Model(new HashSet<>(Arrays.asList(nodeC, nodeE)), new HashSet<>(Arrays.asList(edgeB, edgeC,
+                        edgeD))),
+                new Model(Collections.singleton(nodeB), Collections.singleton(edgeA))));
+        Assert.assertEquals(modelManager.getDependencyModelDiff(fromTime, toTime, runtime, "test-namespace"),
+                new ModelDiff(
+                        new Model(Collections.singleton(nodeC), new HashSet<>(Arrays.asList(edgeB, edgeC))),
+                        new Model(Collections.singleton(nodeB), Collections.singleton(edgeA))));
+        Assert.assertEquals(modelManager.getDependencyModelDiff(fromTime, fromTime, runtime, null), new ModelDiff(
+                new Model(Collections.emptySet(), Collections.emptySet()),
+                new Model(Collections.emptySet(), Collections.emptySet())));
+    }
+
     @Test
     public void testGetDependencyModel() throws Exception {
         String runtime = "test-runtime";
@@ -323,7 +443,9 @@ public class ModelManagerTestCase {
                 new HashSet<>(Collections.singletonList(edgeC))));
 
         ModelManager modelManager = initEmptyModelManager();
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtime)).thenReturn(models);
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtime)))
+                .thenReturn(models);
 
         Model retrievedModel = modelManager.getRuntimeDependencyModel(startTime, endTime, runtime);
         Assert.assertEquals(retrievedModel.getNodes(), new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC, nodeD)));
@@ -363,9 +485,11 @@ public class ModelManagerTestCase {
                 new HashSet<>(Collections.singletonList(edgeC))));
 
         ModelManager modelManager = initEmptyModelManager();
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtimeA))
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtimeA)))
                 .thenReturn(runtimeAModels);
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtimeB))
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtimeB)))
                 .thenReturn(runtimeBModels);
 
         Model retrievedModel = modelManager.getNamespaceDependencyModel(startTime, endTime, runtimeA,
@@ -406,9 +530,11 @@ public class ModelManagerTestCase {
                 new HashSet<>(Collections.emptyList())));
 
         ModelManager modelManager = initEmptyModelManager();
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtimeA))
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtimeA)))
                 .thenReturn(runtimeAModels);
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtimeB))
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtimeB)))
                 .thenReturn(runtimeBModels);
 
         Model retrievedModel = modelManager.getNamespaceDependencyModel(startTime, endTime, runtimeA,
@@ -451,9 +577,11 @@ public class ModelManagerTestCase {
                 new HashSet<>(Collections.emptyList())));
 
         ModelManager modelManager = initEmptyModelManager();
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtimeA))
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtimeA)))
                 .thenReturn(runtimeAModels);
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtimeB))
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtimeB)))
                 .thenReturn(runtimeBModels);
 
         Model retrievedModel = modelManager.getInstanceDependencyModel(startTime, endTime, runtimeA,
@@ -497,9 +625,11 @@ public class ModelManagerTestCase {
                 new HashSet<>(Collections.emptyList())));
 
         ModelManager modelManager = initEmptyModelManager();
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtimeA))
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtimeA)))
                 .thenReturn(runtimeAModels);
-        Mockito.when(ServiceHolder.getModelStoreManager().loadModels(startTime, endTime, runtimeB))
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtimeB)))
                 .thenReturn(runtimeBModels);
 
         Model retrievedModel = modelManager.getComponentDependencyModel(startTime, endTime, runtimeA,
@@ -508,6 +638,286 @@ public class ModelManagerTestCase {
         Assert.assertEquals(retrievedModel.getEdges(), new HashSet<>(Arrays.asList(edgeA, edgeB, edgeE)));
     }
 
+    @Test
+    public void testGetDependencyModelFromCacheForClosedTimeRange() throws Exception {
+        String runtime = "test-runtime";
+        long startTime = 1560000000000L;
+        long endTime = 1560003600000L;
+
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        Edge edgeA = generateEdge(nodeA, nodeB);
+        List<Model> models = Collections.singletonList(new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(edgeA))));
+
+        ModelManager modelManager = initEmptyModelManager();
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        Mockito.when(modelStoreManager.loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime)))
+                .thenReturn(models);
+
+        Model retrievedModel = modelManager.getRuntimeDependencyModel(startTime, endTime, runtime);
+        Assert.assertEquals(retrievedModel.getNodes(), new HashSet<>(Arrays.asList(nodeA, nodeB)));
+        Mockito.when(modelStoreManager.getModelVersion()).thenReturn(1L);
+        Assert.assertSame(modelManager.getRuntimeDependencyModel(startTime + 1000, endTime + 1000, runtime),
+                retrievedModel);
+        Model retrievedNamespaceModel = modelManager.getNamespaceDependencyModel(startTime, endTime, runtime,
+                "test-namespace");
+        Assert.assertEquals(retrievedNamespaceModel.getEdges(), new HashSet<>(Collections.singletonList(edgeA)));
+        Assert.assertSame(modelManager.getNamespaceDependencyModel(startTime, endTime, runtime, "test-namespace"),
+                retrievedNamespaceModel);
+        Mockito.verify(modelStoreManager, Mockito.times(1))
+                .loadRolledUpModels(1560000000000L, 1560003659999L, runtime);
+
+        modelManager.getRuntimeDependencyModel(startTime, endTime + 60000, runtime);
+        Mockito.verify(modelStoreManager, Mockito.times(2))
+                .loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime));
+
+        Mockito.when(modelStoreManager.getStoreGeneration()).thenReturn("1.0.0");
+        Assert.assertNotSame(modelManager.getRuntimeDependencyModel(startTime, endTime, runtime), retrievedModel);
+        Mockito.verify(modelStoreManager, Mockito.times(3))
+                .loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime));
+    }
+
+    @Test
+    public void testGetDependencyModelFromCacheForOpenTimeRange() throws Exception {
+        String runtime = "test-runtime";
+        long startTime = System.currentTimeMillis() - 3600000;
+        long endTime = System.currentTimeMillis() + 120000;
+
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        List<Model> models = Collections.singletonList(new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(generateEdge(nodeA, nodeB)))));
+
+        ModelManager modelManager = initEmptyModelManager();
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        Mockito.when(modelStoreManager.loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime)))
+                .thenReturn(models);
+
+        Model retrievedModel = modelManager.getInstanceDependencyModel(startTime, endTime, runtime,
+                "test-namespace", "test-instance-a");
+        Assert.assertSame(modelManager.getInstanceDependencyModel(startTime, endTime, runtime,
+                "test-namespace", "test-instance-a"), retrievedModel);
+        Mockito.verify(modelStoreManager, Mockito.times(1))
+                .loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime));
+
+        Mockito.when(modelStoreManager.getModelVersion()).thenReturn(1L);
+        Model updatedModel = modelManager.getInstanceDependencyModel(startTime, endTime, runtime,
+                "test-namespace", "test-instance-a");
+        Assert.assertNotSame(updatedModel, retrievedModel);
+        Assert.assertEquals(updatedModel, retrievedModel);
+        Mockito.verify(modelStoreManager, Mockito.times(2))
+                .loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime));
+    }
+
+    @Test
+    public void testGetDependencyModelTagForClosedTimeRange() throws Exception {
+        String runtime = "test-runtime";
+        long startTime = 1560000000000L;
+        long endTime = 1560003600000L;
+
+        ModelManager modelManager = initEmptyModelManager();
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        String tag = modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime);
+        Assert.assertEquals(modelManager.getRuntimeDependencyModelTag(startTime + 1000, endTime + 1000, runtime), tag);
+        Mockito.when(modelStoreManager.getModelVersion()).thenReturn(1L);
+        Assert.assertEquals(modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime), tag);
+
+        Assert.assertNotEquals(modelManager.getRuntimeDependencyModelTag(startTime, endTime + 60000, runtime), tag);
+        Assert.assertNotEquals(modelManager.getNamespaceDependencyModelTag(startTime, endTime, runtime,
+                "test-namespace"), tag);
+        Assert.assertNotEquals(modelManager.getInstanceDependencyModelTag(startTime, endTime, runtime,
+                "test-namespace", "test-instance"), modelManager.getInstanceDependencyModelTag(startTime, endTime,
+                runtime, "test-namespace", "test-instance-b"));
+        Assert.assertNotEquals(modelManager.getComponentDependencyModelTag(startTime, endTime, runtime,
+                "test-namespace", "test-instance", "test-component"), modelManager.getComponentDependencyModelTag(
+                startTime, endTime, runtime, "test-namespace", "test-instance", "test-component-b"));
+        Mockito.verify(modelStoreManager, Mockito.never())
+                .loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyString());
+
+        Mockito.when(modelStoreManager.getStoreGeneration()).thenReturn("1.0.0");
+        Assert.assertNotEquals(modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime), tag);
+    }
+
+    @Test
+    public void testGetDependencyModelTagForTimeRangeWithinEdgeStatsRetention() throws Exception {
+        String runtime = "test-runtime";
+        long startTime = System.currentTimeMillis() - 3 * 3600000;
+        long endTime = System.currentTimeMillis() - 2 * 3600000;
+
+        ModelManager modelManager = initEmptyModelManager();
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        String tag = modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime);
+        Assert.assertEquals(modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime), tag);
+
+        Mockito.when(modelStoreManager.getModelVersion()).thenReturn(1L);
+        String updatedTag = modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime);
+        Assert.assertNotEquals(updatedTag, tag);
+
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        modelManager.recordEdgeRequest(runtime, nodeA, nodeB, false, 10);
+        Assert.assertEquals(modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime), updatedTag);
+    }
+
+    @Test
+    public void testGetDependencyModelTagForOpenTimeRange() throws Exception {
+        String runtime = "test-runtime";
+        long startTime = System.currentTimeMillis() - 3600000;
+        long endTime = System.currentTimeMillis() + 120000;
+
+        ModelManager modelManager = initEmptyModelManager();
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        String tag = modelManager.getInstanceDependencyModelTag(startTime, endTime, runtime, "test-namespace",
+                "test-instance");
+        Assert.assertEquals(modelManager.getInstanceDependencyModelTag(startTime, endTime, runtime,
+                "test-namespace", "test-instance"), tag);
+
+        Mockito.when(modelStoreManager.getModelVersion()).thenReturn(1L);
+        String updatedTag = modelManager.getInstanceDependencyModelTag(startTime, endTime, runtime,
+                "test-namespace", "test-instance");
+        Assert.assertNotEquals(updatedTag, tag);
+        Assert.assertEquals(modelManager.getInstanceDependencyModelTag(startTime, endTime, runtime,
+                "test-namespace", "test-instance"), updatedTag);
+
+        Thread.sleep(2);
+        ModelManager restartedModelManager = initEmptyModelManager();
+        Mockito.when(ServiceHolder.getModelStoreManager().getModelVersion()).thenReturn(1L);
+        Assert.assertNotEquals(restartedModelManager.getInstanceDependencyModelTag(startTime, endTime, runtime,
+                "test-namespace", "test-instance"), updatedTag);
+    }
+
+    @Test
+    public void testGetDependencyModelWithEdgeStats() throws Exception {
+        String runtime = "test-runtime";
+        long startTime = System.currentTimeMillis() - 3600000;
+        long endTime = System.currentTimeMillis() + 120000;
+
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        Node nodeC = new Node("test-namespace", "test-instance-c", "test-component");
+        Model model = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB, nodeC)),
+                new HashSet<>(Arrays.asList(generateEdge(nodeA, nodeB), generateEdge(nodeB, nodeC))));
+
+        ModelManager modelManager = initEmptyModelManager();
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        Mockito.when(modelStoreManager.loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime)))
+                .thenReturn(Collections.singletonList(model));
+
+        long requestTime = System.currentTimeMillis() - 120000;
+        modelManager.recordEdgeRequest(runtime, nodeA, nodeB, false, 10, requestTime);
+        modelManager.recordEdgeRequest(runtime, nodeA, nodeB, true, 30, requestTime);
+        modelManager.recordEdgeRequest(runtime, nodeB, nodeC, false, 5, requestTime);
+        modelManager.recordEdgeRequest("different-runtime", nodeB, nodeC, false, 5, requestTime);
+
+        Model retrievedModel = modelManager.getRuntimeDependencyModel(startTime, endTime, runtime);
+        Assert.assertEquals(retrievedModel, model);
+        Map<Edge, EdgeStats> retrievedEdgeStats = new HashMap<>();
+        for (Edge edge : retrievedModel.getEdges()) {
+            retrievedEdgeStats.put(edge, edge.getStats());
+        }
+        Assert.assertEquals(retrievedEdgeStats.get(generateEdge(nodeA, nodeB)), new EdgeStats(2, 1, 40));
+        Assert.assertEquals(retrievedEdgeStats.get(generateEdge(nodeB, nodeC)), new EdgeStats(1, 0, 5));
+
+        Model instanceModel = modelManager.getInstanceDependencyModel(startTime, endTime, runtime,
+                "test-namespace", "test-instance-a");
+        Assert.assertEquals(instanceModel.getEdges().size(), 1);
+        Assert.assertEquals(instanceModel.getEdges().iterator().next().getStats(), new EdgeStats(2, 1, 40));
+
+        Model pastModel = modelManager.getRuntimeDependencyModel(1560000000000L, 1560003600000L, runtime);
+        for (Edge edge : pastModel.getEdges()) {
+            Assert.assertNull(edge.getStats());
+        }
+        Mockito.verify(modelStoreManager, Mockito.times(2))
+                .loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime));
+    }
+
+    @Test
+    public void testGetDependencyModelTagWithRequestsInOpenBucket() throws Exception {
+        String runtime = "test-runtime";
+        long startTime = System.currentTimeMillis() - 3600000;
+        long endTime = System.currentTimeMillis() + 120000;
+
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        Model model = new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Collections.singletonList(generateEdge(nodeA, nodeB))));
+
+        ModelManager modelManager = initEmptyModelManager();
+        ModelStoreManager modelStoreManager = ServiceHolder.getModelStoreManager();
+        Mockito.when(modelStoreManager.loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(), Mockito.eq(runtime)))
+                .thenReturn(Collections.singletonList(model));
+
+        // Retrying if the one minute bucket closed in between the two polls
+        boolean isBucketOpen = false;
+        for (int i = 0; i < 3 && !isBucketOpen; i++) {
+            long bucketTimestamp = System.currentTimeMillis() / 60000;
+            String tag = modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime);
+            modelManager.recordEdgeRequest(runtime, nodeA, nodeB, false, 10);
+            modelManager.recordEdgeRequest(runtime, nodeA, nodeB, true, 30);
+            String updatedTag = modelManager.getRuntimeDependencyModelTag(startTime, endTime, runtime);
+            Model retrievedModel = modelManager.getRuntimeDependencyModel(startTime, endTime, runtime);
+            isBucketOpen = System.currentTimeMillis() / 60000 == bucketTimestamp;
+            if (isBucketOpen) {
+                Assert.assertEquals(updatedTag, tag);
+                Assert.assertEquals(retrievedModel.getEdges().size(), 1);
+                Assert.assertNull(retrievedModel.getEdges().iterator().next().getStats());
+            }
+        }
+        Assert.assertTrue(isBucketOpen);
+    }
+
+    @Test
+    public void testExpireEdgeStats() throws Exception {
+        String runtime = "test-runtime";
+        Node nodeA = new Node("test-namespace", "test-instance-a", "test-component");
+        Node nodeB = new Node("test-namespace", "test-instance-b", "test-component");
+        long currentTime = System.currentTimeMillis();
+
+        ModelManager modelManager = initEmptyModelManager();
+        modelManager.recordEdgeRequest(runtime, nodeA, nodeB, false, 10, currentTime - 2 * 24 * 3600000);
+        modelManager.recordEdgeRequest(runtime, nodeA, nodeB, false, 10, currentTime - 120000);
+        Map<String, NavigableMap<Long, ?>> edgeStats = Whitebox.getInternalState(modelManager, "edgeStats");
+        Assert.assertEquals(edgeStats.get(runtime).size(), 2);
+
+        modelManager.expireEdgeStats();
+        Assert.assertEquals(edgeStats.get(runtime).size(), 1);
+        Assert.assertTrue(edgeStats.get(runtime).firstKey() > currentTime - 24 * 3600000);
+    }
+
+    @Test
+    public void testGetNamespaceDependencyModelWithLongDependencyChain() throws Exception {
+        long startTime = 12312335;
+        long endTime = 12315335;
+        String runtime = "test-runtime";
+        String namespace = "test-namespace";
+
+        Set<Node> nodes = new HashSet<>();
+        Set<Edge> edges = new HashSet<>();
+        Node previousNode = null;
+        for (int i = 0; i < 50000; i++) {
+            Node node = new Node(namespace, "test-instance-" + i, "test-component");
+            nodes.add(node);
+            if (previousNode != null) {
+                edges.add(generateEdge(previousNode, node));
+            }
+            previousNode = node;
+        }
+        Node otherNamespaceNode = new Node("other-namespace", "test-instance", "test-component");
+        nodes.add(otherNamespaceNode);
+        edges.add(generateEdge(otherNamespaceNode, previousNode));
+
+        ModelManager modelManager = initEmptyModelManager();
+        Mockito.when(ServiceHolder.getModelStoreManager().loadRolledUpModels(Mockito.anyLong(), Mockito.anyLong(),
+                Mockito.eq(runtime)))
+                .thenReturn(Collections.singletonList(new Model(nodes, edges)));
+
+        Model retrievedModel = modelManager.getNamespaceDependencyModel(startTime, endTime, runtime, namespace);
+        Assert.assertEquals(retrievedModel.getNodes().size(), 50000);
+        Assert.assertEquals(retrievedModel.getEdges().size(), 49999);
+        Assert.assertFalse(retrievedModel.getNodes().contains(otherNamespaceNode));
+    }
+
     /**
      * Generate an edge using source and target node.
      *
@@ -532,7 +942,7 @@ public class ModelManagerTestCase {
      */
     private ModelManager initEmptyModelManager() throws Exception {
         ModelStoreManager modelStoreManager = Mockito.mock(ModelStoreManager.class);
-        Mockito.when(modelStoreManager.loadLastModels()).thenReturn(Collections.emptyMap());
+        Mockito.when(modelStoreManager.getLastModels()).thenReturn(Collections.emptyMap());
         ServiceHolder.setModelStoreManager(modelStoreManager);
         return new ModelManager();
     }
@@ -171,4 +171,29 @@ public class ModelTestCase {
         }
         Assert.assertNotEquals(modelA, modelB);
     }
+
+    @Test
+    public void testModelIndex() {
+        Node nodeA = new Node("namespace-a", "instance-a", "component-a");
+        nodeA.setInstanceKind("Cell");
+        Node nodeB = new Node("namespace-a", "instance-b", "component-a");
+        nodeB.setInstanceKind("Composite");
+        Node nodeC = new Node("namespace-a", "instance-c", "component-a");
+        nodeC.setInstanceKind("Cell");
+
+        Edge edgeA = new Edge(nodeA, nodeB);
+        Edge edgeB = new Edge(nodeA, nodeC);
+        Edge edgeC = new Edge(nodeB, nodeC);
+
+        ModelIndex modelIndex = new ModelIndex(new Model(new HashSet<>(Arrays.asList(nodeA, nodeB)),
+                new HashSet<>(Arrays.asList(edgeA, edgeB, edgeC))));
+        Node indexedNode = modelIndex.getNode(new EdgeNode("namespace-a", "instance-b", "component-a"));
+        Assert.assertSame(indexedNode, nodeB);
+        Assert.assertNull(modelIndex.getNode(nodeC));
+        Assert.assertEquals(new HashSet<>(modelIndex.getOutgoingEdges(nodeA)),
+                new HashSet<>(Arrays.asList(edgeA, edgeB)));
+        Assert.assertEquals(modelIndex.getOutgoingEdges(new EdgeNode("namespace-a", "instance-b", "component-a")),
+                Collections.singletonList(edgeC));
+        Assert.assertEquals(modelIndex.getOutgoingEdges(nodeC), Collections.emptyList());
+    }
 }
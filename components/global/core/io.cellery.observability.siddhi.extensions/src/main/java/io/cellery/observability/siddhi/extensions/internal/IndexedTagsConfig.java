@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.internal;
+
+import io.cellery.observability.siddhi.extensions.tracing.TagExtractor;
+import org.wso2.carbon.config.ConfigurationException;
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+import java.util.Set;
+
+/**
+ * This bean class is used to read the cellery indexed tracing tags config.
+ * The same keys are used by the Tracing Siddhi App for storing the tags and by the Observability API for searching
+ * using the stored tags. Changing the keys only affects the spans stored afterwards.
+ */
+@Configuration(
+        namespace = "cellery.observability.tracing.indexed.tags",
+        description = "Cellery Indexed Tracing Tags Configuration"
+)
+public class IndexedTagsConfig {
+
+    private static volatile IndexedTagsConfig indexedTagsConfig;
+
+    // The comma separated allow-list of keys of the tags stored in the tag table
+    @Element(description = "keys")
+    private String keys = "http.method,http.status_code,error,component,upstream_cluster";
+
+    public Set<String> getKeys() {
+        return TagExtractor.parseIndexedKeys(keys);
+    }
+
+    public static synchronized IndexedTagsConfig getInstance() throws ConfigurationException {
+        if (indexedTagsConfig == null) {
+            indexedTagsConfig = ServiceHolder.getConfigProvider()
+                    .getConfigurationObject(IndexedTagsConfig.class);
+            indexedTagsConfig.validate();
+        }
+        return indexedTagsConfig;
+    }
+
+    /**
+     * Validate whether the configuration is valid.
+     */
+    private void validate() throws ConfigurationException {
+        if (this.keys == null) {
+            throw new ConfigurationException("Indexed tag keys are not provided, expected a comma separated list "
+                    + "of keys");
+        }
+    }
+}
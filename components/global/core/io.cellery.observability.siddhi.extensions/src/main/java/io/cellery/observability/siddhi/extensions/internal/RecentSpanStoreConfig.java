@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.internal;
+
+import org.wso2.carbon.config.ConfigurationException;
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * This bean class is used to read the cellery recent span store config.
+ */
+@Configuration(
+        namespace = "cellery.observability.tracing.recent.span.store",
+        description = "Cellery Recent Span Store Configuration"
+)
+public class RecentSpanStoreConfig {
+
+    private static volatile RecentSpanStoreConfig recentSpanStoreConfig;
+
+    // The store only sees the spans received by this node and should be disabled if the spans are load balanced
+    @Element(description = "enabled")
+    private boolean enabled = true;
+
+    @Element(description = "windowMinutes")
+    private int windowMinutes = 15;
+
+    @Element(description = "maxSpansCount")
+    private int maxSpansCount = 100000;
+
+    // The estimated memory used by the stored spans is capped since the count alone does not bound the span tags
+    @Element(description = "maxSizeMegabytes")
+    private int maxSizeMegabytes = 64;
+
+    @Element(description = "expiryIntervalSeconds")
+    private int expiryIntervalSeconds = 60;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    public int getMaxSpansCount() {
+        return maxSpansCount;
+    }
+
+    public int getMaxSizeMegabytes() {
+        return maxSizeMegabytes;
+    }
+
+    public int getExpiryIntervalSeconds() {
+        return expiryIntervalSeconds;
+    }
+
+    public static synchronized RecentSpanStoreConfig getInstance() throws ConfigurationException {
+        if (recentSpanStoreConfig == null) {
+            recentSpanStoreConfig = ServiceHolder.getConfigProvider()
+                    .getConfigurationObject(RecentSpanStoreConfig.class);
+            recentSpanStoreConfig.validate();
+        }
+        return recentSpanStoreConfig;
+    }
+
+    /**
+     * Validate whether the configuration is valid.
+     */
+    private void validate() throws ConfigurationException {
+        if (this.windowMinutes <= 0) {
+            throw new ConfigurationException("Recent span store window provided is " + this.windowMinutes
+                    + ", expected a positive number of minutes");
+        }
+        if (this.maxSpansCount <= 0) {
+            throw new ConfigurationException("Recent span store max spans count provided is "
+                    + this.maxSpansCount + ", expected a positive number of spans");
+        }
+        if (this.maxSizeMegabytes <= 0) {
+            throw new ConfigurationException("Recent span store max size provided is " + this.maxSizeMegabytes
+                    + ", expected a positive number of megabytes");
+        }
+        if (this.expiryIntervalSeconds <= 0) {
+            throw new ConfigurationException("Recent span store expiry interval provided is "
+                    + this.expiryIntervalSeconds + ", expected a positive number of seconds");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.internal;
+
+import io.cellery.observability.siddhi.extensions.tracing.RecentSpanStore;
+import org.wso2.carbon.config.provider.ConfigProvider;
+
+/**
+ * This class holds the registered services by OSGi, that is required by the entire component.
+ */
+public class ServiceHolder {
+    private static ConfigProvider configProvider;
+    private static RecentSpanStore recentSpanStore;
+
+    private ServiceHolder() {   // Prevent initialization
+    }
+
+    public static ConfigProvider getConfigProvider() {
+        return configProvider;
+    }
+
+    public static void setConfigProvider(ConfigProvider configProvider) {
+        ServiceHolder.configProvider = configProvider;
+    }
+
+    public static RecentSpanStore getRecentSpanStore() {
+        return recentSpanStore;
+    }
+
+    public static void setRecentSpanStore(RecentSpanStore recentSpanStore) {
+        ServiceHolder.recentSpanStore = recentSpanStore;
+    }
+}
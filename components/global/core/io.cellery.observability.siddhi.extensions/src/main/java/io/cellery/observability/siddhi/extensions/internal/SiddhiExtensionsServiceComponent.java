@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.internal;
+
+import io.cellery.observability.siddhi.extensions.tracing.RecentSpanStore;
+import org.apache.log4j.Logger;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.wso2.carbon.config.provider.ConfigProvider;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This class acts as a Service Component which specifies the services that is required by the component.
+ */
+@Component(
+        service = SiddhiExtensionsServiceComponent.class,
+        immediate = true
+)
+public class SiddhiExtensionsServiceComponent {
+    private static final Logger log = Logger.getLogger(SiddhiExtensionsServiceComponent.class);
+
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    private ScheduledExecutorService expiryExecutorService;
+    private ObjectName recentSpanStoreMBeanName;
+
+    @Activate
+    protected void start(BundleContext bundleContext) throws Exception {
+        try {
+            RecentSpanStoreConfig recentSpanStoreConfig = RecentSpanStoreConfig.getInstance();
+            if (recentSpanStoreConfig.isEnabled()) {
+                RecentSpanStore recentSpanStore = new RecentSpanStore(recentSpanStoreConfig.getWindowMinutes(),
+                        recentSpanStoreConfig.getMaxSpansCount(),
+                        recentSpanStoreConfig.getMaxSizeMegabytes() * BYTES_PER_MEGABYTE);
+                ServiceHolder.setRecentSpanStore(recentSpanStore);
+                bundleContext.registerService(RecentSpanStore.class.getName(), recentSpanStore, null);
+
+                // Exposing the hits, misses, expirations and evictions of the store as JMX metrics
+                recentSpanStoreMBeanName = new ObjectName(RecentSpanStore.MBEAN_NAME);
+                ManagementFactory.getPlatformMBeanServer().registerMBean(recentSpanStore, recentSpanStoreMBeanName);
+
+                // Periodically expiring the old traces to release the memory even when no spans are received
+                expiryExecutorService = Executors.newSingleThreadScheduledExecutor();
+                expiryExecutorService.scheduleWithFixedDelay(() -> {
+                    try {
+                        recentSpanStore.expire();
+                    } catch (Throwable throwable) {
+                        log.error("Error occurred while expiring the traces in the recent span store", throwable);
+                    }
+                }, recentSpanStoreConfig.getExpiryIntervalSeconds(), recentSpanStoreConfig.getExpiryIntervalSeconds(),
+                        TimeUnit.SECONDS);
+                log.info("Enabled the recent span store with a window of " + recentSpanStoreConfig.getWindowMinutes()
+                        + " minute(s) and a limit of " + recentSpanStoreConfig.getMaxSpansCount() + " span(s) and "
+                        + recentSpanStoreConfig.getMaxSizeMegabytes() + " MB");
+            }
+        } catch (Throwable throwable) {
+            log.error("Error occurred while activating the Siddhi extensions bundle", throwable);
+            throw throwable;
+        }
+    }
+
+    @Deactivate
+    protected void stop() {
+        if (expiryExecutorService != null) {
+            expiryExecutorService.shutdownNow();
+            expiryExecutorService = null;
+        }
+        if (recentSpanStoreMBeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(recentSpanStoreMBeanName);
+            } catch (JMException e) {
+                log.warn("Failed to unregister the recent span store MBean", e);
+            }
+            recentSpanStoreMBeanName = null;
+        }
+        ServiceHolder.setRecentSpanStore(null);
+    }
+
+    @Reference(
+            name = "carbon.config.provider",
+            service = ConfigProvider.class,
+            cardinality = ReferenceCardinality.MANDATORY,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetConfigProvider"
+    )
+    protected void setConfigProvider(ConfigProvider configProvider) {
+        ServiceHolder.setConfigProvider(configProvider);
+    }
+
+    protected void unsetConfigProvider(ConfigProvider configProvider) {
+        ServiceHolder.setConfigProvider(null);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.telemetry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.wso2.siddhi.annotation.Example;
+import org.wso2.siddhi.annotation.Extension;
+import org.wso2.siddhi.annotation.Parameter;
+import org.wso2.siddhi.annotation.ReturnAttribute;
+import org.wso2.siddhi.annotation.util.DataType;
+import org.wso2.siddhi.core.config.SiddhiAppContext;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.executor.function.FunctionExecutor;
+import org.wso2.siddhi.core.util.config.ConfigReader;
+import org.wso2.siddhi.query.api.definition.Attribute;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * This is the Siddhi extension which checks whether telemetry was reported by a Cell gateway.
+ * Reporter UIDs repeat for all the requests handled by the same pod and therefore the results are memoized in a
+ * bounded cache which evicts the least recently used reporter UIDs first.
+ */
+@Extension(
+        name = "isGatewayReporter",
+        namespace = "telemetry",
+        description = "This checks whether the reporter of the telemetry is a Cell gateway pod",
+        parameters = {
+                @Parameter(
+                        name = "reporter.uid",
+                        description = "The UID of the reporter of the telemetry",
+                        type = {DataType.STRING}
+                )
+        },
+        returnAttributes = @ReturnAttribute(
+                description = "True if the reporter is a Cell gateway pod",
+                type = {DataType.BOOL}
+        ),
+        examples = {
+                @Example(
+                        description = "This filters out the telemetry reported by Cell gateways",
+                        syntax = "from TelemetryStream[not telemetry:isGatewayReporter(reporterUID)]\n"
+                                + "select *\n"
+                                + "insert into outputStream;"
+                )
+        }
+)
+public class GatewayReporterFunctionExtension extends FunctionExecutor {
+    private static final Pattern GATEWAY_REPORTER_UID_PATTERN = Pattern.compile(
+            "^kubernetes://[a-z0-9]+(?:-[a-z0-9]+)*--gateway-deployment-[^.-]+-[^.-]+\\.[^.]+$");
+    private static final long MAX_CACHED_REPORTER_UIDS = 10000;
+
+    private final Cache<String, Boolean> gatewayReporterCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_REPORTER_UIDS)
+            .build();
+
+    @Override
+    protected void init(ExpressionExecutor[] expressionExecutors, ConfigReader configReader,
+                        SiddhiAppContext siddhiAppContext) {
+        if (expressionExecutors.length != 1) {
+            throw new SiddhiAppCreationException("One argument is required, but "
+                    + expressionExecutors.length + " given");
+        } else if (expressionExecutors[0].getReturnType() != Attribute.Type.STRING) {
+            throw new SiddhiAppCreationException("Expected a field with String return type for the reporter UID "
+                    + "field, but found a field with return type - " + expressionExecutors[0].getReturnType());
+        }
+    }
+
+    @Override
+    protected Object execute(Object[] data) {
+        return execute(data[0]);
+    }
+
+    @Override
+    protected Object execute(Object data) {
+        String reporterUID = (String) data;
+        if (reporterUID == null) {
+            return false;
+        }
+        Boolean isGatewayReporter = gatewayReporterCache.getIfPresent(reporterUID);
+        if (isGatewayReporter == null) {
+            isGatewayReporter = GATEWAY_REPORTER_UID_PATTERN.matcher(reporterUID).matches();
+            gatewayReporterCache.put(reporterUID, isGatewayReporter);
+        }
+        return isGatewayReporter;
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return Attribute.Type.BOOL;
+    }
+
+    @Override
+    public Map<String, Object> currentState() {     // Do Nothing
+        return null;
+    }
+
+    @Override
+    public void restoreState(Map<String, Object> map) { // Do Nothing
+    }
+}
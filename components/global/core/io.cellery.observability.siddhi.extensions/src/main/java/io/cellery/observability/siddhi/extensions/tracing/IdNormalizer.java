@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+/**
+ * Normalizer for the hexadecimal trace IDs and span IDs reported in tracing spans.
+ *
+ * IDs are normalized by stripping the leading zeros using a simple character scan. A 64-bit ID is packed into a
+ * single long and a 128-bit ID is packed into two longs holding the high and the low 64 bits of the ID.
+ */
+public class IdNormalizer {
+    private static final int HEX_DIGITS_PER_LONG = 16;
+    private static final int MAX_HEX_DIGITS = 2 * HEX_DIGITS_PER_LONG;
+
+    private IdNormalizer() {    // Prevent initialization
+    }
+
+    /**
+     * Strip the leading zeros of an ID.
+     * The same ID instance is returned if the ID does not have leading zeros.
+     *
+     * @param id The ID to be normalized
+     * @return The ID without the leading zeros
+     */
+    public static String normalize(String id) {
+        if (id == null) {
+            return null;
+        }
+        int firstNonZeroIndex = 0;
+        while (firstNonZeroIndex < id.length() && id.charAt(firstNonZeroIndex) == '0') {
+            firstNonZeroIndex++;
+        }
+        return firstNonZeroIndex == 0 ? id : id.substring(firstNonZeroIndex);
+    }
+
+    /**
+     * Pack the low 64 bits of a hexadecimal ID into a long.
+     * For 64-bit IDs this is the whole ID.
+     *
+     * @param id The hexadecimal ID to be packed
+     * @return The low 64 bits of the ID or null if the ID is not a hexadecimal ID of up to 128 bits
+     */
+    public static Long packLowBits(String id) {
+        int significantLength = getSignificantLength(id);
+        if (significantLength < 0) {
+            return null;
+        }
+        return parseHex(id, id.length() - Math.min(significantLength, HEX_DIGITS_PER_LONG), id.length());
+    }
+
+    /**
+     * Pack the high 64 bits of a hexadecimal ID into a long.
+     * For 64-bit IDs this is always zero.
+     *
+     * @param id The hexadecimal ID to be packed
+     * @return The high 64 bits of the ID or null if the ID is not a hexadecimal ID of up to 128 bits
+     */
+    public static Long packHighBits(String id) {
+        int significantLength = getSignificantLength(id);
+        if (significantLength < 0) {
+            return null;
+        }
+        int lowBitsStartIndex = id.length() - Math.min(significantLength, HEX_DIGITS_PER_LONG);
+        return parseHex(id, id.length() - significantLength, lowBitsStartIndex);
+    }
+
+    /**
+     * Get the number of hexadecimal digits in an ID excluding the leading zeros.
+     *
+     * @param id The hexadecimal ID
+     * @return The number of significant digits or -1 if the ID is not a hexadecimal ID of up to 128 bits
+     */
+    private static int getSignificantLength(String id) {
+        if (id == null || id.isEmpty()) {
+            return -1;
+        }
+        int significantLength = 0;
+        for (int i = 0; i < id.length(); i++) {
+            if (Character.digit(id.charAt(i), 16) < 0) {
+                return -1;
+            }
+            if (significantLength > 0 || id.charAt(i) != '0') {
+                significantLength++;
+            }
+        }
+        return significantLength <= MAX_HEX_DIGITS ? significantLength : -1;
+    }
+
+    /**
+     * Parse a range of validated hexadecimal digits into a long.
+     *
+     * @param id The hexadecimal ID
+     * @param startIndex The index of the first digit (inclusive)
+     * @param endIndex The index of the last digit (exclusive)
+     * @return The parsed value
+     */
+    private static long parseHex(String id, int startIndex, int endIndex) {
+        long value = 0;
+        for (int i = startIndex; i < endIndex; i++) {
+            value = (value << 4) | Character.digit(id.charAt(i), 16);
+        }
+        return value;
+    }
+}
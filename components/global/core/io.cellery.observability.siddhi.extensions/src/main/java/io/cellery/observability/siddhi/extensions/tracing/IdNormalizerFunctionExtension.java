@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import org.wso2.siddhi.annotation.Example;
+import org.wso2.siddhi.annotation.Extension;
+import org.wso2.siddhi.annotation.Parameter;
+import org.wso2.siddhi.annotation.ReturnAttribute;
+import org.wso2.siddhi.annotation.util.DataType;
+import org.wso2.siddhi.core.config.SiddhiAppContext;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.executor.ConstantExpressionExecutor;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.executor.function.FunctionExecutor;
+import org.wso2.siddhi.core.util.config.ConfigReader;
+import org.wso2.siddhi.query.api.definition.Attribute;
+
+import java.util.Map;
+
+/**
+ * This is the Siddhi extension which normalizes the trace IDs and span IDs reported in tracing spans.
+ */
+@Extension(
+        name = "normalizeId",
+        namespace = "tracing",
+        description = "This strips the leading zeros of a trace ID or a span ID. If the packing is specified, "
+                + "the low or the high 64 bits of the hexadecimal ID are returned as a long instead",
+        parameters = {
+                @Parameter(
+                        name = "id",
+                        description = "The trace ID or the span ID",
+                        type = {DataType.STRING}
+                ),
+                @Parameter(
+                        name = "packing",
+                        description = "The 64 bits of the ID to be returned as a long (\"low\" or \"high\")",
+                        type = {DataType.STRING},
+                        optional = true,
+                        defaultValue = "none"
+                )
+        },
+        returnAttributes = @ReturnAttribute(
+                description = "The ID without the leading zeros or the packed ID if the packing is specified",
+                type = {DataType.STRING, DataType.LONG}
+        ),
+        examples = {
+                @Example(
+                        description = "This strips the leading zeros of the trace ID",
+                        syntax = "from ZipkinStream\n"
+                                + "select tracing:normalizeId(traceId) as traceId\n"
+                                + "insert into outputStream;"
+                ),
+                @Example(
+                        description = "This packs the trace ID into two longs",
+                        syntax = "from ZipkinStream\n"
+                                + "select tracing:normalizeId(traceId, \"high\") as traceIdHigh, "
+                                + "tracing:normalizeId(traceId, \"low\") as traceIdLow\n"
+                                + "insert into outputStream;"
+                )
+        }
+)
+public class IdNormalizerFunctionExtension extends FunctionExecutor {
+    private static final String PACKING_LOW = "low";
+    private static final String PACKING_HIGH = "high";
+
+    private String packing;
+
+    @Override
+    protected void init(ExpressionExecutor[] expressionExecutors, ConfigReader configReader,
+                        SiddhiAppContext siddhiAppContext) {
+        if (expressionExecutors.length != 1 && expressionExecutors.length != 2) {
+            throw new SiddhiAppCreationException("One argument or two arguments including the packing are "
+                    + "required, but " + expressionExecutors.length + " given");
+        }
+        if (expressionExecutors[0].getReturnType() != Attribute.Type.STRING) {
+            throw new SiddhiAppCreationException("Expected a field with String return type for the id field, "
+                    + "but found a field with return type - " + expressionExecutors[0].getReturnType());
+        }
+        if (expressionExecutors.length == 2) {
+            if (!(expressionExecutors[1] instanceof ConstantExpressionExecutor)
+                    || expressionExecutors[1].getReturnType() != Attribute.Type.STRING) {
+                throw new SiddhiAppCreationException("Expected a constant String for the packing field");
+            }
+            packing = (String) ((ConstantExpressionExecutor) expressionExecutors[1]).getValue();
+            if (!PACKING_LOW.equals(packing) && !PACKING_HIGH.equals(packing)) {
+                throw new SiddhiAppCreationException("Expected \"" + PACKING_LOW + "\" or \"" + PACKING_HIGH
+                        + "\" for the packing field, but found \"" + packing + "\"");
+            }
+        }
+    }
+
+    @Override
+    protected Object execute(Object[] data) {
+        return execute(data[0]);
+    }
+
+    @Override
+    protected Object execute(Object data) {
+        String id = (String) data;
+        if (packing == null) {
+            return IdNormalizer.normalize(id);
+        } else if (PACKING_LOW.equals(packing)) {
+            return IdNormalizer.packLowBits(id);
+        } else {
+            return IdNormalizer.packHighBits(id);
+        }
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return packing == null ? Attribute.Type.STRING : Attribute.Type.LONG;
+    }
+
+    @Override
+    public Map<String, Object> currentState() {     // Do Nothing
+        return null;
+    }
+
+    @Override
+    public void restoreState(Map<String, Object> map) { // Do Nothing
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory store of the spans of the recently started traces.
+ *
+ * The spans are stored in the same shape as the rows returned when fetching a trace from the Distributed Tracing
+ * Table, so that the traces started within the time window can be served without querying the database.
+ * A trace is only served if all its spans are known to be in the store. Traces which started before the store
+ * was created or of which some spans were evicted are tracked without their spans until they expire.
+ *
+ * The memory used by the store is capped by the estimated size of the stored spans, which is dominated by the
+ * string attributes (for example the tags) of the spans.
+ */
+public class RecentSpanStore implements RecentSpanStoreMXBean {
+    public static final int SPAN_ID_INDEX = 1;
+    public static final int POD_INDEX = 7;
+    public static final int SPAN_ATTRIBUTES_COUNT = 13;
+
+    public static final String MBEAN_NAME = "io.cellery.observability:type=RecentSpanStore";
+
+    private static final String TRACE_KEY_SEPARATOR = ":";
+
+    // Rough estimates of the memory used by the objects and the map entries apart from the string contents
+    private static final int TRACE_OVERHEAD_BYTES = 128;
+    private static final int SPAN_OVERHEAD_BYTES = 64 + 16 * SPAN_ATTRIBUTES_COUNT;
+
+    private final LongSupplier clock;
+    private final long windowMillis;
+    private final int maxSpansCount;
+    private final long maxSizeBytes;
+    private final long warmUpEndTimestamp;
+
+    // Insertion ordered maps which are ordered by the time the trace was first seen or evicted respectively
+    private final Map<String, RecentTrace> traces = new LinkedHashMap<>();
+    private final Map<String, Long> evictedTraces = new LinkedHashMap<>();
+
+    private int spansCount = 0;
+    private long sizeBytes = 0;
+    private long hitsCount = 0;
+    private long missesCount = 0;
+    private long expiredTracesCount = 0;
+    private long evictedTracesCount = 0;
+
+    public RecentSpanStore(int windowMinutes, int maxSpansCount, long maxSizeBytes) {
+        this(TimeUnit.MINUTES.toMillis(windowMinutes), maxSpansCount, maxSizeBytes, System::currentTimeMillis);
+    }
+
+    RecentSpanStore(long windowMillis, int maxSpansCount, long maxSizeBytes, LongSupplier clock) {
+        this.clock = clock;
+        this.windowMillis = windowMillis;
+        this.maxSpansCount = maxSpansCount;
+        this.maxSizeBytes = maxSizeBytes;
+        this.warmUpEndTimestamp = clock.getAsLong() + windowMillis;
+    }
+
+    /**
+     * Store a span reported by a tracer. If the span is already stored, all the attributes except the pod are
+     * replaced.
+     *
+     * @param runtime The runtime the span belongs to
+     * @param span The attributes of the span in the order of the trace rows
+     */
+    public synchronized void storeSpan(String runtime, Object[] span) {
+        store(runtime, span, false);
+    }
+
+    /**
+     * Store the pod of a span reported by the telemetry. If the span is already stored, only the pod is replaced.
+     *
+     * @param runtime The runtime the span belongs to
+     * @param span The attributes of the span in the order of the trace rows
+     */
+    public synchronized void storeSpanPod(String runtime, Object[] span) {
+        store(runtime, span, true);
+    }
+
+    /**
+     * Get the spans of a trace if the trace is completely available in the store.
+     *
+     * @param runtime The runtime the trace belongs to
+     * @param traceId The ID of the trace
+     * @return The spans of the trace in the order of the trace rows or null if the trace is not available
+     */
+    public synchronized Object[][] getTrace(String runtime, String traceId) {
+        expire(clock.getAsLong());
+        RecentTrace trace = traces.get(generateTraceKey(runtime, traceId));
+        if (trace == null || trace.spans == null) {
+            missesCount++;
+            return null;
+        }
+        hitsCount++;
+        Object[][] spans = new Object[trace.spans.size()][];
+        int i = 0;
+        for (Object[] span : trace.spans.values()) {
+            spans[i] = span.clone();
+            i++;
+        }
+        return spans;
+    }
+
+    /**
+     * Remove the traces which started before the time window.
+     */
+    public synchronized void expire() {
+        expire(clock.getAsLong());
+    }
+
+    @Override
+    public synchronized int getTracesCount() {
+        return traces.size();
+    }
+
+    @Override
+    public synchronized int getSpansCount() {
+        return spansCount;
+    }
+
+    @Override
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    @Override
+    public synchronized long getHitsCount() {
+        return hitsCount;
+    }
+
+    @Override
+    public synchronized long getMissesCount() {
+        return missesCount;
+    }
+
+    @Override
+    public synchronized long getExpiredTracesCount() {
+        return expiredTracesCount;
+    }
+
+    @Override
+    public synchronized long getEvictedTracesCount() {
+        return evictedTracesCount;
+    }
+
+    private void store(String runtime, Object[] span, boolean isPodUpdate) {
+        if (span.length != SPAN_ATTRIBUTES_COUNT) {
+            throw new IllegalArgumentException("Expected " + SPAN_ATTRIBUTES_COUNT + " span attributes, but found "
+                    + span.length);
+        }
+        long currentTimestamp = clock.getAsLong();
+        expire(currentTimestamp);
+
+        String traceKey = generateTraceKey(runtime, (String) span[0]);
+        RecentTrace trace = traces.get(traceKey);
+        if (trace == null) {
+            // Earlier spans of the trace might have been missed if it was seen during warm up or evicted before
+            boolean isComplete = currentTimestamp >= warmUpEndTimestamp && !evictedTraces.containsKey(traceKey);
+            trace = new RecentTrace(currentTimestamp, isComplete);
+            trace.sizeBytes = TRACE_OVERHEAD_BYTES + estimateSizeBytes(traceKey);
+            sizeBytes += trace.sizeBytes;
+            traces.put(traceKey, trace);
+        }
+        if (trace.spans == null) {
+            evict(currentTimestamp);
+            return;
+        }
+
+        Object[] storedSpan = trace.spans.get((String) span[SPAN_ID_INDEX]);
+        long spanSizeChangeBytes;
+        if (storedSpan == null) {
+            trace.spans.put((String) span[SPAN_ID_INDEX], span.clone());
+            spansCount++;
+            spanSizeChangeBytes = estimateSpanSizeBytes(span);
+        } else if (isPodUpdate) {
+            spanSizeChangeBytes = estimateSizeBytes(span[POD_INDEX]) - estimateSizeBytes(storedSpan[POD_INDEX]);
+            storedSpan[POD_INDEX] = span[POD_INDEX];
+        } else {
+            spanSizeChangeBytes = -estimateSpanSizeBytes(storedSpan);
+            Object pod = storedSpan[POD_INDEX];
+            System.arraycopy(span, 0, storedSpan, 0, span.length);
+            storedSpan[POD_INDEX] = pod;
+            spanSizeChangeBytes += estimateSpanSizeBytes(storedSpan);
+        }
+        trace.sizeBytes += spanSizeChangeBytes;
+        sizeBytes += spanSizeChangeBytes;
+
+        evict(currentTimestamp);
+    }
+
+    /**
+     * Remove the oldest traces until the number of spans and traces and the estimated size are within the limits.
+     *
+     * @param currentTimestamp The current timestamp
+     */
+    private void evict(long currentTimestamp) {
+        Iterator<Map.Entry<String, RecentTrace>> tracesIterator = traces.entrySet().iterator();
+        while ((spansCount > maxSpansCount || traces.size() > maxSpansCount || sizeBytes > maxSizeBytes)
+                && tracesIterator.hasNext()) {
+            Map.Entry<String, RecentTrace> traceEntry = tracesIterator.next();
+            tracesIterator.remove();
+            removeSpans(traceEntry.getKey(), traceEntry.getValue(), currentTimestamp);
+            evictedTracesCount++;
+        }
+    }
+
+    /**
+     * Remove the traces which started before the time window.
+     *
+     * @param currentTimestamp The current timestamp
+     */
+    private void expire(long currentTimestamp) {
+        long windowStartTimestamp = currentTimestamp - windowMillis;
+        Iterator<Map.Entry<String, RecentTrace>> tracesIterator = traces.entrySet().iterator();
+        while (tracesIterator.hasNext()) {
+            Map.Entry<String, RecentTrace> traceEntry = tracesIterator.next();
+            if (traceEntry.getValue().firstSeenTimestamp > windowStartTimestamp) {
+                break;
+            }
+            tracesIterator.remove();
+            removeSpans(traceEntry.getKey(), traceEntry.getValue(), currentTimestamp);
+            expiredTracesCount++;
+        }
+
+        Iterator<Map.Entry<String, Long>> evictedTracesIterator = evictedTraces.entrySet().iterator();
+        while (evictedTracesIterator.hasNext()) {
+            Map.Entry<String, Long> evictedTraceEntry = evictedTracesIterator.next();
+            if (evictedTraceEntry.getValue() > windowStartTimestamp && evictedTraces.size() <= maxSpansCount) {
+                break;
+            }
+            evictedTracesIterator.remove();
+        }
+    }
+
+    /**
+     * Remove the spans of a trace removed from the store and remember it as evicted.
+     *
+     * @param traceKey The key of the trace
+     * @param trace The trace removed from the store
+     * @param currentTimestamp The current timestamp
+     */
+    private void removeSpans(String traceKey, RecentTrace trace, long currentTimestamp) {
+        if (trace.spans != null) {
+            spansCount -= trace.spans.size();
+        }
+        sizeBytes -= trace.sizeBytes;
+        evictedTraces.remove(traceKey);
+        evictedTraces.put(traceKey, currentTimestamp);
+    }
+
+    /**
+     * Estimate the memory used by a stored span.
+     *
+     * @param span The attributes of the span
+     * @return The estimated size of the span in bytes
+     */
+    private static long estimateSpanSizeBytes(Object[] span) {
+        long spanSizeBytes = SPAN_OVERHEAD_BYTES;
+        for (Object attribute : span) {
+            spanSizeBytes += estimateSizeBytes(attribute);
+        }
+        return spanSizeBytes;
+    }
+
+    /**
+     * Estimate the memory used by the contents of a string attribute. Other attributes are covered by the overhead.
+     *
+     * @param attribute The attribute
+     * @return The estimated size of the string contents in bytes
+     */
+    private static long estimateSizeBytes(Object attribute) {
+        return attribute instanceof String ? 2L * ((String) attribute).length() : 0;
+    }
+
+    private static String generateTraceKey(String runtime, String traceId) {
+        return runtime + TRACE_KEY_SEPARATOR + traceId;
+    }
+
+    /**
+     * A trace in the store. The spans are not stored for traces which are not completely available.
+     */
+    private static class RecentTrace {
+        private final long firstSeenTimestamp;
+        private final Map<String, Object[]> spans;
+        private long sizeBytes;
+
+        RecentTrace(long firstSeenTimestamp, boolean isComplete) {
+            this.firstSeenTimestamp = firstSeenTimestamp;
+            this.spans = isComplete ? new LinkedHashMap<>() : null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+/**
+ * Management interface exposing the usage and the effectiveness of the recent span store as JMX metrics.
+ */
+public interface RecentSpanStoreMXBean {
+
+    /**
+     * Get the number of traces tracked by the store.
+     *
+     * @return The number of traces
+     */
+    int getTracesCount();
+
+    /**
+     * Get the number of spans stored.
+     *
+     * @return The number of spans
+     */
+    int getSpansCount();
+
+    /**
+     * Get the estimated memory used by the stored traces.
+     *
+     * @return The estimated size in bytes
+     */
+    long getSizeBytes();
+
+    /**
+     * Get the number of traces served from the store.
+     *
+     * @return The number of hits
+     */
+    long getHitsCount();
+
+    /**
+     * Get the number of traces requested which were not completely available in the store.
+     *
+     * @return The number of misses
+     */
+    long getMissesCount();
+
+    /**
+     * Get the number of traces removed since they started before the time window.
+     *
+     * @return The number of expired traces
+     */
+    long getExpiredTracesCount();
+
+    /**
+     * Get the number of traces removed to keep the store within its limits.
+     *
+     * @return The number of evicted traces
+     */
+    long getEvictedTracesCount();
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import io.cellery.observability.siddhi.extensions.internal.ServiceHolder;
+import org.apache.log4j.Logger;
+import org.wso2.siddhi.annotation.Example;
+import org.wso2.siddhi.annotation.Extension;
+import org.wso2.siddhi.annotation.Parameter;
+import org.wso2.siddhi.annotation.util.DataType;
+import org.wso2.siddhi.core.config.SiddhiAppContext;
+import org.wso2.siddhi.core.event.ComplexEventChunk;
+import org.wso2.siddhi.core.event.stream.StreamEvent;
+import org.wso2.siddhi.core.event.stream.StreamEventCloner;
+import org.wso2.siddhi.core.event.stream.populater.ComplexEventPopulater;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.executor.ConstantExpressionExecutor;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.query.processor.Processor;
+import org.wso2.siddhi.core.query.processor.stream.StreamProcessor;
+import org.wso2.siddhi.core.util.config.ConfigReader;
+import org.wso2.siddhi.query.api.definition.AbstractDefinition;
+import org.wso2.siddhi.query.api.definition.Attribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is the Siddhi extension which stores the spans of the recently started traces in memory.
+ */
+@Extension(
+        name = "storeRecentSpan",
+        namespace = "tracing",
+        description = "This stores the span in the in-memory recent span store, so that the recently started traces "
+                + "can be fetched without querying the database. The attributes of the span should be provided in the "
+                + "order of the Distributed Tracing Table",
+        parameters = {
+                @Parameter(
+                        name = "update.type",
+                        description = "The attributes replaced when the span is already stored. \"span\" replaces "
+                                + "all the attributes except the pod and \"pod\" replaces only the pod",
+                        type = {DataType.STRING}
+                ),
+                @Parameter(name = "runtime", description = "The runtime of the span", type = {DataType.STRING}),
+                @Parameter(name = "trace.id", description = "The trace ID of the span", type = {DataType.STRING}),
+                @Parameter(name = "span.id", description = "The span ID of the span", type = {DataType.STRING}),
+                @Parameter(name = "parent.id", description = "The parent ID of the span", type = {DataType.STRING}),
+                @Parameter(name = "namespace", description = "The namespace of the span", type = {DataType.STRING}),
+                @Parameter(name = "instance", description = "The instance of the span", type = {DataType.STRING}),
+                @Parameter(
+                        name = "instance.kind",
+                        description = "The kind of the instance of the span",
+                        type = {DataType.STRING}
+                ),
+                @Parameter(
+                        name = "service.name",
+                        description = "The service name of the span",
+                        type = {DataType.STRING}
+                ),
+                @Parameter(name = "pod", description = "The pod of the span", type = {DataType.STRING}),
+                @Parameter(
+                        name = "operation.name",
+                        description = "The operation name of the span",
+                        type = {DataType.STRING}
+                ),
+                @Parameter(name = "span.kind", description = "The kind of the span", type = {DataType.STRING}),
+                @Parameter(name = "start.time", description = "The start time of the span", type = {DataType.LONG}),
+                @Parameter(name = "duration", description = "The duration of the span", type = {DataType.LONG}),
+                @Parameter(
+                        name = "tags",
+                        description = "The Json encoded tags of the span",
+                        type = {DataType.STRING}
+                )
+        },
+        examples = {
+                @Example(
+                        description = "This stores the spans received from the tracers",
+                        syntax = "from ZipkinStream#tracing:storeRecentSpan(\"span\", runtime, traceId, spanId, "
+                                + "parentId, namespace, instance, instanceKind, serviceName, pod, operationName, "
+                                + "spanKind, startTime, duration, tags)\n"
+                                + "insert into DummyStream;"
+                )
+        }
+)
+public class RecentSpanStoreStreamProcessor extends StreamProcessor {
+    private static final Logger logger = Logger.getLogger(RecentSpanStoreStreamProcessor.class);
+
+    private static final String UPDATE_TYPE_SPAN = "span";
+    private static final String UPDATE_TYPE_POD = "pod";
+    private static final Attribute.Type[] SPAN_ATTRIBUTE_TYPES = new Attribute.Type[]{
+            Attribute.Type.STRING, Attribute.Type.STRING, Attribute.Type.STRING, Attribute.Type.STRING,
+            Attribute.Type.STRING, Attribute.Type.STRING, Attribute.Type.STRING, Attribute.Type.STRING,
+            Attribute.Type.STRING, Attribute.Type.STRING, Attribute.Type.LONG, Attribute.Type.LONG,
+            Attribute.Type.STRING
+    };
+
+    private boolean isPodUpdate;
+    private ExpressionExecutor runtimeExecutor;
+    private ExpressionExecutor[] spanAttributeExecutors;
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+        RecentSpanStore recentSpanStore = ServiceHolder.getRecentSpanStore();
+        if (recentSpanStore != null) {
+            while (streamEventChunk.hasNext()) {
+                try {
+                    StreamEvent incomingStreamEvent = streamEventChunk.next();
+                    String runtime = (String) runtimeExecutor.execute(incomingStreamEvent);
+                    Object[] span = new Object[spanAttributeExecutors.length];
+                    for (int i = 0; i < spanAttributeExecutors.length; i++) {
+                        span[i] = spanAttributeExecutors[i].execute(incomingStreamEvent);
+                    }
+                    if (isPodUpdate) {
+                        recentSpanStore.storeSpanPod(runtime, span);
+                    } else {
+                        recentSpanStore.storeSpan(runtime, span);
+                    }
+                } catch (Throwable throwable) {
+                    logger.error("Unexpected error occurred while processing the event "
+                            + "in the recent span store processor", throwable);
+                }
+            }
+            streamEventChunk.reset();
+        }
+        if (streamEventChunk.getFirst() != null) {
+            nextProcessor.process(streamEventChunk);
+        }
+    }
+
+    @Override
+    protected List<Attribute> init(AbstractDefinition abstractDefinition, ExpressionExecutor[] expressionExecutors,
+                                   ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
+        int expectedArgumentsCount = SPAN_ATTRIBUTE_TYPES.length + 2;
+        if (expressionExecutors.length != expectedArgumentsCount) {
+            throw new SiddhiAppCreationException(expectedArgumentsCount + " arguments are required, but "
+                    + expressionExecutors.length + " given");
+        }
+        if (expressionExecutors[0] instanceof ConstantExpressionExecutor
+                && expressionExecutors[0].getReturnType() == Attribute.Type.STRING) {
+            String updateType = (String) ((ConstantExpressionExecutor) expressionExecutors[0]).getValue();
+            if (UPDATE_TYPE_POD.equals(updateType)) {
+                isPodUpdate = true;
+            } else if (UPDATE_TYPE_SPAN.equals(updateType)) {
+                isPodUpdate = false;
+            } else {
+                throw new SiddhiAppCreationException("Expected \"" + UPDATE_TYPE_SPAN + "\" or \"" + UPDATE_TYPE_POD
+                        + "\" as the update type, but found " + updateType);
+            }
+        } else {
+            throw new SiddhiAppCreationException("Expected a constant String for the update type parameter");
+        }
+        if (expressionExecutors[1].getReturnType() == Attribute.Type.STRING) {
+            runtimeExecutor = expressionExecutors[1];
+        } else {
+            throw new SiddhiAppCreationException("Expected a field with String return type for the runtime field, "
+                    + "but found a field with return type - " + expressionExecutors[1].getReturnType());
+        }
+        spanAttributeExecutors = new ExpressionExecutor[SPAN_ATTRIBUTE_TYPES.length];
+        for (int i = 0; i < SPAN_ATTRIBUTE_TYPES.length; i++) {
+            ExpressionExecutor expressionExecutor = expressionExecutors[i + 2];
+            if (expressionExecutor.getReturnType() != SPAN_ATTRIBUTE_TYPES[i]) {
+                throw new SiddhiAppCreationException("Expected a field with " + SPAN_ATTRIBUTE_TYPES[i]
+                        + " return type for the span attribute at index " + i + ", but found a field with return "
+                        + "type - " + expressionExecutor.getReturnType());
+            }
+            spanAttributeExecutors[i] = expressionExecutor;
+        }
+        return new ArrayList<>(0);
+    }
+
+    @Override
+    public void start() {   // Do Nothing
+    }
+
+    @Override
+    public void stop() {    // Do Nothing
+    }
+
+    @Override
+    public Map<String, Object> currentState() {     // Do Nothing
+        return null;
+    }
+
+    @Override
+    public void restoreState(Map<String, Object> map) { // Do Nothing
+    }
+}
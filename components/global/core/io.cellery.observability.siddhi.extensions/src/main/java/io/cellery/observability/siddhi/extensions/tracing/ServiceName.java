@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import java.util.Objects;
+
+/**
+ * Parts of a service name parsed from the name reported in a tracing span.
+ */
+public class ServiceName {
+    private final String namespace;
+    private final String instance;
+    private final String instanceKind;
+    private final String component;
+
+    public ServiceName(String namespace, String instance, String instanceKind, String component) {
+        this.namespace = namespace;
+        this.instance = instance;
+        this.instanceKind = instanceKind;
+        this.component = component;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getInstance() {
+        return instance;
+    }
+
+    public String getInstanceKind() {
+        return instanceKind;
+    }
+
+    public String getComponent() {
+        return component;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ServiceName that = (ServiceName) o;
+        return Objects.equals(namespace, that.namespace) && Objects.equals(instance, that.instance)
+                && Objects.equals(instanceKind, that.instanceKind) && Objects.equals(component, that.component);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(namespace, instance, instanceKind, component);
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceName{namespace='" + namespace + "', instance='" + instance + "', instanceKind='"
+                + instanceKind + "', component='" + component + "'}";
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parser for the service names reported in tracing spans.
+ *
+ * The following formats of service names are recognized.
+ * <ul>
+ *     <li>System components: {component}.{namespace}</li>
+ *     <li>Cell gateways: {instance}--{component}.{namespace}</li>
+ *     <li>Microservices: {instance}--{component}--{instanceKind}.{namespace}</li>
+ * </ul>
+ * Service names repeat heavily and therefore the parsed results are memoized in a bounded cache which evicts the
+ * least recently used service names first.
+ */
+public class ServiceNameParser {
+    private static final String NAME_REGEX = "[a-z0-9]+(?:-[a-z0-9]+)*";
+    private static final Pattern SERVICE_NAME_PATTERN = Pattern.compile("^(" + NAME_REGEX + ")(?:--("
+            + NAME_REGEX + ")(?:--(" + NAME_REGEX + "))?)?\\.(.+)$");
+
+    private static final String INSTANCE_KIND_CELL = "Cell";
+    private static final String INSTANCE_KIND_COMPOSITE = "Composite";
+    private static final ServiceName EMPTY_SERVICE_NAME = new ServiceName("", "", "", null);
+
+    private final Cache<String, ServiceName> serviceNameCache;
+
+    public ServiceNameParser(long maxCachedServiceNames) {
+        this.serviceNameCache = CacheBuilder.newBuilder()
+                .maximumSize(maxCachedServiceNames)
+                .build();
+    }
+
+    /**
+     * Parse a service name into its parts.
+     * The component of service names which does not match any of the known formats is the service name itself.
+     *
+     * @param serviceName The service name to be parsed
+     * @return The parts of the service name
+     */
+    public ServiceName parse(String serviceName) {
+        if (serviceName == null) {
+            return EMPTY_SERVICE_NAME;
+        }
+        try {
+            return serviceNameCache.get(serviceName, () -> parseServiceName(serviceName));
+        } catch (ExecutionException e) {
+            // Parsing does not throw checked exceptions
+            return parseServiceName(serviceName);
+        }
+    }
+
+    /**
+     * Parse a service name into its parts without looking up the cache.
+     *
+     * @param serviceName The service name to be parsed
+     * @return The parts of the service name
+     */
+    private static ServiceName parseServiceName(String serviceName) {
+        Matcher matcher = SERVICE_NAME_PATTERN.matcher(serviceName);
+        String namespace = "";
+        String instance = "";
+        String instanceKind = "";
+        String component;
+        if (matcher.matches()) {
+            namespace = matcher.group(4);
+            if (matcher.group(2) == null) {         // System component
+                component = matcher.group(1);
+            } else {
+                instance = matcher.group(1);
+                component = matcher.group(2);
+                String kind = matcher.group(3);
+                if (kind == null) {                 // Instance Kind of a Cell Gateway is always Cell
+                    instanceKind = INSTANCE_KIND_CELL;
+                } else if ("cell".equals(kind)) {
+                    instanceKind = INSTANCE_KIND_CELL;
+                } else if ("composite".equals(kind)) {
+                    instanceKind = INSTANCE_KIND_COMPOSITE;
+                }
+            }
+        } else {
+            component = serviceName;
+        }
+        return new ServiceName(normalize(namespace), normalize(instance), instanceKind, normalize(component));
+    }
+
+    /**
+     * Normalize a part of a service name by replacing underscores with hyphens.
+     *
+     * @param namePart The part of the service name
+     * @return The normalized part of the service name
+     */
+    private static String normalize(String namePart) {
+        return namePart.replace('_', '-');
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import org.wso2.siddhi.annotation.Example;
+import org.wso2.siddhi.annotation.Extension;
+import org.wso2.siddhi.annotation.Parameter;
+import org.wso2.siddhi.annotation.ReturnAttribute;
+import org.wso2.siddhi.annotation.util.DataType;
+import org.wso2.siddhi.core.config.SiddhiAppContext;
+import org.wso2.siddhi.core.event.ComplexEventChunk;
+import org.wso2.siddhi.core.event.stream.StreamEvent;
+import org.wso2.siddhi.core.event.stream.StreamEventCloner;
+import org.wso2.siddhi.core.event.stream.populater.ComplexEventPopulater;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.query.processor.Processor;
+import org.wso2.siddhi.core.query.processor.stream.StreamProcessor;
+import org.wso2.siddhi.core.util.config.ConfigReader;
+import org.wso2.siddhi.query.api.definition.AbstractDefinition;
+import org.wso2.siddhi.query.api.definition.Attribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is the Siddhi extension which parses the service names reported in tracing spans and appends all the parts
+ * of the service name to the event using a single match.
+ */
+@Extension(
+        name = "parseServiceName",
+        namespace = "tracing",
+        description = "This parses the service name and appends the namespace, instance, instance kind and "
+                + "component extracted from the service name",
+        parameters = {
+                @Parameter(
+                        name = "service.name",
+                        description = "The service name reported in the span",
+                        type = {DataType.STRING}
+                )
+        },
+        returnAttributes = {
+                @ReturnAttribute(
+                        name = "serviceNamespace",
+                        description = "The namespace the service was deployed in",
+                        type = {DataType.STRING}
+                ),
+                @ReturnAttribute(
+                        name = "serviceInstance",
+                        description = "The instance the service belongs to",
+                        type = {DataType.STRING}
+                ),
+                @ReturnAttribute(
+                        name = "serviceInstanceKind",
+                        description = "The kind of the instance the service belongs to",
+                        type = {DataType.STRING}
+                ),
+                @ReturnAttribute(
+                        name = "serviceComponent",
+                        description = "The component name of the service",
+                        type = {DataType.STRING}
+                )
+        },
+        examples = {
+                @Example(
+                        description = "This parses the service name of the span",
+                        syntax = "from ZipkinStream#tracing:parseServiceName(serviceName)\n"
+                                + "select serviceNamespace as namespace, serviceInstance as instance, "
+                                + "serviceInstanceKind as instanceKind, serviceComponent as serviceName\n"
+                                + "insert into outputStream;"
+                )
+        }
+)
+public class ServiceNameParserStreamProcessor extends StreamProcessor {
+    private static final long MAX_CACHED_SERVICE_NAMES = 10000;
+
+    private final ServiceNameParser serviceNameParser = new ServiceNameParser(MAX_CACHED_SERVICE_NAMES);
+    private ExpressionExecutor serviceNameExecutor;
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            ServiceName serviceName = serviceNameParser.parse((String) serviceNameExecutor.execute(streamEvent));
+            complexEventPopulater.populateComplexEvent(streamEvent, new Object[]{serviceName.getNamespace(),
+                    serviceName.getInstance(), serviceName.getInstanceKind(), serviceName.getComponent()});
+        }
+        nextProcessor.process(streamEventChunk);
+    }
+
+    @Override
+    protected List<Attribute> init(AbstractDefinition abstractDefinition, ExpressionExecutor[] expressionExecutors,
+                                   ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
+        if (expressionExecutors.length != 1) {
+            throw new SiddhiAppCreationException("One argument is required, but "
+                    + expressionExecutors.length + " given");
+        } else if (expressionExecutors[0].getReturnType() == Attribute.Type.STRING) {
+            serviceNameExecutor = expressionExecutors[0];
+        } else {
+            throw new SiddhiAppCreationException("Expected a field with String return type for the service name "
+                    + "field, but found a field with return type - " + expressionExecutors[0].getReturnType());
+        }
+        List<Attribute> appendedAttributes = new ArrayList<>(4);
+        appendedAttributes.add(new Attribute("serviceNamespace", Attribute.Type.STRING));
+        appendedAttributes.add(new Attribute("serviceInstance", Attribute.Type.STRING));
+        appendedAttributes.add(new Attribute("serviceInstanceKind", Attribute.Type.STRING));
+        appendedAttributes.add(new Attribute("serviceComponent", Attribute.Type.STRING));
+        return appendedAttributes;
+    }
+
+    @Override
+    public void start() {   // Do Nothing
+    }
+
+    @Override
+    public void stop() {    // Do Nothing
+    }
+
+    @Override
+    public Map<String, Object> currentState() {     // Do Nothing
+        return null;
+    }
+
+    @Override
+    public void restoreState(Map<String, Object> map) { // Do Nothing
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Extractor for the tags reported in tracing spans which should be indexed.
+ *
+ * Only the tags with keys in the allow-list of indexed keys are extracted to limit the cardinality of the index.
+ * The tags are reported as a Json Object of which only the primitive values are considered.
+ */
+public class TagExtractor {
+    private static final String INDEXED_KEYS_SEPARATOR = ",";
+
+    private final JsonParser jsonParser = new JsonParser();
+    private final Set<String> indexedKeys;
+
+    public TagExtractor(String indexedKeys) {
+        this(parseIndexedKeys(indexedKeys));
+    }
+
+    public TagExtractor(Set<String> indexedKeys) {
+        this.indexedKeys = indexedKeys;
+    }
+
+    /**
+     * Parse a comma separated allow-list of indexed keys.
+     *
+     * @param indexedKeys The comma separated indexed keys
+     * @return The set of indexed keys
+     */
+    public static Set<String> parseIndexedKeys(String indexedKeys) {
+        Set<String> indexedKeysSet = new HashSet<>();
+        for (String indexedKey : indexedKeys.split(INDEXED_KEYS_SEPARATOR)) {
+            String trimmedIndexedKey = indexedKey.trim();
+            if (!trimmedIndexedKey.isEmpty()) {
+                indexedKeysSet.add(trimmedIndexedKey);
+            }
+        }
+        return Collections.unmodifiableSet(indexedKeysSet);
+    }
+
+    /**
+     * Extract the indexed tags from the Json encoded tags of a span.
+     * Invalid Json Objects are considered to be spans without any tags.
+     *
+     * @param tags The Json encoded tags of the span
+     * @return The indexed tags in the order they were reported
+     */
+    public Map<String, String> extract(String tags) {
+        if (tags == null || indexedKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        JsonElement tagsJsonElement;
+        try {
+            tagsJsonElement = jsonParser.parse(tags);
+        } catch (JsonParseException e) {
+            return Collections.emptyMap();
+        }
+        if (!tagsJsonElement.isJsonObject()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> indexedTags = new LinkedHashMap<>();
+        JsonObject tagsJsonObject = tagsJsonElement.getAsJsonObject();
+        for (Map.Entry<String, JsonElement> tag : tagsJsonObject.entrySet()) {
+            if (indexedKeys.contains(tag.getKey()) && tag.getValue().isJsonPrimitive()) {
+                indexedTags.put(tag.getKey(), tag.getValue().getAsString());
+            }
+        }
+        return indexedTags;
+    }
+
+    /**
+     * Get the allow-list of keys of the tags which are extracted.
+     *
+     * @return The set of indexed keys
+     */
+    public Set<String> getIndexedKeys() {
+        return indexedKeys;
+    }
+}
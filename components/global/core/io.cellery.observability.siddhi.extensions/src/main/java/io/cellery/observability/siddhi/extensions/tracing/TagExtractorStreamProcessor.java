@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import io.cellery.observability.siddhi.extensions.internal.IndexedTagsConfig;
+import org.wso2.carbon.config.ConfigurationException;
+import org.wso2.siddhi.annotation.Example;
+import org.wso2.siddhi.annotation.Extension;
+import org.wso2.siddhi.annotation.Parameter;
+import org.wso2.siddhi.annotation.ReturnAttribute;
+import org.wso2.siddhi.annotation.util.DataType;
+import org.wso2.siddhi.core.config.SiddhiAppContext;
+import org.wso2.siddhi.core.event.ComplexEventChunk;
+import org.wso2.siddhi.core.event.stream.StreamEvent;
+import org.wso2.siddhi.core.event.stream.StreamEventCloner;
+import org.wso2.siddhi.core.event.stream.populater.ComplexEventPopulater;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.executor.ConstantExpressionExecutor;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.query.processor.Processor;
+import org.wso2.siddhi.core.query.processor.stream.StreamProcessor;
+import org.wso2.siddhi.core.util.config.ConfigReader;
+import org.wso2.siddhi.query.api.definition.AbstractDefinition;
+import org.wso2.siddhi.query.api.definition.Attribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is the Siddhi extension which extracts the indexed tags reported in tracing spans and emits an event for
+ * each tag so that they can be stored in a normalized form.
+ */
+@Extension(
+        name = "extractTags",
+        namespace = "tracing",
+        description = "This extracts the tags with keys in the allow-list of indexed keys from the Json encoded tags "
+                + "of the span and emits an event for each extracted tag. Spans without any indexed tags are dropped",
+        parameters = {
+                @Parameter(
+                        name = "tags",
+                        description = "The Json encoded tags reported in the span",
+                        type = {DataType.STRING}
+                ),
+                @Parameter(
+                        name = "indexed.keys",
+                        description = "The comma separated allow-list of keys of the tags to be extracted",
+                        type = {DataType.STRING},
+                        optional = true,
+                        defaultValue = "The keys configured in the cellery.observability.tracing.indexed.tags "
+                                + "deployment configuration"
+                )
+        },
+        returnAttributes = {
+                @ReturnAttribute(
+                        name = "tagKey",
+                        description = "The key of the extracted tag",
+                        type = {DataType.STRING}
+                ),
+                @ReturnAttribute(
+                        name = "tagValue",
+                        description = "The value of the extracted tag",
+                        type = {DataType.STRING}
+                )
+        },
+        examples = {
+                @Example(
+                        description = "This extracts the tags of the span with the configured indexed keys",
+                        syntax = "from ZipkinStream#tracing:extractTags(tags)\n"
+                                + "select traceId, spanId, tagKey, tagValue\n"
+                                + "insert into outputStream;"
+                ),
+                @Example(
+                        description = "This extracts the HTTP method and status code tags of the span",
+                        syntax = "from ZipkinStream#tracing:extractTags(tags, \"http.method,http.status_code\")\n"
+                                + "select traceId, spanId, tagKey, tagValue\n"
+                                + "insert into outputStream;"
+                )
+        }
+)
+public class TagExtractorStreamProcessor extends StreamProcessor {
+    private ExpressionExecutor tagsExecutor;
+    private TagExtractor tagExtractor;
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+        ComplexEventChunk<StreamEvent> tagEventChunk = new ComplexEventChunk<>(streamEventChunk.isBatch());
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            streamEventChunk.remove();
+            Map<String, String> tags = tagExtractor.extract((String) tagsExecutor.execute(streamEvent));
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                StreamEvent tagEvent = streamEventCloner.copyStreamEvent(streamEvent);
+                complexEventPopulater.populateComplexEvent(tagEvent, new Object[]{tag.getKey(), tag.getValue()});
+                tagEventChunk.add(tagEvent);
+            }
+        }
+        if (tagEventChunk.getFirst() != null) {
+            nextProcessor.process(tagEventChunk);
+        }
+    }
+
+    @Override
+    protected List<Attribute> init(AbstractDefinition abstractDefinition, ExpressionExecutor[] expressionExecutors,
+                                   ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
+        if (expressionExecutors.length != 1 && expressionExecutors.length != 2) {
+            throw new SiddhiAppCreationException("One or two arguments are required, but "
+                    + expressionExecutors.length + " given");
+        }
+        if (expressionExecutors[0].getReturnType() == Attribute.Type.STRING) {
+            tagsExecutor = expressionExecutors[0];
+        } else {
+            throw new SiddhiAppCreationException("Expected a field with String return type for the tags field, "
+                    + "but found a field with return type - " + expressionExecutors[0].getReturnType());
+        }
+        if (expressionExecutors.length == 1) {
+            try {
+                tagExtractor = new TagExtractor(IndexedTagsConfig.getInstance().getKeys());
+            } catch (ConfigurationException e) {
+                throw new SiddhiAppCreationException("Failed to read the indexed tags configuration", e);
+            }
+        } else if (expressionExecutors[1] instanceof ConstantExpressionExecutor
+                && expressionExecutors[1].getReturnType() == Attribute.Type.STRING) {
+            tagExtractor = new TagExtractor(
+                    (String) ((ConstantExpressionExecutor) expressionExecutors[1]).getValue());
+        } else {
+            throw new SiddhiAppCreationException("Expected a constant String for the indexed keys parameter");
+        }
+        List<Attribute> appendedAttributes = new ArrayList<>(2);
+        appendedAttributes.add(new Attribute("tagKey", Attribute.Type.STRING));
+        appendedAttributes.add(new Attribute("tagValue", Attribute.Type.STRING));
+        return appendedAttributes;
+    }
+
+    @Override
+    public void start() {   // Do Nothing
+    }
+
+    @Override
+    public void stop() {    // Do Nothing
+    }
+
+    @Override
+    public Map<String, Object> currentState() {     // Do Nothing
+        return null;
+    }
+
+    @Override
+    public void restoreState(Map<String, Object> map) { // Do Nothing
+    }
+}
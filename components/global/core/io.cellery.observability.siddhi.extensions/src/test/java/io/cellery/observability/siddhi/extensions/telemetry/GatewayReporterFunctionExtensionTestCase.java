@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.telemetry;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.siddhi.core.SiddhiAppRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+import org.wso2.siddhi.core.stream.output.StreamCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the gateway reporter function extension.
+ */
+public class GatewayReporterFunctionExtensionTestCase {
+    private static final String INPUT_STREAM = "inputStream";
+    private static final String OUTPUT_STREAM = "outputStream";
+
+    private static final String GATEWAY_REPORTER_UID =
+            "kubernetes://pet-be--gateway-deployment-7d5b9c6f4b-x2k8p.default";
+    private static final String COMPONENT_REPORTER_UID =
+            "kubernetes://pet-be--controller-deployment-5c6d8f9b7-q9w4z.default";
+
+    private SiddhiManager siddhiManager;
+    private SiddhiAppRuntime siddhiAppRuntime;
+    private List<Event> receivedEvents;
+
+    @BeforeMethod
+    public void initTest() {
+        siddhiManager = new SiddhiManager();
+        receivedEvents = new ArrayList<>();
+    }
+
+    @AfterMethod
+    public void cleanUpTest() {
+        if (siddhiAppRuntime != null) {
+            siddhiAppRuntime.shutdown();
+            siddhiAppRuntime = null;
+        }
+        siddhiManager.shutdown();
+    }
+
+    @Test
+    public void testIsGatewayReporter() {
+        GatewayReporterFunctionExtension functionExtension = new GatewayReporterFunctionExtension();
+        Assert.assertEquals(functionExtension.execute(GATEWAY_REPORTER_UID), true);
+        Assert.assertEquals(functionExtension.execute(GATEWAY_REPORTER_UID), true);
+        Assert.assertEquals(functionExtension.execute(COMPONENT_REPORTER_UID), false);
+        Assert.assertEquals(functionExtension.execute("kubernetes://pet-be--gateway-deployment-7d5b9c6f4b.default"),
+                false);
+        Assert.assertEquals(functionExtension.execute("kubernetes://Pet--gateway-deployment-7d5b-x2k8p.default"),
+                false);
+        Assert.assertEquals(functionExtension.execute("pet-be--gateway-deployment-7d5b9c6f4b-x2k8p.default"),
+                false);
+        Assert.assertEquals(functionExtension.execute((Object) null), false);
+    }
+
+    @Test
+    public void testFilterGatewayReporters() throws Exception {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(requestId string, reporterUID string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "[not telemetry:isGatewayReporter(reporterUID)]\n"
+                + "select requestId\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+        siddhiAppRuntime.addCallback(OUTPUT_STREAM, new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    receivedEvents.add(event);
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(INPUT_STREAM);
+        inputHandler.send(new Object[]{"request-1", GATEWAY_REPORTER_UID});
+        inputHandler.send(new Object[]{"request-2", COMPONENT_REPORTER_UID});
+        inputHandler.send(new Object[]{"request-3", GATEWAY_REPORTER_UID});
+        inputHandler.send(new Object[]{"request-4", COMPONENT_REPORTER_UID});
+
+        Assert.assertEquals(receivedEvents.size(), 2);
+        Assert.assertEquals(receivedEvents.get(0).getData(), new Object[]{"request-2"});
+        Assert.assertEquals(receivedEvents.get(1).getData(), new Object[]{"request-4"});
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidReporterUIDParamType() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(requestId string, reporterUID long);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "[not telemetry:isGatewayReporter(reporterUID)]\n"
+                + "select requestId\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+}
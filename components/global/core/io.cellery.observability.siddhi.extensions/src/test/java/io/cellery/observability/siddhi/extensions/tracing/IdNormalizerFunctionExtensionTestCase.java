@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.siddhi.core.SiddhiAppRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+import org.wso2.siddhi.core.stream.output.StreamCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the ID normalizer function extension.
+ */
+public class IdNormalizerFunctionExtensionTestCase {
+    private static final String INPUT_STREAM = "inputStream";
+    private static final String OUTPUT_STREAM = "outputStream";
+
+    private SiddhiManager siddhiManager;
+    private SiddhiAppRuntime siddhiAppRuntime;
+    private List<Event> receivedEvents;
+
+    @BeforeMethod
+    public void initTest() {
+        siddhiManager = new SiddhiManager();
+        receivedEvents = new ArrayList<>();
+    }
+
+    @AfterMethod
+    public void cleanUpTest() {
+        if (siddhiAppRuntime != null) {
+            siddhiAppRuntime.shutdown();
+            siddhiAppRuntime = null;
+        }
+        siddhiManager.shutdown();
+    }
+
+    @Test
+    public void testNormalizeIds() throws Exception {
+        initializeSiddhiAppRuntime("tracing:normalizeId(traceId) as traceId, "
+                + "tracing:normalizeId(parentId) as parentId");
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(INPUT_STREAM);
+        inputHandler.send(new Object[]{"000000000000000000000000000000ab", "00000000000000cd"});
+        inputHandler.send(new Object[]{"463ac35c9f6413ad48485a3953bb6124", null});
+
+        Assert.assertEquals(receivedEvents.size(), 2);
+        Assert.assertEquals(receivedEvents.get(0).getData(), new Object[]{"ab", "cd"});
+        Assert.assertEquals(receivedEvents.get(1).getData(), new Object[]{"463ac35c9f6413ad48485a3953bb6124", null});
+    }
+
+    @Test
+    public void testPackIds() throws Exception {
+        initializeSiddhiAppRuntime("tracing:normalizeId(traceId, \"high\") as traceIdHigh, "
+                + "tracing:normalizeId(traceId, \"low\") as traceIdLow");
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(INPUT_STREAM);
+        inputHandler.send(new Object[]{"463ac35c9f6413ad48485a3953bb6124", null});
+        inputHandler.send(new Object[]{"00000000000000ff", null});
+
+        Assert.assertEquals(receivedEvents.size(), 2);
+        Assert.assertEquals(receivedEvents.get(0).getData(),
+                new Object[]{0x463ac35c9f6413adL, 0x48485a3953bb6124L});
+        Assert.assertEquals(receivedEvents.get(1).getData(), new Object[]{0L, 255L});
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidIdParamType() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(traceId long);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "\n"
+                + "select tracing:normalizeId(traceId) as traceId\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidPacking() {
+        initializeSiddhiAppRuntime("tracing:normalizeId(traceId, \"middle\") as traceId");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testNonConstantPacking() {
+        initializeSiddhiAppRuntime("tracing:normalizeId(traceId, parentId) as traceId");
+    }
+
+    /**
+     * Initialize the Siddhi App Runtime with a query selecting the provided attributes.
+     *
+     * @param selection The attributes to be selected
+     */
+    private void initializeSiddhiAppRuntime(String selection) {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(traceId string, parentId string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "\n"
+                + "select " + selection + "\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+        siddhiAppRuntime.addCallback(OUTPUT_STREAM, new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    receivedEvents.add(event);
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+    }
+}
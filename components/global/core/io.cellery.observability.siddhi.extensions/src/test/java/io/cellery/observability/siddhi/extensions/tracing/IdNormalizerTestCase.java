@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the ID normalizer.
+ */
+public class IdNormalizerTestCase {
+
+    @Test
+    public void testNormalize() {
+        Assert.assertEquals(IdNormalizer.normalize("000000000000000a3f9c2b7d1e4f6a8b"), "a3f9c2b7d1e4f6a8b");
+        Assert.assertEquals(IdNormalizer.normalize("0a3f9c2b7d1e4f6a"), "a3f9c2b7d1e4f6a");
+        Assert.assertEquals(IdNormalizer.normalize("a00b"), "a00b");
+        Assert.assertEquals(IdNormalizer.normalize("0000"), "");
+        Assert.assertEquals(IdNormalizer.normalize(""), "");
+        Assert.assertNull(IdNormalizer.normalize(null));
+    }
+
+    @Test
+    public void testNormalizeWithoutLeadingZeros() {
+        String id = "a3f9c2b7d1e4f6a8";
+        Assert.assertSame(IdNormalizer.normalize(id), id);
+    }
+
+    @Test
+    public void testPack64BitId() {
+        Assert.assertEquals(IdNormalizer.packLowBits("00000000000000ff"), Long.valueOf(255L));
+        Assert.assertEquals(IdNormalizer.packHighBits("00000000000000ff"), Long.valueOf(0L));
+        Assert.assertEquals(IdNormalizer.packLowBits("ffffffffffffffff"), Long.valueOf(-1L));
+        Assert.assertEquals(IdNormalizer.packHighBits("ffffffffffffffff"), Long.valueOf(0L));
+        Assert.assertEquals(IdNormalizer.packLowBits("0"), Long.valueOf(0L));
+    }
+
+    @Test
+    public void testPack128BitId() {
+        String id = "463ac35c9f6413ad48485a3953bb6124";
+        Assert.assertEquals(IdNormalizer.packHighBits(id), Long.valueOf(0x463ac35c9f6413adL));
+        Assert.assertEquals(IdNormalizer.packLowBits(id), Long.valueOf(0x48485a3953bb6124L));
+
+        String normalizedId = "1" + "0000000000000002";
+        Assert.assertEquals(IdNormalizer.packHighBits(normalizedId), Long.valueOf(1L));
+        Assert.assertEquals(IdNormalizer.packLowBits(normalizedId), Long.valueOf(2L));
+        Assert.assertEquals(IdNormalizer.packHighBits("000" + normalizedId), Long.valueOf(1L));
+        Assert.assertEquals(IdNormalizer.packLowBits("000" + normalizedId), Long.valueOf(2L));
+    }
+
+    @Test
+    public void testPackInvalidId() {
+        Assert.assertNull(IdNormalizer.packLowBits(null));
+        Assert.assertNull(IdNormalizer.packHighBits(null));
+        Assert.assertNull(IdNormalizer.packLowBits(""));
+        Assert.assertNull(IdNormalizer.packLowBits("a3f9x2b7"));
+        Assert.assertNull(IdNormalizer.packHighBits("a3f9x2b7"));
+        Assert.assertNull(IdNormalizer.packLowBits("1463ac35c9f6413ad48485a3953bb6124"));
+        Assert.assertEquals(IdNormalizer.packLowBits("0463ac35c9f6413ad48485a3953bb6124"),
+                Long.valueOf(0x48485a3953bb6124L));
+    }
+}
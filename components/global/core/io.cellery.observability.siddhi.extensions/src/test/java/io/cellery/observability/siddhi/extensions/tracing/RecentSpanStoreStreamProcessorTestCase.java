@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import io.cellery.observability.siddhi.extensions.internal.ServiceHolder;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.siddhi.core.SiddhiAppRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+import org.wso2.siddhi.core.stream.output.StreamCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test cases for the recent span store stream processor.
+ */
+public class RecentSpanStoreStreamProcessorTestCase {
+    private static final String INPUT_STREAM = "inputStream";
+    private static final String OUTPUT_STREAM = "outputStream";
+    private static final String INPUT_STREAM_DEFINITION = "define stream " + INPUT_STREAM + "(runtime string, "
+            + "traceId string, spanId string, parentId string, namespace string, instance string, "
+            + "instanceKind string, serviceName string, pod string, operationName string, spanKind string, "
+            + "startTime long, duration long, tags string);\n";
+    private static final String SPAN_ATTRIBUTES = "runtime, traceId, spanId, parentId, namespace, instance, "
+            + "instanceKind, serviceName, pod, operationName, spanKind, startTime, duration, tags";
+
+    private SiddhiManager siddhiManager;
+    private SiddhiAppRuntime siddhiAppRuntime;
+    private List<Event> receivedEvents;
+    private RecentSpanStore recentSpanStore;
+
+    @BeforeMethod
+    public void initTest() {
+        siddhiManager = new SiddhiManager();
+        receivedEvents = new ArrayList<>();
+        AtomicLong currentTimestamp = new AtomicLong(0);
+        recentSpanStore = new RecentSpanStore(60000, 100, 1024 * 1024, currentTimestamp::get);
+        currentTimestamp.set(60000);
+        ServiceHolder.setRecentSpanStore(recentSpanStore);
+    }
+
+    @AfterMethod
+    public void cleanUpTest() {
+        if (siddhiAppRuntime != null) {
+            siddhiAppRuntime.shutdown();
+            siddhiAppRuntime = null;
+        }
+        siddhiManager.shutdown();
+        ServiceHolder.setRecentSpanStore(null);
+    }
+
+    @Test
+    public void testStoreRecentSpans() throws Exception {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(INPUT_STREAM_DEFINITION
+                + "define stream telemetryStream(runtime string, traceId string, spanId string, parentId string, "
+                + "namespace string, instance string, instanceKind string, serviceName string, pod string, "
+                + "operationName string, spanKind string, startTime long, duration long, tags string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:storeRecentSpan(\"span\", " + SPAN_ATTRIBUTES + ")\n"
+                + "insert into " + OUTPUT_STREAM + ";\n"
+                + "@info(name = 'telemetryQuery')\n"
+                + "from telemetryStream#tracing:storeRecentSpan(\"pod\", " + SPAN_ATTRIBUTES + ")\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+        siddhiAppRuntime.addCallback(OUTPUT_STREAM, new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    receivedEvents.add(event);
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        siddhiAppRuntime.getInputHandler("telemetryStream").send(new Object[]{"test-runtime", "trace-1", "span-1",
+                null, "default", "pet-be", "Cell", "controller", "pod-1", "", "SERVER", 0L, 0L, "{}"});
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(INPUT_STREAM);
+        inputHandler.send(new Object[]{"test-runtime", "trace-1", "span-1", null, "default", "pet-be", "Cell",
+                "controller", "", "GET /pets", "SERVER", 1000L, 20L, "{}"});
+        inputHandler.send(new Object[]{"test-runtime", "trace-1", "span-2", "span-1", "default", "pet-be", "Cell",
+                "orders", "", "GET /orders", "CLIENT", 1005L, 10L, "{}"});
+
+        Assert.assertEquals(receivedEvents.size(), 3);
+        Object[][] trace = recentSpanStore.getTrace("test-runtime", "trace-1");
+        Assert.assertNotNull(trace);
+        Assert.assertEquals(trace.length, 2);
+        Assert.assertEquals(trace[0], new Object[]{"trace-1", "span-1", null, "default", "pet-be", "Cell",
+                "controller", "pod-1", "GET /pets", "SERVER", 1000L, 20L, "{}"});
+        Assert.assertEquals(trace[1], new Object[]{"trace-1", "span-2", "span-1", "default", "pet-be", "Cell",
+                "orders", "", "GET /orders", "CLIENT", 1005L, 10L, "{}"});
+    }
+
+    @Test
+    public void testStoreRecentSpansWithoutStore() throws Exception {
+        ServiceHolder.setRecentSpanStore(null);
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(INPUT_STREAM_DEFINITION
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:storeRecentSpan(\"span\", " + SPAN_ATTRIBUTES + ")\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+        siddhiAppRuntime.addCallback(OUTPUT_STREAM, new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    receivedEvents.add(event);
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        siddhiAppRuntime.getInputHandler(INPUT_STREAM).send(new Object[]{"test-runtime", "trace-1", "span-1", null,
+                "default", "pet-be", "Cell", "controller", "pod-1", "GET /pets", "SERVER", 1000L, 20L, "{}"});
+
+        Assert.assertEquals(receivedEvents.size(), 1);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidUpdateType() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(INPUT_STREAM_DEFINITION
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:storeRecentSpan(\"tags\", " + SPAN_ATTRIBUTES + ")\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidSpanAttributeType() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(INPUT_STREAM_DEFINITION
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:storeRecentSpan(\"span\", runtime, traceId, spanId, parentId, "
+                + "namespace, instance, instanceKind, serviceName, pod, operationName, spanKind, tags, duration, "
+                + "startTime)\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidParamCount() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(INPUT_STREAM_DEFINITION
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:storeRecentSpan(\"span\", runtime, traceId, spanId)\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test cases for the recent span store.
+ */
+public class RecentSpanStoreTestCase {
+    private static final long WINDOW_MILLIS = 60000;
+    private static final long MAX_SIZE_BYTES = 1024 * 1024;
+    private static final String RUNTIME = "test-runtime";
+
+    private AtomicLong currentTimestamp;
+
+    @BeforeMethod
+    public void initTest() {
+        currentTimestamp = new AtomicLong(1000000);
+    }
+
+    @Test
+    public void testStoreSpan() {
+        RecentSpanStore recentSpanStore = createWarmedUpStore(100);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", "{}"));
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-2", "", "{}"));
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-2", "span-1", "", "{}"));
+
+        Object[][] trace = recentSpanStore.getTrace(RUNTIME, "trace-1");
+        Assert.assertNotNull(trace);
+        Assert.assertEquals(trace.length, 2);
+        Assert.assertEquals(trace[0], generateSpan("trace-1", "span-1", "", "{}"));
+        Assert.assertEquals(trace[1], generateSpan("trace-1", "span-2", "", "{}"));
+        Assert.assertEquals(recentSpanStore.getTracesCount(), 2);
+        Assert.assertEquals(recentSpanStore.getSpansCount(), 3);
+        Assert.assertEquals(recentSpanStore.getHitsCount(), 1);
+        Assert.assertNull(recentSpanStore.getTrace("other-runtime", "trace-1"));
+        Assert.assertNull(recentSpanStore.getTrace(RUNTIME, "trace-3"));
+        Assert.assertEquals(recentSpanStore.getMissesCount(), 2);
+    }
+
+    @Test
+    public void testStoreSpanUpdates() {
+        RecentSpanStore recentSpanStore = createWarmedUpStore(100);
+        recentSpanStore.storeSpanPod(RUNTIME, generateSpan("trace-1", "span-1", "pod-1", "{}"));
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", "{\"error\":\"true\"}"));
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-2", "", "{}"));
+        recentSpanStore.storeSpanPod(RUNTIME, generateSpan("trace-1", "span-2", "pod-2", "{\"ignored\":\"\"}"));
+
+        Object[][] trace = recentSpanStore.getTrace(RUNTIME, "trace-1");
+        Assert.assertNotNull(trace);
+        Assert.assertEquals(trace.length, 2);
+        Assert.assertEquals(trace[0], generateSpan("trace-1", "span-1", "pod-1", "{\"error\":\"true\"}"));
+        Assert.assertEquals(trace[1], generateSpan("trace-1", "span-2", "pod-2", "{}"));
+        Assert.assertEquals(recentSpanStore.getSpansCount(), 2);
+    }
+
+    @Test
+    public void testGetTraceReturnsCopies() {
+        RecentSpanStore recentSpanStore = createWarmedUpStore(100);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", "{}"));
+
+        recentSpanStore.getTrace(RUNTIME, "trace-1")[0][RecentSpanStore.POD_INDEX] = "modified-pod";
+        Assert.assertEquals(recentSpanStore.getTrace(RUNTIME, "trace-1")[0][RecentSpanStore.POD_INDEX], "");
+    }
+
+    @Test
+    public void testTracesSeenDuringWarmUp() {
+        RecentSpanStore recentSpanStore = new RecentSpanStore(WINDOW_MILLIS, 100, MAX_SIZE_BYTES,
+                currentTimestamp::get);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", "{}"));
+        currentTimestamp.addAndGet(WINDOW_MILLIS);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-2", "span-1", "", "{}"));
+
+        Assert.assertNull(recentSpanStore.getTrace(RUNTIME, "trace-1"));
+        Assert.assertNotNull(recentSpanStore.getTrace(RUNTIME, "trace-2"));
+        Assert.assertEquals(recentSpanStore.getSpansCount(), 1);
+    }
+
+    @Test
+    public void testExpire() {
+        RecentSpanStore recentSpanStore = createWarmedUpStore(100);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", "{}"));
+        currentTimestamp.addAndGet(WINDOW_MILLIS / 2);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-2", "span-1", "", "{}"));
+        currentTimestamp.addAndGet(WINDOW_MILLIS / 2);
+        recentSpanStore.expire();
+
+        Assert.assertNull(recentSpanStore.getTrace(RUNTIME, "trace-1"));
+        Assert.assertNotNull(recentSpanStore.getTrace(RUNTIME, "trace-2"));
+        Assert.assertEquals(recentSpanStore.getTracesCount(), 1);
+        Assert.assertEquals(recentSpanStore.getSpansCount(), 1);
+        Assert.assertEquals(recentSpanStore.getExpiredTracesCount(), 1);
+
+        // Spans of the expired trace received later should not be served as a partial trace
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-2", "", "{}"));
+        Assert.assertNull(recentSpanStore.getTrace(RUNTIME, "trace-1"));
+    }
+
+    @Test
+    public void testEvict() {
+        RecentSpanStore recentSpanStore = createWarmedUpStore(3);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", "{}"));
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-2", "", "{}"));
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-2", "span-1", "", "{}"));
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-2", "span-2", "", "{}"));
+
+        Assert.assertNull(recentSpanStore.getTrace(RUNTIME, "trace-1"));
+        Assert.assertNotNull(recentSpanStore.getTrace(RUNTIME, "trace-2"));
+        Assert.assertEquals(recentSpanStore.getSpansCount(), 2);
+        Assert.assertEquals(recentSpanStore.getEvictedTracesCount(), 1);
+
+        // Spans of the evicted trace received later should not be served as a partial trace
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-3", "", "{}"));
+        Assert.assertNull(recentSpanStore.getTrace(RUNTIME, "trace-1"));
+    }
+
+    @Test
+    public void testSizeTracking() {
+        RecentSpanStore recentSpanStore = createWarmedUpStore(100);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", "{}"));
+        long sizeBytes = recentSpanStore.getSizeBytes();
+        Assert.assertTrue(sizeBytes > 0);
+
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", "{\"key\":\"value\"}"));
+        Assert.assertEquals(recentSpanStore.getSizeBytes(), sizeBytes + 2 * 13);
+        recentSpanStore.storeSpanPod(RUNTIME, generateSpan("trace-1", "span-1", "test-pod", "{}"));
+        Assert.assertEquals(recentSpanStore.getSizeBytes(), sizeBytes + 2 * 13 + 2 * 8);
+
+        currentTimestamp.addAndGet(WINDOW_MILLIS);
+        recentSpanStore.expire();
+        Assert.assertEquals(recentSpanStore.getSizeBytes(), 0);
+    }
+
+    @Test
+    public void testEvictBySize() {
+        String largeTags = "{\"key\":\"" + new String(new char[4096]).replace('\0', 'x') + "\"}";
+        RecentSpanStore recentSpanStore = createWarmedUpStore(100, 20000);
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-1", "span-1", "", largeTags));
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-2", "span-1", "", largeTags));
+        Assert.assertNotNull(recentSpanStore.getTrace(RUNTIME, "trace-1"));
+        Assert.assertEquals(recentSpanStore.getEvictedTracesCount(), 0);
+
+        recentSpanStore.storeSpan(RUNTIME, generateSpan("trace-3", "span-1", "", largeTags));
+        Assert.assertNull(recentSpanStore.getTrace(RUNTIME, "trace-1"));
+        Assert.assertNotNull(recentSpanStore.getTrace(RUNTIME, "trace-2"));
+        Assert.assertNotNull(recentSpanStore.getTrace(RUNTIME, "trace-3"));
+        Assert.assertEquals(recentSpanStore.getSpansCount(), 2);
+        Assert.assertEquals(recentSpanStore.getEvictedTracesCount(), 1);
+        Assert.assertTrue(recentSpanStore.getSizeBytes() <= 20000);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testStoreSpanWithInvalidAttributes() {
+        RecentSpanStore recentSpanStore = createWarmedUpStore(100);
+        recentSpanStore.storeSpan(RUNTIME, new Object[]{"trace-1", "span-1"});
+    }
+
+    private RecentSpanStore createWarmedUpStore(int maxSpansCount) {
+        return createWarmedUpStore(maxSpansCount, MAX_SIZE_BYTES);
+    }
+
+    private RecentSpanStore createWarmedUpStore(int maxSpansCount, long maxSizeBytes) {
+        RecentSpanStore recentSpanStore = new RecentSpanStore(WINDOW_MILLIS, maxSpansCount, maxSizeBytes,
+                currentTimestamp::get);
+        currentTimestamp.addAndGet(WINDOW_MILLIS);
+        return recentSpanStore;
+    }
+
+    private static Object[] generateSpan(String traceId, String spanId, String pod, String tags) {
+        return new Object[]{traceId, spanId, null, "test-namespace", "test-instance", "Cell", "test-service", pod,
+                "GET /", "SERVER", 1000L, 10L, tags};
+    }
+}
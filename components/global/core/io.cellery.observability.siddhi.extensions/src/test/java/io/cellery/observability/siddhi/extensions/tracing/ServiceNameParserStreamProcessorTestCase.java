@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.siddhi.core.SiddhiAppRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+import org.wso2.siddhi.core.stream.output.StreamCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the service name parser stream processor.
+ */
+public class ServiceNameParserStreamProcessorTestCase {
+    private static final String INPUT_STREAM = "inputStream";
+    private static final String OUTPUT_STREAM = "outputStream";
+
+    private SiddhiManager siddhiManager;
+    private SiddhiAppRuntime siddhiAppRuntime;
+    private List<Event> receivedEvents;
+
+    @BeforeMethod
+    public void initTest() {
+        siddhiManager = new SiddhiManager();
+        receivedEvents = new ArrayList<>();
+    }
+
+    @AfterMethod
+    public void cleanUpTest() {
+        if (siddhiAppRuntime != null) {
+            siddhiAppRuntime.shutdown();
+            siddhiAppRuntime = null;
+        }
+        siddhiManager.shutdown();
+    }
+
+    @Test
+    public void testParseServiceNames() throws Exception {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(spanId string, serviceName string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:parseServiceName(serviceName)\n"
+                + "select spanId, serviceNamespace, serviceInstance, serviceInstanceKind, serviceComponent\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+        siddhiAppRuntime.addCallback(OUTPUT_STREAM, new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    receivedEvents.add(event);
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(INPUT_STREAM);
+        inputHandler.send(new Object[]{"span-1", "pet-be--controller--cell.default"});
+        inputHandler.send(new Object[]{"span-2", "pet-fe--gateway.default"});
+        inputHandler.send(new Object[]{"span-3", "global-gateway.cellery-system"});
+        inputHandler.send(new Object[]{"span-4", "istio-ingressgateway"});
+        inputHandler.send(new Object[]{"span-5", null});
+
+        Assert.assertEquals(receivedEvents.size(), 5);
+        Assert.assertEquals(receivedEvents.get(0).getData(),
+                new Object[]{"span-1", "default", "pet-be", "Cell", "controller"});
+        Assert.assertEquals(receivedEvents.get(1).getData(),
+                new Object[]{"span-2", "default", "pet-fe", "Cell", "gateway"});
+        Assert.assertEquals(receivedEvents.get(2).getData(),
+                new Object[]{"span-3", "cellery-system", "", "", "global-gateway"});
+        Assert.assertEquals(receivedEvents.get(3).getData(),
+                new Object[]{"span-4", "", "", "", "istio-ingressgateway"});
+        Assert.assertEquals(receivedEvents.get(4).getData(),
+                new Object[]{"span-5", "", "", "", null});
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidServiceNameParamType() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(spanId string, serviceName long);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:parseServiceName(serviceName)\n"
+                + "select *\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidParamCount() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(spanId string, serviceName string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:parseServiceName(spanId, serviceName)\n"
+                + "select *\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+}
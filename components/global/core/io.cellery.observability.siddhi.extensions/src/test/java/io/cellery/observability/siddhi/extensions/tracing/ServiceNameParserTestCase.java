@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the service name parser.
+ */
+public class ServiceNameParserTestCase {
+
+    @Test
+    public void testParseMicroserviceName() {
+        ServiceNameParser parser = new ServiceNameParser(10);
+        Assert.assertEquals(parser.parse("pet-be--controller--cell.default"),
+                new ServiceName("default", "pet-be", "Cell", "controller"));
+        Assert.assertEquals(parser.parse("hr-comp--employee--composite.test-ns"),
+                new ServiceName("test-ns", "hr-comp", "Composite", "employee"));
+        Assert.assertEquals(parser.parse("pet-be--controller--unknown.default"),
+                new ServiceName("default", "pet-be", "", "controller"));
+    }
+
+    @Test
+    public void testParseGatewayName() {
+        ServiceNameParser parser = new ServiceNameParser(10);
+        Assert.assertEquals(parser.parse("pet-fe--gateway.default"),
+                new ServiceName("default", "pet-fe", "Cell", "gateway"));
+    }
+
+    @Test
+    public void testParseSystemComponentName() {
+        ServiceNameParser parser = new ServiceNameParser(10);
+        Assert.assertEquals(parser.parse("global-gateway.cellery-system"),
+                new ServiceName("cellery-system", "", "", "global-gateway"));
+    }
+
+    @Test
+    public void testParseUnknownServiceName() {
+        ServiceNameParser parser = new ServiceNameParser(10);
+        Assert.assertEquals(parser.parse("istio_ingressgateway"),
+                new ServiceName("", "", "", "istio-ingressgateway"));
+        Assert.assertEquals(parser.parse("a--b--c--d.default"),
+                new ServiceName("", "", "", "a--b--c--d.default"));
+        Assert.assertEquals(parser.parse("Pet-BE--controller.default"),
+                new ServiceName("", "", "", "Pet-BE--controller.default"));
+        Assert.assertEquals(parser.parse(""), new ServiceName("", "", "", ""));
+    }
+
+    @Test
+    public void testParseNullServiceName() {
+        ServiceNameParser parser = new ServiceNameParser(10);
+        Assert.assertEquals(parser.parse(null), new ServiceName("", "", "", null));
+    }
+
+    @Test
+    public void testParseWithUnderscores() {
+        ServiceNameParser parser = new ServiceNameParser(10);
+        Assert.assertEquals(parser.parse("pet-be--controller--cell.test_ns"),
+                new ServiceName("test-ns", "pet-be", "Cell", "controller"));
+    }
+
+    @Test
+    public void testParseCachedServiceName() {
+        ServiceNameParser parser = new ServiceNameParser(1);
+        ServiceName serviceName = parser.parse("pet-be--controller--cell.default");
+        Assert.assertSame(parser.parse("pet-be--controller--cell.default"), serviceName);
+
+        ServiceName otherServiceName = parser.parse("pet-fe--gateway.default");
+        Assert.assertEquals(otherServiceName, new ServiceName("default", "pet-fe", "Cell", "gateway"));
+        Assert.assertEquals(parser.parse("pet-be--controller--cell.default"), serviceName);
+    }
+}
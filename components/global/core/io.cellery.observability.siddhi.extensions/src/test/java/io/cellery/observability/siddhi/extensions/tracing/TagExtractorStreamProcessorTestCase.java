@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import io.cellery.observability.siddhi.extensions.internal.IndexedTagsConfig;
+import org.powermock.reflect.Whitebox;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.siddhi.core.SiddhiAppRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.exception.SiddhiAppCreationException;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+import org.wso2.siddhi.core.stream.output.StreamCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the tag extractor stream processor.
+ */
+public class TagExtractorStreamProcessorTestCase {
+    private static final String INPUT_STREAM = "inputStream";
+    private static final String OUTPUT_STREAM = "outputStream";
+
+    private SiddhiManager siddhiManager;
+    private SiddhiAppRuntime siddhiAppRuntime;
+    private List<Event> receivedEvents;
+
+    @BeforeMethod
+    public void initTest() {
+        siddhiManager = new SiddhiManager();
+        receivedEvents = new ArrayList<>();
+    }
+
+    @AfterMethod
+    public void cleanUpTest() {
+        if (siddhiAppRuntime != null) {
+            siddhiAppRuntime.shutdown();
+            siddhiAppRuntime = null;
+        }
+        siddhiManager.shutdown();
+        Whitebox.setInternalState(IndexedTagsConfig.class, "indexedTagsConfig", (Object) null);
+    }
+
+    @Test
+    public void testExtractTags() throws Exception {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(spanId string, tags string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:extractTags(tags, \"http.method,http.status_code\")\n"
+                + "select spanId, tagKey, tagValue\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+        siddhiAppRuntime.addCallback(OUTPUT_STREAM, new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    receivedEvents.add(event);
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(INPUT_STREAM);
+        inputHandler.send(new Object[]{"span-1", "{\"http.method\":\"GET\",\"http.url\":\"/pets\","
+                + "\"http.status_code\":200}"});
+        inputHandler.send(new Object[]{"span-2", "{\"http.url\":\"/pets\"}"});
+        inputHandler.send(new Object[]{"span-3", "{\"http.status_code\":\"503\"}"});
+        inputHandler.send(new Object[]{"span-4", null});
+
+        Assert.assertEquals(receivedEvents.size(), 3);
+        Assert.assertEquals(receivedEvents.get(0).getData(), new Object[]{"span-1", "http.method", "GET"});
+        Assert.assertEquals(receivedEvents.get(1).getData(), new Object[]{"span-1", "http.status_code", "200"});
+        Assert.assertEquals(receivedEvents.get(2).getData(), new Object[]{"span-3", "http.status_code", "503"});
+    }
+
+    @Test
+    public void testExtractTagsWithConfiguredKeys() throws Exception {
+        IndexedTagsConfig indexedTagsConfig = new IndexedTagsConfig();
+        Whitebox.setInternalState(indexedTagsConfig, "keys", "http.url, error");
+        Whitebox.setInternalState(IndexedTagsConfig.class, "indexedTagsConfig", indexedTagsConfig);
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(spanId string, tags string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:extractTags(tags)\n"
+                + "select spanId, tagKey, tagValue\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+        siddhiAppRuntime.addCallback(OUTPUT_STREAM, new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    receivedEvents.add(event);
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(INPUT_STREAM);
+        inputHandler.send(new Object[]{"span-1", "{\"http.method\":\"GET\",\"http.url\":\"/pets\","
+                + "\"error\":true}"});
+
+        Assert.assertEquals(receivedEvents.size(), 2);
+        Assert.assertEquals(receivedEvents.get(0).getData(), new Object[]{"span-1", "http.url", "/pets"});
+        Assert.assertEquals(receivedEvents.get(1).getData(), new Object[]{"span-1", "error", "true"});
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidTagsParamType() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(spanId string, tags long);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:extractTags(tags, \"http.method\")\n"
+                + "select *\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testNonConstantIndexedKeysParam() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(spanId string, tags string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:extractTags(tags, spanId)\n"
+                + "select *\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidParamCount() {
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("define stream " + INPUT_STREAM
+                + "(spanId string, tags string);\n"
+                + "@info(name = 'query')\n"
+                + "from " + INPUT_STREAM + "#tracing:extractTags(tags, \"http.method\", \"http.url\")\n"
+                + "select *\n"
+                + "insert into " + OUTPUT_STREAM + ";");
+    }
+}
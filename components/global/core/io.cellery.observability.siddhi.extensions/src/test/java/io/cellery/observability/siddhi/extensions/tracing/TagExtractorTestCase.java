@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+/**
+ * Test cases for the tag extractor.
+ */
+public class TagExtractorTestCase {
+
+    @Test
+    public void testIndexedKeys() {
+        TagExtractor tagExtractor = new TagExtractor(" http.method, ,error,");
+        Assert.assertEquals(tagExtractor.getIndexedKeys().size(), 2);
+        Assert.assertTrue(tagExtractor.getIndexedKeys().contains("http.method"));
+        Assert.assertTrue(tagExtractor.getIndexedKeys().contains("error"));
+    }
+
+    @Test
+    public void testExtract() {
+        TagExtractor tagExtractor = new TagExtractor("http.method,http.status_code,error");
+        Map<String, String> tags = tagExtractor.extract("{\"http.method\":\"GET\",\"http.url\":\"/api/pets\","
+                + "\"http.status_code\":200,\"error\":true,\"node_id\":\"sidecar\"}");
+
+        Assert.assertEquals(tags.size(), 3);
+        Assert.assertEquals(tags.get("http.method"), "GET");
+        Assert.assertEquals(tags.get("http.status_code"), "200");
+        Assert.assertEquals(tags.get("error"), "true");
+    }
+
+    @Test
+    public void testExtractNonPrimitiveValues() {
+        TagExtractor tagExtractor = new TagExtractor("http.method,component");
+        Map<String, String> tags = tagExtractor.extract("{\"http.method\":{\"value\":\"GET\"},\"component\":null}");
+
+        Assert.assertEquals(tags.size(), 0);
+    }
+
+    @Test
+    public void testExtractInvalidTags() {
+        TagExtractor tagExtractor = new TagExtractor("http.method");
+
+        Assert.assertEquals(tagExtractor.extract(null).size(), 0);
+        Assert.assertEquals(tagExtractor.extract("").size(), 0);
+        Assert.assertEquals(tagExtractor.extract("[\"http.method\"]").size(), 0);
+        Assert.assertEquals(tagExtractor.extract("{\"http.method\":").size(), 0);
+    }
+
+    @Test
+    public void testExtractWithoutIndexedKeys() {
+        TagExtractor tagExtractor = new TagExtractor("");
+
+        Assert.assertEquals(tagExtractor.extract("{\"http.method\":\"GET\"}").size(), 0);
+    }
+}
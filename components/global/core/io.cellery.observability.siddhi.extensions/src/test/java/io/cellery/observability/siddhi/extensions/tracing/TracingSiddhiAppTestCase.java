@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.cellery.observability.siddhi.extensions.tracing;
+
+import io.cellery.observability.siddhi.extensions.internal.IndexedTagsConfig;
+import org.powermock.reflect.Whitebox;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.siddhi.core.SiddhiAppRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test cases for the span level queries of the Tracing Siddhi App.
+ * The App is run with in-memory tables and without the Runtime Agent source.
+ */
+public class TracingSiddhiAppTestCase {
+    private static final String TRACING_APP_PATH =
+            "../io.cellery.observability.siddhi.apps/src/main/siddhi/tracing-app.siddhi";
+    private static final String RUNTIME = "cellery-default";
+    private static final String TRACE_ID = "6b2e8ea1ad3f4e0b";
+
+    private SiddhiManager siddhiManager;
+    private SiddhiAppRuntime siddhiAppRuntime;
+    private InputHandler zipkinInputHandler;
+    private InputHandler telemetryInputHandler;
+
+    @BeforeMethod
+    public void initTest() throws IOException {
+        IndexedTagsConfig indexedTagsConfig = new IndexedTagsConfig();
+        Whitebox.setInternalState(indexedTagsConfig, "keys", "http.method,error");
+        Whitebox.setInternalState(IndexedTagsConfig.class, "indexedTagsConfig", indexedTagsConfig);
+        String tracingApp = new String(Files.readAllBytes(Paths.get(TRACING_APP_PATH)), StandardCharsets.UTF_8)
+                .replaceAll("@source\\(type=\"runtime-agent\"[^;]*?\\)\\)", "")
+                .replaceAll("@Store\\(type=\"rdbms\"[^\n]*\\)", "");
+        siddhiManager = new SiddhiManager();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(tracingApp);
+        siddhiAppRuntime.start();
+        zipkinInputHandler = siddhiAppRuntime.getInputHandler("ZipkinStreamIn");
+        telemetryInputHandler = siddhiAppRuntime.getInputHandler("TelemetryStreamIn");
+    }
+
+    @AfterMethod
+    public void cleanUpTest() {
+        if (siddhiAppRuntime != null) {
+            siddhiAppRuntime.shutdown();
+            siddhiAppRuntime = null;
+        }
+        siddhiManager.shutdown();
+        Whitebox.setInternalState(IndexedTagsConfig.class, "indexedTagsConfig", (Object) null);
+    }
+
+    @Test
+    public void testSpanCountsWithZipkinSpansOnly() throws Exception {
+        sendZipkinSpan("0000000000000a01", null, "pet-fe--gateway.default");
+        sendZipkinSpan("0000000000000a02", "a01", "pet-be--controller--cell.default");
+        sendZipkinSpan("0000000000000a03", "a02", "pet-be--controller--cell.default");
+
+        Map<String, Long> spanCounts = getSpanCounts();
+        Assert.assertEquals(spanCounts.size(), 2);
+        Assert.assertEquals(spanCounts.get("pet-fe/gateway"), Long.valueOf(1));
+        Assert.assertEquals(spanCounts.get("pet-be/controller"), Long.valueOf(2));
+    }
+
+    @Test
+    public void testSpanCountsWithRepeatedZipkinSpans() throws Exception {
+        sendZipkinSpan("a01", null, "pet-fe--gateway.default");
+        sendZipkinSpan("a01", null, "pet-fe--gateway.default");
+
+        Map<String, Long> spanCounts = getSpanCounts();
+        Assert.assertEquals(spanCounts.size(), 1);
+        Assert.assertEquals(spanCounts.get("pet-fe/gateway"), Long.valueOf(1));
+    }
+
+    @Test
+    public void testSpanCountsWithTelemetryBeforeZipkin() throws Exception {
+        sendTelemetry("a02", "a01", "pet-fe", "gateway", "pet-be", "controller");
+        sendZipkinSpan("a01", null, "pet-fe--gateway.default");
+        sendZipkinSpan("a02", "a01", "pet-be--controller--cell.default");
+
+        Map<String, Long> spanCounts = getSpanCounts();
+        Assert.assertEquals(spanCounts.size(), 2);
+        Assert.assertEquals(spanCounts.get("pet-fe/gateway"), Long.valueOf(1));
+        Assert.assertEquals(spanCounts.get("pet-be/controller"), Long.valueOf(1));
+    }
+
+    @Test
+    public void testSpanCountsWithTelemetryAfterZipkin() throws Exception {
+        sendZipkinSpan("a02", null, "pet-be--controller--cell.default");
+        sendTelemetry("a02", "a01", "pet-fe", "gateway", "pet-be", "controller");
+
+        Map<String, Long> spanCounts = getSpanCounts();
+        Assert.assertEquals(spanCounts.size(), 1);
+        Assert.assertEquals(spanCounts.get("pet-be/controller"), Long.valueOf(1));
+    }
+
+    @Test
+    public void testSpanCountsWithTelemetryOnly() throws Exception {
+        sendTelemetry("a02", "a01", "pet-fe", "gateway", "pet-be", "controller");
+
+        Map<String, Long> spanCounts = getSpanCounts();
+        Assert.assertEquals(spanCounts.size(), 1);
+        Assert.assertEquals(spanCounts.get("pet-be/controller"), Long.valueOf(1));
+    }
+
+    @Test
+    public void testSpanCountsWithZipkinReplacingTelemetryService() throws Exception {
+        sendTelemetry("a02", "a01", "pet-fe", "gateway", "pet-be", "controller");
+        sendZipkinSpan("a02", "a01", "pet-be--catalog--cell.default");
+
+        Map<String, Long> spanCounts = getSpanCounts();
+        Assert.assertEquals(spanCounts.size(), 1);
+        Assert.assertEquals(spanCounts.get("pet-be/catalog"), Long.valueOf(1));
+    }
+
+    @Test
+    public void testSummaryWithErroneousSpanBeforeRootSpan() throws Exception {
+        sendZipkinSpan("a02", "a01", "pet-be--controller--cell.default", "{\"error\":\"true\"}");
+        Assert.assertNull(getSummary());
+
+        sendZipkinSpan("a01", null, "pet-fe--gateway.default");
+        Assert.assertEquals(getSummary(), new Object[]{"default", "pet-fe", "gateway", "get", 1000L, 100L, true});
+    }
+
+    @Test
+    public void testSummaryWithErroneousSpanAfterRootSpan() throws Exception {
+        sendZipkinSpan("a01", null, "pet-fe--gateway.default");
+        Assert.assertEquals(getSummary(), new Object[]{"default", "pet-fe", "gateway", "get", 1000L, 100L, false});
+
+        sendZipkinSpan("a02", "a01", "pet-be--controller--cell.default", "{\"error\":\"true\"}");
+        Assert.assertEquals(getSummary(), new Object[]{"default", "pet-fe", "gateway", "get", 1000L, 100L, true});
+    }
+
+    @Test
+    public void testSummaryWithErroneousRootSpan() throws Exception {
+        sendZipkinSpan("a01", null, "pet-fe--gateway.default", "{\"error\":\"true\"}");
+        Assert.assertEquals(getSummary(), new Object[]{"default", "pet-fe", "gateway", "get", 1000L, 100L, true});
+    }
+
+    @Test
+    public void testSummaryWithoutErroneousSpans() throws Exception {
+        sendZipkinSpan("a02", "a01", "pet-be--controller--cell.default", "{\"error\":\"false\"}");
+        sendZipkinSpan("a01", null, "pet-fe--gateway.default");
+        Assert.assertEquals(getSummary(), new Object[]{"default", "pet-fe", "gateway", "get", 1000L, 100L, false});
+    }
+
+    @Test
+    public void testIndexedTagsWithConfiguredKeys() throws Exception {
+        sendZipkinSpan("a01", null, "pet-fe--gateway.default",
+                "{\"http.method\":\"GET\",\"http.url\":\"/pets\",\"error\":\"true\"}");
+
+        Event[] events = siddhiAppRuntime.query("from DistributedTracingTagTable "
+                + "on runtime == \"" + RUNTIME + "\" and traceId == \"" + TRACE_ID + "\" "
+                + "select tagKey, tagValue");
+        Map<String, String> tags = new HashMap<>();
+        if (events != null) {
+            for (Event event : events) {
+                tags.put((String) event.getData(0), (String) event.getData(1));
+            }
+        }
+        Assert.assertEquals(tags.size(), 2);
+        Assert.assertEquals(tags.get("http.method"), "GET");
+        Assert.assertEquals(tags.get("error"), "true");
+    }
+
+    @Test
+    public void testSummaryStartTimeRecordedOnStart() {
+        Event[] events = siddhiAppRuntime.query("from DistributedTracingMetadataTable "
+                + "on name == \"summaryStartTime\" select value");
+        Assert.assertNotNull(events);
+        Assert.assertEquals(events.length, 1);
+        Assert.assertTrue((Long) events[0].getData(0) > 0);
+    }
+
+    /**
+     * Send a span without tags reported by Zipkin.
+     *
+     * @param spanId The ID of the span
+     * @param parentId The ID of the parent span or null if the span is a root span
+     * @param serviceName The service name reported by Zipkin
+     */
+    private void sendZipkinSpan(String spanId, String parentId, String serviceName) throws InterruptedException {
+        sendZipkinSpan(spanId, parentId, serviceName, "{}");
+    }
+
+    /**
+     * Send a span reported by Zipkin.
+     *
+     * @param spanId The ID of the span
+     * @param parentId The ID of the parent span or null if the span is a root span
+     * @param serviceName The service name reported by Zipkin
+     * @param tags The JSON encoded tags of the span
+     */
+    private void sendZipkinSpan(String spanId, String parentId, String serviceName, String tags)
+            throws InterruptedException {
+        zipkinInputHandler.send(new Object[]{RUNTIME, TRACE_ID, spanId, parentId, "get", serviceName, "SERVER",
+                1000L, 100L, tags});
+    }
+
+    /**
+     * Send an inbound Telemetry report of a request.
+     *
+     * @param spanId The ID of the span of the request
+     * @param parentSpanId The ID of the parent span
+     * @param sourceInstance The instance which sent the request
+     * @param sourceComponent The component which sent the request
+     * @param destinationInstance The instance which received the request
+     * @param destinationComponent The component which received the request
+     */
+    private void sendTelemetry(String spanId, String parentSpanId, String sourceInstance, String sourceComponent,
+                               String destinationInstance, String destinationComponent) throws InterruptedException {
+        telemetryInputHandler.send(new Object[]{RUNTIME, "request-1", TRACE_ID, spanId, parentSpanId, "default",
+                sourceInstance, "Cell", sourceComponent, sourceComponent + "-pod", "default", destinationInstance,
+                "Cell", destinationComponent, destinationComponent + "-pod", "/pets", "GET", 10L, 200L, 1000000L,
+                100L, "reporter-1", "inbound"});
+    }
+
+    /**
+     * Get the summary of the trace.
+     *
+     * @return The summary attributes of the trace or null if the trace does not have a summary
+     */
+    private Object[] getSummary() {
+        Event[] events = siddhiAppRuntime.query("from DistributedTracingSummaryTable "
+                + "on runtime == \"" + RUNTIME + "\" and traceId == \"" + TRACE_ID + "\" "
+                + "select namespace, instance, serviceName, operationName, startTime, duration, hasError");
+        if (events == null || events.length == 0) {
+            return null;
+        }
+        Assert.assertEquals(events.length, 1);
+        return events[0].getData();
+    }
+
+    /**
+     * Get the non zero span counts of the trace.
+     *
+     * @return The span counts of the trace by instance and service name separated by a "/"
+     */
+    private Map<String, Long> getSpanCounts() {
+        Event[] events = siddhiAppRuntime.query("from DistributedTracingSpanCountTable "
+                + "on runtime == \"" + RUNTIME + "\" and traceId == \"" + TRACE_ID + "\" and spanCount > 0L "
+                + "select instance, serviceName, spanCount");
+        Map<String, Long> spanCounts = new HashMap<>();
+        if (events != null) {
+            for (Event event : events) {
+                spanCounts.put(event.getData(0) + "/" + event.getData(1), (Long) event.getData(2));
+            }
+        }
+        return spanCounts;
+    }
+}
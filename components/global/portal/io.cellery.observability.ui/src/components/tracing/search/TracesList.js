@@ -105,6 +105,11 @@ const styles = (theme) => ({
         padding: theme.spacing.unit,
         display: "table-cell",
         fontSize: 12
+    },
+    partialSearchMessage: {
+        color: "#616161",
+        fontStyle: "italic",
+        marginTop: theme.spacing.unit * 2
     }
 });
 
@@ -118,12 +123,15 @@ class TracesList extends React.PureComponent {
         this.state = {
             rowsPerPage: 10,
             page: 0,
+            pageCursors: [null],
+            hasMorePages: false,
+            isPartialPage: false,
+            scannedTracesCount: 0,
             hasSearchCompleted: false,
             isLoading: false,
             searchResults: {
                 rootSpans: [],
-                spanCounts: [],
-                totalRootSpansCount: 0
+                spanCounts: []
             }
         };
     }
@@ -137,18 +145,14 @@ class TracesList extends React.PureComponent {
     };
 
     handleChangeRowsPerPage = (event) => {
-        const {page, searchResults} = this.state;
         const rowsPerPage = event.target.value;
 
-        const maxPageCount = searchResults.totalRootSpansCount / rowsPerPage;
-        const highestPossiblePage = Number.isInteger(maxPageCount) ? maxPageCount - 1 : Math.floor(maxPageCount);
-
-        const newPage = page < highestPossiblePage ? page : highestPossiblePage;
+        // The page cursors are only valid for the previous page size
         this.setState({
             rowsPerPage: rowsPerPage,
-            page: newPage
+            page: 0
         });
-        this.loadTraces(true, rowsPerPage, newPage);
+        this.loadTraces(true, rowsPerPage, 0);
     };
 
     handleChangePage = (event, page) => {
@@ -194,7 +198,7 @@ class TracesList extends React.PureComponent {
     loadTraces = (isUserAction, rowsPerPageOverride = null, pageOverride = null) => {
         const self = this;
         const {globalState, filter, globalFilterOverrides} = self.props;
-        const {page, rowsPerPage} = this.state;
+        const {page, rowsPerPage, pageCursors} = this.state;
         const {
             instance, component, operation, tags, minDuration, minDurationMultiplier, maxDuration, maxDurationMultiplier
         } = filter;
@@ -205,9 +209,13 @@ class TracesList extends React.PureComponent {
             : rowsPerPage;
         const pageToBeUsed = pageOverride || pageOverride === 0 ? pageOverride : page;
         const search = {
-            limit: rowsPerPageToBeUsed,
-            offset: rowsPerPageToBeUsed * pageToBeUsed
+            limit: rowsPerPageToBeUsed
         };
+        const pageCursor = pageToBeUsed > 0 ? pageCursors[pageToBeUsed] : null;
+        if (pageCursor) {
+            search.cursorStartTime = pageCursor.startTime;
+            search.cursorTraceId = pageCursor.traceId;
+        }
         const addSearchParam = (key, value) => {
             if (value && value !== Constants.Dashboard.ALL_VALUE) {
                 search[key] = value;
@@ -241,29 +249,39 @@ class TracesList extends React.PureComponent {
             },
             globalState
         ).then((data) => {
-            self.setState((prevState) => ({
-                ...prevState,
-                rowsPerPage: rowsPerPageToBeUsed,
-                page: pageToBeUsed,
-                hasSearchCompleted: true,
-                searchResults: {
-                    rootSpans: data.rootSpans.map((dataItem) => ({
-                        traceId: dataItem[0],
-                        rootInstanceName: dataItem[1],
-                        rootServiceName: dataItem[2],
-                        rootOperationName: dataItem[3],
-                        rootStartTime: dataItem[4],
-                        rootDuration: dataItem[5]
-                    })),
-                    spanCounts: data.spanCounts.map((dataItem) => ({
-                        traceId: dataItem[0],
-                        instanceName: dataItem[1],
-                        serviceName: dataItem[2],
-                        count: dataItem[3]
-                    })),
-                    totalRootSpansCount: data.totalRootSpansCount
+            self.setState((prevState) => {
+                // Keeping the cursors of the pages up to the loaded page and the cursor of the next page
+                const newPageCursors = pageToBeUsed > 0 ? prevState.pageCursors.slice(0, pageToBeUsed + 1) : [null];
+                if (data.nextCursor) {
+                    newPageCursors[pageToBeUsed + 1] = data.nextCursor;
                 }
-            }));
+                return {
+                    ...prevState,
+                    rowsPerPage: rowsPerPageToBeUsed,
+                    page: pageToBeUsed,
+                    pageCursors: newPageCursors,
+                    hasMorePages: Boolean(data.nextCursor),
+                    isPartialPage: Boolean(data.isPartial),
+                    scannedTracesCount: data.scannedRootSpansCount,
+                    hasSearchCompleted: true,
+                    searchResults: {
+                        rootSpans: data.rootSpans.map((dataItem) => ({
+                            traceId: dataItem[0],
+                            rootInstanceName: dataItem[1],
+                            rootServiceName: dataItem[2],
+                            rootOperationName: dataItem[3],
+                            rootStartTime: dataItem[4],
+                            rootDuration: dataItem[5]
+                        })),
+                        spanCounts: data.spanCounts.map((dataItem) => ({
+                            traceId: dataItem[0],
+                            instanceName: dataItem[1],
+                            serviceName: dataItem[2],
+                            count: dataItem[3]
+                        }))
+                    }
+                };
+            });
             if (isUserAction) {
                 NotificationUtils.hideLoadingOverlay(globalState);
                 self.setState({
@@ -288,7 +306,10 @@ class TracesList extends React.PureComponent {
 
     render = () => {
         const {classes, hideTitle} = this.props;
-        const {rowsPerPage, page, hasSearchCompleted, isLoading, searchResults} = this.state;
+        const {
+            rowsPerPage, page, hasMorePages, isPartialPage, scannedTracesCount, hasSearchCompleted, isLoading,
+            searchResults
+        } = this.state;
 
         // Merging the span counts and root span information
         const rootSpans = searchResults.rootSpans.reduce((accumulator, dataItem) => {
@@ -315,7 +336,7 @@ class TracesList extends React.PureComponent {
         let view;
         if (hasSearchCompleted && !isLoading) {
             view = (
-                searchResultsArray.length > 0
+                searchResultsArray.length > 0 || isPartialPage
                     ? (
                         <React.Fragment>
                             {
@@ -411,7 +432,27 @@ class TracesList extends React.PureComponent {
                                         </Paper>
                                     ))
                             }
-                            <TablePagination count={searchResults.totalRootSpansCount} rowsPerPage={rowsPerPage}
+                            {
+                                isPartialPage
+                                    ? (
+                                        <Typography variant="body1" className={classes.partialSearchMessage}>
+                                            {
+                                                searchResultsArray.length > 0
+                                                    ? `Only ${searchResultsArray.length} matching Traces were found `
+                                                        + `among the ${scannedTracesCount} Traces searched for this `
+                                                        + "page. Older matching Traces may be available in the next "
+                                                        + "page."
+                                                    : `No matching Traces were found among the ${scannedTracesCount} `
+                                                        + "Traces searched for this page. Older matching Traces may "
+                                                        + "be available in the next page."
+                                            }
+                                        </Typography>
+                                    )
+                                    : null
+                            }
+                            <TablePagination count={page * rowsPerPage + searchResults.rootSpans.length
+                                + (hasMorePages ? 1 : 0)} rowsPerPage={rowsPerPage}
+                                labelDisplayedRows={({from, to}) => `${from}-${to}`}
                                 backIconButtonProps={{"aria-label": "Previous Page"}} component="div"
                                 labelRowsPerPage={"Traces Per Page"} onChangePage={this.handleChangePage}
                                 nextIconButtonProps={{"aria-label": "Next Page"}} page={page}